@@ -67,7 +67,7 @@ browser=$(prompt_select "Enter the number corresponding to your choice:" "${brow
 
 # Ask if script will be run locally or remote
 echo "Will the script be run locally or remotely?"
-run_types=("LOCAL" "REMOTE")
+run_types=("LOCAL" "REMOTE" "STUB")
 run_type=$(prompt_select "Enter the number corresponding to your choice:" "${run_types[@]}")
 
 # If run remotely, ask for remote grid IP or hostname
@@ -109,15 +109,30 @@ fi
 
 # Ask if scripts will be executed in parallel
 echo "Do you want to execute scripts in parallel?"
-parallel_options=("None" "Tests")
+parallel_options=("None" "Tests" "Classes")
 parallel=$(prompt_select "Enter the number corresponding to your choice:" "${parallel_options[@]}")
 
 case $parallel in
     "None" ) parallel="none";;
     "Tests" ) parallel="tests";;
+    "Classes" ) parallel="classes";;
     * ) echo "Invalid option. Defaulting to 'none'."; parallel="none";;
 esac
 
+# If run in parallel, ask for the number of threads
+thread_count=0
+if [ "$parallel" != "none" ]; then
+    while true; do
+        read -rp "Enter the number of parallel threads: " thread_count
+        # Check if input is numeric
+        if ! [[ $thread_count =~ ^[1-9][0-9]*$ ]]; then
+            echo "Error: Please enter a valid number of threads."
+            continue
+        fi
+        break
+    done
+fi
+
 # Ask if scripts will be executed in headless mode
 echo "Do you want to execute scripts in headless mode?"
 headless=$(prompt_boolean "Enter the number corresponding to your choice:" "1. true" "2. false")
@@ -140,7 +155,7 @@ if [ "$run_type" == "REMOTE" ]; then
     fi
 fi
 
-command+=" -Dparallel=$parallel -Dheadless=$headless"
+command+=" -Dparallel=$parallel -DthreadCount=$thread_count -Dheadless=$headless"
 
 # Execute the command
 echo "Executing command: $command"
@@ -0,0 +1,53 @@
+/*
+ * Description: Entry point of the benchmark profile. Runs the selected JMH benchmarks once per thread count (single
+ *              threaded, then contended with 8, 16 and 32 threads) and writes one JSON result file per thread count, so
+ *              that runs can be compared with each other to spot regressions. Standard JMH options are passed through;
+ *              an explicit -t runs that thread count only.
+ */
+
+package com.example.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public final class BenchmarkRunner {
+
+    // Thread counts every benchmark is run with, unless -t is given
+    private static final int[] THREAD_COUNTS = {1, 8, 16, 32};
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        // Listing and help are left to the standard JMH entry point
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList() || commandLineOptions.shouldListWithParams()
+                || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        int[] threadCounts = commandLineOptions.getThreads().hasValue() ? new int[]{commandLineOptions.getThreads().get()} : THREAD_COUNTS;
+        Path resultDirectory = Paths.get(System.getProperty("benchmark.resultDir", "target/jmh"));
+        Files.createDirectories(resultDirectory);
+
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .parent(commandLineOptions)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(resultDirectory.resolve("result-" + threads + "t.json").toString())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
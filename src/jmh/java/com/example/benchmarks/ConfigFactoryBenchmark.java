@@ -0,0 +1,55 @@
+/*
+ * Description: JMH benchmark of configuration lookups: ConfigFactory.getConfig() returns the resolved snapshot, whose
+ *              getters are field reads, while every getter of an Owner proxy goes through its invocation handler.
+ */
+
+package com.example.benchmarks;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import org.aeonbits.owner.ConfigCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Dlog4j2.configurationFile=log4j2-benchmark.xml"})
+@State(Scope.Benchmark)
+public class ConfigFactoryBenchmark {
+
+    private final FMConfig config = ConfigFactory.getConfig();
+    private final FMConfig proxy = ConfigCache.getOrCreate(FMConfig.class, System.getenv(), System.getProperties());
+
+    @Benchmark
+    public FMConfig getConfig() {
+        return ConfigFactory.getConfig();
+    }
+
+    @Benchmark
+    public String getConfigAndUrl() {
+        return ConfigFactory.getConfig().getUrl();
+    }
+
+    // Getter of a snapshot obtained once, for comparison with looking the snapshot up on every call
+    @Benchmark
+    public String cachedConfigUrl() {
+        return config.getUrl();
+    }
+
+    // Getter of the Owner proxy the snapshot is resolved from
+    @Benchmark
+    public String ownerProxyUrl() {
+        return proxy.getUrl();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Description: JMH benchmark of the WebDriver lookups every interaction makes through the DriverManager singleton and
+ *              the execution scope of the current thread, with a StubDriver bound to each benchmark thread.
+ */
+
+package com.example.benchmarks;
+
+import com.example.driverManager.DriverManager;
+import com.example.stubDriver.StubDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Dlog4j2.configurationFile=log4j2-benchmark.xml"})
+@State(Scope.Thread)
+public class DriverManagerBenchmark {
+
+    // Runs on the benchmark thread, so the driver is bound to the execution scope the benchmark reads
+    @Setup
+    public void bindDriver() {
+        DriverManager.getDriverInstance().setDriver(new StubDriver("fixtures/the-internet", 0, Collections.emptyMap()));
+    }
+
+    @TearDown
+    public void unbindDriver() {
+        DriverManager.getDriverInstance().removeDriver();
+    }
+
+    @Benchmark
+    public WebDriver getDriver() {
+        return DriverManager.getDriverInstance().getDriver();
+    }
+
+    @Benchmark
+    public String getDriverAndTitle() {
+        return DriverManager.getDriverInstance().getDriver().getTitle();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Description: JMH benchmark of the framework's work around an element lookup which succeeds at the first check: the
+ *              WaitEngine loop, and the wait latency recorded into the shared per-locator histograms, against a
+ *              StubDriver showing the login fixture and answering immediately.
+ */
+
+package com.example.benchmarks;
+
+import com.example.driverManager.DriverManager;
+import com.example.enums.LocatorType;
+import com.example.locatorManager.Locator;
+import com.example.stubDriver.StubDriver;
+import com.example.waitManager.WaitEngine;
+import com.example.waitManager.WaitMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Dlog4j2.configurationFile=log4j2-benchmark.xml"})
+@State(Scope.Thread)
+public class ElementLookupBenchmark {
+
+    private static final Locator USERNAME = Locator.of("ElementLookupBenchmark.username", LocatorType.ID, "username");
+
+    @Setup
+    public void bindDriver() {
+        StubDriver driver = new StubDriver("fixtures/the-internet", 0, Collections.emptyMap());
+        driver.get("https://the-internet.herokuapp.com/login");
+        DriverManager.getDriverInstance().setDriver(driver);
+    }
+
+    @TearDown
+    public void unbindDriver() {
+        DriverManager.getDriverInstance().removeDriver();
+    }
+
+    @Benchmark
+    public WebElement untilPresent() {
+        return WaitEngine.getWaitInstance().untilPresent(USERNAME);
+    }
+
+    // All threads record into the histogram of the same locator
+    @Benchmark
+    public void recordWaitLatency() {
+        WaitMetrics.getMetricsInstance().record(USERNAME, 1_500_000L, 1, false);
+    }
+}
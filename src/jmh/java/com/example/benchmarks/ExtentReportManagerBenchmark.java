@@ -0,0 +1,62 @@
+/*
+ * Description: JMH benchmark of report logging through ExtentReportManager in the configured report mode (SYNC by
+ *              default, pass -DreportMode=ASYNC in the fork arguments to measure the queued mode). Each thread logs to
+ *              its own ExtentTest, renewed every iteration so that the log history does not grow without bound.
+ */
+
+package com.example.benchmarks;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.example.reportManager.ExtentReportManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Dlog4j2.configurationFile=log4j2-benchmark.xml"})
+@State(Scope.Thread)
+public class ExtentReportManagerBenchmark {
+
+    // Report without reporters attached, the tests only live in memory
+    private static final ExtentReports extentReports = new ExtentReports();
+
+    @Setup(Level.Iteration)
+    public void bindTest() {
+        ExtentTest extentTest;
+        synchronized (extentReports) {
+            extentTest = extentReports.createTest("benchmark-" + Thread.currentThread().getName());
+        }
+        ExtentReportManager.getReportInstance().setExtent(extentTest);
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain() {
+        ExtentReportManager.getReportInstance().drain();
+    }
+
+    @Benchmark
+    public ExtentTest getExtent() {
+        return ExtentReportManager.getReportInstance().getExtent();
+    }
+
+    @Benchmark
+    public void logInfo() {
+        ExtentReportManager.getReportInstance().log(Status.INFO, "Entered Username: tomsmith");
+    }
+}
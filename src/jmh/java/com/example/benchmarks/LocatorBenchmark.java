@@ -0,0 +1,45 @@
+/*
+ * Description: JMH benchmark of building a By for an element lookup. The framework used to switch on the LocatorType and
+ *              build a new By on every interaction (as one-off locators still do); named locators declared by the page
+ *              objects build their By once.
+ */
+
+package com.example.benchmarks;
+
+import com.example.enums.LocatorType;
+import com.example.locatorManager.Locator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Dlog4j2.configurationFile=log4j2-benchmark.xml"})
+@State(Scope.Benchmark)
+public class LocatorBenchmark {
+
+    private static final Locator LOGIN_BUTTON = Locator.of("LocatorBenchmark.loginButton", LocatorType.XPATH, "//i[@class='fa fa-2x fa-sign-in']");
+
+    private final String locatorValue = "//i[@class='fa fa-2x fa-sign-in']";
+
+    @Benchmark
+    public By oneOffLocator() {
+        return Locator.of(LocatorType.XPATH, locatorValue).getBy();
+    }
+
+    @Benchmark
+    public By precompiledLocator() {
+        return LOGIN_BUTTON.getBy();
+    }
+}
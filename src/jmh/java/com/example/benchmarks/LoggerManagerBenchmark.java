@@ -0,0 +1,89 @@
+/*
+ * Description: JMH benchmark comparing the previous LoggerManager implementation (stack trace captured and message
+ *              concatenated on every call) with the current one, for messages that are written and for messages that
+ *              are filtered out by the configured level.
+ */
+
+package com.example.benchmarks;
+
+import com.example.logManager.LoggerManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Dlog4j2.configurationFile=log4j2-benchmark.xml"})
+@State(Scope.Benchmark)
+public class LoggerManagerBenchmark {
+
+    private final String locator = "//i[@class='fa fa-2x fa-sign-in']";
+    private final int count = 45;
+
+    // Message written by the benchmark configuration (WARN and above)
+    @Benchmark
+    public void legacyWritten() {
+        LegacyLoggerManager.warn("Element not found for locator: " + locator + " after " + count + " attempts");
+    }
+
+    @Benchmark
+    public void currentWritten() {
+        LoggerManager.warn("Element not found for locator: {} after {} attempts", locator, count);
+    }
+
+    // Message filtered out by the benchmark configuration (below WARN)
+    @Benchmark
+    public void legacyFiltered() {
+        LegacyLoggerManager.info("Total " + count + " elements found for locator: " + locator);
+    }
+
+    @Benchmark
+    public void currentFiltered() {
+        LoggerManager.info("Total " + count + " elements found for locator: " + locator);
+    }
+
+    @Benchmark
+    public void currentFilteredParameterized() {
+        LoggerManager.info("Total {} elements found for locator: {}", count, locator);
+    }
+
+    @Benchmark
+    public void currentFilteredSupplier() {
+        LoggerManager.info(() -> "Total " + count + " elements found for locator: " + locator);
+    }
+
+    // Copy of the LoggerManager implementation the framework used before the lazy logging API
+    static final class LegacyLoggerManager {
+
+        private static final Logger log = LogManager.getLogger("benchmark.legacy");
+
+        private static String getCallInfo() {
+            StackTraceElement callStack = Thread.currentThread().getStackTrace()[3];
+            String className = callStack.getClassName();
+            String methodName = callStack.getMethodName();
+            int lineNumber = callStack.getLineNumber();
+
+            return className + " => " + methodName + " => " + lineNumber + " ==> ";
+        }
+
+        static void info(Object message) {
+            log.info(getCallInfo() + (message != null ? message : "null"));
+        }
+
+        static void warn(Object message) {
+            log.warn(getCallInfo() + (message != null ? message : "null"));
+        }
+    }
+}
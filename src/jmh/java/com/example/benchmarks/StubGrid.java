@@ -0,0 +1,74 @@
+/*
+ * Description: In-process Selenium Grid answering the W3C WebDriver commands of the thread mode benchmark over HTTP
+ *              after a fixed latency, the way a remote browser keeps the test thread blocked on every command.
+ */
+
+package com.example.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+final class StubGrid implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final long latencyMillis;
+
+    StubGrid(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            while (body.read() != -1) {
+                // Drain the command payload
+            }
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String path = exchange.getRequestURI().getPath();
+        String value = "null";
+        if ("POST".equals(exchange.getRequestMethod()) && path.equals("/session")) {
+            value = "{\"sessionId\":\"" + UUID.randomUUID() + "\",\"capabilities\":{\"browserName\":\"chrome\","
+                    + "\"browserVersion\":\"stub\",\"platformName\":\"linux\"}}";
+        } else if (path.endsWith("/title")) {
+            value = "\"Stub Grid\"";
+        } else if (path.endsWith("/element")) {
+            value = "{\"element-6066-11e4-a52e-4f735466cecf\":\"" + UUID.randomUUID() + "\"}";
+        }
+        byte[] response = ("{\"value\":" + value + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(response);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        server.stop(0);
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
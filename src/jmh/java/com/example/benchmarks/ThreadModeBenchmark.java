@@ -0,0 +1,117 @@
+/*
+ * Description: JMH benchmark comparing platform and virtual worker threads running remote sessions against an
+ *              in-process stub Grid. Every operation runs one batch of sessions in parallel, each in its own execution
+ *              scope like a StarterKit test class: create the session through the RemoteSessionFactory, navigate, send
+ *              a few commands and quit. The workers are pooled like TestNG's, one per session. VIRTUAL needs Java 21,
+ *              run it with a single benchmark thread: -Dbenchmark.args="ThreadModeBenchmark -t 1".
+ */
+
+package com.example.benchmarks;
+
+import com.example.configManager.ConfigFactory;
+import com.example.driverManager.DriverManager;
+import com.example.driverManager.RemoteSessionFactory;
+import com.example.enums.ThreadMode;
+import com.example.executionManager.ExecutionScope;
+import com.example.executionManager.VirtualThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+// The stub Grid keeps every session's keep-alive connection open instead of closing those beyond 200
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Dlog4j2.configurationFile=log4j2-benchmark.xml",
+        "-Dsun.net.httpserver.maxIdleConnections=1024"})
+@State(Scope.Benchmark)
+public class ThreadModeBenchmark {
+
+    // Latency of every Grid command, in milliseconds
+    private static final long GRID_LATENCY = 20;
+
+    // Commands sent per session between navigating and quitting
+    private static final int COMMANDS_PER_SESSION = 5;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ThreadMode threadMode;
+
+    @Param({"32", "256"})
+    public int sessions;
+
+    private StubGrid grid;
+    private ExecutorService workers;
+
+    @Setup
+    public void startGrid() throws Exception {
+        ThreadFactory threadFactory = threadMode == ThreadMode.VIRTUAL
+                ? VirtualThreads.newThreadFactory("session-virtual-")
+                : Executors.defaultThreadFactory();
+        grid = new StubGrid(GRID_LATENCY);
+        // Every session keeps a connection busy, as remoteMaxConnections would be sized for a run of this many threads
+        System.setProperty("remoteSeleniumGridUrl", grid.getUrl());
+        System.setProperty("remoteMaxConnections", String.valueOf(sessions));
+        System.setProperty("remoteSessionRetries", "0");
+        ConfigFactory.reload();
+        workers = Executors.newFixedThreadPool(sessions, threadFactory);
+    }
+
+    @TearDown
+    public void stopGrid() throws Exception {
+        workers.shutdownNow();
+        grid.close();
+    }
+
+    @Benchmark
+    public int runSessions() throws Exception {
+        List<Future<String>> results = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            String name = "session-" + i;
+            results.add(workers.submit(() -> runSession(name)));
+        }
+        int completed = 0;
+        for (Future<String> result : results) {
+            if (result.get() != null) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    private String runSession(String name) {
+        ExecutionScope scope = ExecutionScope.open(name);
+        try {
+            DriverManager.getDriverInstance().setDriver(RemoteSessionFactory.getFactoryInstance().createDriver(new ChromeOptions()));
+            WebDriver driver = DriverManager.getDriverInstance().getDriver();
+            driver.get(grid.getUrl());
+            String title = null;
+            for (int i = 0; i < COMMANDS_PER_SESSION; i++) {
+                title = DriverManager.getDriverInstance().getDriver().getTitle();
+            }
+            return title;
+        } finally {
+            DriverManager.getDriverInstance().removeDriver();
+            scope.close();
+        }
+    }
+}
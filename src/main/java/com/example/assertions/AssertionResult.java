@@ -0,0 +1,58 @@
+/*
+ * Description: This class holds the outcome of one soft assertion: what was checked, the expected and actual values, the
+ *              locator of the checked element and when the check ran. Soft assertion managers collect them and report
+ *              them in batch.
+ */
+
+package com.example.assertions;
+
+public final class AssertionResult {
+
+    private final String description;
+    private final String expected;
+    private final String actual;
+    private final String locator;
+    private final long timestamp;
+    private final boolean passed;
+
+    public AssertionResult(String description, String expected, String actual, String locator, long timestamp, boolean passed) {
+        this.description = description;
+        this.expected = expected;
+        this.actual = actual;
+        this.locator = locator;
+        this.timestamp = timestamp;
+        this.passed = passed;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getExpected() {
+        return expected;
+    }
+
+    public String getActual() {
+        return actual;
+    }
+
+    // Locator of the checked element, null for checks of the page
+    public String getLocator() {
+        return locator;
+    }
+
+    // Time of the check in milliseconds since the epoch
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    // "Title Validation: expected [Login] but found [Home]", in the format of TestNG's SoftAssert
+    @Override
+    public String toString() {
+        return description + ": expected [" + expected + "] but found [" + actual + "]" + (locator != null ? " at " + locator : "");
+    }
+}
@@ -1,13 +1,42 @@
+/*
+ * Description: This class collects the soft assertions of one execution scope as structured results. Results are reported
+ *              in batch, as one table per test instead of one report entry per check, and the failures are asserted
+ *              together when the scope ends. Storage is bounded by softAssertionLimit; results beyond it are counted only.
+ */
+
 package com.example.assertions;
 
+import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
 import com.example.logManager.LoggerManager;
 import com.example.reportManager.ExtentReportManager;
-import org.testng.asserts.SoftAssert;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 public class SoftAssertionManager {
 
-    public SoftAssert softAssert = new SoftAssert();
+    private static final String[] HEADERS = {"Time", "Check", "Expected", "Actual", "Locator", "Result"};
+
+    private final int limit;
+
+    // Results not reported yet, and the number of those which did not fit
+    private final List<AssertionResult> pending = new ArrayList<>();
+    private int pendingOverflow;
+
+    // Failures not asserted yet, and the number of those which did not fit
+    private final List<AssertionResult> failures = new ArrayList<>();
+    private int failureOverflow;
+
+    public SoftAssertionManager() {
+        FMConfig config = ConfigFactory.getConfig();
+        this.limit = Math.max(1, config != null ? config.getSoftAssertionLimit() : 100);
+    }
 
     /**
      * Compares the actual value with the expected value using a custom message.
@@ -16,12 +45,23 @@ public class SoftAssertionManager {
      * @param expectedValue the expected value for comparison
      * @param message       the custom message to be displayed on failure
      */
-
     public void assertEquals(String actualValue, String expectedValue, String message) {
+        assertEquals(actualValue, expectedValue, message, null);
+    }
+
+    /**
+     * Compares the actual value of an element with the expected value using a custom message.
+     *
+     * @param actualValue   the actual value to be compared
+     * @param expectedValue the expected value for comparison
+     * @param message       the custom message to be displayed on failure
+     * @param locator       the locator of the checked element, or null for checks of the page
+     */
+    public void assertEquals(String actualValue, String expectedValue, String message, String locator) {
         if (actualValue == null || expectedValue == null) {
             throw new IllegalArgumentException("Actual value and expected value must not be null");
         }
-        softAssert.assertEquals(actualValue, expectedValue, message);
+        record(new AssertionResult(message, expectedValue, actualValue, locator, System.currentTimeMillis(), actualValue.equals(expectedValue)));
     }
 
     /**
@@ -30,9 +70,8 @@ public class SoftAssertionManager {
      * @param condition boolean condition to be checked
      * @param message   description of the assertion
      */
-
     public void assertTrue(boolean condition, String message) {
-        softAssert.assertTrue(condition, message);
+        record(new AssertionResult(message, "true", String.valueOf(condition), null, System.currentTimeMillis(), condition));
     }
 
     /**
@@ -48,19 +87,88 @@ public class SoftAssertionManager {
     }
 
     /**
-     * Asserts all the soft assertions in the SoftAssert object, and handles any exceptions that may occur.
+     * Reports the results recorded since the last report to a test as one table, failed if any of them failed.
+     *
+     * @param extentTest ExtentTest to report to, the results are discarded if it is null.
      */
-    public void assertAll() {
-        try {
-            softAssert.assertAll();
-        } catch (Exception e) {
-            LoggerManager.error("An error occurred during assertion: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "An error occurred during assertion: " + e.getMessage());
-            throw e;
+    public void reportPending(ExtentTest extentTest) {
+        List<AssertionResult> results;
+        int overflow;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            results = new ArrayList<>(pending);
+            overflow = pendingOverflow;
+            pending.clear();
+            pendingOverflow = 0;
+        }
+        boolean failed = false;
+        String[][] table = new String[results.size() + 1][];
+        table[0] = HEADERS;
+        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+        for (int i = 0; i < results.size(); i++) {
+            AssertionResult result = results.get(i);
+            failed |= !result.isPassed();
+            table[i + 1] = new String[]{timeFormat.format(new Date(result.getTimestamp())), escape(result.getDescription()),
+                    escape(result.getExpected()), escape(result.getActual()), escape(result.getLocator()),
+                    result.isPassed() ? "Passed" : "Failed"};
         }
+        String details = MarkupHelper.createTable(table).getMarkup()
+                + (overflow > 0 ? overflow + " more soft assertions were not recorded" : "");
+        ExtentReportManager.getReportInstance().log(extentTest, failed ? Status.FAIL : Status.INFO, details);
     }
 
-    // Add more specific verification methods as needed, e.g., for WebElement properties
-}
+    /**
+     * Reports the pending results to the test of the current thread and asserts that none of the soft assertions failed,
+     * then starts over.
+     *
+     * @throws AssertionError listing the failed soft assertions.
+     */
+    public void assertAll() {
+        List<AssertionResult> failed;
+        int overflow;
+        synchronized (this) {
+            // Results of the class-level setup and teardown, those of the tests were reported when they ended
+            if (!pending.isEmpty()) {
+                reportPending(ExtentReportManager.getReportInstance().getExtent());
+            }
+            if (failures.isEmpty()) {
+                return;
+            }
+            failed = new ArrayList<>(failures);
+            overflow = failureOverflow;
+            failures.clear();
+            failureOverflow = 0;
+        }
+        StringBuilder message = new StringBuilder("The following asserts failed:");
+        for (AssertionResult result : failed) {
+            message.append("\n\t").append(result);
+        }
+        if (overflow > 0) {
+            message.append("\n\t").append(overflow).append(" more");
+        }
+        LoggerManager.error("An error occurred during assertion: " + message);
+        ExtentReportManager.getReportInstance().log(Status.FAIL, (failed.size() + overflow) + " soft assertions failed");
+        throw new AssertionError(message.toString());
+    }
 
+    private synchronized void record(AssertionResult result) {
+        if (pending.size() < limit) {
+            pending.add(result);
+        } else {
+            pendingOverflow++;
+        }
+        if (!result.isPassed()) {
+            if (failures.size() < limit) {
+                failures.add(result);
+            } else {
+                failureOverflow++;
+            }
+        }
+    }
 
+    private static String escape(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
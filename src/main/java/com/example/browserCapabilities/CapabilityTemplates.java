@@ -0,0 +1,154 @@
+/*
+ * Description: This class caches the browser options of a run as templates. A template is built and validated once
+ *              per browser, headless mode, video recording, execution profile and startup arguments, and every session
+ *              gets a copy it may change freely. The startup arguments of each browser come from the configuration (chromeArguments,
+ *              firefoxArguments, edgeArguments), so flags can be changed without code changes.
+ */
+
+package com.example.browserCapabilities;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.enums.BrowserType;
+import com.example.logManager.LoggerManager;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class CapabilityTemplates {
+
+    // Capability asking Selenium Grid to record a video of the session
+    private static final String RECORD_VIDEO_CAPABILITY = "se:recordVideo";
+    private static final String HEADLESS_ARGUMENT = "--headless";
+
+    // Templates per browser, headless mode, video recording and execution profile; never handed out themselves
+    private static final Map<String, Capabilities> templates = new ConcurrentHashMap<>();
+
+    // Private constructor to prevent instantiation
+    private CapabilityTemplates() {
+    }
+
+    /**
+     * Returns a copy of the Chrome template for the current configuration.
+     *
+     * @return ChromeOptions owned by the caller.
+     */
+    public static ChromeOptions getChromeOptions() {
+        return new ChromeOptions().merge(getTemplate(BrowserType.CHROME));
+    }
+
+    /**
+     * Returns a copy of the Firefox template for the current configuration.
+     *
+     * @return FirefoxOptions owned by the caller.
+     */
+    public static FirefoxOptions getFirefoxOptions() {
+        return new FirefoxOptions().merge(getTemplate(BrowserType.FIREFOX));
+    }
+
+    /**
+     * Returns a copy of the Edge template for the current configuration.
+     *
+     * @return EdgeOptions owned by the caller.
+     */
+    public static EdgeOptions getEdgeOptions() {
+        return new EdgeOptions().merge(getTemplate(BrowserType.EDGE));
+    }
+
+    // The key is read from the configuration on every call, so a reloaded configuration gets templates of its own
+    private static Capabilities getTemplate(BrowserType browserType) {
+        FMConfig config = ConfigFactory.getConfig();
+        boolean headless = config.isHeadless();
+        boolean recordVideo = config.canRecordVideo();
+        String arguments = getArguments(browserType, config);
+        String key = browserType + "|headless=" + headless + "|recordVideo=" + recordVideo + "|profile=" + config.getExecutionProfile()
+                + "|arguments=" + arguments;
+        return templates.computeIfAbsent(key, ignored -> {
+            Capabilities template = buildTemplate(browserType, arguments, headless, recordVideo);
+            LoggerManager.info("Built capability template {}: {}", key, template);
+            return template;
+        });
+    }
+
+    // Startup arguments of the browser type as configured
+    private static String getArguments(BrowserType browserType, FMConfig config) {
+        switch (browserType) {
+            case CHROME:
+                return config.getChromeArguments();
+            case EDGE:
+                return config.getEdgeArguments();
+            case FIREFOX:
+                return config.getFirefoxArguments();
+            default:
+                throw new UnsupportedOperationException("Unsupported browser type: " + browserType);
+        }
+    }
+
+    private static Capabilities buildTemplate(BrowserType browserType, String configuredArguments, boolean headless, boolean recordVideo) {
+        MutableCapabilities options;
+        List<String> arguments;
+        switch (browserType) {
+            case CHROME:
+                options = new ChromeOptions();
+                arguments = validateArguments(browserType, configuredArguments, headless);
+                ((ChromiumOptions<?>) options).addArguments(arguments);
+                break;
+            case EDGE:
+                options = new EdgeOptions();
+                arguments = validateArguments(browserType, configuredArguments, headless);
+                ((ChromiumOptions<?>) options).addArguments(arguments);
+                break;
+            case FIREFOX:
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                firefoxOptions.setCapability("webSocketUrl", true);
+                firefoxOptions.addArguments(validateArguments(browserType, configuredArguments, headless));
+                options = firefoxOptions;
+                break;
+            default:
+                throw new UnsupportedOperationException("Unsupported browser type: " + browserType);
+        }
+
+        // The Grid cannot record headless sessions
+        if (recordVideo && headless) {
+            LoggerManager.warn("Video recording is not supported in headless mode, {} sessions are not recorded", browserType);
+        } else if (recordVideo) {
+            options.setCapability(RECORD_VIDEO_CAPABILITY, true);
+        }
+        return options;
+    }
+
+    // Splits the configured arguments, drops blank and repeated flags (the last value of a flag wins) and adds or
+    // removes the headless flag to match the headless setting
+    static List<String> validateArguments(BrowserType browserType, String setting, boolean headless) {
+        Map<String, String> flags = new LinkedHashMap<>();
+        for (String argument : setting.trim().split("\\s+")) {
+            if (argument.isEmpty()) {
+                continue;
+            }
+            String flag = argument.split("=", 2)[0];
+            if (flag.equals(HEADLESS_ARGUMENT)) {
+                if (!headless) {
+                    LoggerManager.warn("Ignoring {} in the {} arguments, headless is disabled", argument, browserType);
+                }
+                continue;
+            }
+            if (flags.put(flag, argument) != null) {
+                LoggerManager.warn("{} argument {} is set more than once, using {}", browserType, flag, argument);
+            }
+        }
+        List<String> arguments = new ArrayList<>(flags.values());
+        if (headless) {
+            arguments.add(HEADLESS_ARGUMENT);
+        }
+        return arguments;
+    }
+}
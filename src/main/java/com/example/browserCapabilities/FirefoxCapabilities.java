@@ -1,29 +1,19 @@
 package com.example.browserCapabilities;
 
-import com.example.utilities.StarterKit;
 import org.openqa.selenium.firefox.FirefoxOptions;
 
-public class FirefoxCapabilities extends StarterKit {
+public class FirefoxCapabilities {
+
+    // Private constructor to prevent instantiation
+    private FirefoxCapabilities() {
+    }
 
     /**
-     * Get Firefox options for WebDriver setup.
+     * Returns FirefoxOptions for a new session, copied from the cached template of the current configuration.
      *
-     * @return FirefoxOptions object with configured options
+     * @return FirefoxOptions owned by the caller
      */
     public static FirefoxOptions getFirefoxOptions() {
-        FirefoxOptions firefoxOptions = new FirefoxOptions();
-        firefoxOptions.addArguments("start-maximized");
-        firefoxOptions.setCapability("se:recordVideo", true);
-        firefoxOptions.setCapability("webSocketUrl", true);
-
-        if (isRecordVideo()) {
-            firefoxOptions.setCapability("se:recordVideo", true);
-        }
-
-        if (isHeadless()) {
-            firefoxOptions.addArguments("--headless");
-        }
-
-        return firefoxOptions;
+        return CapabilityTemplates.getFirefoxOptions();
     }
 }
@@ -5,6 +5,7 @@
 package com.example.browserManager;
 
 import com.aventstack.extentreports.Status;
+import com.example.driverManager.StubDriverManager;
 import com.example.enums.BrowserType;
 import com.example.enums.EnvironmentType;
 import com.example.logManager.LoggerManager;
@@ -17,7 +18,7 @@ public class BrowserManager {
     /**
      * Retrieves a WebDriver instance based on the specified environment and browser type.
      *
-     * @param environmentType The type of environment (LOCAL or REMOTE).
+     * @param environmentType The type of environment (LOCAL, REMOTE or STUB).
      * @param browserType     The type of browser (CHROME, FIREFOX, etc.).
      * @return WebDriver instance for the specified environment and browser type.
      * @throws UnsupportedOperationException if an unsupported environment type is provided.
@@ -38,11 +39,15 @@ public class BrowserManager {
                     // Get remote WebDriver instance
                     driver = RemoteBrowserManager.getRemoteDriver(browserType);
                     break;
+                case STUB:
+                    // Get in-process stub WebDriver instance, the browser type does not matter
+                    driver = StubDriverManager.getStubDriver();
+                    break;
                 default:
                     // Unsupported environment type
                     String errorMessage = "Unsupported environment type: " + environmentType + " for browser type: " + browserType;
                     LoggerManager.error(errorMessage);
-                    ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+                    ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
                     throw new UnsupportedOperationException(errorMessage);
             }
 
@@ -50,7 +55,7 @@ public class BrowserManager {
                 // WebDriver instance not initialized
                 String errorMessage = "WebDriver instance is not initialized for the specified environment type: " + environmentType;
                 LoggerManager.error(errorMessage);
-                ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+                ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
             }
 
             return driver;
@@ -58,13 +63,13 @@ public class BrowserManager {
             // WebDriver-related exception
             String errorMessage = "WebDriver exception: " + e.getMessage();
             LoggerManager.error(errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
             throw new WebDriverException(errorMessage, e);
         } catch (Exception e) {
             // General exception
             String errorMessage = "Exception: " + e.getMessage();
             LoggerManager.error(errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
             throw new RuntimeException(errorMessage, e);
         }
     }
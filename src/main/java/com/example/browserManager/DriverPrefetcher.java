@@ -0,0 +1,270 @@
+/*
+ * Description: This class pre-warms WebDriver sessions in the background so that a browser is already running when the
+ *              next test class asks for one. The number of sessions started ahead of time is bounded by the configured
+ *              prefetch depth and by the number of test classes still to run in the suite.
+ */
+
+package com.example.browserManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.enums.BrowserType;
+import com.example.enums.EnvironmentType;
+import com.example.logManager.LoggerManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DriverPrefetcher {
+
+    // Singleton instance of DriverPrefetcher, created when the prefetcher is first used
+    private static volatile DriverPrefetcher instance;
+
+    // Sequence used to give every lease an identifier that shows up in the logs
+    private final AtomicLong leaseSequence = new AtomicLong();
+
+    // Leases (ready or still starting) grouped by environment and browser type, oldest first
+    private final Map<String, ConcurrentLinkedDeque<SessionLease>> leases = new ConcurrentHashMap<>();
+
+    // Number of test classes which have not asked for a session yet, or -1 when unknown
+    private final AtomicInteger remainingClasses = new AtomicInteger(-1);
+
+    private final int depth;
+    private final ExecutorService executor;
+
+    // Private constructor to enforce Singleton pattern
+    private DriverPrefetcher() {
+        FMConfig config = ConfigFactory.getConfig();
+        this.depth = config != null ? Math.max(0, config.getPrefetchSessions()) : 0;
+        this.executor = depth > 0 ? Executors.newFixedThreadPool(depth, runnable -> {
+            Thread thread = new Thread(runnable, "driver-prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        if (depth > 0) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-prefetcher-shutdown"));
+        }
+    }
+
+    /**
+     * Retrieves the singleton instance of DriverPrefetcher, creating it on first use. The shutdown hook which quits the
+     * sessions not handed out is only registered when prefetching is enabled.
+     *
+     * @return DriverPrefetcher instance.
+     */
+    public static DriverPrefetcher getPrefetcherInstance() {
+        if (instance == null) {
+            synchronized (DriverPrefetcher.class) {
+                if (instance == null) {
+                    instance = new DriverPrefetcher();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether the prefetcher has been created, without creating it.
+     *
+     * @return true if the prefetcher instance exists, false otherwise.
+     */
+    public static boolean isInitialized() {
+        return instance != null;
+    }
+
+    /**
+     * Starts warming sessions for the upcoming test classes of a suite.
+     *
+     * @param environmentType The type of environment (LOCAL or REMOTE).
+     * @param browserType     The type of browser (CHROME, FIREFOX, etc.).
+     * @param classCount      Number of test classes the suite is going to run.
+     */
+    public void start(EnvironmentType environmentType, BrowserType browserType, int classCount) {
+        remainingClasses.set(classCount);
+        if (depth > 0) {
+            LoggerManager.info("Prefetching up to {} {} sessions for {} test classes", depth,
+                    getKey(environmentType, browserType), classCount);
+            refill(environmentType, browserType);
+        }
+    }
+
+    /**
+     * Takes a session lease for the specified environment and browser type. A lease whose session is already running
+     * is preferred, then the oldest lease still starting; when none is available the session is created on the
+     * calling thread. Prefetching of the following sessions is triggered before returning.
+     *
+     * @param environmentType The type of environment (LOCAL or REMOTE).
+     * @param browserType     The type of browser (CHROME, FIREFOX, etc.).
+     * @return SessionLease holding the session or the failure which prevented its creation.
+     */
+    public SessionLease take(EnvironmentType environmentType, BrowserType browserType) {
+        ConcurrentLinkedDeque<SessionLease> deque = getDeque(getKey(environmentType, browserType));
+        SessionLease lease = pollReady(deque);
+        if (lease == null) {
+            lease = deque.pollFirst();
+        }
+        remainingClasses.updateAndGet(remaining -> remaining > 0 ? remaining - 1 : remaining);
+
+        if (lease == null) {
+            CompletableFuture<WebDriver> future = new CompletableFuture<>();
+            try {
+                future.complete(createDriver(environmentType, browserType));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+            lease = new SessionLease(leaseSequence.incrementAndGet(), environmentType, browserType, future);
+        } else {
+            LoggerManager.info("Handing out prefetched session lease #{} ({})", lease.getId(),
+                    lease.isReady() ? "ready" : "starting");
+        }
+
+        refill(environmentType, browserType);
+        return lease;
+    }
+
+    /**
+     * Records that a test class was served by a reused session, so one less session needs to be prefetched.
+     */
+    public void onSessionReused() {
+        remainingClasses.updateAndGet(remaining -> remaining > 0 ? remaining - 1 : remaining);
+    }
+
+    /**
+     * Cancels the sessions which are still starting and quits the prefetched sessions nobody asked for.
+     */
+    public void shutdown() {
+        remainingClasses.set(0);
+        for (ConcurrentLinkedDeque<SessionLease> deque : leases.values()) {
+            SessionLease lease;
+            while ((lease = deque.pollFirst()) != null) {
+                lease.discard();
+            }
+        }
+    }
+
+    /**
+     * Submits background session creations until the prefetch depth, capped by the remaining test classes, is reached.
+     */
+    private void refill(EnvironmentType environmentType, BrowserType browserType) {
+        if (executor == null) {
+            return;
+        }
+        ConcurrentLinkedDeque<SessionLease> deque = getDeque(getKey(environmentType, browserType));
+        int remaining = remainingClasses.get();
+        int target = remaining < 0 ? depth : Math.min(depth, remaining);
+        synchronized (deque) {
+            while (deque.size() < target) {
+                long id = leaseSequence.incrementAndGet();
+                CompletableFuture<WebDriver> future = new CompletableFuture<>();
+                executor.execute(() -> {
+                    try {
+                        WebDriver driver = createDriver(environmentType, browserType);
+                        // The lease was discarded while the browser was starting
+                        if (!future.complete(driver)) {
+                            driver.quit();
+                        }
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+                deque.offerLast(new SessionLease(id, environmentType, browserType, future));
+            }
+        }
+    }
+
+    private static WebDriver createDriver(EnvironmentType environmentType, BrowserType browserType) {
+        WebDriver driver = BrowserManager.getEnvironment(environmentType, browserType);
+        if (driver == null) {
+            throw new WebDriverException("WebDriver session could not be created for " + getKey(environmentType, browserType));
+        }
+        return driver;
+    }
+
+    private static SessionLease pollReady(ConcurrentLinkedDeque<SessionLease> deque) {
+        Iterator<SessionLease> iterator = deque.iterator();
+        while (iterator.hasNext()) {
+            SessionLease lease = iterator.next();
+            if (lease.isReady() && deque.removeFirstOccurrence(lease)) {
+                return lease;
+            }
+        }
+        return null;
+    }
+
+    private ConcurrentLinkedDeque<SessionLease> getDeque(String key) {
+        return leases.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+    }
+
+    private static String getKey(EnvironmentType environmentType, BrowserType browserType) {
+        return environmentType + "/" + browserType;
+    }
+
+    /**
+     * A WebDriver session which is either running, still starting or failed to start.
+     */
+    public static final class SessionLease {
+        private final long id;
+        private final EnvironmentType environmentType;
+        private final BrowserType browserType;
+        private final CompletableFuture<WebDriver> future;
+
+        private SessionLease(long id, EnvironmentType environmentType, BrowserType browserType, CompletableFuture<WebDriver> future) {
+            this.id = id;
+            this.environmentType = environmentType;
+            this.browserType = browserType;
+            this.future = future;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        // Whether the session finished starting, successfully or not
+        public boolean isReady() {
+            return future.isDone();
+        }
+
+        /**
+         * Waits for the session of this lease to be running and returns it.
+         *
+         * @return WebDriver instance of this lease.
+         * @throws WebDriverException if the session could not be created.
+         */
+        public WebDriver getDriver() {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while waiting for session lease #" + id, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                String errorMessage = "Session lease #" + id + " for " + getKey(environmentType, browserType) + " failed: " + cause.getMessage();
+                LoggerManager.error(errorMessage);
+                throw new WebDriverException(errorMessage, cause);
+            }
+        }
+
+        // Quits the session of this lease once it is running, or cancels its creation
+        private void discard() {
+            if (!future.cancel(false)) {
+                future.thenAccept(driver -> {
+                    try {
+                        driver.quit();
+                    } catch (Exception e) {
+                        LoggerManager.error("Exception while quitting prefetched WebDriver: {}", e.getMessage());
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Description: This class admits remote session requests only when the Selenium Grid has a free slot for the
+ *              browser, so that threads beyond the Grid capacity wait here instead of piling up in the Grid's own
+ *              session queue until their requests time out. Free slots are read from the Grid /status endpoint and
+ *              reduced by the sessions admitted since, requests are admitted per browser in arrival order, and the
+ *              time requests spend waiting is recorded.
+ */
+
+package com.example.browserManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.enums.BrowserType;
+import com.example.logManager.LoggerManager;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class GridAdmissionController {
+
+    // Timeout of a single /status request
+    private static final int STATUS_TIMEOUT_MILLIS = 5000;
+
+    // Singleton instance of GridAdmissionController, created from the configuration on first use
+    private static volatile GridAdmissionController instance;
+
+    private final String statusUrl;
+    private final long pollIntervalNanos;
+    private final long timeoutNanos;
+
+    // Fair lock, and the condition signalled whenever free slots or the queues change
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition slotsChanged = lock.newCondition();
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    // Guarded by lock: free slots per browser of the last poll, admitted sessions not created yet and waiting requests
+    private final Map<BrowserType, Integer> freeSlots = new EnumMap<>(BrowserType.class);
+    private final Map<BrowserType, Integer> pendingSessions = new EnumMap<>(BrowserType.class);
+    private final Map<BrowserType, Deque<Object>> queues = new EnumMap<>(BrowserType.class);
+    private boolean polled;
+    private long lastPollNanos;
+    private boolean statusAvailable;
+
+    // Counters used to report the time requests waited for a slot
+    private final AtomicLong admissions = new AtomicLong();
+    private final AtomicLong queuedAdmissions = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong polls = new AtomicLong();
+
+    /**
+     * Creates an admission controller for a Grid.
+     *
+     * @param gridUrl            URL of the Grid, as used to create remote sessions.
+     * @param pollIntervalMillis Minimum interval between two /status requests, in milliseconds.
+     * @param timeoutMillis      Maximum time a request waits for a free slot, in milliseconds.
+     */
+    GridAdmissionController(String gridUrl, long pollIntervalMillis, long timeoutMillis) {
+        this.statusUrl = gridUrl.replaceAll("/+$", "") + "/status";
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Checks if admission control is enabled in the configuration.
+     *
+     * @return true if remote session requests go through the admission controller, false otherwise.
+     */
+    public static boolean isEnabled() {
+        FMConfig config = ConfigFactory.getConfig();
+        return config != null && config.isGridAdmissionEnabled();
+    }
+
+    /**
+     * Retrieves the singleton instance of GridAdmissionController for the configured Grid.
+     *
+     * @return GridAdmissionController instance.
+     */
+    public static GridAdmissionController getControllerInstance() {
+        if (instance == null) {
+            synchronized (GridAdmissionController.class) {
+                if (instance == null) {
+                    FMConfig config = ConfigFactory.getConfig();
+                    instance = new GridAdmissionController(config.getRemoteSeleniumGridUrl(), config.getGridStatusPollInterval(),
+                            TimeUnit.SECONDS.toMillis(config.getGridAdmissionTimeout()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Waits until the Grid has a free slot for the browser and every earlier request for it was admitted. Every
+     * admission must be followed by {@link #complete(BrowserType, boolean)} once the session request finished.
+     *
+     * @param browserType The type of browser of the session to create.
+     * @throws WebDriverException if no slot became free in time or the thread was interrupted.
+     */
+    public void acquire(BrowserType browserType) {
+        long startNanos = System.nanoTime();
+        Object ticket = new Object();
+        lock.lock();
+        try {
+            Deque<Object> queue = queues.computeIfAbsent(browserType, key -> new ArrayDeque<>());
+            queue.addLast(ticket);
+            boolean queued = false;
+            while (true) {
+                if ((!polled || System.nanoTime() - lastPollNanos >= pollIntervalNanos) && polling.compareAndSet(false, true)) {
+                    // Poll without holding the lock, so that other requests and completions are not held up
+                    lock.unlock();
+                    try {
+                        refreshStatus();
+                    } finally {
+                        lock.lock();
+                        polling.set(false);
+                    }
+                }
+                if (queue.peekFirst() == ticket && getAvailableSlots(browserType) > 0) {
+                    queue.removeFirst();
+                    pendingSessions.merge(browserType, 1, Integer::sum);
+                    slotsChanged.signalAll();
+                    recordAdmission(System.nanoTime() - startNanos, queued);
+                    return;
+                }
+                long remainingNanos = timeoutNanos - (System.nanoTime() - startNanos);
+                if (remainingNanos <= 0) {
+                    queue.remove(ticket);
+                    slotsChanged.signalAll();
+                    timeouts.incrementAndGet();
+                    throw new WebDriverException("Timed out after " + TimeUnit.NANOSECONDS.toSeconds(timeoutNanos)
+                            + "s waiting for a free " + browserType + " slot on the Grid");
+                }
+                if (!queued && polled) {
+                    queued = true;
+                    LoggerManager.info("No free {} slot on the Grid, request queued behind {} others", browserType, queue.size() - 1);
+                }
+                slotsChanged.await(Math.min(remainingNanos, pollIntervalNanos), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            queues.get(browserType).remove(ticket);
+            slotsChanged.signalAll();
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting for a free " + browserType + " slot on the Grid", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the end of an admitted session request. A created session takes its slot until the next poll shows
+     * the Grid's own count.
+     *
+     * @param browserType The type of browser passed to {@link #acquire(BrowserType)}.
+     * @param created     true if the session was created, false if the request failed.
+     */
+    public void complete(BrowserType browserType, boolean created) {
+        lock.lock();
+        try {
+            pendingSessions.merge(browserType, -1, Integer::sum);
+            if (created && freeSlots.containsKey(browserType)) {
+                freeSlots.put(browserType, Math.max(0, freeSlots.get(browserType) - 1));
+            }
+            slotsChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Free slots left for the browser; unlimited while the Grid does not report its slots, so that requests are not
+    // blocked by a Grid without a usable /status endpoint
+    private int getAvailableSlots(BrowserType browserType) {
+        if (!polled) {
+            return 0;
+        }
+        Integer free = freeSlots.get(browserType);
+        if (!statusAvailable || free == null) {
+            return Integer.MAX_VALUE;
+        }
+        return free - pendingSessions.getOrDefault(browserType, 0);
+    }
+
+    // Reads the free slots of every browser from the Grid /status endpoint
+    private void refreshStatus() {
+        Map<BrowserType, Integer> slots = null;
+        try {
+            slots = readFreeSlots();
+        } catch (Exception e) {
+            LoggerManager.warn("Unable to read the Grid status from {}, admitting session requests without checking capacity: {}",
+                    statusUrl, e.getMessage());
+        }
+        polls.incrementAndGet();
+        lock.lock();
+        try {
+            freeSlots.clear();
+            statusAvailable = slots != null;
+            if (slots != null) {
+                freeSlots.putAll(slots);
+            }
+            polled = true;
+            lastPollNanos = System.nanoTime();
+            slotsChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<BrowserType, Integer> readFreeSlots() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(statusUrl).openConnection();
+        connection.setConnectTimeout(STATUS_TIMEOUT_MILLIS);
+        connection.setReadTimeout(STATUS_TIMEOUT_MILLIS);
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + connection.getResponseCode());
+            }
+            Map<String, Object> status = new Json().toType(read(connection.getInputStream()), Map.class);
+            Map<String, Object> value = (Map<String, Object>) status.get("value");
+            Map<BrowserType, Integer> slots = new EnumMap<>(BrowserType.class);
+            if (value == null || !(value.get("nodes") instanceof Collection)) {
+                throw new IOException("status holds no nodes");
+            }
+            for (Object node : (Collection<Object>) value.get("nodes")) {
+                Map<String, Object> nodeStatus = (Map<String, Object>) node;
+                boolean up = "UP".equalsIgnoreCase(String.valueOf(nodeStatus.get("availability")));
+                Object nodeSlots = nodeStatus.get("slots");
+                if (!(nodeSlots instanceof Collection)) {
+                    continue;
+                }
+                for (Object slot : (Collection<Object>) nodeSlots) {
+                    Map<String, Object> slotStatus = (Map<String, Object>) slot;
+                    Map<String, Object> stereotype = (Map<String, Object>) slotStatus.get("stereotype");
+                    BrowserType browserType = stereotype != null ? getBrowserType(String.valueOf(stereotype.get("browserName"))) : null;
+                    if (browserType != null) {
+                        // Slots of a node which is down or draining are known but not free
+                        slots.merge(browserType, up && slotStatus.get("session") == null ? 1 : 0, Integer::sum);
+                    }
+                }
+            }
+            return slots;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String read(InputStream stream) throws IOException {
+        try (InputStream input = stream) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                output.write(buffer, 0, length);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Browser names of the Grid stereotypes; Edge registers as "MicrosoftEdge"
+    private static BrowserType getBrowserType(String browserName) {
+        switch (browserName.toLowerCase(Locale.ROOT)) {
+            case "chrome":
+                return BrowserType.CHROME;
+            case "firefox":
+                return BrowserType.FIREFOX;
+            case "microsoftedge":
+            case "msedge":
+                return BrowserType.EDGE;
+            default:
+                return null;
+        }
+    }
+
+    private void recordAdmission(long nanos, boolean queued) {
+        admissions.incrementAndGet();
+        if (queued) {
+            queuedAdmissions.incrementAndGet();
+        }
+        waitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Gets the number of requests waiting for a slot of the browser.
+     *
+     * @param browserType The type of browser.
+     * @return int representing the queue length.
+     */
+    public int getQueueLength(BrowserType browserType) {
+        lock.lock();
+        try {
+            Deque<Object> queue = queues.get(browserType);
+            return queue == null ? 0 : queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the admission counters.
+     *
+     * @return Statistics holding the admissions, timeouts and wait times so far.
+     */
+    public Statistics getStatistics() {
+        return new Statistics(admissions.get(), queuedAdmissions.get(), timeouts.get(), waitNanos.get(), maxWaitNanos.get(), polls.get());
+    }
+
+    public static final class Statistics {
+        private final long admissions;
+        private final long queuedAdmissions;
+        private final long timeouts;
+        private final long waitNanos;
+        private final long maxWaitNanos;
+        private final long polls;
+
+        private Statistics(long admissions, long queuedAdmissions, long timeouts, long waitNanos, long maxWaitNanos, long polls) {
+            this.admissions = admissions;
+            this.queuedAdmissions = queuedAdmissions;
+            this.timeouts = timeouts;
+            this.waitNanos = waitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.polls = polls;
+        }
+
+        public long getAdmissions() {
+            return admissions;
+        }
+
+        // Admissions which had to wait for a slot
+        public long getQueuedAdmissions() {
+            return queuedAdmissions;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        // Average time a request waited before it was admitted, in milliseconds
+        public long getAverageWaitMillis() {
+            return admissions == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos / admissions);
+        }
+
+        public long getMaxWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos);
+        }
+
+        public long getPolls() {
+            return polls;
+        }
+
+        @Override
+        public String toString() {
+            return "admissions=" + admissions + ", queued=" + queuedAdmissions + ", timeouts=" + timeouts
+                    + ", averageWait=" + getAverageWaitMillis() + "ms, maxWait=" + getMaxWaitMillis() + "ms, statusPolls=" + polls;
+        }
+    }
+}
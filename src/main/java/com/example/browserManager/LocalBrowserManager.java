@@ -47,7 +47,7 @@ public class LocalBrowserManager {
                     // Unsupported browser type
                     String errorMessage = "Unsupported browser type: " + browserType;
                     LoggerManager.error(errorMessage);
-                    ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+                    ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
                     throw new UnsupportedOperationException(errorMessage);
             }
 
@@ -55,7 +55,7 @@ public class LocalBrowserManager {
                 // WebDriver instance not initialized
                 String errorMessage = "WebDriver instance is not initialized for the specified browser type: " + browserType;
                 LoggerManager.error(errorMessage);
-                ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "WebDriver instance is not initialized for the specified environment type: " + browserType);
+                ExtentReportManager.getReportInstance().log(Status.FAIL, "WebDriver instance is not initialized for the specified environment type: " + browserType);
             }
 
             return driver;
@@ -64,13 +64,13 @@ public class LocalBrowserManager {
             // Handle WebDriver-related exception
             String errorMessage = "WebDriver exception: " + e.getMessage();
             LoggerManager.error(errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
             throw new WebDriverException(errorMessage, e);
         } catch (Exception e) {
             // Handle general exception
             String errorMessage = "Exception: " + e.getMessage();
             LoggerManager.error(errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
             throw new RuntimeException(errorMessage, e);
         }
     }
@@ -0,0 +1,174 @@
+/*
+ * Description: This class applies the network settings of the configuration to new Chrome and Edge sessions through
+ *              the Chrome DevTools Protocol: requests matching networkBlockPatterns (e.g. analytics, fonts and large
+ *              images the assertions never need) are blocked, and the browser cache is disabled with
+ *              networkCacheDisabled. The commands are sent by name, so they work with every CDP version Selenium
+ *              supports. The network events of the session are recorded per page in the NetworkBlockingMetrics.
+ */
+
+package com.example.browserManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.logManager.LoggerManager;
+import com.example.reportManager.MetricsTables;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public final class NetworkBlocker {
+
+    // Page of the requests made before the first page load of a session
+    private static final String NO_PAGE = "about:blank";
+
+    // Private constructor to prevent instantiation
+    private NetworkBlocker() {
+    }
+
+    /**
+     * Checks if the configuration blocks requests or disables the cache.
+     *
+     * @return true if new Chromium sessions get a DevTools network setup, otherwise false.
+     */
+    public static boolean isEnabled() {
+        FMConfig config = ConfigFactory.getConfig();
+        return config != null && (!getBlockPatterns(config).isEmpty() || config.isNetworkCacheDisabled());
+    }
+
+    /**
+     * Applies the configured block list and cache setting to a new Chrome or Edge session. A remote session is augmented
+     * to reach DevTools through the Grid; the augmented driver is returned and must be used instead. A session without
+     * DevTools, or whose setup fails, is returned unchanged and runs without blocking.
+     *
+     * @param driver New WebDriver session, may be null.
+     * @param <T>    Type of the driver.
+     * @return WebDriver to use for the session.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends WebDriver> T apply(T driver) {
+        FMConfig config = ConfigFactory.getConfig();
+        if (driver == null || config == null) {
+            return driver;
+        }
+        List<String> patterns = getBlockPatterns(config);
+        boolean cacheDisabled = config.isNetworkCacheDisabled();
+        if (patterns.isEmpty() && !cacheDisabled) {
+            return driver;
+        }
+        T devToolsDriver = driver;
+        try {
+            // The augmented driver is a subclass of the remote driver which also implements HasDevTools
+            if (!(driver instanceof HasDevTools) && driver instanceof RemoteWebDriver) {
+                devToolsDriver = (T) new Augmenter().augment(driver);
+            }
+            Optional<DevTools> devTools = devToolsDriver instanceof HasDevTools
+                    ? ((HasDevTools) devToolsDriver).maybeGetDevTools() : Optional.empty();
+            if (!devTools.isPresent()) {
+                LoggerManager.warn("{} has no DevTools connection, the session runs without network blocking",
+                        driver.getClass().getSimpleName());
+                return driver;
+            }
+            setUp(devTools.get(), patterns, cacheDisabled);
+            LoggerManager.info("Network blocking applied: {} patterns, cache {}", patterns.size(), cacheDisabled ? "disabled" : "enabled");
+        } catch (Exception e) {
+            LoggerManager.warn("Could not apply network blocking, the session runs without it: {}", e.getMessage());
+        }
+        return devToolsDriver;
+    }
+
+    private static void setUp(DevTools devTools, List<String> patterns, boolean cacheDisabled) {
+        devTools.createSessionIfThereIsNotOne();
+        SessionRecorder recorder = new SessionRecorder(NetworkBlockingMetrics.getMetricsInstance());
+        addListener(devTools, "Network.requestWillBeSent", recorder::onRequestWillBeSent);
+        addListener(devTools, "Network.loadingFinished", recorder::onLoadingFinished);
+        addListener(devTools, "Network.loadingFailed", recorder::onLoadingFailed);
+        devTools.send(new Command<>("Network.enable", Collections.emptyMap()));
+        if (!patterns.isEmpty()) {
+            devTools.send(new Command<>("Network.setBlockedURLs", Collections.singletonMap("urls", (Object) patterns)));
+        }
+        if (cacheDisabled) {
+            devTools.send(new Command<>("Network.setCacheDisabled", Collections.singletonMap("cacheDisabled", (Object) true)));
+        }
+    }
+
+    private static void addListener(DevTools devTools, String event, Consumer<Map<String, Object>> handler) {
+        devTools.addListener(new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)), handler);
+    }
+
+    // "*google-analytics.com* *.woff2" becomes [*google-analytics.com*, *.woff2], commas separate patterns too
+    static List<String> getBlockPatterns(FMConfig config) {
+        List<String> patterns = new ArrayList<>();
+        for (String pattern : config.getNetworkBlockPatterns().split("[\\s,]+")) {
+            if (!pattern.isEmpty()) {
+                patterns.add(pattern);
+            }
+        }
+        return patterns;
+    }
+
+    // Follows the network events of one session: the page of every request is the page of the main frame when the
+    // request was sent, and requests are forgotten once they finished or failed
+    static final class SessionRecorder {
+
+        private final NetworkBlockingMetrics metrics;
+        private final Map<String, String[]> requests = new ConcurrentHashMap<>();
+        private volatile String mainFrameId;
+        private volatile String page = NO_PAGE;
+
+        SessionRecorder(NetworkBlockingMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        void onRequestWillBeSent(Map<String, Object> event) {
+            String requestId = String.valueOf(event.get("requestId"));
+            String type = String.valueOf(event.get("type"));
+            Object request = event.get("request");
+            // A navigation is the document request of its own loader; redirects repeat it and are not new page loads
+            if ("Document".equals(type) && requestId.equals(event.get("loaderId")) && !event.containsKey("redirectResponse")
+                    && request instanceof Map) {
+                String frameId = String.valueOf(event.get("frameId"));
+                if (mainFrameId == null) {
+                    mainFrameId = frameId;
+                }
+                if (mainFrameId.equals(frameId)) {
+                    // Pages are grouped by URL without its query and fragment
+                    page = MetricsTables.stripQueryAndFragment(String.valueOf(((Map<?, ?>) request).get("url")));
+                    metrics.recordLoad(page);
+                }
+            }
+            requests.put(requestId, new String[]{page, type});
+        }
+
+        void onLoadingFinished(Map<String, Object> event) {
+            String[] request = requests.remove(String.valueOf(event.get("requestId")));
+            if (request != null) {
+                Object bytes = event.get("encodedDataLength");
+                metrics.recordLoaded(request[0], request[1], bytes instanceof Number ? ((Number) bytes).longValue() : 0);
+            }
+        }
+
+        void onLoadingFailed(Map<String, Object> event) {
+            String[] request = requests.remove(String.valueOf(event.get("requestId")));
+            // Requests blocked by the block list fail with the "inspector" reason
+            boolean blocked = "inspector".equals(event.get("blockedReason"));
+            if (request != null) {
+                metrics.recordFailed(request[0], request[1], blocked);
+            } else {
+                metrics.recordFailed(page, String.valueOf(event.get("type")), blocked);
+            }
+        }
+    }
+}
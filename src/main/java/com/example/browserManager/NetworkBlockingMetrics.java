@@ -0,0 +1,171 @@
+/*
+ * Description: This class collects the network requests of the Chromium sessions with network blocking, per page: the
+ *              page loads, the requests made, the requests blocked and the bytes transferred. Blocked requests are never
+ *              sent, so the bytes they saved are estimated from the average size of the requests of the same resource
+ *              type which did load during the run. Without such a sample the estimate is n/a, and an estimate missing
+ *              some of the blocked types is a lower bound marked with a "+".
+ */
+
+package com.example.browserManager;
+
+import com.example.reportManager.MetricsTables;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class NetworkBlockingMetrics {
+
+    // Column headers of the report table
+    private static final String[] HEADERS = {"Page", "Loads", "Requests", "Blocked", "Transfer KB", "Saved KB (est.)"};
+
+    // Singleton instance of NetworkBlockingMetrics
+    private static final NetworkBlockingMetrics instance = new NetworkBlockingMetrics();
+
+    private final Map<String, PageStats> stats = new ConcurrentHashMap<>();
+
+    // Requests which loaded and their bytes per resource type, e.g. "Image" or "Font", for the estimate of the savings
+    private final Map<String, LongAdder> loadedRequests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> loadedBytes = new ConcurrentHashMap<>();
+
+    // The framework records into the singleton, tests into their own instance
+    NetworkBlockingMetrics() {
+    }
+
+    /**
+     * Retrieves the singleton instance of NetworkBlockingMetrics.
+     *
+     * @return NetworkBlockingMetrics instance.
+     */
+    public static NetworkBlockingMetrics getMetricsInstance() {
+        return instance;
+    }
+
+    /**
+     * Records a page load of a session.
+     *
+     * @param page URL of the page, without query and fragment.
+     */
+    public void recordLoad(String page) {
+        getStats(page).loads.increment();
+    }
+
+    /**
+     * Records a request of a page which loaded.
+     *
+     * @param page  URL of the page the request belongs to.
+     * @param type  Resource type of the request.
+     * @param bytes Bytes transferred, headers included.
+     */
+    public void recordLoaded(String page, String type, long bytes) {
+        PageStats pageStats = getStats(page);
+        pageStats.requests.increment();
+        pageStats.bytes.add(bytes);
+        loadedRequests.computeIfAbsent(type, key -> new LongAdder()).increment();
+        loadedBytes.computeIfAbsent(type, key -> new LongAdder()).add(bytes);
+    }
+
+    /**
+     * Records a request of a page which failed, e.g. because it was blocked or cancelled.
+     *
+     * @param page    URL of the page the request belongs to.
+     * @param type    Resource type of the request.
+     * @param blocked Whether the request was blocked by the block list.
+     */
+    public void recordFailed(String page, String type, boolean blocked) {
+        PageStats pageStats = getStats(page);
+        pageStats.requests.increment();
+        if (blocked) {
+            pageStats.blocked.computeIfAbsent(type, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Checks whether any request was recorded.
+     *
+     * @return true if no request was recorded, false otherwise.
+     */
+    public boolean isEmpty() {
+        return stats.isEmpty();
+    }
+
+    /**
+     * Builds the table of the recorded pages, header first, the pages saving the most first.
+     *
+     * @return String[][] holding one row per page.
+     */
+    public String[][] toTable() {
+        List<PageStats> sorted = new ArrayList<>(stats.values());
+        sorted.sort(Comparator.comparingDouble(this::getSavedBytes).reversed());
+        List<String[]> rows = new ArrayList<>();
+        rows.add(HEADERS.clone());
+        for (PageStats pageStats : sorted) {
+            long blocked = 0;
+            for (LongAdder count : pageStats.blocked.values()) {
+                blocked += count.sum();
+            }
+            rows.add(new String[]{
+                    pageStats.page,
+                    String.valueOf(pageStats.loads.sum()),
+                    String.valueOf(pageStats.requests.sum()),
+                    String.valueOf(blocked),
+                    MetricsTables.format(pageStats.bytes.sum() / 1024d),
+                    formatSaved(pageStats)
+            });
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    private PageStats getStats(String page) {
+        PageStats pageStats = stats.get(page);
+        return pageStats != null ? pageStats : stats.computeIfAbsent(page, PageStats::new);
+    }
+
+    // Blocked requests of each type times the average size of the loaded requests of that type, 0 for types which
+    // never loaded
+    private double getSavedBytes(PageStats pageStats) {
+        double saved = 0;
+        for (Map.Entry<String, LongAdder> entry : pageStats.blocked.entrySet()) {
+            if (isSampled(entry.getKey())) {
+                LongAdder requests = loadedRequests.get(entry.getKey());
+                saved += entry.getValue().sum() * (double) loadedBytes.get(entry.getKey()).sum() / requests.sum();
+            }
+        }
+        return saved;
+    }
+
+    // "n/a" when none of the blocked types has a loaded sample, "12.0+" when only some of them have one
+    private String formatSaved(PageStats pageStats) {
+        int sampled = 0;
+        for (String type : pageStats.blocked.keySet()) {
+            if (isSampled(type)) {
+                sampled++;
+            }
+        }
+        if (sampled == 0 && !pageStats.blocked.isEmpty()) {
+            return "n/a";
+        }
+        String saved = MetricsTables.format(getSavedBytes(pageStats) / 1024d);
+        return sampled < pageStats.blocked.size() ? saved + "+" : saved;
+    }
+
+    private boolean isSampled(String type) {
+        LongAdder requests = loadedRequests.get(type);
+        return requests != null && requests.sum() > 0;
+    }
+
+    private static final class PageStats {
+        private final String page;
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final Map<String, LongAdder> blocked = new ConcurrentHashMap<>();
+
+        private PageStats(String page) {
+            this.page = page;
+        }
+    }
+}
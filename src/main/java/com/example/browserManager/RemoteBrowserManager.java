@@ -27,8 +27,16 @@ public class RemoteBrowserManager {
      */
     public static WebDriver getRemoteDriver(BrowserType browserType) {
 
+        // Wait for a free slot on the Grid when admission control is enabled
+        GridAdmissionController admission = GridAdmissionController.isEnabled() ? GridAdmissionController.getControllerInstance() : null;
+        boolean admitted = false;
+        WebDriver driver = null;
+
         try {
-            WebDriver driver;
+            if (admission != null) {
+                admission.acquire(browserType);
+                admitted = true;
+            }
 
             // Switch statement to determine the type of browser and get the corresponding remote WebDriver instance
             switch (browserType) {
@@ -48,7 +56,7 @@ public class RemoteBrowserManager {
                     // Unsupported browser type
                     String errorMessage = "Unsupported browser type: " + browserType;
                     LoggerManager.error(errorMessage);
-                    ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+                    ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
                     throw new UnsupportedOperationException(errorMessage);
             }
 
@@ -56,7 +64,7 @@ public class RemoteBrowserManager {
                 // Log error if WebDriver instance is not initialized
                 String errorMessage = "WebDriver instance is not initialized for the specified browser type: " + browserType;
                 LoggerManager.error(errorMessage);
-                ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+                ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
             }
 
             return driver;
@@ -65,14 +73,18 @@ public class RemoteBrowserManager {
             // Handle WebDriver-related exception
             String errorMessage = "WebDriver exception: " + e.getMessage();
             LoggerManager.error(errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
             throw new WebDriverException(errorMessage, e);
         } catch (Exception e) {
             // Handle general exception
             String errorMessage = "Exception: " + e.getMessage();
             LoggerManager.error(errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
             throw new RuntimeException(errorMessage, e);
+        } finally {
+            if (admitted) {
+                admission.complete(browserType, driver != null);
+            }
         }
 
     }
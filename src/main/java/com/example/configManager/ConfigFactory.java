@@ -1,18 +1,45 @@
 /*
- * Description: This utility class provides a method to retrieve the configuration using Owner library.
+ * Description: This utility class provides a method to retrieve the configuration using Owner library. The
+ *              configuration is resolved once into an immutable ConfigSnapshot, which is swapped atomically for a new
+ *              one when the configuration is reloaded. Values of a configFile on the file system override those of
+ *              ${env}.properties. Components which read their settings once keep them until the next run; a reload
+ *              changing one of those keys logs a warning.
  */
 
 package com.example.configManager;
 
-import com.aventstack.extentreports.Status;
 import com.example.logManager.LoggerManager;
-import com.example.reportManager.ExtentReportManager;
-import org.aeonbits.owner.ConfigCache;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.MissingResourceException;
+import java.util.Properties;
+import java.util.Set;
 
 public final class ConfigFactory {
 
+    // Keys read once, when the suite starts or the component using them is created, e.g. by WaitPolicy.DEFAULT_POLICY,
+    // the session pool, the remote session factory or the report writers. A reload only changes them in the snapshot.
+    private static final Set<String> READ_ONCE_KEYS = new HashSet<>(Arrays.asList(
+            "env", "configFile", "configWatchEnabled", "parallel", "threadCount", "dataProviderThreadCount", "threadMode",
+            "shardIndex", "shardTotal", "shardDurations", "historyEwmaAlpha", "prefetchSessions", "sessionPoolMaxSize",
+            "sessionPoolMaxReuse", "sessionPoolIdleTimeout", "gridStatusPollInterval", "gridAdmissionTimeout",
+            "remoteSeleniumGridUrl", "remoteConnectTimeout", "remoteReadTimeout", "remoteMaxConnections",
+            "remoteSessionRetries", "remoteRetryBackoff", "remoteCircuitBreakerThreshold", "remoteCircuitBreakerCooldown",
+            "elementCacheEnabled", "reportMode", "reportQueueCapacity", "reportBackpressure", "reportStreaming",
+            "reportPageSize", "reportFlushInterval", "screenshotFormat", "screenshotQuality", "screenshotScale",
+            "screenshotEncoderThreads", "navigationTimingEnabled", "waitTimeout", "waitPollInterval",
+            "waitMaxPollInterval", "waitBackoffMultiplier"));
+
+    // Current configuration, replaced as a whole on reload
+    private static volatile ConfigSnapshot snapshot;
+
     /**
      * Retrieves the configuration using the Owner library.
      *
@@ -20,20 +47,95 @@ public final class ConfigFactory {
      * @throws MissingResourceException if the configuration is missing.
      */
     public static FMConfig getConfig() {
+        ConfigSnapshot current = snapshot;
+        return current != null ? current : initialize();
+    }
 
+    /**
+     * Resolves the configuration again from the properties file, the environment and the system properties. If any
+     * value changed, the new snapshot replaces the current one and the changed keys are logged.
+     *
+     * @return true if the configuration changed, otherwise false.
+     */
+    public static synchronized boolean reload() {
+        ConfigSnapshot current = snapshot;
+        if (current == null) {
+            return initialize() != null;
+        }
         try {
-            // Get or create the configuration using Owner library
-            return ConfigCache.getOrCreate(FMConfig.class, System.getenv(), System.getProperties());
+            ConfigSnapshot reloaded = resolve(true);
+            List<String> changes = current.diff(reloaded);
+            if (changes.isEmpty()) {
+                LoggerManager.debug("Configuration reloaded, no value changed");
+                return false;
+            }
+            snapshot = reloaded;
+            LoggerManager.info("Configuration reloaded, {} value(s) changed:\n  {}", changes.size(), String.join("\n  ", changes));
+            List<String> readOnce = new ArrayList<>();
+            for (String change : changes) {
+                String key = change.substring(0, change.indexOf(':'));
+                if (READ_ONCE_KEYS.contains(key)) {
+                    readOnce.add(key);
+                }
+            }
+            if (!readOnce.isEmpty()) {
+                LoggerManager.warn("Changed keys {} are read once per run and take effect in the next run", readOnce);
+            }
+            return true;
+        } catch (Exception e) {
+            // Keep the current configuration if the new one cannot be resolved
+            LoggerManager.error("Configuration reload failed, keeping the current configuration: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static synchronized FMConfig initialize() {
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // Failures are only logged: the report classes read the configuration themselves
+        try {
+            // Resolve the configuration using Owner library, an unreadable configFile is left out
+            snapshot = resolve(false);
+            if (snapshot.isConfigWatchEnabled()) {
+                ConfigWatcher.getWatcherInstance().start();
+            }
+            return snapshot;
         } catch (MissingResourceException e) {
             // Configuration exception
-            LoggerManager.error("Configuration exception: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Configuration exception: " + e.getMessage());
+            LoggerManager.error("Configuration exception: {}", e.getMessage());
             return null;
         } catch (Exception e) {
             // General exception
-            LoggerManager.error("Exception: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Exception: " + e.getMessage());
+            LoggerManager.error("Exception: {}", e.getMessage());
             return null;
         }
     }
+
+    // A new Owner proxy reads the properties files again, ConfigCache would return the first one
+    private static ConfigSnapshot resolve(boolean fileRequired) {
+        return new ConfigSnapshot(org.aeonbits.owner.ConfigFactory.create(FMConfig.class, System.getenv(), System.getProperties(),
+                loadConfigFile(fileRequired)));
+    }
+
+    // The configFile is named by a system property or the environment, it cannot name itself. A reload requires it, so
+    // that a file caught in the middle of a write keeps the current configuration.
+    private static Properties loadConfigFile(boolean required) {
+        Properties properties = new Properties();
+        String file = System.getProperty("configFile", System.getenv("configFile"));
+        if (file == null || file.trim().isEmpty()) {
+            return properties;
+        }
+        try (InputStream input = Files.newInputStream(Paths.get(file.trim()))) {
+            properties.load(input);
+        } catch (IOException e) {
+            if (!required) {
+                LoggerManager.error("Cannot read the configuration file {}, it is ignored: {}", file, e.getMessage());
+                return properties;
+            }
+            throw new MissingResourceException("Cannot read the configuration file " + file + ": " + e.getMessage(),
+                    FMConfig.class.getName(), "configFile");
+        }
+        return properties;
+    }
 }
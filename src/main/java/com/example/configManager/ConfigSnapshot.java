@@ -0,0 +1,573 @@
+/*
+ * Description: This class is an immutable snapshot of the configuration. Every property is resolved once through the
+ *              Owner proxy when the snapshot is created and read back as a plain field, so the hot paths calling
+ *              ConfigFactory.getConfig() (page objects, capabilities, headless checks) neither look up the proxy nor
+ *              convert property values again. A value which cannot be converted, e.g. an unknown browser, is logged
+ *              and replaced by the default of its key, so one bad value does not leave the framework without a
+ *              configuration.
+ */
+
+package com.example.configManager;
+
+import com.example.enums.BrowserType;
+import com.example.enums.EnvironmentType;
+import com.example.enums.ExecutionProfile;
+import com.example.enums.ReportBackpressure;
+import com.example.enums.ReportMode;
+import com.example.enums.ScreenshotFormat;
+import com.example.enums.ThreadMode;
+import com.example.logManager.LoggerManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class ConfigSnapshot implements FMConfig {
+
+    // Getters of FMConfig sorted by key, used to list and compare the values of snapshots
+    private static final List<Method> GETTERS = new ArrayList<>();
+
+    static {
+        for (Method method : FMConfig.class.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Key.class) && method.getParameterCount() == 0) {
+                GETTERS.add(method);
+            }
+        }
+        GETTERS.sort(Comparator.comparing(method -> method.getAnnotation(Key.class).value()));
+    }
+
+    private final BrowserType browser;
+    private final String url;
+    private final String remoteSeleniumGridUrl;
+    private final EnvironmentType envMode;
+    private final String username;
+    private final String password;
+    private final boolean headless;
+    private final boolean recordVideo;
+    private final ExecutionProfile executionProfile;
+    private final boolean sessionPoolEnabled;
+    private final int sessionPoolMaxSize;
+    private final int sessionPoolMaxReuse;
+    private final long sessionPoolIdleTimeout;
+    private final int prefetchSessions;
+    private final ReportMode reportMode;
+    private final int reportQueueCapacity;
+    private final ReportBackpressure reportBackpressure;
+    private final ScreenshotFormat screenshotFormat;
+    private final float screenshotQuality;
+    private final double screenshotScale;
+    private final int screenshotEncoderThreads;
+    private final boolean elementCacheEnabled;
+    private final int waitTimeout;
+    private final long waitPollInterval;
+    private final long waitMaxPollInterval;
+    private final double waitBackoffMultiplier;
+    private final String stubFixtures;
+    private final long stubLatency;
+    private final String stubCommandLatency;
+    private final String parallel;
+    private final int threadCount;
+    private final int dataProviderThreadCount;
+    private final int shardIndex;
+    private final int shardTotal;
+    private final String shardDurations;
+    private final int historyRuns;
+    private final double historyEwmaAlpha;
+    private final boolean gridAdmissionEnabled;
+    private final long gridStatusPollInterval;
+    private final long gridAdmissionTimeout;
+    private final long remoteConnectTimeout;
+    private final long remoteReadTimeout;
+    private final int remoteMaxConnections;
+    private final int remoteSessionRetries;
+    private final long remoteRetryBackoff;
+    private final int remoteCircuitBreakerThreshold;
+    private final long remoteCircuitBreakerCooldown;
+    private final String chromeArguments;
+    private final String firefoxArguments;
+    private final String edgeArguments;
+    private final boolean configWatchEnabled;
+    private final String configFile;
+    private final ThreadMode threadMode;
+    private final boolean reportStreaming;
+    private final int reportPageSize;
+    private final long reportFlushInterval;
+    private final int softAssertionLimit;
+    private final boolean navigationTimingEnabled;
+    private final String networkBlockPatterns;
+    private final boolean networkCacheDisabled;
+
+    /**
+     * Creates a snapshot holding the current values of the given configuration. Values which cannot be converted are
+     * logged and replaced by the default of their key.
+     *
+     * @param config Configuration to resolve, usually an Owner proxy.
+     */
+    public ConfigSnapshot(FMConfig config) {
+        FMConfig source = withDefaultsForInvalidValues(config);
+        this.browser = source.getBrowser();
+        this.url = source.getUrl();
+        this.remoteSeleniumGridUrl = source.getRemoteSeleniumGridUrl();
+        this.envMode = source.getEnvMode();
+        this.username = source.getUsername();
+        this.password = source.getPassword();
+        this.headless = source.isHeadless();
+        this.recordVideo = source.canRecordVideo();
+        this.executionProfile = source.getExecutionProfile();
+        this.sessionPoolEnabled = source.isSessionPoolEnabled();
+        this.sessionPoolMaxSize = source.getSessionPoolMaxSize();
+        this.sessionPoolMaxReuse = source.getSessionPoolMaxReuse();
+        this.sessionPoolIdleTimeout = source.getSessionPoolIdleTimeout();
+        this.prefetchSessions = source.getPrefetchSessions();
+        this.reportMode = source.getReportMode();
+        this.reportQueueCapacity = source.getReportQueueCapacity();
+        this.reportBackpressure = source.getReportBackpressure();
+        this.screenshotFormat = source.getScreenshotFormat();
+        this.screenshotQuality = source.getScreenshotQuality();
+        this.screenshotScale = source.getScreenshotScale();
+        this.screenshotEncoderThreads = source.getScreenshotEncoderThreads();
+        this.elementCacheEnabled = source.isElementCacheEnabled();
+        this.waitTimeout = source.getWaitTimeout();
+        this.waitPollInterval = source.getWaitPollInterval();
+        this.waitMaxPollInterval = source.getWaitMaxPollInterval();
+        this.waitBackoffMultiplier = source.getWaitBackoffMultiplier();
+        this.stubFixtures = source.getStubFixtures();
+        this.stubLatency = source.getStubLatency();
+        this.stubCommandLatency = source.getStubCommandLatency();
+        this.parallel = source.getParallel();
+        this.threadCount = source.getThreadCount();
+        this.dataProviderThreadCount = source.getDataProviderThreadCount();
+        this.shardIndex = source.getShardIndex();
+        this.shardTotal = source.getShardTotal();
+        this.shardDurations = source.getShardDurations();
+        this.historyRuns = source.getHistoryRuns();
+        this.historyEwmaAlpha = source.getHistoryEwmaAlpha();
+        this.gridAdmissionEnabled = source.isGridAdmissionEnabled();
+        this.gridStatusPollInterval = source.getGridStatusPollInterval();
+        this.gridAdmissionTimeout = source.getGridAdmissionTimeout();
+        this.remoteConnectTimeout = source.getRemoteConnectTimeout();
+        this.remoteReadTimeout = source.getRemoteReadTimeout();
+        this.remoteMaxConnections = source.getRemoteMaxConnections();
+        this.remoteSessionRetries = source.getRemoteSessionRetries();
+        this.remoteRetryBackoff = source.getRemoteRetryBackoff();
+        this.remoteCircuitBreakerThreshold = source.getRemoteCircuitBreakerThreshold();
+        this.remoteCircuitBreakerCooldown = source.getRemoteCircuitBreakerCooldown();
+        this.chromeArguments = source.getChromeArguments();
+        this.firefoxArguments = source.getFirefoxArguments();
+        this.edgeArguments = source.getEdgeArguments();
+        this.configWatchEnabled = source.isConfigWatchEnabled();
+        this.configFile = source.getConfigFile();
+        this.threadMode = source.getThreadMode();
+        this.reportStreaming = source.isReportStreaming();
+        this.reportPageSize = source.getReportPageSize();
+        this.reportFlushInterval = source.getReportFlushInterval();
+        this.softAssertionLimit = source.getSoftAssertionLimit();
+        this.navigationTimingEnabled = source.isNavigationTimingEnabled();
+        this.networkBlockPatterns = source.getNetworkBlockPatterns();
+        this.networkCacheDisabled = source.isNetworkCacheDisabled();
+    }
+
+    @Override
+    public BrowserType getBrowser() {
+        return browser;
+    }
+
+    @Override
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public String getRemoteSeleniumGridUrl() {
+        return remoteSeleniumGridUrl;
+    }
+
+    @Override
+    public EnvironmentType getEnvMode() {
+        return envMode;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    @Override
+    public boolean canRecordVideo() {
+        return recordVideo;
+    }
+
+    @Override
+    public ExecutionProfile getExecutionProfile() {
+        return executionProfile;
+    }
+
+    @Override
+    public boolean isSessionPoolEnabled() {
+        return sessionPoolEnabled;
+    }
+
+    @Override
+    public int getSessionPoolMaxSize() {
+        return sessionPoolMaxSize;
+    }
+
+    @Override
+    public int getSessionPoolMaxReuse() {
+        return sessionPoolMaxReuse;
+    }
+
+    @Override
+    public long getSessionPoolIdleTimeout() {
+        return sessionPoolIdleTimeout;
+    }
+
+    @Override
+    public int getPrefetchSessions() {
+        return prefetchSessions;
+    }
+
+    @Override
+    public ReportMode getReportMode() {
+        return reportMode;
+    }
+
+    @Override
+    public int getReportQueueCapacity() {
+        return reportQueueCapacity;
+    }
+
+    @Override
+    public ReportBackpressure getReportBackpressure() {
+        return reportBackpressure;
+    }
+
+    @Override
+    public ScreenshotFormat getScreenshotFormat() {
+        return screenshotFormat;
+    }
+
+    @Override
+    public float getScreenshotQuality() {
+        return screenshotQuality;
+    }
+
+    @Override
+    public double getScreenshotScale() {
+        return screenshotScale;
+    }
+
+    @Override
+    public int getScreenshotEncoderThreads() {
+        return screenshotEncoderThreads;
+    }
+
+    @Override
+    public boolean isElementCacheEnabled() {
+        return elementCacheEnabled;
+    }
+
+    @Override
+    public int getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    @Override
+    public long getWaitPollInterval() {
+        return waitPollInterval;
+    }
+
+    @Override
+    public long getWaitMaxPollInterval() {
+        return waitMaxPollInterval;
+    }
+
+    @Override
+    public double getWaitBackoffMultiplier() {
+        return waitBackoffMultiplier;
+    }
+
+    @Override
+    public String getStubFixtures() {
+        return stubFixtures;
+    }
+
+    @Override
+    public long getStubLatency() {
+        return stubLatency;
+    }
+
+    @Override
+    public String getStubCommandLatency() {
+        return stubCommandLatency;
+    }
+
+    @Override
+    public String getParallel() {
+        return parallel;
+    }
+
+    @Override
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    @Override
+    public int getDataProviderThreadCount() {
+        return dataProviderThreadCount;
+    }
+
+    @Override
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    @Override
+    public int getShardTotal() {
+        return shardTotal;
+    }
+
+    @Override
+    public String getShardDurations() {
+        return shardDurations;
+    }
+
+    @Override
+    public int getHistoryRuns() {
+        return historyRuns;
+    }
+
+    @Override
+    public double getHistoryEwmaAlpha() {
+        return historyEwmaAlpha;
+    }
+
+    @Override
+    public boolean isGridAdmissionEnabled() {
+        return gridAdmissionEnabled;
+    }
+
+    @Override
+    public long getGridStatusPollInterval() {
+        return gridStatusPollInterval;
+    }
+
+    @Override
+    public long getGridAdmissionTimeout() {
+        return gridAdmissionTimeout;
+    }
+
+    @Override
+    public long getRemoteConnectTimeout() {
+        return remoteConnectTimeout;
+    }
+
+    @Override
+    public long getRemoteReadTimeout() {
+        return remoteReadTimeout;
+    }
+
+    @Override
+    public int getRemoteMaxConnections() {
+        return remoteMaxConnections;
+    }
+
+    @Override
+    public int getRemoteSessionRetries() {
+        return remoteSessionRetries;
+    }
+
+    @Override
+    public long getRemoteRetryBackoff() {
+        return remoteRetryBackoff;
+    }
+
+    @Override
+    public int getRemoteCircuitBreakerThreshold() {
+        return remoteCircuitBreakerThreshold;
+    }
+
+    @Override
+    public long getRemoteCircuitBreakerCooldown() {
+        return remoteCircuitBreakerCooldown;
+    }
+
+    @Override
+    public String getChromeArguments() {
+        return chromeArguments;
+    }
+
+    @Override
+    public String getFirefoxArguments() {
+        return firefoxArguments;
+    }
+
+    @Override
+    public String getEdgeArguments() {
+        return edgeArguments;
+    }
+
+    @Override
+    public boolean isConfigWatchEnabled() {
+        return configWatchEnabled;
+    }
+
+    @Override
+    public String getConfigFile() {
+        return configFile;
+    }
+
+    @Override
+    public ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+    @Override
+    public boolean isReportStreaming() {
+        return reportStreaming;
+    }
+
+    @Override
+    public int getReportPageSize() {
+        return reportPageSize;
+    }
+
+    @Override
+    public long getReportFlushInterval() {
+        return reportFlushInterval;
+    }
+
+    @Override
+    public int getSoftAssertionLimit() {
+        return softAssertionLimit;
+    }
+
+    @Override
+    public boolean isNavigationTimingEnabled() {
+        return navigationTimingEnabled;
+    }
+
+    @Override
+    public String getNetworkBlockPatterns() {
+        return networkBlockPatterns;
+    }
+
+    @Override
+    public boolean isNetworkCacheDisabled() {
+        return networkCacheDisabled;
+    }
+
+    /**
+     * Gets the values of the snapshot by configuration key, sorted by key. The password is masked.
+     *
+     * @return Map of every configuration key to its value.
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : getValues().entrySet()) {
+            values.put(entry.getKey(), format(entry.getKey(), entry.getValue()));
+        }
+        return values;
+    }
+
+    /**
+     * Lists the keys whose values differ between this snapshot and a newer one. The password is masked.
+     *
+     * @param newer Snapshot to compare with.
+     * @return List of "key: old -> new" entries, empty if both snapshots hold the same values.
+     */
+    public List<String> diff(ConfigSnapshot newer) {
+        Map<String, Object> before = getValues();
+        Map<String, Object> after = newer.getValues();
+        List<String> changes = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : before.entrySet()) {
+            Object newValue = after.get(entry.getKey());
+            if (!Objects.equals(entry.getValue(), newValue)) {
+                changes.add(entry.getKey() + ": " + format(entry.getKey(), entry.getValue()) + " -> " + format(entry.getKey(), newValue));
+            }
+        }
+        return changes;
+    }
+
+    // Reads every value through the configuration, falling back to the default of the key when the conversion fails
+    private static FMConfig withDefaultsForInvalidValues(FMConfig config) {
+        return (FMConfig) Proxy.newProxyInstance(FMConfig.class.getClassLoader(), new Class<?>[]{FMConfig.class},
+                (proxy, method, arguments) -> {
+                    try {
+                        return method.invoke(config, arguments);
+                    } catch (InvocationTargetException e) {
+                        Key key = method.getAnnotation(Key.class);
+                        DefaultValue defaultValue = method.getAnnotation(DefaultValue.class);
+                        if (key == null || defaultValue == null) {
+                            throw e.getCause();
+                        }
+                        LoggerManager.error("Invalid configuration value of '{}', using the default '{}': {}", key.value(),
+                                defaultValue.value(), e.getCause().getMessage());
+                        return convert(method.getReturnType(), defaultValue.value());
+                    }
+                });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(Class<?> type, String value) {
+        if (type == String.class) {
+            return value;
+        }
+        if (type == boolean.class) {
+            return Boolean.valueOf(value);
+        }
+        if (type == int.class) {
+            return Integer.valueOf(value);
+        }
+        if (type == long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == double.class) {
+            return Double.valueOf(value);
+        }
+        if (type == float.class) {
+            return Float.valueOf(value);
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<Enum>) type, value);
+        }
+        throw new IllegalStateException("Unsupported configuration type " + type.getName());
+    }
+
+    private Map<String, Object> getValues() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Method getter : GETTERS) {
+            try {
+                values.put(getter.getAnnotation(Key.class).value(), getter.invoke(this));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read configuration value " + getter.getName(), e);
+            }
+        }
+        return values;
+    }
+
+    private static String format(String key, Object value) {
+        return "password".equals(key) && value != null ? "******" : String.valueOf(value);
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigSnapshot" + toMap();
+    }
+}
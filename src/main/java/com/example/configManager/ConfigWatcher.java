@@ -0,0 +1,153 @@
+/*
+ * Description: This class watches the properties file the configuration is loaded from and reloads the configuration
+ *              when the file changes, so long-running daemon and soak runs pick up new values without a restart. The
+ *              watched file is the configFile when one is set, otherwise ${env}.properties as found on the classpath,
+ *              usually the copy in target/classes rather than the source file. Only a file on the file system can be
+ *              watched, not one packaged in a jar. Keys read once per run are not applied by a reload, see
+ *              ConfigFactory.
+ */
+
+package com.example.configManager;
+
+import com.example.logManager.LoggerManager;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+public final class ConfigWatcher {
+
+    // Editors write a file in several steps, changes within this time are reloaded once
+    private static final long SETTLE_MILLIS = 200;
+
+    // Singleton instance of ConfigWatcher
+    private static final ConfigWatcher instance = new ConfigWatcher();
+
+    private WatchService watchService;
+    private Path watchedFile;
+
+    // Private constructor to enforce Singleton pattern
+    private ConfigWatcher() {
+    }
+
+    /**
+     * Retrieves the singleton instance of ConfigWatcher.
+     *
+     * @return ConfigWatcher instance.
+     */
+    public static ConfigWatcher getWatcherInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts watching the configFile, or else the properties file of the current environment, on a daemon thread.
+     * Does nothing if the watcher is already running or the file is not on the file system.
+     */
+    public synchronized void start() {
+        if (watchService != null) {
+            return;
+        }
+        Path file = resolvePropertiesFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            LoggerManager.error("Cannot watch the configuration file {}: {}", file, e.getMessage());
+            stop();
+            return;
+        }
+        watchedFile = file;
+        Thread thread = new Thread(() -> watch(watchService, file), "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        LoggerManager.info("Watching the configuration file {} for changes", file);
+    }
+
+    /**
+     * Stops watching the properties file.
+     */
+    public synchronized void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LoggerManager.warn("Cannot close the configuration watcher: {}", e.getMessage());
+            }
+            watchService = null;
+            watchedFile = null;
+        }
+    }
+
+    /**
+     * Gets the properties file being watched.
+     *
+     * @return Path of the watched file, or null if the watcher is not running.
+     */
+    public synchronized Path getWatchedFile() {
+        return watchedFile;
+    }
+
+    private static void watch(WatchService service, Path file) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = isFileChanged(key, file);
+                // Collect the further events of the same write before reloading
+                while (changed && (key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isFileChanged(key, file);
+                }
+                if (changed) {
+                    ConfigFactory.reload();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            LoggerManager.debug("Stopped watching the configuration file {}", file);
+        }
+    }
+
+    private static boolean isFileChanged(WatchKey key, Path file) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    // The configFile if one is set, otherwise the same ${env}.properties the Owner library loads from the classpath
+    private static Path resolvePropertiesFile() {
+        FMConfig config = ConfigFactory.getConfig();
+        if (config != null && !config.getConfigFile().trim().isEmpty()) {
+            return Paths.get(config.getConfigFile().trim()).toAbsolutePath();
+        }
+        String env = System.getProperty("env", System.getenv("env"));
+        String name = (env == null ? "" : env) + ".properties";
+        URL resource = Thread.currentThread().getContextClassLoader().getResource(name);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            LoggerManager.warn("Configuration file {} is not on the file system, configuration changes are not watched",
+                    resource == null ? name : resource);
+            return null;
+        }
+        try {
+            Path file = Paths.get(resource.toURI()).toAbsolutePath();
+            LoggerManager.info("No configFile set, watching {} from the classpath; edits of another copy are not seen", file);
+            return file;
+        } catch (Exception e) {
+            LoggerManager.warn("Cannot resolve the configuration file {}: {}", resource, e.getMessage());
+            return null;
+        }
+    }
+}
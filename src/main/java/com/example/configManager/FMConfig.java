@@ -6,6 +6,11 @@ package com.example.configManager;
 
 import com.example.enums.BrowserType;
 import com.example.enums.EnvironmentType;
+import com.example.enums.ExecutionProfile;
+import com.example.enums.ReportBackpressure;
+import com.example.enums.ReportMode;
+import com.example.enums.ScreenshotFormat;
+import com.example.enums.ThreadMode;
 import org.aeonbits.owner.Config;
 
 @Config.Sources({
@@ -87,4 +92,481 @@ public interface FMConfig extends Config {
     @Key("recordVideo")
     boolean canRecordVideo();
 
+    /**
+     * Gets the execution profile controlling highlighting, step screenshots, console echoing and log verbosity.
+     *
+     * @return ExecutionProfile representing the configured profile.
+     */
+    @DefaultValue("DEBUG")
+    @Key("profile")
+    ExecutionProfile getExecutionProfile();
+
+    /**
+     * Get whether WebDriver sessions are borrowed from the reusable session pool.
+     *
+     * @return true if session pooling is enabled, false otherwise
+     */
+    @DefaultValue("false")
+    @Key("sessionPoolEnabled")
+    boolean isSessionPoolEnabled();
+
+    /**
+     * Gets the maximum number of live sessions (idle and leased) kept by the session pool.
+     *
+     * @return int representing the maximum pool size.
+     */
+    @DefaultValue("5")
+    @Key("sessionPoolMaxSize")
+    int getSessionPoolMaxSize();
+
+    /**
+     * Gets the number of leases after which a pooled session is quit and replaced.
+     *
+     * @return int representing the maximum reuse count of a session.
+     */
+    @DefaultValue("20")
+    @Key("sessionPoolMaxReuse")
+    int getSessionPoolMaxReuse();
+
+    /**
+     * Gets the time in seconds after which an idle pooled session is evicted.
+     *
+     * @return long representing the idle timeout in seconds.
+     */
+    @DefaultValue("300")
+    @Key("sessionPoolIdleTimeout")
+    long getSessionPoolIdleTimeout();
+
+    /**
+     * Gets the number of WebDriver sessions started ahead of time in the background, 0 disables prefetching.
+     *
+     * @return int representing the number of prefetched sessions.
+     */
+    @DefaultValue("0")
+    @Key("prefetchSessions")
+    int getPrefetchSessions();
+
+    /**
+     * Gets the mode used to apply log events to the report.
+     *
+     * @return ReportMode representing the configured report mode.
+     */
+    @DefaultValue("SYNC")
+    @Key("reportMode")
+    ReportMode getReportMode();
+
+    /**
+     * Gets the capacity of the asynchronous report queue.
+     *
+     * @return int representing the maximum number of queued report events.
+     */
+    @DefaultValue("10000")
+    @Key("reportQueueCapacity")
+    int getReportQueueCapacity();
+
+    /**
+     * Gets the policy applied when the asynchronous report queue is full.
+     *
+     * @return ReportBackpressure representing the configured backpressure policy.
+     */
+    @DefaultValue("BLOCK")
+    @Key("reportBackpressure")
+    ReportBackpressure getReportBackpressure();
+
+    /**
+     * Gets the image format screenshots are encoded to.
+     *
+     * @return ScreenshotFormat representing the configured screenshot format.
+     */
+    @DefaultValue("JPEG")
+    @Key("screenshotFormat")
+    ScreenshotFormat getScreenshotFormat();
+
+    /**
+     * Gets the JPEG compression quality of screenshots, between 0.0 and 1.0.
+     *
+     * @return float representing the screenshot quality.
+     */
+    @DefaultValue("0.8")
+    @Key("screenshotQuality")
+    float getScreenshotQuality();
+
+    /**
+     * Gets the factor screenshots are scaled by before they are encoded, between 0.0 and 1.0.
+     *
+     * @return double representing the screenshot scale.
+     */
+    @DefaultValue("1.0")
+    @Key("screenshotScale")
+    double getScreenshotScale();
+
+    /**
+     * Gets the number of background threads encoding and writing screenshots.
+     *
+     * @return int representing the number of screenshot encoder threads.
+     */
+    @DefaultValue("2")
+    @Key("screenshotEncoderThreads")
+    int getScreenshotEncoderThreads();
+
+    /**
+     * Checks if elements found for named locators are cached per browser session.
+     *
+     * @return boolean indicating whether the element cache is enabled.
+     */
+    @DefaultValue("false")
+    @Key("elementCacheEnabled")
+    boolean isElementCacheEnabled();
+
+    /**
+     * Gets the default time in seconds the wait engine waits for a condition.
+     *
+     * @return int representing the wait timeout in seconds.
+     */
+    @DefaultValue("30")
+    @Key("waitTimeout")
+    int getWaitTimeout();
+
+    /**
+     * Gets the interval in milliseconds between the first checks of a wait.
+     *
+     * @return long representing the initial poll interval in milliseconds.
+     */
+    @DefaultValue("50")
+    @Key("waitPollInterval")
+    long getWaitPollInterval();
+
+    /**
+     * Gets the interval in milliseconds the polling of a wait backs off to.
+     *
+     * @return long representing the maximum poll interval in milliseconds.
+     */
+    @DefaultValue("500")
+    @Key("waitMaxPollInterval")
+    long getWaitMaxPollInterval();
+
+    /**
+     * Gets the factor the poll interval of a wait grows by after every unsuccessful check.
+     *
+     * @return double representing the backoff multiplier.
+     */
+    @DefaultValue("1.5")
+    @Key("waitBackoffMultiplier")
+    double getWaitBackoffMultiplier();
+
+    /**
+     * Gets the directory holding the HTML fixtures served by the stub driver, on the file system or the classpath.
+     *
+     * @return String representing the fixture directory.
+     */
+    @DefaultValue("fixtures/the-internet")
+    @Key("stubFixtures")
+    String getStubFixtures();
+
+    /**
+     * Gets the latency in milliseconds the stub driver adds to every command.
+     *
+     * @return long representing the command latency in milliseconds.
+     */
+    @DefaultValue("0")
+    @Key("stubLatency")
+    long getStubLatency();
+
+    /**
+     * Gets the latency in milliseconds of individual stub driver commands, e.g. "findElement=5,click=20", overriding
+     * the stubLatency setting for those commands.
+     *
+     * @return String representing the per command latencies.
+     */
+    @DefaultValue("")
+    @Key("stubCommandLatency")
+    String getStubCommandLatency();
+
+    /**
+     * Gets the parallel mode applied to the suites (none, tests, classes, methods or instances). Left empty, every
+     * suite keeps the parallel attribute of its XML file.
+     *
+     * @return String representing the parallel mode.
+     */
+    @DefaultValue("")
+    @Key("parallel")
+    String getParallel();
+
+    /**
+     * Gets the number of threads running the suites in parallel, 0 keeps the thread-count attribute of the XML file.
+     *
+     * @return int representing the thread count.
+     */
+    @DefaultValue("0")
+    @Key("threadCount")
+    int getThreadCount();
+
+    /**
+     * Gets the number of threads running the invocations of parallel data providers, 0 keeps the
+     * data-provider-thread-count attribute of the XML file.
+     *
+     * @return int representing the data provider thread count.
+     */
+    @DefaultValue("0")
+    @Key("dataProviderThreadCount")
+    int getDataProviderThreadCount();
+
+    /**
+     * Gets the zero-based index of the shard the TestLauncher runs.
+     *
+     * @return int representing the shard index.
+     */
+    @DefaultValue("0")
+    @Key("shardIndex")
+    int getShardIndex();
+
+    /**
+     * Gets the number of shards the test classes are split into, 1 runs every class.
+     *
+     * @return int representing the number of shards.
+     */
+    @DefaultValue("1")
+    @Key("shardTotal")
+    int getShardTotal();
+
+    /**
+     * Gets the testng-results.xml file of an earlier run, whose class durations balance the shards.
+     *
+     * @return String representing the path of the results file.
+     */
+    @DefaultValue("test-output/testng-results.xml")
+    @Key("shardDurations")
+    String getShardDurations();
+
+    /**
+     * Gets the number of most recent runs kept by the test duration store, 0 stops recording test timings.
+     *
+     * @return int representing the number of runs kept.
+     */
+    @DefaultValue("20")
+    @Key("historyRuns")
+    int getHistoryRuns();
+
+    /**
+     * Gets the weight of the most recent run in the EWMA test durations, between 0 and 1.
+     *
+     * @return double representing the EWMA weight.
+     */
+    @DefaultValue("0.3")
+    @Key("historyEwmaAlpha")
+    double getHistoryEwmaAlpha();
+
+    /**
+     * Checks if remote session requests wait for a free slot on the Selenium Grid before they are sent.
+     *
+     * @return true if Grid admission control is enabled, false otherwise.
+     */
+    @DefaultValue("false")
+    @Key("gridAdmissionEnabled")
+    boolean isGridAdmissionEnabled();
+
+    /**
+     * Gets the minimum interval in milliseconds between two requests to the Grid /status endpoint.
+     *
+     * @return long representing the poll interval in milliseconds.
+     */
+    @DefaultValue("1000")
+    @Key("gridStatusPollInterval")
+    long getGridStatusPollInterval();
+
+    /**
+     * Gets the maximum time in seconds a remote session request waits for a free slot on the Grid.
+     *
+     * @return long representing the admission timeout in seconds.
+     */
+    @DefaultValue("300")
+    @Key("gridAdmissionTimeout")
+    long getGridAdmissionTimeout();
+
+    /**
+     * Gets the timeout in seconds for opening a connection to the Selenium Grid.
+     *
+     * @return long representing the connect timeout in seconds.
+     */
+    @DefaultValue("10")
+    @Key("remoteConnectTimeout")
+    long getRemoteConnectTimeout();
+
+    /**
+     * Gets the timeout in seconds for the Selenium Grid to answer a command.
+     *
+     * @return long representing the read timeout in seconds.
+     */
+    @DefaultValue("180")
+    @Key("remoteReadTimeout")
+    long getRemoteReadTimeout();
+
+    /**
+     * Gets the maximum number of connections to the Selenium Grid, 0 sizes the limit for the threads of the run.
+     *
+     * @return int representing the maximum number of connections.
+     */
+    @DefaultValue("0")
+    @Key("remoteMaxConnections")
+    int getRemoteMaxConnections();
+
+    /**
+     * Gets the number of times a failed remote session request is retried.
+     *
+     * @return int representing the number of retries.
+     */
+    @DefaultValue("2")
+    @Key("remoteSessionRetries")
+    int getRemoteSessionRetries();
+
+    /**
+     * Gets the time in milliseconds before the first retry of a remote session request, doubled for every retry.
+     *
+     * @return long representing the initial backoff in milliseconds.
+     */
+    @DefaultValue("1000")
+    @Key("remoteRetryBackoff")
+    long getRemoteRetryBackoff();
+
+    /**
+     * Gets the number of consecutive failed remote session requests which open the circuit breaker.
+     *
+     * @return int representing the failure threshold.
+     */
+    @DefaultValue("5")
+    @Key("remoteCircuitBreakerThreshold")
+    int getRemoteCircuitBreakerThreshold();
+
+    /**
+     * Gets the time in seconds the circuit breaker stays open before a trial session request is sent.
+     *
+     * @return long representing the cooldown in seconds.
+     */
+    @DefaultValue("60")
+    @Key("remoteCircuitBreakerCooldown")
+    long getRemoteCircuitBreakerCooldown();
+
+    /**
+     * Gets the startup arguments of Chrome sessions, separated by spaces. The headless flag follows the headless
+     * setting.
+     *
+     * @return String representing the Chrome arguments.
+     */
+    @DefaultValue("start-maximized --remote-allow-origins=* --disable-notifications --disable-popup-blocking --disable-gpu --no-sandbox --disable-dev-shm-usage")
+    @Key("chromeArguments")
+    String getChromeArguments();
+
+    /**
+     * Gets the startup arguments of Firefox sessions, separated by spaces. The headless flag follows the headless
+     * setting.
+     *
+     * @return String representing the Firefox arguments.
+     */
+    @DefaultValue("start-maximized")
+    @Key("firefoxArguments")
+    String getFirefoxArguments();
+
+    /**
+     * Gets the startup arguments of Edge sessions, separated by spaces. The headless flag follows the headless
+     * setting.
+     *
+     * @return String representing the Edge arguments.
+     */
+    @DefaultValue("start-maximized --remote-allow-origins=* --disable-notifications --disable-popup-blocking --disable-gpu --no-sandbox --disable-dev-shm-usage")
+    @Key("edgeArguments")
+    String getEdgeArguments();
+
+    /**
+     * Checks if the properties file of the configuration is watched and the configuration reloaded when it changes, for
+     * long-running daemon and soak runs.
+     *
+     * @return true if the configuration is reloaded on changes, otherwise false.
+     */
+    @DefaultValue("false")
+    @Key("configWatchEnabled")
+    boolean isConfigWatchEnabled();
+
+    /**
+     * Gets the properties file on the file system the configuration is loaded from instead of ${env}.properties on the
+     * classpath, and which is watched with configWatchEnabled. Only taken from a system property or the environment.
+     *
+     * @return String representing the path of the file, empty to load ${env}.properties from the classpath.
+     */
+    @DefaultValue("")
+    @Key("configFile")
+    String getConfigFile();
+
+    /**
+     * Gets the kind of threads parallel suites run their tests on.
+     *
+     * @return ThreadMode representing the configured thread mode.
+     */
+    @DefaultValue("PLATFORM")
+    @Key("threadMode")
+    ThreadMode getThreadMode();
+
+    /**
+     * Checks if finished tests are written to disk one by one instead of kept in memory until the end of the run.
+     *
+     * @return true if the report is streamed, otherwise false.
+     */
+    @DefaultValue("false")
+    @Key("reportStreaming")
+    boolean isReportStreaming();
+
+    /**
+     * Gets the number of tests on a page of the streamed report.
+     *
+     * @return int representing the page size.
+     */
+    @DefaultValue("500")
+    @Key("reportPageSize")
+    int getReportPageSize();
+
+    /**
+     * Gets the interval in seconds at which the streamed report is flushed to disk.
+     *
+     * @return long representing the flush interval.
+     */
+    @DefaultValue("30")
+    @Key("reportFlushInterval")
+    long getReportFlushInterval();
+
+    /**
+     * Gets the maximum number of soft assertion results an execution scope keeps for reporting and for asserting them.
+     *
+     * @return int representing the soft assertion limit.
+     */
+    @DefaultValue("100")
+    @Key("softAssertionLimit")
+    int getSoftAssertionLimit();
+
+    /**
+     * Checks if the navigation and resource timing of the browser is captured after every page load.
+     *
+     * @return true if navigation timing is captured, otherwise false.
+     */
+    @DefaultValue("false")
+    @Key("navigationTimingEnabled")
+    boolean isNavigationTimingEnabled();
+
+    /**
+     * Gets the URL patterns of the requests Chrome and Edge sessions block through DevTools, separated by spaces or commas.
+     * A pattern matches the whole URL and may use * as wildcard, e.g. "*google-analytics.com* *.woff2".
+     *
+     * @return String representing the block patterns, empty to block nothing.
+     */
+    @DefaultValue("")
+    @Key("networkBlockPatterns")
+    String getNetworkBlockPatterns();
+
+    /**
+     * Checks if Chrome and Edge sessions disable the browser cache through DevTools.
+     *
+     * @return true if the cache is disabled, otherwise false.
+     */
+    @DefaultValue("false")
+    @Key("networkCacheDisabled")
+    boolean isNetworkCacheDisabled();
+
 }
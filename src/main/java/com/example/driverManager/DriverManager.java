@@ -1,20 +1,21 @@
 /*
- * Description: This class manages the ThreadLocal storage of WebDriver instances using a Singleton pattern.
+ * Description: This class manages the WebDriver instances of the execution scopes using a Singleton pattern.
  */
 
 
 package com.example.driverManager;
 
 import com.aventstack.extentreports.Status;
+import com.example.browserManager.DriverPrefetcher;
+import com.example.enums.BrowserType;
+import com.example.enums.EnvironmentType;
+import com.example.executionManager.ExecutionScope;
 import com.example.logManager.LoggerManager;
 import com.example.reportManager.ExtentReportManager;
 import org.openqa.selenium.WebDriver;
 
 public class DriverManager {
 
-    // ThreadLocal to store WebDriver instances for each thread
-    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
-
     // Singleton instance of DriverManager
     private static DriverManager instance = new DriverManager();
 
@@ -36,19 +37,55 @@ public class DriverManager {
     }
 
     /**
-     * Removes the WebDriver instance associated with the current thread.
+     * Obtains a WebDriver instance for the current thread, borrowing it from the session pool when pooling is enabled
+     * and taking a (possibly prefetched) session lease otherwise.
+     *
+     * @param environmentType The type of environment (LOCAL or REMOTE).
+     * @param browserType     The type of browser (CHROME, FIREFOX, etc.).
+     * @throws org.openqa.selenium.WebDriverException if the session of the lease could not be created.
+     */
+    public void borrowDriver(EnvironmentType environmentType, BrowserType browserType) {
+        if (DriverSessionPool.isEnabled()) {
+            setDriver(DriverSessionPool.getPoolInstance().acquire(environmentType, browserType));
+        } else {
+            setDriver(DriverPrefetcher.getPrefetcherInstance().take(environmentType, browserType).getDriver());
+        }
+    }
+
+    /**
+     * Removes the WebDriver instance associated with the current thread. Pooled sessions are returned to the session
+     * pool, other sessions are quit.
      */
     public void removeDriver() {
-        WebDriver currentDriver = driver.get();
+        ExecutionScope scope = ExecutionScope.peek();
+        if (scope != null) {
+            removeDriver(scope);
+        }
+    }
+
+    /**
+     * Removes the WebDriver instance of an execution scope, e.g. of a scope left open by its thread. Pooled sessions
+     * are returned to the session pool, other sessions are quit.
+     *
+     * @param scope Execution scope holding the WebDriver instance.
+     */
+    public void removeDriver(ExecutionScope scope) {
+        WebDriver currentDriver = scope.getDriver();
         if (currentDriver != null) {
             try {
-                currentDriver.quit();
+                // Without a pool in use no session can be leased from it, and the pool is not created just to ask
+                if (DriverSessionPool.isInitialized() && DriverSessionPool.getPoolInstance().isLeased(currentDriver)) {
+                    DriverSessionPool.getPoolInstance().release(currentDriver);
+                } else {
+                    currentDriver.quit();
+                }
             } catch (Exception e) {
                 String errorMessage = "Exception while quitting WebDriver: " + e.getMessage();
                 LoggerManager.error(errorMessage);
-                ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Failed to quit WebDriver: " + e.getMessage());
+                ExtentReportManager.getReportInstance().log(Status.FAIL, "Failed to quit WebDriver: " + e.getMessage());
             } finally {
-                driver.remove();
+                // Drops the elements cached for the session along with it
+                scope.setDriver(null);
             }
         }
     }
@@ -60,7 +97,8 @@ public class DriverManager {
      */
     public WebDriver getDriver() {
         try {
-            return driver.get();
+            ExecutionScope scope = ExecutionScope.peek();
+            return scope != null ? scope.getDriver() : null;
         } catch (Exception e) {
             LoggerManager.error("Exception while getting WebDriver: " + e.getMessage());
             return null;
@@ -74,7 +112,7 @@ public class DriverManager {
      */
     public void setDriver(WebDriver localDriver) {
         if (localDriver != null) {
-            driver.set(localDriver);
+            ExecutionScope.current().setDriver(localDriver);
         } else {
             LoggerManager.error("Null WebDriver instance provided");
         }
@@ -0,0 +1,406 @@
+/*
+ * Description: This class maintains a bounded, thread-safe pool of reusable WebDriver sessions. Sessions are reset
+ *              (cookies, storage, extra windows, blank page) before they are handed out again, retired once they reach
+ *              the configured reuse count and evicted after staying idle for too long.
+ */
+
+package com.example.driverManager;
+
+import com.example.browserManager.DriverPrefetcher;
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.enums.BrowserType;
+import com.example.enums.EnvironmentType;
+import com.example.logManager.LoggerManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DriverSessionPool {
+
+    // Page every returned session is parked on
+    private static final String BLANK_PAGE = "about:blank";
+
+    // Script used to wipe web storage of the page the session is currently on
+    private static final String CLEAR_STORAGE_SCRIPT = "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) { }";
+
+    // Maximum time to wait for a free slot when every session of the pool is leased
+    private static final long ACQUIRE_TIMEOUT_SECONDS = 300;
+
+    // Singleton instance of DriverSessionPool, created when the pool is first used
+    private static volatile DriverSessionPool instance;
+
+    // Idle sessions grouped by environment and browser type, most recently used first
+    private final Map<String, ConcurrentLinkedDeque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+
+    // Sessions currently handed out to a test thread
+    private final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+
+    // One permit per live session (idle or leased), bounding the pool size
+    private final Semaphore capacity;
+
+    private final int maxReuse;
+    private final long idleTimeoutMillis;
+
+    // Counters used to report the savings of the pool
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong creationNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong retirements = new AtomicLong();
+
+    // Private constructor to enforce Singleton pattern
+    private DriverSessionPool() {
+        FMConfig config = ConfigFactory.getConfig();
+        int maxSize = config != null ? config.getSessionPoolMaxSize() : 5;
+        this.capacity = new Semaphore(Math.max(1, maxSize), true);
+        this.maxReuse = config != null ? config.getSessionPoolMaxReuse() : 20;
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(config != null ? config.getSessionPoolIdleTimeout() : 300);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-session-pool-shutdown"));
+    }
+
+    /**
+     * Retrieves the singleton instance of DriverSessionPool, creating it and registering its shutdown hook on first use.
+     *
+     * @return DriverSessionPool instance.
+     */
+    public static DriverSessionPool getPoolInstance() {
+        if (instance == null) {
+            synchronized (DriverSessionPool.class) {
+                if (instance == null) {
+                    instance = new DriverSessionPool();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether the pool was used during the run, without creating it.
+     *
+     * @return true if the pool instance exists, false otherwise.
+     */
+    public static boolean isInitialized() {
+        return instance != null;
+    }
+
+    /**
+     * Checks whether session pooling is enabled in the configuration.
+     *
+     * @return true if WebDriver sessions should be borrowed from the pool, false otherwise.
+     */
+    public static boolean isEnabled() {
+        FMConfig config = ConfigFactory.getConfig();
+        return config != null && config.isSessionPoolEnabled();
+    }
+
+    /**
+     * Borrows a WebDriver session for the specified environment and browser type. An idle session is reused when one
+     * is available and still alive, otherwise a new session is created as long as the pool has capacity left.
+     *
+     * @param environmentType The type of environment (LOCAL or REMOTE).
+     * @param browserType     The type of browser (CHROME, FIREFOX, etc.).
+     * @return WebDriver instance leased to the caller.
+     * @throws WebDriverException if no session could be leased or created.
+     */
+    public WebDriver acquire(EnvironmentType environmentType, BrowserType browserType) {
+        String key = getKey(environmentType, browserType);
+        evictIdleSessions();
+
+        PooledSession session;
+        while ((session = getIdleDeque(key).pollFirst()) != null && !isAlive(session)) {
+            // The Grid or the browser ended the session while it was idle, e.g. after the Grid's session timeout
+            retirements.incrementAndGet();
+            retire(session);
+        }
+        if (session != null) {
+            hits.incrementAndGet();
+            DriverPrefetcher.getPrefetcherInstance().onSessionReused();
+            session.leaseCount++;
+            leasedSessions.put(session.driver, session);
+            LoggerManager.info("Reusing pooled {} session (lease {} of {})", key, session.leaseCount, maxReuse);
+            return session.driver;
+        }
+
+        misses.incrementAndGet();
+        reserveCapacity();
+
+        WebDriver driver = null;
+        long startTime = System.nanoTime();
+        try {
+            driver = DriverPrefetcher.getPrefetcherInstance().take(environmentType, browserType).getDriver();
+        } finally {
+            creationNanos.addAndGet(System.nanoTime() - startTime);
+            if (driver == null) {
+                capacity.release();
+            }
+        }
+
+        session = new PooledSession(key, driver);
+        leasedSessions.put(driver, session);
+        return driver;
+    }
+
+    /**
+     * Returns a leased WebDriver session to the pool. The session is reset before it becomes available again, and
+     * quit instead when it reached the maximum reuse count or could not be reset.
+     *
+     * @param driver WebDriver instance previously obtained from {@link #acquire(EnvironmentType, BrowserType)}.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            LoggerManager.warn("WebDriver session was not leased from the pool, quitting it instead");
+            quitQuietly(driver);
+            return;
+        }
+
+        if (session.leaseCount >= maxReuse) {
+            retirements.incrementAndGet();
+            LoggerManager.info("Retiring pooled {} session after {} leases", session.key, session.leaseCount);
+            retire(session);
+            return;
+        }
+
+        if (!resetSession(driver)) {
+            retirements.incrementAndGet();
+            retire(session);
+            return;
+        }
+
+        session.lastReleased = System.currentTimeMillis();
+        getIdleDeque(session.key).offerFirst(session);
+    }
+
+    /**
+     * Checks whether the specified WebDriver session is currently leased from the pool.
+     *
+     * @param driver WebDriver instance to check.
+     * @return true if the session belongs to the pool, false otherwise.
+     */
+    public boolean isLeased(WebDriver driver) {
+        return driver != null && leasedSessions.containsKey(driver);
+    }
+
+    /**
+     * Quits every idle session of the pool. Leased sessions are left to their owners.
+     */
+    public void shutdown() {
+        for (ConcurrentLinkedDeque<PooledSession> deque : idleSessions.values()) {
+            PooledSession session;
+            while ((session = deque.pollFirst()) != null) {
+                retire(session);
+            }
+        }
+    }
+
+    /**
+     * Retrieves a snapshot of the pool counters.
+     *
+     * @return Statistics describing hits, misses and session creation time.
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.get(), misses.get(), creationNanos.get(), evictions.get(), retirements.get());
+    }
+
+    /**
+     * Checks that an idle session still answers before it is leased again.
+     *
+     * @param session PooledSession to probe.
+     * @return true if the session answered, false if it is gone.
+     */
+    private boolean isAlive(PooledSession session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            LoggerManager.warn("Idle pooled {} session is no longer alive, retiring it: {}", session.key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Brings a session back to a neutral state: web storage cleared, cookies deleted, a single window left open and
+     * parked on a blank page.
+     *
+     * @param driver WebDriver instance to reset.
+     * @return true if the session was reset successfully, false otherwise.
+     */
+    private boolean resetSession(WebDriver driver) {
+        try {
+            Set<String> windowHandles = driver.getWindowHandles();
+            List<String> handles = new ArrayList<>(windowHandles);
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            driver.manage().deleteAllCookies();
+            driver.get(BLANK_PAGE);
+            return true;
+        } catch (Exception e) {
+            LoggerManager.warn("Unable to reset pooled WebDriver session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Quits sessions which have been idle for longer than the configured idle timeout.
+     */
+    private void evictIdleSessions() {
+        long now = System.currentTimeMillis();
+        for (ConcurrentLinkedDeque<PooledSession> deque : idleSessions.values()) {
+            Iterator<PooledSession> iterator = deque.descendingIterator();
+            while (iterator.hasNext()) {
+                PooledSession session = iterator.next();
+                if (now - session.lastReleased > idleTimeoutMillis && deque.removeFirstOccurrence(session)) {
+                    evictions.incrementAndGet();
+                    LoggerManager.info("Evicting idle pooled {} session", session.key);
+                    retire(session);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserves a slot for a new session. When the pool is full, the least recently used idle session of any browser
+     * type is evicted; otherwise the caller waits for a leased session to be retired.
+     */
+    private void reserveCapacity() {
+        if (capacity.tryAcquire()) {
+            return;
+        }
+        PooledSession victim = null;
+        for (ConcurrentLinkedDeque<PooledSession> deque : idleSessions.values()) {
+            PooledSession candidate = deque.peekLast();
+            if (candidate != null && (victim == null || candidate.lastReleased < victim.lastReleased)) {
+                victim = candidate;
+            }
+        }
+        if (victim != null && getIdleDeque(victim.key).removeFirstOccurrence(victim)) {
+            evictions.incrementAndGet();
+            retire(victim);
+        }
+        try {
+            if (!capacity.tryAcquire(ACQUIRE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new WebDriverException("Timed out waiting for a free WebDriver session in the pool");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting for a free WebDriver session in the pool", e);
+        }
+    }
+
+    /**
+     * Quits a pooled session and frees its slot.
+     *
+     * @param session PooledSession to retire.
+     */
+    private void retire(PooledSession session) {
+        try {
+            quitQuietly(session.driver);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            LoggerManager.error("Exception while quitting pooled WebDriver: {}", e.getMessage());
+        }
+    }
+
+    private ConcurrentLinkedDeque<PooledSession> getIdleDeque(String key) {
+        return idleSessions.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+    }
+
+    private static String getKey(EnvironmentType environmentType, BrowserType browserType) {
+        return environmentType + "/" + browserType;
+    }
+
+    // A WebDriver session owned by the pool together with its bookkeeping
+    private static final class PooledSession {
+        private final String key;
+        private final WebDriver driver;
+        private int leaseCount = 1;
+        private volatile long lastReleased = System.currentTimeMillis();
+
+        private PooledSession(String key, WebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the pool counters.
+     */
+    public static final class Statistics {
+        private final long hits;
+        private final long misses;
+        private final long creationNanos;
+        private final long evictions;
+        private final long retirements;
+
+        private Statistics(long hits, long misses, long creationNanos, long evictions, long retirements) {
+            this.hits = hits;
+            this.misses = misses;
+            this.creationNanos = creationNanos;
+            this.evictions = evictions;
+            this.retirements = retirements;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getRetirements() {
+            return retirements;
+        }
+
+        // Average time spent creating a brand-new session, in milliseconds
+        public long getAverageCreationMillis() {
+            return misses == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(creationNanos / misses);
+        }
+
+        // Total time spent creating sessions, in milliseconds
+        public long getTotalCreationMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(creationNanos);
+        }
+
+        // Browser start-up time avoided by reusing sessions, in milliseconds
+        public long getEstimatedSavedMillis() {
+            return hits * getAverageCreationMillis();
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", retirements=" + retirements
+                    + ", totalCreation=" + getTotalCreationMillis() + "ms, avgCreation=" + getAverageCreationMillis()
+                    + "ms, estimatedSaved=" + getEstimatedSavedMillis() + "ms";
+        }
+    }
+}
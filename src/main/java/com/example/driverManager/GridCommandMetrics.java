@@ -0,0 +1,117 @@
+/*
+ * Description: This class times every command remote drivers send to the Selenium Grid, through a filter of the
+ *              shared HTTP client. Commands are grouped by method and path, with session and element ids left out,
+ *              so that e.g. all clicks of all sessions are counted together.
+ */
+
+package com.example.driverManager;
+
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+public class GridCommandMetrics {
+
+    // Path segments following these hold ids, e.g. /session/{id}/element/{id}/click
+    private static final Pattern ID_SEGMENT = Pattern.compile("/(session|element|shadow)/[^/]+");
+
+    // Singleton instance of GridCommandMetrics
+    private static final GridCommandMetrics instance = new GridCommandMetrics();
+
+    private final Map<String, CommandStats> commands = new ConcurrentHashMap<>();
+
+    // Private constructor to enforce Singleton pattern
+    private GridCommandMetrics() {
+    }
+
+    /**
+     * Retrieves the singleton instance of GridCommandMetrics.
+     *
+     * @return GridCommandMetrics instance.
+     */
+    public static GridCommandMetrics getMetricsInstance() {
+        return instance;
+    }
+
+    /**
+     * Creates the filter which times the requests of an HTTP client. Failed requests and error responses are counted
+     * as errors of their command.
+     *
+     * @return Filter recording the latency of every request.
+     */
+    public Filter getFilter() {
+        return next -> request -> {
+            String command = getCommandName(request.getMethod().toString(), request.getUri());
+            long startNanos = System.nanoTime();
+            boolean failed = true;
+            try {
+                HttpResponse response = next.execute(request);
+                failed = response.getStatus() >= 400;
+                return response;
+            } finally {
+                record(command, System.nanoTime() - startNanos, failed);
+            }
+        };
+    }
+
+    // "POST /wd/hub/session/4f2a/element/9c1d/click" becomes "POST /session/{id}/element/{id}/click"
+    static String getCommandName(String method, String uri) {
+        int query = uri.indexOf('?');
+        String path = query >= 0 ? uri.substring(0, query) : uri;
+        int session = path.indexOf("/session");
+        path = session >= 0 ? path.substring(session) : path;
+        return method + " " + ID_SEGMENT.matcher(path).replaceAll("/$1/{id}");
+    }
+
+    void record(String command, long nanos, boolean failed) {
+        CommandStats stats = commands.get(command);
+        if (stats == null) {
+            stats = commands.computeIfAbsent(command, key -> new CommandStats());
+        }
+        stats.count.increment();
+        stats.nanos.add(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        if (failed) {
+            stats.errors.increment();
+        }
+    }
+
+    public boolean isEmpty() {
+        return commands.isEmpty();
+    }
+
+    /**
+     * Describes the latency of every command sent so far, slowest average first.
+     *
+     * @return List holding one line per command with its count, errors, average and maximum latency.
+     */
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        commands.entrySet().stream()
+                .sorted((first, second) -> Double.compare(second.getValue().getAverageMillis(), first.getValue().getAverageMillis()))
+                .forEach(entry -> lines.add(String.format(Locale.ROOT, "%s: count=%d, errors=%d, avg=%.1fms, max=%.1fms",
+                        entry.getKey(), entry.getValue().count.sum(), entry.getValue().errors.sum(),
+                        entry.getValue().getAverageMillis(), entry.getValue().maxNanos.get() / 1_000_000d)));
+        return lines;
+    }
+
+    private static final class CommandStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private double getAverageMillis() {
+            long invocations = count.sum();
+            return invocations == 0 ? 0 : nanos.sum() / (invocations * 1_000_000d);
+        }
+    }
+}
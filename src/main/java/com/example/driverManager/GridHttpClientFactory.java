@@ -0,0 +1,183 @@
+/*
+ * Description: This class creates the HTTP clients of remote sessions on the java.net.http client of the JDK. Unlike
+ *              Selenium's default client, which shares one static client configured when it is first loaded, every
+ *              client honours its whole ClientConfig: base URL, connect and read timeouts, filters, proxy and
+ *              credentials. Requests in flight, and so connections to the Grid, are bounded per client. WebSockets,
+ *              only used by DevTools and BiDi connections, are opened by Selenium's default client.
+ */
+
+package com.example.driverManager;
+
+import org.openqa.selenium.Credentials;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UsernameAndPassword;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+final class GridHttpClientFactory implements HttpClient.Factory {
+
+    // Headers the JDK client sets itself and refuses to take from the request
+    private static final List<String> RESTRICTED_HEADERS = Arrays.asList("connection", "content-length", "expect", "host", "upgrade");
+
+    private final int maxConnections;
+
+    /**
+     * Creates a factory of clients each opening at most the given number of connections at once.
+     *
+     * @param maxConnections Maximum number of requests in flight per client.
+     */
+    GridHttpClientFactory(int maxConnections) {
+        this.maxConnections = Math.max(1, maxConnections);
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        return new GridHttpClient(config, maxConnections);
+    }
+
+    private static final class GridHttpClient implements HttpClient {
+        private final ClientConfig config;
+        private final java.net.http.HttpClient client;
+        private final HttpHandler handler;
+        private final Semaphore connections;
+        private volatile HttpClient socketClient;
+
+        private GridHttpClient(ClientConfig config, int maxConnections) {
+            this.config = config;
+            java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
+                    .version(java.net.http.HttpClient.Version.HTTP_1_1)
+                    .followRedirects(java.net.http.HttpClient.Redirect.NORMAL)
+                    .connectTimeout(config.connectionTimeout());
+            Proxy proxy = config.proxy();
+            if (proxy != null && proxy.type() == Proxy.Type.HTTP && proxy.address() instanceof InetSocketAddress) {
+                builder.proxy(ProxySelector.of((InetSocketAddress) proxy.address()));
+            }
+            Credentials credentials = config.credentials();
+            if (credentials instanceof UsernameAndPassword) {
+                UsernameAndPassword login = (UsernameAndPassword) credentials;
+                builder.authenticator(new Authenticator() {
+                    @Override
+                    protected PasswordAuthentication getPasswordAuthentication() {
+                        return new PasswordAuthentication(login.username(), login.password().toCharArray());
+                    }
+                });
+            }
+            this.client = builder.build();
+            this.handler = config.filter().andFinally(this::send);
+            this.connections = new Semaphore(maxConnections, true);
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return handler.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            HttpClient sockets = socketClient;
+            if (sockets == null) {
+                synchronized (this) {
+                    if (socketClient == null) {
+                        socketClient = HttpClient.Factory.createDefault().createClient(config);
+                    }
+                    sockets = socketClient;
+                }
+            }
+            return sockets.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            HttpClient sockets = socketClient;
+            if (sockets != null) {
+                sockets.close();
+            }
+        }
+
+        private HttpResponse send(HttpRequest request) {
+            java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(getUri(request))
+                    .timeout(config.readTimeout());
+            for (String name : request.getHeaderNames()) {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    for (String value : request.getHeaders(name)) {
+                        builder.header(name, value);
+                    }
+                }
+            }
+            if (request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.DELETE) {
+                builder.method(request.getMethod().name(), java.net.http.HttpRequest.BodyPublishers.noBody());
+            } else {
+                builder.method(request.getMethod().name(), java.net.http.HttpRequest.BodyPublishers.ofByteArray(Contents.bytes(request.getContent())));
+            }
+
+            java.net.http.HttpResponse<byte[]> response;
+            try {
+                connections.acquire();
+                try {
+                    response = client.send(builder.build(), java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+                } finally {
+                    connections.release();
+                }
+            } catch (HttpTimeoutException e) {
+                throw new TimeoutException(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while sending " + request.getMethod() + " " + request.getUri(), e);
+            }
+
+            HttpResponse result = new HttpResponse();
+            result.setStatus(response.statusCode());
+            response.headers().map().forEach((name, values) -> values.forEach(value -> result.addHeader(name, value)));
+            result.setContent(Contents.bytes(response.body()));
+            return result;
+        }
+
+        // Request URIs are relative to the base URL of the client, e.g. /session on http://grid:4444/wd/hub
+        private URI getUri(HttpRequest request) {
+            String uri = request.getUri();
+            StringBuilder url = new StringBuilder(uri.startsWith("http:") || uri.startsWith("https:") ? uri
+                    : config.baseUri().toString().replaceAll("/$", "") + uri);
+            char separator = url.indexOf("?") >= 0 ? '&' : '?';
+            for (String name : request.getQueryParameterNames()) {
+                for (String value : request.getQueryParameters(name)) {
+                    url.append(separator).append(encode(name)).append('=').append(encode(value));
+                    separator = '&';
+                }
+            }
+            return URI.create(url.toString());
+        }
+
+        private static String encode(String value) {
+            try {
+                return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ package com.example.driverManager;
 
 import com.aventstack.extentreports.Status;
 import com.example.browserCapabilities.ChromeCapabilities;
+import com.example.browserManager.NetworkBlocker;
 import com.example.logManager.LoggerManager;
 import com.example.reportManager.ExtentReportManager;
 import org.openqa.selenium.WebDriver;
@@ -20,12 +21,12 @@ public class LocalChromeDriverManager {
      */
     public static WebDriver getLocalChromeDriver() {
         try {
-            // Create and return a new ChromeDriver instance
-            return new ChromeDriver(ChromeCapabilities.getChromeOptions());
+            // Create and return a new ChromeDriver instance, with the configured network blocking applied
+            return NetworkBlocker.apply(new ChromeDriver(ChromeCapabilities.getChromeOptions()));
         } catch (Exception e) {
             // Log and report any exception that occurs during initialization
             LoggerManager.error("Exception while initializing local Chrome WebDriver: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Failed to initialize local Chrome WebDriver: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Failed to initialize local Chrome WebDriver: " + e.getMessage());
             return null;
         }
     }
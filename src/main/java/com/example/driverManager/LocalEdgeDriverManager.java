@@ -6,6 +6,7 @@ package com.example.driverManager;
 
 import com.aventstack.extentreports.Status;
 import com.example.browserCapabilities.EdgeCapabilities;
+import com.example.browserManager.NetworkBlocker;
 import com.example.logManager.LoggerManager;
 import com.example.reportManager.ExtentReportManager;
 import org.openqa.selenium.WebDriver;
@@ -20,12 +21,12 @@ public class LocalEdgeDriverManager {
      */
     public static WebDriver getLocalEdgeDriver() {
         try {
-            // Create and return a new EdgeDriver instance
-            return new EdgeDriver(EdgeCapabilities.getEdgeOptions());
+            // Create and return a new EdgeDriver instance, with the configured network blocking applied
+            return NetworkBlocker.apply(new EdgeDriver(EdgeCapabilities.getEdgeOptions()));
         } catch (Exception e) {
             // Log and report any exception that occurs during initialization
             LoggerManager.error("Exception while initializing local Edge WebDriver: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Failed to initialize local Edge WebDriver: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Failed to initialize local Edge WebDriver: " + e.getMessage());
             return null;
         }
     }
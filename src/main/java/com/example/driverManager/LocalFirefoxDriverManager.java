@@ -25,7 +25,7 @@ public class LocalFirefoxDriverManager {
         } catch (Exception e) {
             // Log and report any exception that occurs during initialization
             LoggerManager.error("Exception while initializing local Firefox WebDriver" + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Failed to initialize local Firefox WebDriver: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Failed to initialize local Firefox WebDriver: " + e.getMessage());
             return null;
         }
     }
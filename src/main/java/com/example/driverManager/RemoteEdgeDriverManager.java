@@ -6,13 +6,11 @@ package com.example.driverManager;
 
 import com.aventstack.extentreports.Status;
 import com.example.browserCapabilities.EdgeCapabilities;
-import com.example.configManager.ConfigFactory;
+import com.example.browserManager.NetworkBlocker;
 import com.example.logManager.LoggerManager;
 import com.example.reportManager.ExtentReportManager;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
-import java.net.URL;
-
 public class RemoteEdgeDriverManager {
 
     /**
@@ -22,12 +20,13 @@ public class RemoteEdgeDriverManager {
      */
     public static RemoteWebDriver getRemoteEdgeDriver() {
         try {
-            // Create and return a new RemoteWebDriver instance for remote Edge
-            return new RemoteWebDriver(new URL(ConfigFactory.getConfig().getRemoteSeleniumGridUrl()), EdgeCapabilities.getEdgeOptions());
+            // Create and return a new RemoteWebDriver instance for remote Edge through the shared HTTP client, with the
+            // configured network blocking applied
+            return NetworkBlocker.apply(RemoteSessionFactory.getFactoryInstance().createDriver(EdgeCapabilities.getEdgeOptions()));
         } catch (Exception e) {
             // Log and report any exception that occurs during initialization
             LoggerManager.error("Exception while initializing remote Edge WebDriver" + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Failed to initialize remote Edge WebDriver: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Failed to initialize remote Edge WebDriver: " + e.getMessage());
             return null;
         }
     }
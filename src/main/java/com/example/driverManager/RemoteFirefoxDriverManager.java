@@ -6,13 +6,10 @@ package com.example.driverManager;
 
 import com.aventstack.extentreports.Status;
 import com.example.browserCapabilities.FirefoxCapabilities;
-import com.example.configManager.ConfigFactory;
 import com.example.logManager.LoggerManager;
 import com.example.reportManager.ExtentReportManager;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
-import java.net.URL;
-
 public class RemoteFirefoxDriverManager {
 
     /**
@@ -22,12 +19,12 @@ public class RemoteFirefoxDriverManager {
      */
     public static RemoteWebDriver getRemoteFirefoxDriver() {
         try {
-            // Create and return a new RemoteWebDriver instance for remote Firefox
-            return new RemoteWebDriver(new URL(ConfigFactory.getConfig().getRemoteSeleniumGridUrl()), FirefoxCapabilities.getFirefoxOptions());
+            // Create and return a new RemoteWebDriver instance for remote Firefox through the shared HTTP client
+            return RemoteSessionFactory.getFactoryInstance().createDriver(FirefoxCapabilities.getFirefoxOptions());
         } catch (Exception e) {
             // Log and report any exception that occurs during initialization
             LoggerManager.error("Exception while initializing remote Firefox WebDriver" + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Failed to initialize remote Firefox WebDriver: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Failed to initialize remote Firefox WebDriver: " + e.getMessage());
             return null;
         }
     }
@@ -0,0 +1,219 @@
+/*
+ * Description: This class creates the RemoteWebDriver sessions of all remote driver managers through one shared
+ *              HTTP client: connect and read timeouts and a connection limit sized for the threads of the run, with
+ *              every command timed by GridCommandMetrics. Session creation is retried with
+ *              exponential backoff, and a circuit breaker fails requests fast while the Grid keeps refusing sessions.
+ */
+
+package com.example.driverManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.launcher.ParallelExecutionConfigurator;
+import com.example.logManager.LoggerManager;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RemoteSessionFactory {
+
+    private enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    // Singleton instance of RemoteSessionFactory, created from the configuration on first use
+    private static volatile RemoteSessionFactory instance;
+
+    private final ClientConfig clientConfig;
+    private final HttpClient.Factory clientFactory;
+    private final int retries;
+    private final long backoffMillis;
+    private final int failureThreshold;
+    private final long cooldownNanos;
+
+    // Guarded by this: state of the circuit breaker
+    private CircuitState circuitState = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openUntilNanos;
+
+    // Counters used to report session creation
+    private final AtomicLong sessions = new AtomicLong();
+    private final AtomicLong retriedAttempts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong circuitOpenings = new AtomicLong();
+
+    private RemoteSessionFactory(FMConfig config) throws Exception {
+        int maxConnections = config.getRemoteMaxConnections() > 0 ? config.getRemoteMaxConnections()
+                : ParallelExecutionConfigurator.getMaxThreadCount() + Math.max(0, config.getPrefetchSessions()) + 1;
+
+        this.clientConfig = ClientConfig.defaultConfig()
+                .baseUrl(new URL(config.getRemoteSeleniumGridUrl()))
+                .connectionTimeout(Duration.ofSeconds(config.getRemoteConnectTimeout()))
+                .readTimeout(Duration.ofSeconds(config.getRemoteReadTimeout()))
+                .withFilter(GridCommandMetrics.getMetricsInstance().getFilter());
+        // Selenium's default client ignores the connect timeout of its config, the JDK client honours the whole config
+        this.clientFactory = new SharedClientFactory(new GridHttpClientFactory(maxConnections).createClient(clientConfig));
+        this.retries = Math.max(0, config.getRemoteSessionRetries());
+        this.backoffMillis = config.getRemoteRetryBackoff();
+        this.failureThreshold = Math.max(1, config.getRemoteCircuitBreakerThreshold());
+        this.cooldownNanos = TimeUnit.SECONDS.toNanos(config.getRemoteCircuitBreakerCooldown());
+        LoggerManager.info("Remote sessions share one HTTP client: connectTimeout={}s, readTimeout={}s, maxConnections={}",
+                config.getRemoteConnectTimeout(), config.getRemoteReadTimeout(), maxConnections);
+    }
+
+    /**
+     * Retrieves the singleton instance of RemoteSessionFactory for the configured Grid.
+     *
+     * @return RemoteSessionFactory instance.
+     * @throws WebDriverException if the Grid URL is invalid.
+     */
+    public static RemoteSessionFactory getFactoryInstance() {
+        if (instance == null) {
+            synchronized (RemoteSessionFactory.class) {
+                if (instance == null) {
+                    try {
+                        instance = new RemoteSessionFactory(ConfigFactory.getConfig());
+                    } catch (Exception e) {
+                        throw new WebDriverException("Unable to configure the remote HTTP client: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether a remote session was requested during the run, without creating the factory.
+     *
+     * @return true if the factory instance exists, false otherwise.
+     */
+    public static boolean isInitialized() {
+        return instance != null;
+    }
+
+    /**
+     * Creates a remote session with the given capabilities on the configured Grid. Failed attempts are retried after
+     * a backoff which doubles with every attempt.
+     *
+     * @param capabilities Capabilities of the session.
+     * @return RemoteWebDriver instance of the new session.
+     * @throws WebDriverException if the circuit breaker is open or every attempt failed.
+     */
+    public RemoteWebDriver createDriver(Capabilities capabilities) {
+        WebDriverException lastFailure = null;
+        for (int attempt = 0; attempt <= retries; attempt++) {
+            if (attempt > 0) {
+                retriedAttempts.incrementAndGet();
+                sleep(backoffMillis << Math.min(attempt - 1, 16));
+            }
+            checkCircuit();
+            try {
+                RemoteWebDriver driver = new RemoteWebDriver(new HttpCommandExecutor(Collections.emptyMap(), clientConfig, clientFactory), capabilities);
+                onSuccess();
+                return driver;
+            } catch (WebDriverException e) {
+                lastFailure = e;
+                onFailure();
+                LoggerManager.warn("Attempt {} of {} to create a {} session failed: {}", attempt + 1, retries + 1,
+                        capabilities.getBrowserName(), e.getMessage());
+            }
+        }
+        throw lastFailure;
+    }
+
+    // Fails fast while the circuit is open; once the cooldown passed a single trial request is let through
+    private synchronized void checkCircuit() {
+        if (circuitState == CircuitState.CLOSED) {
+            return;
+        }
+        if (circuitState == CircuitState.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+            circuitState = CircuitState.HALF_OPEN;
+            LoggerManager.info("Session creation circuit half-open, sending a trial request to the Grid");
+            return;
+        }
+        rejections.incrementAndGet();
+        throw new WebDriverException("Session creation circuit is open after " + consecutiveFailures
+                + " consecutive failures, the Grid is not asked for new sessions until the cooldown has passed");
+    }
+
+    private synchronized void onSuccess() {
+        sessions.incrementAndGet();
+        if (circuitState != CircuitState.CLOSED) {
+            LoggerManager.info("Session creation circuit closed, the Grid accepts sessions again");
+        }
+        circuitState = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    private synchronized void onFailure() {
+        failures.incrementAndGet();
+        consecutiveFailures++;
+        if (circuitState == CircuitState.HALF_OPEN || (circuitState == CircuitState.CLOSED && consecutiveFailures >= failureThreshold)) {
+            circuitState = CircuitState.OPEN;
+            openUntilNanos = System.nanoTime() + cooldownNanos;
+            circuitOpenings.incrementAndGet();
+            LoggerManager.error("Session creation circuit opened after {} consecutive failures for {}s", consecutiveFailures,
+                    TimeUnit.NANOSECONDS.toSeconds(cooldownNanos));
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting to retry session creation", e);
+        }
+    }
+
+    /**
+     * Describes the sessions created so far, the retries and the work of the circuit breaker.
+     *
+     * @return String holding the session creation counters.
+     */
+    public String getStatistics() {
+        return "sessions=" + sessions.get() + ", retries=" + retriedAttempts.get() + ", failedAttempts=" + failures.get()
+                + ", rejected=" + rejections.get() + ", circuitOpenings=" + circuitOpenings.get();
+    }
+
+    // Hands the same client to every session; sessions close their client when they quit, which must not close the
+    // shared one
+    private static final class SharedClientFactory implements HttpClient.Factory {
+        private final HttpClient client;
+
+        private SharedClientFactory(HttpClient delegate) {
+            this.client = new HttpClient() {
+                @Override
+                public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+                    return delegate.openSocket(request, listener);
+                }
+
+                @Override
+                public HttpResponse execute(HttpRequest request) {
+                    return delegate.execute(request);
+                }
+
+                @Override
+                public void close() {
+                    // Shared by all sessions, kept open for the whole run
+                }
+            };
+        }
+
+        @Override
+        public HttpClient createClient(ClientConfig config) {
+            return client;
+        }
+    }
+}
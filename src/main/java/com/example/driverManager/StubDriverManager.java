@@ -0,0 +1,55 @@
+/*
+ * Description: This class provides a method to initialize an in-process stub WebDriver instance, configured with the
+ *              fixture directory and command latencies of the configuration.
+ */
+
+package com.example.driverManager;
+
+import com.aventstack.extentreports.Status;
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.logManager.LoggerManager;
+import com.example.reportManager.ExtentReportManager;
+import com.example.stubDriver.StubDriver;
+import org.openqa.selenium.WebDriver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class StubDriverManager {
+
+    /**
+     * Initializes a stub WebDriver instance serving the configured HTML fixtures.
+     *
+     * @return WebDriver instance backed by the stub driver.
+     */
+    public static WebDriver getStubDriver() {
+        try {
+            FMConfig config = ConfigFactory.getConfig();
+            return new StubDriver(config.getStubFixtures(), config.getStubLatency(), parseCommandLatency(config.getStubCommandLatency()));
+        } catch (Exception e) {
+            // Log and report any exception that occurs during initialization
+            LoggerManager.error("Exception while initializing stub WebDriver: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Failed to initialize stub WebDriver: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // "findElement=5,click=20" becomes {findElement=5, click=20}, malformed entries are skipped
+    private static Map<String, Long> parseCommandLatency(String setting) {
+        Map<String, Long> latencies = new LinkedHashMap<>();
+        for (String entry : setting.split(",")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            try {
+                latencies.put(entry.substring(0, separator).trim(), Long.parseLong(entry.substring(separator + 1).trim()));
+            } catch (RuntimeException e) {
+                LoggerManager.warn("Ignoring malformed stubCommandLatency entry '{}'", entry);
+            }
+        }
+        return latencies;
+    }
+
+}
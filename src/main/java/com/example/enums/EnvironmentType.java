@@ -1,10 +1,11 @@
 /*
- * Description: This enumeration represents the types of environments (local and remote) that can be used in the framework.
+ * Description: This enumeration represents the types of environments (local, remote and stub) that can be used in the framework.
  */
 
 package com.example.enums;
 
 public enum EnvironmentType {
     LOCAL,   // Local environment type
-    REMOTE   // Remote environment type
+    REMOTE,  // Remote environment type
+    STUB     // In-process stub driver serving HTML fixtures, no browser needed
 }
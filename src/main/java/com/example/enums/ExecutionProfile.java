@@ -0,0 +1,55 @@
+/*
+ * Description: This enumeration represents the execution profiles of the framework. A profile controls the visual and
+ *              diagnostic aids applied while tests run: element highlighting and its duration, per-step screenshots,
+ *              console echoing of listed elements and log verbosity.
+ */
+
+package com.example.enums;
+
+import org.apache.logging.log4j.Level;
+
+public enum ExecutionProfile {
+    DEBUG(true, 3000, true, true, Level.TRACE),   // Local troubleshooting, every aid enabled
+    CI(false, 0, false, false, Level.INFO),       // Pipelines, no delays or screenshots besides failures
+    PERF(false, 0, false, false, Level.WARN);     // Throughput runs, no artificial delays or extra WebDriver round trips
+
+    private final boolean highlightEnabled;
+    private final long highlightDurationMillis;
+    private final boolean stepScreenshotsEnabled;
+    private final boolean consoleEchoEnabled;
+    private final Level logLevel;
+
+    ExecutionProfile(boolean highlightEnabled, long highlightDurationMillis, boolean stepScreenshotsEnabled,
+                     boolean consoleEchoEnabled, Level logLevel) {
+        this.highlightEnabled = highlightEnabled;
+        this.highlightDurationMillis = highlightDurationMillis;
+        this.stepScreenshotsEnabled = stepScreenshotsEnabled;
+        this.consoleEchoEnabled = consoleEchoEnabled;
+        this.logLevel = logLevel;
+    }
+
+    // Whether located elements are highlighted in the browser
+    public boolean isHighlightEnabled() {
+        return highlightEnabled;
+    }
+
+    // Time an element stays highlighted, in milliseconds
+    public long getHighlightDurationMillis() {
+        return highlightDurationMillis;
+    }
+
+    // Whether a screenshot is attached to the report after every interaction
+    public boolean isStepScreenshotsEnabled() {
+        return stepScreenshotsEnabled;
+    }
+
+    // Whether listed elements are scrolled to and printed to the console
+    public boolean isConsoleEchoEnabled() {
+        return consoleEchoEnabled;
+    }
+
+    // Level of the root logger
+    public Level getLogLevel() {
+        return logLevel;
+    }
+}
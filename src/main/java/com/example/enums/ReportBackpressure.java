@@ -0,0 +1,10 @@
+/*
+ * Description: This enumeration represents the policies applied when the asynchronous report queue is full.
+ */
+
+package com.example.enums;
+
+public enum ReportBackpressure {
+    BLOCK,              // The test thread waits until the queue has room
+    DROP_LOW_SEVERITY   // INFO and PASS events are dropped, other events wait until the queue has room
+}
@@ -0,0 +1,10 @@
+/*
+ * Description: This enumeration represents the ways log events can be applied to the ExtentReports tree.
+ */
+
+package com.example.enums;
+
+public enum ReportMode {
+    SYNC,   // Events are applied on the test thread
+    ASYNC   // Events are queued and applied by a single background consumer
+}
@@ -0,0 +1,10 @@
+/*
+ * Description: This enumeration represents the image formats screenshots are encoded to.
+ */
+
+package com.example.enums;
+
+public enum ScreenshotFormat {
+    JPEG,   // Lossy, honours the configured quality
+    PNG     // Lossless, the format returned by the browser
+}
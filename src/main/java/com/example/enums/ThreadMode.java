@@ -0,0 +1,10 @@
+/*
+ * Description: This enumeration represents the kinds of threads parallel suites run their tests on.
+ */
+
+package com.example.enums;
+
+public enum ThreadMode {
+    PLATFORM,   // A pool of platform threads of the configured thread count
+    VIRTUAL     // One virtual thread per worker, requires Java 21 and the TestLauncher
+}
@@ -0,0 +1,199 @@
+/*
+ * Description: This class holds the state of one test class execution: its WebDriver session, the ExtentTest of the
+ *              running test, its soft assertions, the elements cached for its session and the poll count of its last
+ *              wait. DriverManager, ExtentReportManager, LocatorRegistry and WaitEngine read it through the scope bound
+ *              to the current thread instead of keeping a ThreadLocal each. A scope is opened and closed explicitly,
+ *              so pooled worker threads (platform or virtual) never keep the session or report entry of a finished
+ *              class, and scopes left open are listed at the end of the suite. Work handed to another thread can carry
+ *              the scope along.
+ */
+
+package com.example.executionManager;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.example.assertions.SoftAssertionManager;
+import com.example.locatorManager.Locator;
+import com.example.logManager.LoggerManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class ExecutionScope {
+
+    // The only per-thread state of the framework's session, report, element cache and wait bookkeeping
+    private static final ThreadLocal<ExecutionScope> boundScope = new ThreadLocal<>();
+
+    // Scopes opened explicitly and not closed yet
+    private static final Set<ExecutionScope> openScopes = ConcurrentHashMap.newKeySet();
+
+    private final String name;
+    private final boolean explicit;
+    private volatile WebDriver driver;
+    private volatile ExtentTest extentTest;
+    private volatile SoftAssertionManager softAssertions;
+    private volatile int lastPollCount;
+
+    // Elements found by named locators in the session of the scope, dropped whenever the session changes
+    private final Map<Locator, WebElement> cachedElements = new ConcurrentHashMap<>();
+
+    private ExecutionScope(String name, boolean explicit) {
+        this.name = name;
+        this.explicit = explicit;
+    }
+
+    /**
+     * Opens a scope and binds it to the current thread. A scope still bound to the thread was not closed by its owner
+     * and is replaced.
+     *
+     * @param name Name of the scope, usually the test class.
+     * @return ExecutionScope bound to the current thread.
+     */
+    public static ExecutionScope open(String name) {
+        ExecutionScope previous = boundScope.get();
+        if (previous != null && previous.explicit) {
+            LoggerManager.warn("Execution scope '{}' was not closed before '{}' opened on thread {}", previous.name, name,
+                    Thread.currentThread().getName());
+        }
+        ExecutionScope scope = new ExecutionScope(name, true);
+        openScopes.add(scope);
+        boundScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Gets the scope bound to the current thread, binding an implicit one named after the thread when there is none.
+     * Implicit scopes cover code running outside a StarterKit test class; they live as long as their thread.
+     *
+     * @return ExecutionScope of the current thread.
+     */
+    public static ExecutionScope current() {
+        ExecutionScope scope = boundScope.get();
+        if (scope == null) {
+            scope = new ExecutionScope(Thread.currentThread().getName(), false);
+            boundScope.set(scope);
+        }
+        return scope;
+    }
+
+    /**
+     * Gets the scope bound to the current thread without binding one.
+     *
+     * @return ExecutionScope of the current thread, or null if none is bound.
+     */
+    public static ExecutionScope peek() {
+        return boundScope.get();
+    }
+
+    /**
+     * Gets the scopes opened explicitly and not closed yet.
+     *
+     * @return List of the open scopes.
+     */
+    public static List<ExecutionScope> getOpenScopes() {
+        return new ArrayList<>(openScopes);
+    }
+
+    /**
+     * Runs a task on the current thread with this scope bound to it, e.g. a task of the test which was handed to
+     * another thread, and restores the scope the thread had before.
+     *
+     * @param task Task to run.
+     * @param <T>  Type of the result of the task.
+     * @return Result of the task.
+     * @throws Exception if the task fails.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        ExecutionScope previous = boundScope.get();
+        boundScope.set(this);
+        try {
+            return task.call();
+        } finally {
+            if (previous != null) {
+                boundScope.set(previous);
+            } else {
+                boundScope.remove();
+            }
+        }
+    }
+
+    /**
+     * Closes the scope and unbinds it from the current thread. A session still held by the scope was not disposed of
+     * and is reported.
+     */
+    public void close() {
+        openScopes.remove(this);
+        if (driver != null) {
+            LoggerManager.warn("Execution scope '{}' closed while still holding a WebDriver session", name);
+        }
+        driver = null;
+        extentTest = null;
+        cachedElements.clear();
+        if (boundScope.get() == this) {
+            boundScope.remove();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    // Elements cached for another session cannot be used with this one
+    public void setDriver(WebDriver driver) {
+        if (this.driver != driver && !cachedElements.isEmpty()) {
+            LoggerManager.debug("Session of scope '{}' changed, dropping {} cached elements", name,
+                    cachedElements.size());
+            cachedElements.clear();
+        }
+        this.driver = driver;
+    }
+
+    public ExtentTest getExtentTest() {
+        return extentTest;
+    }
+
+    public void setExtentTest(ExtentTest extentTest) {
+        this.extentTest = extentTest;
+    }
+
+    // Soft assertions of the scope, created on first use by the thread running the scope
+    public SoftAssertionManager getSoftAssertions() {
+        if (softAssertions == null) {
+            softAssertions = new SoftAssertionManager();
+        }
+        return softAssertions;
+    }
+
+    // Soft assertions of the scope, or null if none was made
+    public SoftAssertionManager peekSoftAssertions() {
+        return softAssertions;
+    }
+
+    // Elements cached for the current session of the scope, keyed by their locator
+    public Map<Locator, WebElement> getCachedElements() {
+        return cachedElements;
+    }
+
+    // Number of checks made by the last wait of the scope
+    public int getLastPollCount() {
+        return lastPollCount;
+    }
+
+    public void setLastPollCount(int lastPollCount) {
+        this.lastPollCount = lastPollCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionScope[" + name + (driver != null ? ", session open" : "") + "]";
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Description: This utility class creates virtual threads through reflection, so the framework keeps building for
+ *              Java 8 while the same build run on a Java 21 runtime can run tests on virtual threads.
+ */
+
+package com.example.executionManager;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+public final class VirtualThreads {
+
+    // First Java release with final (non-preview) virtual threads
+    private static final int MINIMUM_JAVA_VERSION = 21;
+
+    private static final Method OF_VIRTUAL = getThreadMethod("ofVirtual");
+    private static final Method IS_VIRTUAL = getThreadMethod("isVirtual");
+
+    // Private constructor to prevent instantiation
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks if the running Java version supports virtual threads.
+     *
+     * @return true if virtual threads can be created, otherwise false.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && getJavaVersion() >= MINIMUM_JAVA_VERSION;
+    }
+
+    /**
+     * Checks if a thread is a virtual thread.
+     *
+     * @param thread Thread to check.
+     * @return true if the thread is virtual, false if it is a platform thread or virtual threads are not supported.
+     */
+    public static boolean isVirtual(Thread thread) {
+        try {
+            return IS_VIRTUAL != null && (Boolean) IS_VIRTUAL.invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a thread-safe factory of virtual threads named prefix0, prefix1 and so on.
+     *
+     * @param prefix Prefix of the thread names.
+     * @return ThreadFactory creating unstarted virtual threads.
+     * @throws UnsupportedOperationException if the running Java version has no virtual threads.
+     */
+    public static ThreadFactory newThreadFactory(String prefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java " + MINIMUM_JAVA_VERSION
+                    + " or later, running on Java " + System.getProperty("java.version"));
+        }
+        try {
+            // The builder implementation is not public, its methods are called through the Thread.Builder interface
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create a virtual thread factory: " + e, e);
+        }
+    }
+
+    private static Method getThreadMethod(String name) {
+        try {
+            return Thread.class.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    // "1.8" on Java 8, "21" on Java 21
+    private static int getJavaVersion() {
+        String version = System.getProperty("java.specification.version", "1.8");
+        try {
+            return version.startsWith("1.") ? Integer.parseInt(version.substring(2)) : Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            return 8;
+        }
+    }
+}
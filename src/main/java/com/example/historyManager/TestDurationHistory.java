@@ -0,0 +1,100 @@
+/*
+ * Description: This class answers duration queries from the records of the test duration store. The duration of a
+ *              test is the exponentially weighted moving average (EWMA) of its runs, which follows a trend faster
+ *              than the plain average and ignores a single slow run more than the last value does. Skipped tests are
+ *              left out, as they did not run.
+ */
+
+package com.example.historyManager;
+
+import com.example.launcher.TestDurationProvider;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+public class TestDurationHistory implements TestDurationProvider {
+
+    private static final String SKIPPED = "SKIP";
+
+    private final Map<String, Double> ewmaMillis = new HashMap<>();
+    private final Map<String, Double> latestMillis = new HashMap<>();
+    private final Map<String, Integer> runCounts = new HashMap<>();
+
+    /**
+     * Computes the EWMA durations of the tests of the records.
+     *
+     * @param timings Records of the store, oldest run first.
+     * @param alpha   Weight of the most recent run, between 0 and 1.
+     */
+    public TestDurationHistory(List<TestTiming> timings, double alpha) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("EWMA alpha must be greater than 0 and at most 1 but was " + alpha);
+        }
+        // Duration of every test per run, in the order of the runs. A class lasts as long as its setup, teardown and
+        // methods together, and a method invoked several times in a run as long as its invocations together.
+        Map<String, Map<String, Double>> runDurations = new LinkedHashMap<>();
+        for (TestTiming timing : timings) {
+            if (SKIPPED.equals(timing.getStatus())) {
+                continue;
+            }
+            add(runDurations, timing.getTestClass(), timing.getRunId(), timing.getTotalMillis());
+            if (!timing.isClassRecord()) {
+                add(runDurations, timing.getTestId(), timing.getRunId(), timing.getTotalMillis());
+            }
+        }
+        for (Map.Entry<String, Map<String, Double>> test : runDurations.entrySet()) {
+            Double ewma = null;
+            double latest = 0;
+            for (double millis : test.getValue().values()) {
+                ewma = ewma == null ? millis : alpha * millis + (1 - alpha) * ewma;
+                latest = millis;
+            }
+            ewmaMillis.put(test.getKey(), ewma);
+            latestMillis.put(test.getKey(), latest);
+            runCounts.put(test.getKey(), test.getValue().size());
+        }
+    }
+
+    private static void add(Map<String, Map<String, Double>> runDurations, String testId, String runId, double millis) {
+        runDurations.computeIfAbsent(testId, key -> new LinkedHashMap<>()).merge(runId, millis, Double::sum);
+    }
+
+    /**
+     * Gets the EWMA duration of a test.
+     *
+     * @param testId The class name for a test class, "class#method" for a test method.
+     * @return OptionalDouble holding the duration in milliseconds, empty when the test has no history.
+     */
+    public OptionalDouble getEwmaMillis(String testId) {
+        Double millis = ewmaMillis.get(testId);
+        return millis != null ? OptionalDouble.of(millis) : OptionalDouble.empty();
+    }
+
+    /**
+     * Gets the duration of the most recent run of a test, to compare against its EWMA duration.
+     *
+     * @param testId The class name for a test class, "class#method" for a test method.
+     * @return OptionalDouble holding the duration in milliseconds, empty when the test has no history.
+     */
+    public OptionalDouble getLatestMillis(String testId) {
+        Double millis = latestMillis.get(testId);
+        return millis != null ? OptionalDouble.of(millis) : OptionalDouble.empty();
+    }
+
+    // Number of runs the EWMA duration of a test is based on
+    public int getRunCount(String testId) {
+        return runCounts.getOrDefault(testId, 0);
+    }
+
+    public boolean isEmpty() {
+        return ewmaMillis.isEmpty();
+    }
+
+    @Override
+    public OptionalDouble getDurationMillis(String testClass) {
+        return getEwmaMillis(testClass);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Description: This class is a local append-only store of test timings under reports/history. Every run appends its
+ *              records in one write, and the store is compacted to the configured number of most recent runs as soon
+ *              as it holds more. A file lock keeps runs sharing the directory from interleaving their writes.
+ */
+
+package com.example.historyManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class TestDurationStore {
+
+    // Location of the store relative to the working directory
+    public static final String DEFAULT_LOCATION = "reports/history/test-durations.tsv";
+
+    private static final String HEADER = "# run\tclass\tmethod\tstatus\tsetupMs\texecutionMs\tteardownMs";
+    private static final String NEW_LINE = "\n";
+
+    private final Path file;
+    private final int maxRuns;
+
+    /**
+     * Creates a store backed by the given file.
+     *
+     * @param file    File holding the records.
+     * @param maxRuns Number of most recent runs kept by the compaction.
+     */
+    public TestDurationStore(Path file, int maxRuns) {
+        this.file = file;
+        this.maxRuns = maxRuns;
+    }
+
+    /**
+     * Creates the store of the working directory, keeping the number of runs set by historyRuns.
+     *
+     * @return TestDurationStore backed by reports/history/test-durations.tsv.
+     */
+    public static TestDurationStore getDefaultStore() {
+        FMConfig config = ConfigFactory.getConfig();
+        return new TestDurationStore(Paths.get(System.getProperty("user.dir"), DEFAULT_LOCATION), config.getHistoryRuns());
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Appends the records of a run and compacts the store when it holds more runs than it keeps.
+     *
+     * @param timings Records of the run.
+     * @throws IOException if the store cannot be read or written.
+     */
+    public void append(List<TestTiming> timings) throws IOException {
+        if (timings.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            StringBuilder lines = new StringBuilder();
+            if (channel.size() == 0) {
+                lines.append(HEADER).append(NEW_LINE);
+            }
+            for (TestTiming timing : timings) {
+                lines.append(timing.toLine()).append(NEW_LINE);
+            }
+            channel.position(channel.size());
+            write(channel, lines.toString());
+            compact(channel);
+        }
+    }
+
+    /**
+     * Reads every record of the store, oldest run first.
+     *
+     * @return List of the records, empty when the store does not exist.
+     * @throws IOException if the store cannot be read.
+     */
+    public List<TestTiming> readAll() throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+            return parse(read(channel));
+        }
+    }
+
+    /**
+     * Loads the records of the store into a history answering EWMA duration queries.
+     *
+     * @param alpha Weight of the most recent run, between 0 and 1.
+     * @return TestDurationHistory of the store.
+     * @throws IOException if the store cannot be read.
+     */
+    public TestDurationHistory loadHistory(double alpha) throws IOException {
+        return new TestDurationHistory(readAll(), alpha);
+    }
+
+    // Rewrites the store with the records of the most recent runs once it holds more runs than it keeps
+    private void compact(FileChannel channel) throws IOException {
+        if (maxRuns <= 0) {
+            return;
+        }
+        List<TestTiming> timings = parse(read(channel));
+        Set<String> runs = new LinkedHashSet<>();
+        for (TestTiming timing : timings) {
+            runs.add(timing.getRunId());
+        }
+        if (runs.size() <= maxRuns) {
+            return;
+        }
+        List<String> keptRuns = new ArrayList<>(runs).subList(runs.size() - maxRuns, runs.size());
+        StringBuilder lines = new StringBuilder(HEADER).append(NEW_LINE);
+        for (TestTiming timing : timings) {
+            if (keptRuns.contains(timing.getRunId())) {
+                lines.append(timing.toLine()).append(NEW_LINE);
+            }
+        }
+        channel.truncate(0);
+        channel.position(0);
+        write(channel, lines.toString());
+    }
+
+    private static String read(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        channel.position(0);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // Read until the buffer is full
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    private static void write(FileChannel channel, String content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static List<TestTiming> parse(String content) {
+        List<TestTiming> timings = new ArrayList<>();
+        for (String line : content.split(NEW_LINE)) {
+            TestTiming timing = TestTiming.parse(line);
+            if (timing != null) {
+                timings.add(timing);
+            }
+        }
+        return timings;
+    }
+}
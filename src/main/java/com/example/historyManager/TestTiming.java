@@ -0,0 +1,109 @@
+/*
+ * Description: This class holds the timings of one test method, or of the class-level setup and teardown of a test
+ *              class, in one run. It is the record type of the test duration store.
+ */
+
+package com.example.historyManager;
+
+import java.util.Locale;
+
+public final class TestTiming {
+
+    // Method name of the records holding the class-level setup and teardown of a test class
+    public static final String CLASS_RECORD = "*";
+
+    private static final String SEPARATOR = "\t";
+
+    private final String runId;
+    private final String testClass;
+    private final String method;
+    private final String status;
+    private final double setupMillis;
+    private final double executionMillis;
+    private final double teardownMillis;
+
+    public TestTiming(String runId, String testClass, String method, String status, double setupMillis,
+                      double executionMillis, double teardownMillis) {
+        this.runId = runId;
+        this.testClass = testClass;
+        this.method = method;
+        this.status = status;
+        this.setupMillis = setupMillis;
+        this.executionMillis = executionMillis;
+        this.teardownMillis = teardownMillis;
+    }
+
+    /**
+     * Parses a line written by {@link #toLine()}.
+     *
+     * @param line Line of the store.
+     * @return TestTiming held by the line, or null when the line is not a record.
+     */
+    static TestTiming parse(String line) {
+        String[] fields = line.split(SEPARATOR);
+        if (line.startsWith("#") || fields.length != 7) {
+            return null;
+        }
+        try {
+            return new TestTiming(fields[0], fields[1], fields[2], fields[3], Double.parseDouble(fields[4]),
+                    Double.parseDouble(fields[5]), Double.parseDouble(fields[6]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // One tab separated line: run, class, method, status, setup, execution and teardown in milliseconds
+    String toLine() {
+        return String.join(SEPARATOR, runId, testClass, method, status, format(setupMillis), format(executionMillis),
+                format(teardownMillis));
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getTestClass() {
+        return testClass;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public double getSetupMillis() {
+        return setupMillis;
+    }
+
+    public double getExecutionMillis() {
+        return executionMillis;
+    }
+
+    public double getTeardownMillis() {
+        return teardownMillis;
+    }
+
+    public double getTotalMillis() {
+        return setupMillis + executionMillis + teardownMillis;
+    }
+
+    public boolean isClassRecord() {
+        return CLASS_RECORD.equals(method);
+    }
+
+    /**
+     * Gets the id queries use for the test: the class name for class records, "class#method" for method records.
+     *
+     * @return String representing the test id.
+     */
+    public String getTestId() {
+        return isClassRecord() ? testClass : testClass + "#" + method;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Description: This class applies the parallel mode, thread count and data provider thread count of the configuration
+ *              to TestNG suites, and checks that the chosen mode is safe for the way the framework binds WebDriver
+ *              sessions and report entries to threads before the suites run.
+ */
+
+package com.example.launcher;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.driverManager.DriverSessionPool;
+import com.example.enums.ThreadMode;
+import com.example.logManager.LoggerManager;
+import com.example.utilities.StarterKit;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class ParallelExecutionConfigurator {
+
+    // Suites configured already, as both the launcher and the suite listener may see the same suite
+    private static final Set<XmlSuite> configuredSuites = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    // Largest number of threads a configured suite runs tests on, used to size shared resources like connection pools
+    private static final AtomicInteger maxThreadCount = new AtomicInteger();
+
+    // Private constructor to prevent instantiation
+    private ParallelExecutionConfigurator() {
+    }
+
+    /**
+     * Applies the parallel settings of the configuration to the suite and its child suites. Settings left at their
+     * defaults keep the values of the suite XML file.
+     *
+     * @param suite the suite which is about to run
+     */
+    public static void configure(XmlSuite suite) {
+        if (!configuredSuites.add(suite)) {
+            return;
+        }
+        FMConfig config = ConfigFactory.getConfig();
+        if (config != null) {
+            XmlSuite.ParallelMode parallelMode = getParallelMode(config.getParallel(), suite.getParallel());
+            suite.setParallel(validate(suite, parallelMode));
+            if (config.getThreadCount() > 0) {
+                suite.setThreadCount(config.getThreadCount());
+            }
+            if (config.getDataProviderThreadCount() > 0) {
+                suite.setDataProviderThreadCount(config.getDataProviderThreadCount());
+            }
+            if (config.getThreadMode() == ThreadMode.VIRTUAL && suite.getParallel().isParallel()
+                    && !VirtualThreadExecutorFactory.isInstalled()) {
+                LoggerManager.warn("threadMode=VIRTUAL applies to runs of the TestLauncher on Java 21 or later. Suite '{}' "
+                        + "runs on platform threads.", suite.getName());
+            }
+            maxThreadCount.accumulateAndGet(suite.getParallel().isParallel() ? suite.getThreadCount() : 1, Math::max);
+            LoggerManager.info("Suite '{}' runs with parallel={}, threadCount={}, dataProviderThreadCount={}", suite.getName(),
+                    suite.getParallel(), suite.getThreadCount(), suite.getDataProviderThreadCount());
+        }
+        for (XmlSuite childSuite : suite.getChildSuites()) {
+            configure(childSuite);
+        }
+    }
+
+    /**
+     * Gets the largest number of threads the configured suites run tests on.
+     *
+     * @return int representing the thread count, 1 when no suite was configured or none runs in parallel.
+     */
+    public static int getMaxThreadCount() {
+        return Math.max(1, maxThreadCount.get());
+    }
+
+    /**
+     * Converts the configured parallel mode into the XmlSuite.ParallelMode enum. An empty or unknown value keeps the
+     * mode of the suite XML file.
+     *
+     * @param parallelMode The configured parallel mode.
+     * @param suiteMode    The parallel mode of the suite XML file.
+     * @return XmlSuite.ParallelMode the suite should run with.
+     */
+    static XmlSuite.ParallelMode getParallelMode(String parallelMode, XmlSuite.ParallelMode suiteMode) {
+        if (parallelMode == null || parallelMode.trim().isEmpty()) {
+            return suiteMode;
+        }
+        for (XmlSuite.ParallelMode mode : XmlSuite.ParallelMode.values()) {
+            if (mode.toString().equalsIgnoreCase(parallelMode.trim())) {
+                return mode;
+            }
+        }
+        LoggerManager.warn("Invalid parallel mode '{}' specified. Keeping '{}' of the suite XML file.", parallelMode, suiteMode);
+        return suiteMode;
+    }
+
+    /**
+     * Checks the parallel mode against the test classes of the suite and returns the mode that is safe to run with.
+     * StarterKit starts the WebDriver session of a class in @BeforeClass and DriverManager keeps it per thread, so the
+     * methods of such a class have to stay on the thread of their class. The session pool, session prefetching and
+     * parallel data providers are checked as well, and only reported.
+     *
+     * @param suite        the suite which is about to run
+     * @param parallelMode the requested parallel mode
+     * @return XmlSuite.ParallelMode the suite can safely run with.
+     */
+    static XmlSuite.ParallelMode validate(XmlSuite suite, XmlSuite.ParallelMode parallelMode) {
+        Set<Class<?>> starterKitClasses = getStarterKitClasses(suite);
+        if (starterKitClasses.isEmpty()) {
+            return parallelMode;
+        }
+        if (parallelMode == XmlSuite.ParallelMode.METHODS) {
+            LoggerManager.error("parallel=methods is not supported: the WebDriver session of a test class is bound to the "
+                    + "thread of its @BeforeClass method. Suite '{}' runs with parallel=classes instead.", suite.getName());
+            parallelMode = XmlSuite.ParallelMode.CLASSES;
+        }
+        for (Class<?> testClass : starterKitClasses) {
+            for (String dataProvider : getParallelDataProviders(testClass)) {
+                LoggerManager.error("Data provider '{}' used by {} runs in parallel, but its invocations run on data provider "
+                        + "threads which have no WebDriver session. Set parallel = false on it.", dataProvider, testClass.getName());
+            }
+        }
+        FMConfig config = ConfigFactory.getConfig();
+        int threadCount = config.getThreadCount() > 0 ? config.getThreadCount() : suite.getThreadCount();
+        if (parallelMode.isParallel() && DriverSessionPool.isEnabled() && config.getSessionPoolMaxSize() < threadCount) {
+            LoggerManager.warn("Session pool holds at most {} sessions but suite '{}' runs {} threads; the remaining threads wait "
+                    + "for a free session.", config.getSessionPoolMaxSize(), suite.getName(), threadCount);
+        }
+        if (DriverSessionPool.isEnabled() && config.getPrefetchSessions() > 0) {
+            LoggerManager.warn("Prefetched sessions are not counted by the session pool: with sessionPoolMaxSize={} and "
+                    + "prefetchSessions={} up to {} browsers or Grid slots run at once.", config.getSessionPoolMaxSize(),
+                    config.getPrefetchSessions(), config.getSessionPoolMaxSize() + config.getPrefetchSessions());
+        }
+        return parallelMode;
+    }
+
+    // Test classes of the suite which start their WebDriver session through StarterKit
+    private static Set<Class<?>> getStarterKitClasses(XmlSuite suite) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (XmlTest test : suite.getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                try {
+                    Class<?> testClass = xmlClass.getSupportClass();
+                    if (testClass != null && StarterKit.class.isAssignableFrom(testClass)) {
+                        classes.add(testClass);
+                    }
+                } catch (Exception e) {
+                    LoggerManager.warn("Unable to load test class {}: {}", xmlClass.getName(), e.getMessage());
+                }
+            }
+        }
+        return classes;
+    }
+
+    // Names of the parallel data providers the test methods of the class use
+    private static Set<String> getParallelDataProviders(Class<?> testClass) {
+        Set<String> dataProviders = new LinkedHashSet<>();
+        for (Method method : testClass.getMethods()) {
+            Test test = method.getAnnotation(Test.class);
+            if (test == null || test.dataProvider().isEmpty()) {
+                continue;
+            }
+            Class<?> providerClass = test.dataProviderClass() == Object.class ? testClass : test.dataProviderClass();
+            for (Method providerMethod : providerClass.getMethods()) {
+                DataProvider dataProvider = providerMethod.getAnnotation(DataProvider.class);
+                if (dataProvider == null || !dataProvider.parallel()) {
+                    continue;
+                }
+                String name = dataProvider.name().isEmpty() ? providerMethod.getName() : dataProvider.name();
+                if (name.equals(test.dataProvider())) {
+                    dataProviders.add(name);
+                }
+            }
+        }
+        return dataProviders;
+    }
+}
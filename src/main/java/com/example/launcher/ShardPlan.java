@@ -0,0 +1,180 @@
+/*
+ * Description: This class splits the test classes of a run into shards for separate containers. With a duration
+ *              history, classes are bin-packed longest first onto the shard with the least work so far; classes
+ *              without history count as the average class. Without any history, classes are dealt to the shards in
+ *              the order of the hash of their name. Every container computes the same plan from the same class list
+ *              and history.
+ */
+
+package com.example.launcher;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeSet;
+
+public final class ShardPlan {
+
+    // Strategies a plan can be built with
+    public static final String DURATION_STRATEGY = "duration";
+    public static final String HASH_STRATEGY = "hash";
+
+    private final String strategy;
+    private final List<List<String>> shards;
+    private final double[] estimatedMillis;
+
+    private ShardPlan(String strategy, List<List<String>> shards, double[] estimatedMillis) {
+        this.strategy = strategy;
+        this.shards = shards;
+        this.estimatedMillis = estimatedMillis;
+    }
+
+    /**
+     * Splits the test classes into the given number of shards.
+     *
+     * @param testClasses Fully qualified names of the test classes of the run.
+     * @param shardTotal  Number of shards.
+     * @param durations   Historical durations of the test classes.
+     * @return ShardPlan holding the classes of every shard.
+     */
+    public static ShardPlan create(Collection<String> testClasses, int shardTotal, TestDurationProvider durations) {
+        if (shardTotal < 1) {
+            throw new IllegalArgumentException("shardTotal must be at least 1 but was " + shardTotal);
+        }
+        // Sorted, so the plan does not depend on the order the suites list their classes in
+        List<String> classes = new ArrayList<>(new TreeSet<>(testClasses));
+        List<List<String>> shards = new ArrayList<>();
+        for (int i = 0; i < shardTotal; i++) {
+            shards.add(new ArrayList<>());
+        }
+        double[] estimatedMillis = new double[shardTotal];
+
+        Map<String, Double> weights = new LinkedHashMap<>();
+        double knownMillis = 0;
+        int knownClasses = 0;
+        for (String testClass : classes) {
+            OptionalDouble millis = durations.getDurationMillis(testClass);
+            if (millis.isPresent()) {
+                weights.put(testClass, millis.getAsDouble());
+                knownMillis += millis.getAsDouble();
+                knownClasses++;
+            }
+        }
+
+        if (knownClasses == 0) {
+            // Dealt round-robin in the order of their hashes, which spreads the classes of a package and keeps the
+            // shard sizes within one class of each other
+            List<String> byHash = new ArrayList<>(classes);
+            byHash.sort(Comparator.comparingInt(String::hashCode).thenComparing(Comparator.naturalOrder()));
+            for (int i = 0; i < byHash.size(); i++) {
+                shards.get(i % shardTotal).add(byHash.get(i));
+            }
+            for (List<String> shard : shards) {
+                Collections.sort(shard);
+            }
+            return new ShardPlan(HASH_STRATEGY, shards, estimatedMillis);
+        }
+
+        double averageMillis = knownMillis / knownClasses;
+        for (String testClass : classes) {
+            weights.putIfAbsent(testClass, averageMillis);
+        }
+        List<Map.Entry<String, Double>> longestFirst = new ArrayList<>(weights.entrySet());
+        longestFirst.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<String, Double> entry : longestFirst) {
+            int lightest = 0;
+            for (int i = 1; i < shardTotal; i++) {
+                if (estimatedMillis[i] < estimatedMillis[lightest]) {
+                    lightest = i;
+                }
+            }
+            shards.get(lightest).add(entry.getKey());
+            estimatedMillis[lightest] += entry.getValue();
+        }
+        for (List<String> shard : shards) {
+            Collections.sort(shard);
+        }
+        return new ShardPlan(DURATION_STRATEGY, shards, estimatedMillis);
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public int getShardTotal() {
+        return shards.size();
+    }
+
+    /**
+     * Gets the test classes of a shard.
+     *
+     * @param shardIndex Zero-based index of the shard.
+     * @return List of the fully qualified names of the test classes, sorted by name.
+     */
+    public List<String> getClasses(int shardIndex) {
+        return Collections.unmodifiableList(shards.get(shardIndex));
+    }
+
+    // Expected duration of a shard, 0 for plans built without history
+    public double getEstimatedMillis(int shardIndex) {
+        return estimatedMillis[shardIndex];
+    }
+
+    /**
+     * Describes the difference between the longest and the shortest shard relative to the longest one.
+     *
+     * @return String holding the spread in percent, or "n/a" for plans built without history.
+     */
+    public String describeSpread() {
+        if (!DURATION_STRATEGY.equals(strategy)) {
+            return "n/a";
+        }
+        double longest = 0;
+        double shortest = Double.MAX_VALUE;
+        for (double millis : estimatedMillis) {
+            longest = Math.max(longest, millis);
+            shortest = Math.min(shortest, millis);
+        }
+        return longest == 0 ? "0.0%" : String.format(Locale.ROOT, "%.1f%%", (longest - shortest) * 100 / longest);
+    }
+
+    /**
+     * Writes the plan as seen by one shard to a JSON manifest: the classes the shard runs, followed by every shard of
+     * the plan with its classes and expected duration.
+     *
+     * @param shardIndex   Zero-based index of the shard writing the manifest.
+     * @param manifestFile Destination of the manifest.
+     * @throws IOException if the manifest cannot be written.
+     */
+    public void writeManifest(int shardIndex, Path manifestFile) throws IOException {
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("shardIndex", shardIndex);
+        manifest.put("shardTotal", getShardTotal());
+        manifest.put("strategy", strategy);
+        manifest.put("spread", describeSpread());
+        manifest.put("classes", getClasses(shardIndex));
+        List<Map<String, Object>> allShards = new ArrayList<>();
+        for (int i = 0; i < getShardTotal(); i++) {
+            Map<String, Object> shard = new LinkedHashMap<>();
+            shard.put("shardIndex", i);
+            shard.put("estimatedMillis", Math.round(estimatedMillis[i]));
+            shard.put("classes", getClasses(i));
+            allShards.add(shard);
+        }
+        manifest.put("shards", allShards);
+        Files.createDirectories(manifestFile.toAbsolutePath().getParent());
+        Files.write(manifestFile, new Json().toJson(manifest).getBytes(StandardCharsets.UTF_8));
+    }
+}
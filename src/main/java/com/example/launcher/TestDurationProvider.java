@@ -0,0 +1,19 @@
+/*
+ * Description: This interface supplies the historical duration of test classes, which the shard planner uses to give
+ *              every shard the same amount of work.
+ */
+
+package com.example.launcher;
+
+import java.util.OptionalDouble;
+
+public interface TestDurationProvider {
+
+    /**
+     * Gets the expected duration of a test class, based on earlier runs.
+     *
+     * @param testClass Fully qualified name of the test class.
+     * @return OptionalDouble holding the duration in milliseconds, empty when the class has no history.
+     */
+    OptionalDouble getDurationMillis(String testClass);
+}
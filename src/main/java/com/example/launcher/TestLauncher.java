@@ -0,0 +1,197 @@
+/*
+ * Description: This class is the entry point for running the test suites outside of Maven, e.g. from the Docker
+ *              image. It parses the suite XML files, applies the parallel settings of the configuration to them,
+ *              keeps the test classes of its shard when the run is split across containers and runs the suites with a
+ *              single TestNG instance, on virtual threads with threadMode=VIRTUAL.
+ */
+
+package com.example.launcher;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.enums.ThreadMode;
+import com.example.executionManager.VirtualThreads;
+import com.example.historyManager.TestDurationHistory;
+import com.example.historyManager.TestDurationStore;
+import com.example.logManager.LoggerManager;
+import org.testng.TestNG;
+import org.testng.xml.Parser;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.Set;
+
+public class TestLauncher {
+
+    // Suite run when no suite XML file is passed
+    private static final String DEFAULT_SUITE = "testng.xml";
+
+    // Directory of the shard manifests, kept when the reports directory is cleaned
+    private static final String SHARDS_DIRECTORY = "reports/shards";
+
+    /**
+     * Runs the suite XML files passed as arguments, or testng.xml when none is passed, and exits with the TestNG
+     * status (0 when every test passed).
+     *
+     * @param args paths of the suite XML files
+     */
+    public static void main(String[] args) {
+        List<String> suiteFiles = args.length > 0 ? Arrays.asList(args) : Collections.singletonList(DEFAULT_SUITE);
+        int status;
+        try {
+            status = run(suiteFiles);
+        } catch (Exception e) {
+            LoggerManager.error("Exception while launching suites " + suiteFiles + ": " + e.getMessage());
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Parses and configures the suites, keeps the test classes of the configured shard and runs them.
+     *
+     * @param suiteFiles paths of the suite XML files
+     * @return int representing the TestNG status of the run.
+     * @throws Exception if a suite XML file cannot be read or parsed.
+     */
+    public static int run(List<String> suiteFiles) throws Exception {
+        FMConfig config = ConfigFactory.getConfig();
+        // Installed before the suites are configured, which warns about virtual thread runs without it
+        VirtualThreadExecutorFactory executorFactory = getExecutorFactory(config);
+        List<XmlSuite> suites = new ArrayList<>();
+        for (String suiteFile : suiteFiles) {
+            for (XmlSuite suite : new Parser(suiteFile).parse()) {
+                ParallelExecutionConfigurator.configure(suite);
+                suites.add(suite);
+            }
+        }
+        if (config != null && config.getShardTotal() > 1 && !applyShard(suites, config)) {
+            LoggerManager.warn("Shard {} of {} has no test classes to run.", config.getShardIndex(), config.getShardTotal());
+            return 0;
+        }
+        TestNG testNG = new TestNG();
+        testNG.setXmlSuites(suites);
+        if (executorFactory != null) {
+            testNG.setExecutorFactory(executorFactory);
+        }
+        testNG.run();
+        return testNG.getStatus();
+    }
+
+    /**
+     * Plans the shards of the run and removes the test classes of the other shards from the suites. The plan is
+     * written to a manifest under reports/shards.
+     *
+     * @param suites the suites of the run
+     * @param config the configuration holding the shard index, shard total and duration history
+     * @return true if the shard has test classes left to run, false otherwise.
+     * @throws Exception if the shard index is out of range or the manifest cannot be written.
+     */
+    private static boolean applyShard(List<XmlSuite> suites, FMConfig config) throws Exception {
+        int shardIndex = config.getShardIndex();
+        int shardTotal = config.getShardTotal();
+        if (shardIndex < 0 || shardIndex >= shardTotal) {
+            throw new IllegalArgumentException("shardIndex must be between 0 and " + (shardTotal - 1) + " but was " + shardIndex);
+        }
+        Set<String> testClasses = new LinkedHashSet<>();
+        for (XmlSuite suite : suites) {
+            collectClasses(suite, testClasses);
+        }
+        ShardPlan plan = ShardPlan.create(testClasses, shardTotal, getDurationProvider(config));
+        Path manifest = Paths.get(SHARDS_DIRECTORY, "shard-" + shardIndex + "-of-" + shardTotal + ".json");
+        plan.writeManifest(shardIndex, manifest);
+        LoggerManager.info("Shard {} of {} runs {} of {} test classes ({} strategy, spread {}), manifest written to '{}'",
+                shardIndex, shardTotal, plan.getClasses(shardIndex).size(), testClasses.size(), plan.getStrategy(),
+                plan.describeSpread(), manifest);
+
+        Set<String> shardClasses = new HashSet<>(plan.getClasses(shardIndex));
+        boolean hasTests = false;
+        for (XmlSuite suite : suites) {
+            hasTests |= retainClasses(suite, shardClasses, shardIndex == 0);
+        }
+        return hasTests;
+    }
+
+    // Executor factory of threadMode=VIRTUAL, null for platform threads or when the Java version has no virtual threads.
+    // The configurator warns about the latter when it configures a parallel suite.
+    private static VirtualThreadExecutorFactory getExecutorFactory(FMConfig config) {
+        if (config == null || config.getThreadMode() != ThreadMode.VIRTUAL || !VirtualThreads.isSupported()) {
+            return null;
+        }
+        LoggerManager.info("Parallel tests run on virtual threads");
+        return new VirtualThreadExecutorFactory();
+    }
+
+    // Durations of the test duration store, falling back to the results file for classes the store does not know
+    private static TestDurationProvider getDurationProvider(FMConfig config) {
+        File resultsFile = new File(config.getShardDurations());
+        TestDurationProvider results = new TestNGResultsDurationProvider(resultsFile);
+        TestDurationStore store = TestDurationStore.getDefaultStore();
+        try {
+            TestDurationHistory history = store.loadHistory(config.getHistoryEwmaAlpha());
+            if (!history.isEmpty()) {
+                return testClass -> {
+                    OptionalDouble millis = history.getDurationMillis(testClass);
+                    return millis.isPresent() ? millis : results.getDurationMillis(testClass);
+                };
+            }
+        } catch (Exception e) {
+            LoggerManager.warn("Unable to read the test duration history: {}", e.getMessage());
+        }
+        if (!resultsFile.isFile()) {
+            // Typically a fresh container without a mounted history directory or results file
+            LoggerManager.warn("No test duration history in '{}' and no shardDurations file '{}', the {} shards are split by the hash "
+                    + "of the class names instead of their durations", store.getFile(), resultsFile, config.getShardTotal());
+        }
+        return results;
+    }
+
+    private static void collectClasses(XmlSuite suite, Set<String> testClasses) {
+        for (XmlTest test : suite.getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                testClasses.add(xmlClass.getName());
+            }
+        }
+        for (XmlSuite childSuite : suite.getChildSuites()) {
+            collectClasses(childSuite, testClasses);
+        }
+    }
+
+    // Removes the classes of other shards and the tests left empty. Packages cannot be split by class, so the first
+    // shard runs them.
+    private static boolean retainClasses(XmlSuite suite, Set<String> shardClasses, boolean keepPackages) {
+        List<XmlTest> tests = new ArrayList<>();
+        for (XmlTest test : suite.getTests()) {
+            List<XmlClass> classes = new ArrayList<>();
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                if (shardClasses.contains(xmlClass.getName())) {
+                    classes.add(xmlClass);
+                }
+            }
+            test.setXmlClasses(classes);
+            if (!keepPackages) {
+                test.setXmlPackages(new ArrayList<>());
+            }
+            if (!classes.isEmpty() || !test.getXmlPackages().isEmpty()) {
+                tests.add(test);
+            }
+        }
+        suite.setTests(tests);
+        boolean hasTests = !tests.isEmpty();
+        for (XmlSuite childSuite : suite.getChildSuites()) {
+            hasTests |= retainClasses(childSuite, shardClasses, keepPackages);
+        }
+        return hasTests;
+    }
+}
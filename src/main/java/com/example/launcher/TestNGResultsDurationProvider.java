@@ -0,0 +1,61 @@
+/*
+ * Description: This class reads the durations of test classes from a testng-results.xml file written by an earlier
+ *              run, summing the durations of the test methods and configuration methods of every class.
+ */
+
+package com.example.launcher;
+
+import com.example.logManager.LoggerManager;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+public class TestNGResultsDurationProvider implements TestDurationProvider {
+
+    private final Map<String, Double> durations = new HashMap<>();
+
+    /**
+     * Reads the class durations of the results file. A missing or unreadable file leaves every class without history.
+     *
+     * @param resultsFile testng-results.xml file of an earlier run.
+     */
+    public TestNGResultsDurationProvider(File resultsFile) {
+        if (!resultsFile.isFile()) {
+            LoggerManager.info("No test results found at '{}'. Test classes have no duration history.", resultsFile);
+            return;
+        }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            Document document = factory.newDocumentBuilder().parse(resultsFile);
+            NodeList classes = document.getElementsByTagName("class");
+            for (int i = 0; i < classes.getLength(); i++) {
+                Element testClass = (Element) classes.item(i);
+                NodeList methods = testClass.getElementsByTagName("test-method");
+                double millis = 0;
+                for (int j = 0; j < methods.getLength(); j++) {
+                    String duration = ((Element) methods.item(j)).getAttribute("duration-ms");
+                    millis += duration.isEmpty() ? 0 : Double.parseDouble(duration);
+                }
+                // A class run by several <test> tags is counted once per run
+                durations.merge(testClass.getAttribute("name"), millis, Double::sum);
+            }
+        } catch (Exception e) {
+            LoggerManager.warn("Unable to read test durations from '{}': {}", resultsFile, e.getMessage());
+            durations.clear();
+        }
+    }
+
+    @Override
+    public OptionalDouble getDurationMillis(String testClass) {
+        Double millis = durations.get(testClass);
+        return millis != null ? OptionalDouble.of(millis) : OptionalDouble.empty();
+    }
+}
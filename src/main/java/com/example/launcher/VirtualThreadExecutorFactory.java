@@ -0,0 +1,81 @@
+/*
+ * Description: This class is the TestNG executor factory of threadMode=VIRTUAL. It creates the executors TestNG
+ *              would create and replaces their thread factory, so every worker running parallel suites, tests or
+ *              classes is a virtual thread. A worker blocked on a Grid command then releases its carrier thread, and
+ *              hundreds of sessions can run without a platform thread each.
+ */
+
+package com.example.launcher;
+
+import com.example.executionManager.VirtualThreads;
+import com.example.logManager.LoggerManager;
+import org.testng.IDynamicGraph;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.internal.thread.DefaultThreadPoolExecutorFactory;
+import org.testng.thread.IExecutorFactory;
+import org.testng.thread.ITestNGThreadPoolExecutor;
+import org.testng.thread.IThreadWorkerFactory;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class VirtualThreadExecutorFactory implements IExecutorFactory {
+
+    // Set once the TestLauncher installed the factory, read by the configurator to warn about runs without it
+    private static volatile boolean installed;
+
+    private final IExecutorFactory delegate = new DefaultThreadPoolExecutorFactory();
+
+    /**
+     * Creates the factory.
+     *
+     * @throws UnsupportedOperationException if the running Java version has no virtual threads.
+     */
+    public VirtualThreadExecutorFactory() {
+        if (!VirtualThreads.isSupported()) {
+            throw new UnsupportedOperationException("threadMode=VIRTUAL requires Java 21 or later, running on Java "
+                    + System.getProperty("java.version"));
+        }
+        installed = true;
+    }
+
+    /**
+     * Checks if a virtual thread executor factory was created for the run.
+     *
+     * @return true if suites run on virtual threads, otherwise false.
+     */
+    public static boolean isInstalled() {
+        return installed;
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newSuiteExecutor(String name, IDynamicGraph<ISuite> graph, IThreadWorkerFactory<ISuite> factory,
+                                                      int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                                      BlockingQueue<Runnable> workQueue, Comparator<ISuite> comparator) {
+        return useVirtualThreads(name, delegate.newSuiteExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+                keepAliveTime, unit, workQueue, comparator));
+    }
+
+    @Override
+    public ITestNGThreadPoolExecutor newTestMethodExecutor(String name, IDynamicGraph<ITestNGMethod> graph,
+                                                           IThreadWorkerFactory<ITestNGMethod> factory, int corePoolSize,
+                                                           int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                                           BlockingQueue<Runnable> workQueue, Comparator<ITestNGMethod> comparator) {
+        return useVirtualThreads(name, delegate.newTestMethodExecutor(name, graph, factory, corePoolSize, maximumPoolSize,
+                keepAliveTime, unit, workQueue, comparator));
+    }
+
+    // TestNG starts the workers after creating the executor, so they are all created by the new factory
+    private static ITestNGThreadPoolExecutor useVirtualThreads(String name, ITestNGThreadPoolExecutor executor) {
+        if (executor instanceof ThreadPoolExecutor) {
+            ((ThreadPoolExecutor) executor).setThreadFactory(VirtualThreads.newThreadFactory("TestNG-" + name + "-virtual-"));
+        } else {
+            LoggerManager.warn("TestNG executor {} does not accept a thread factory, '{}' runs on platform threads",
+                    executor.getClass().getName(), name);
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Description: This class implements the TestNG ISuiteListener interface to start pre-warming WebDriver sessions for the
+ *              test classes of a suite and to dispose of the sessions nobody used once the suite ends.
+ */
+
+package com.example.listeners;
+
+import com.example.browserManager.DriverPrefetcher;
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.logManager.LoggerManager;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class DriverPrefetchListener implements ISuiteListener {
+
+    /**
+     * Counts the test classes of the suite and starts prefetching sessions for the configured environment and browser.
+     *
+     * @param suite the suite which is about to run
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        try {
+            FMConfig config = ConfigFactory.getConfig();
+            if (config == null || config.getPrefetchSessions() <= 0) {
+                return;
+            }
+            Set<Class<?>> testClasses = new HashSet<>();
+            for (ITestNGMethod method : suite.getAllMethods()) {
+                testClasses.add(method.getRealClass());
+            }
+            DriverPrefetcher.getPrefetcherInstance().start(config.getEnvMode(), config.getBrowser(), testClasses.size());
+        } catch (Exception e) {
+            LoggerManager.error("Exception while starting session prefetching: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Quits the prefetched sessions which were not handed out.
+     *
+     * @param suite the suite which finished running
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!DriverPrefetcher.isInitialized()) {
+            return;
+        }
+        try {
+            DriverPrefetcher.getPrefetcherInstance().shutdown();
+        } catch (Exception e) {
+            LoggerManager.error("Exception while stopping session prefetching: {}", e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Description: This class implements the TestNG ITestListener interface to handle and customize test execution events for ExtentReports.
+ * Description: This class implements the TestNG ITestListener and ISuiteListener interfaces to handle and customize test execution events for ExtentReports.
  */
 
 package com.example.listeners;
@@ -7,43 +7,70 @@ package com.example.listeners;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.example.browserManager.GridAdmissionController;
+import com.example.browserManager.NetworkBlockingMetrics;
+import com.example.driverManager.DriverSessionPool;
+import com.example.driverManager.GridCommandMetrics;
+import com.example.driverManager.RemoteSessionFactory;
+import com.example.executionManager.ExecutionScope;
+import com.example.locatorManager.LocatorRegistry;
 import com.example.logManager.LoggerManager;
+import com.example.navigationManager.NavigationTimingMetrics;
 import com.example.reportManager.ExtentReportManager;
+import com.example.reportManager.ScreenshotService;
+import com.example.reportManager.StreamingReportWriter;
+import com.example.stubDriver.StubDriverMetrics;
 import com.example.utilities.CommonUtil;
 import com.example.utilities.ExtentReportNGUtil;
+import com.example.waitManager.WaitMetrics;
+import org.testng.IResultMap;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-public class ExtentTestListener extends CommonUtil implements ITestListener {
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-    // Static variable to store the ExtentReports instance
-    private static ExtentReports extentReport;
+public class ExtentTestListener extends CommonUtil implements ITestListener, ISuiteListener {
 
-    // Instance variable to store the ExtentTest instance
-    ExtentTest extentTest;
+    // Partition of the streaming report holding the summaries of the run
+    private static final String SUMMARY_PARTITION = "Summary";
+
+    // ExtentReports instance of the run, shared by every test context and created by the first one
+    private static volatile ExtentReports extentReport;
+
+    // Report node of every running test, keyed by its result so that callbacks on any thread reach the right node
+    private static final ConcurrentMap<ITestResult, ExtentTest> extentTests = new ConcurrentHashMap<>();
 
     /**
-     * A description of the entire Java function.
+     * Creates the report node of the test and binds it to the test thread, so the logs of the test land in it.
      *
-     * @param testResult description of parameter
-     * @return description of return value
+     * @param testResult the result of the started test
      */
     @Override
     public void onTestStart(ITestResult testResult) {
+        ExtentTest extentTest = null;
         try {
             // Create a new ExtentTest instance for the current test case
-            extentTest = extentReport.createTest(testResult.getMethod().getMethodName());
+            extentTest = getExtentTest(testResult);
 
             // Set the ExtentTest instance in the ExtentReportManager for further reference
             ExtentReportManager.getReportInstance().setExtent(extentTest);
 
             // Log test start information in the extent report
-            ExtentReportManager.getReportInstance().getExtent().log(Status.INFO, "Test Case: " + testResult.getMethod().getMethodName() + " is Started");
+            ExtentReportManager.getReportInstance().log(extentTest, Status.INFO, "Test Case: " + testResult.getMethod().getMethodName() + " is Started");
         } catch (Exception e) {
             // Log and report any exception that occurs during onTestStart
             LoggerManager.error("Exception during onTestStart: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, e.getMessage());
+            ExtentReportManager.getReportInstance().log(extentTest, Status.FAIL, e.getMessage());
         }
     }
 
@@ -55,20 +82,19 @@ public class ExtentTestListener extends CommonUtil implements ITestListener {
      */
     @Override
     public void onTestSuccess(ITestResult testResult) {
+        ExtentTest extentTest = extentTests.get(testResult);
         try {
             // Log test success information in the extent report
             ExtentReportManager.getReportInstance()
-                    .getExtent()
-                    .log(Status.PASS, "Test Case: " +
+                    .log(extentTest, Status.PASS, "Test Case: " +
                             testResult.getMethod().getMethodName() + " is Passed");
         } catch (Exception e) {
             // Log and report any exception that occurs during onTestSuccess
             LoggerManager.info("Exception during onTestSuccess: " + e.getMessage());
             ExtentReportManager.getReportInstance()
-                    .getExtent()
-                    .log(Status.FAIL, e.getMessage());
+                    .log(extentTest, Status.FAIL, e.getMessage());
         }
-
+        finishTest(testResult);
     }
 
     /**
@@ -79,88 +105,224 @@ public class ExtentTestListener extends CommonUtil implements ITestListener {
      */
     @Override
     public void onTestFailure(ITestResult testResult) {
+        ExtentTest extentTest = extentTests.get(testResult);
         try {
             // Log test failure information in the extent report
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Test Case: " + testResult.getMethod().getMethodName() + " is Failed");
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, testResult.getThrowable().getMessage());
+            ExtentReportManager.getReportInstance().log(extentTest, Status.FAIL, "Test Case: " + testResult.getMethod().getMethodName() + " is Failed");
+            ExtentReportManager.getReportInstance().log(extentTest, Status.FAIL, testResult.getThrowable().getMessage());
 
             // Capture and attach a screenshot to the extent report for the failed test case
             String testMethodName = testResult.getMethod().getMethodName();
-            ExtentReportManager.getReportInstance().getExtent().addScreenCaptureFromPath(getScreenshot(testMethodName), testMethodName);
+            ExtentReportManager.getReportInstance().addScreenCapture(extentTest, getScreenshot(testMethodName), testMethodName);
         } catch (Exception e) {
             // Log and report any exception that occurs during onTestFailure
             LoggerManager.error("Exception during onTestFailure: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, e.getMessage());
+            ExtentReportManager.getReportInstance().log(extentTest, Status.FAIL, e.getMessage());
         }
-
+        finishTest(testResult);
     }
 
     /**
-     * A method that is called when a test is skipped.
+     * A method that is called when a test is skipped. A test skipped before it started, e.g. after a configuration
+     * failure, gets a report node of its own.
      *
      * @param testResult The test result object containing information about the skipped test
      * @return void, as there is no return value
      */
     @Override
     public void onTestSkipped(ITestResult testResult) {
+        ExtentTest extentTest = null;
         try {
-            // Create a new ExtentReports instance when a test case is skipped
-            if (extentReport == null) {
-                extentReport = ExtentReportNGUtil.createExtentReports();
-            }
-
             // Log test skipped information in the extent report
-            if (ExtentReportManager.getReportInstance() != null && ExtentReportManager.getReportInstance().getExtent() != null) {
-                ExtentReportManager.getReportInstance().getExtent().log(Status.SKIP, "Test Case: " + testResult.getMethod().getMethodName() + " is Skipped");
-            }
+            extentTest = getExtentTest(testResult);
+            ExtentReportManager.getReportInstance().log(extentTest, Status.SKIP, "Test Case: " + testResult.getMethod().getMethodName() + " is Skipped");
         } catch (Exception e) {
             // Log and report any exception that occurs during onTestSkipped
             LoggerManager.info("Exception during onTestSkipped: " + e.getMessage());
-            if (ExtentReportManager.getReportInstance() != null && ExtentReportManager.getReportInstance().getExtent() != null) {
-                ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, e.getMessage());
-            }
-
+            ExtentReportManager.getReportInstance().log(extentTest, Status.FAIL, e.getMessage());
         }
+        finishTest(testResult);
     }
 
     /**
-     * This method is called when the test execution starts. It creates a new ExtentReports instance
-     * and handles any exceptions that occur during the execution of this method.
+     * This method is called when a test context starts. It creates the ExtentReports instance of the run unless an
+     * earlier context did, and handles any exceptions that occur during the execution of this method.
      *
      * @param context the test context object
      */
     @Override
     public void onStart(ITestContext context) {
         try {
-            // Create a new ExtentReports instance at the start of the test execution
-            extentReport = ExtentReportNGUtil.createExtentReports();
+            getExtentReport();
         } catch (Exception e) {
             // Log and report any exception that occurs during onStart
             LoggerManager.error("Exception during onStart: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, e.getMessage());
         }
     }
 
     /**
-     * A description of the entire Java function.
+     * This method is called when a test context finishes. It writes the pending report events and screenshots of the
+     * context, closes its pages of the streaming report and flushes the report.
      *
-     * @param context description of parameter
-     * @return description of return value
+     * @param context the test context object
      */
     @Override
     public void onFinish(ITestContext context) {
+        // Forget the nodes of tests of the context which finished without a success, failure or skip callback
+        extentTests.keySet().removeIf(testResult -> testResult.getTestContext() == context);
         try {
+            // Apply the report events still queued by the test threads and write the pending screenshots before flushing
+            ExtentReportManager.getReportInstance().drain();
+            ScreenshotService.getScreenshotInstance().awaitPending();
+
             // Flush the extent report at the end of the test execution
             if (extentReport != null) {
-                extentReport.flush();
+                if (StreamingReportWriter.getWriterInstance().isEnabled()) {
+                    // Every test of the context has been written, close its last page and rewrite the summary
+                    StreamingReportWriter.getWriterInstance().finishPartition(context.getName());
+                }
+                // Test contexts running in parallel finish concurrently and share the report
+                synchronized (extentReport) {
+                    extentReport.flush();
+                }
             } else {
                 LoggerManager.error("ExtentReport is null");
-                ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "ExtentReport is null");
+                ExtentReportManager.getReportInstance().log(Status.FAIL, "ExtentReport is null");
             }
         } catch (Exception e) {
             // Log and report any exception that occurs during onFinish
             LoggerManager.error("Exception during onFinish: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, e.getMessage());
+        }
+    }
+
+    /**
+     * This method is called once the test contexts of a suite have finished. It adds the summaries of the run, the
+     * statistics of the framework components, the wait latency per locator, the navigation timing per URL and the
+     * requests blocked per page, to the report once and flushes it.
+     *
+     * @param suite the suite which finished running
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        // Suites without tests of their own, e.g. those only listing suite files, add no summaries
+        ExtentReports report = extentReport;
+        if (report == null || suite.getResults().isEmpty()) {
+            return;
+        }
+        try {
+            if (DriverSessionPool.isInitialized()) {
+                ExtentReportNGUtil.setSystemInfo(report, "Session Pool", DriverSessionPool.getPoolInstance().getStatistics().toString());
+            }
+            if (RemoteSessionFactory.isInitialized()) {
+                ExtentReportNGUtil.setSystemInfo(report, "Remote Sessions", RemoteSessionFactory.getFactoryInstance().getStatistics());
+            }
+            if (!GridCommandMetrics.getMetricsInstance().isEmpty()) {
+                ExtentReportNGUtil.setSystemInfo(report, "Grid Commands", String.join("<br>", GridCommandMetrics.getMetricsInstance().describe()));
+            }
+            if (GridAdmissionController.isEnabled()) {
+                ExtentReportNGUtil.setSystemInfo(report, "Grid Admission", GridAdmissionController.getControllerInstance().getStatistics().toString());
+            }
+            if (LocatorRegistry.getRegistryInstance().isCacheEnabled()) {
+                ExtentReportNGUtil.setSystemInfo(report, "Element Cache", String.join("<br>", LocatorRegistry.getRegistryInstance().getStatistics()));
+            }
+            if (!WaitMetrics.getMetricsInstance().isEmpty()) {
+                // Export the wait latency per locator and add it to the report, slowest waits first
+                WaitMetrics.getMetricsInstance().export(Paths.get(userDirectory, "reports", "wait-latency.csv"), Paths.get(userDirectory, "reports", "wait-latency.json"));
+                addSummary(report, "Wait Latency", WaitMetrics.getMetricsInstance().toTable());
+            }
+            if (!NavigationTimingMetrics.getMetricsInstance().isEmpty()) {
+                // Export the page load latency per URL and add it to the report, slowest loads first
+                NavigationTimingMetrics.getMetricsInstance().export(Paths.get(userDirectory, "reports", "navigation-timing.csv"));
+                addSummary(report, "Navigation Timing", NavigationTimingMetrics.getMetricsInstance().toTable());
+            }
+            if (!NetworkBlockingMetrics.getMetricsInstance().isEmpty()) {
+                // Requests and bytes the DevTools block list saved per page, pages saving the most first
+                addSummary(report, "Network Blocking", NetworkBlockingMetrics.getMetricsInstance().toTable());
+            }
+            if (ScreenshotService.getScreenshotInstance().getStatistics().getCaptures() > 0) {
+                ExtentReportNGUtil.setSystemInfo(report, "Screenshots", ScreenshotService.getScreenshotInstance().getStatistics().toString());
+            }
+            if (StubDriverMetrics.getMetricsInstance().getSessions() > 0) {
+                // Time the tests spent outside the stub drivers is framework overhead
+                ExtentReportNGUtil.setSystemInfo(report, "Stub Driver", StubDriverMetrics.getMetricsInstance().describe(getTestMillis(suite)));
+            }
+            if (StreamingReportWriter.getWriterInstance().isEnabled()) {
+                // Every summary has been written, close the summary page
+                StreamingReportWriter.getWriterInstance().finishPartition(SUMMARY_PARTITION);
+            }
+            synchronized (report) {
+                report.flush();
+            }
+        } catch (Exception e) {
+            // Log and report any exception that occurs during onFinish
+            LoggerManager.error("Exception during onFinish of suite '{}': {}", suite.getName(), e.getMessage());
+        }
+    }
+
+    // Report node of a test, created on first use from whichever thread reports the test first
+    private static ExtentTest getExtentTest(ITestResult testResult) {
+        return extentTests.computeIfAbsent(testResult, result -> getExtentReport().createTest(result.getMethod().getMethodName()));
+    }
+
+    // Reports the soft assertions made by a finished test, spills its node to the streaming report and forgets it
+    private static void finishTest(ITestResult testResult) {
+        ExtentTest extentTest = extentTests.remove(testResult);
+        ExecutionScope scope = ExecutionScope.peek();
+        if (scope != null && scope.peekSoftAssertions() != null) {
+            scope.peekSoftAssertions().reportPending(extentTest);
+        }
+        ExtentReportManager.getReportInstance().finishTest(extentTest, testResult.getTestContext().getName());
+    }
+
+    // ExtentReports instance of the run, created once whichever test context starts first
+    static ExtentReports getExtentReport() {
+        ExtentReports report = extentReport;
+        if (report == null) {
+            synchronized (ExtentTestListener.class) {
+                if (extentReport == null) {
+                    try {
+                        extentReport = ExtentReportNGUtil.createExtentReports();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                report = extentReport;
+            }
+        }
+        return report;
+    }
+
+    // Replaces the ExtentReports instance of the run and returns the previous one, so that nested TestNG runs of the
+    // unit tests report to a report of their own
+    static ExtentReports setExtentReport(ExtentReports report) {
+        synchronized (ExtentTestListener.class) {
+            ExtentReports previous = extentReport;
+            extentReport = report;
+            return previous;
+        }
+    }
+
+    // Adds a table summarizing the run to the report, written to the summary page of the streaming report
+    private static void addSummary(ExtentReports report, String name, String[][] table) {
+        ExtentTest summary = report.createTest(name).info(MarkupHelper.createTable(table));
+        if (StreamingReportWriter.getWriterInstance().isEnabled()) {
+            StreamingReportWriter.getWriterInstance().write(SUMMARY_PARTITION, summary);
+        }
+    }
+
+    // Sum of the durations of the tests of the suite, whatever their outcome
+    private static double getTestMillis(ISuite suite) {
+        long millis = 0;
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            for (IResultMap results : Arrays.asList(context.getPassedTests(), context.getFailedTests(), context.getSkippedTests())) {
+                for (ITestResult result : results.getAllResults()) {
+                    millis += result.getEndMillis() - result.getStartMillis();
+                }
+            }
         }
+        return millis;
     }
 }
@@ -0,0 +1,32 @@
+/*
+ * Description: This class implements the TestNG IAlterSuiteListener interface to apply the parallel settings of the
+ *              configuration to suites started by Maven or an IDE, just like the TestLauncher does.
+ */
+
+package com.example.listeners;
+
+import com.example.launcher.ParallelExecutionConfigurator;
+import com.example.logManager.LoggerManager;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    /**
+     * Applies the configured parallel mode, thread count and data provider thread count to the suites.
+     *
+     * @param suites the suites which are about to run
+     */
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        try {
+            for (XmlSuite suite : suites) {
+                ParallelExecutionConfigurator.configure(suite);
+            }
+        } catch (Exception e) {
+            LoggerManager.error("Exception while configuring parallel execution: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Description: This class implements the TestNG IInvokedMethodListener and ISuiteListener interfaces to time every
+ *              test method and the setup and teardown around it, and appends the timings to the test duration store
+ *              once the suite ends. @BeforeClass and @AfterClass methods, which start and quit the WebDriver session,
+ *              count as setup and teardown of the class; @BeforeMethod and @AfterMethod methods as setup and teardown
+ *              of the test method they run around.
+ */
+
+package com.example.listeners;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.historyManager.TestDurationStore;
+import com.example.historyManager.TestTiming;
+import com.example.logManager.LoggerManager;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TestTimingListener implements IInvokedMethodListener, ISuiteListener {
+
+    // Identifies the records of this JVM's run in the store; runs are ordered by the order they were appended in
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis());
+
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> startNanos = new ThreadLocal<>();
+    // @BeforeMethod time waiting for the next test method of the thread, and the last test method of the thread
+    private final ThreadLocal<Double> pendingSetupMillis = ThreadLocal.withInitial(() -> 0d);
+    private final ThreadLocal<Timing> lastTestMethod = new ThreadLocal<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        startNanos.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Long start = startNanos.get();
+        if (start == null || !isEnabled()) {
+            return;
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000d;
+        ITestNGMethod testMethod = method.getTestMethod();
+        String testClass = testResult.getTestClass().getName();
+        if (method.isTestMethod()) {
+            Timing timing = getTiming(testClass, testMethod.getMethodName());
+            timing.add(pendingSetupMillis.get(), millis, 0, getStatus(testResult));
+            pendingSetupMillis.set(0d);
+            lastTestMethod.set(timing);
+        } else if (testMethod.isBeforeClassConfiguration()) {
+            getTiming(testClass, TestTiming.CLASS_RECORD).add(millis, 0, 0, null);
+        } else if (testMethod.isAfterClassConfiguration()) {
+            getTiming(testClass, TestTiming.CLASS_RECORD).add(0, 0, millis, null);
+        } else if (testMethod.isBeforeMethodConfiguration()) {
+            pendingSetupMillis.set(pendingSetupMillis.get() + millis);
+        } else if (testMethod.isAfterMethodConfiguration() && lastTestMethod.get() != null) {
+            lastTestMethod.get().add(0, 0, millis, null);
+        }
+    }
+
+    /**
+     * Appends the timings collected during the suite to the test duration store.
+     *
+     * @param suite the suite which finished running
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            if (!isEnabled() || timings.isEmpty()) {
+                return;
+            }
+            List<TestTiming> records = new ArrayList<>();
+            for (Timing timing : timings.values()) {
+                records.add(timing.toTestTiming());
+            }
+            timings.clear();
+            TestDurationStore store = TestDurationStore.getDefaultStore();
+            store.append(records);
+            LoggerManager.info("Appended {} test timings of suite '{}' to '{}'", records.size(), suite.getName(), store.getFile());
+        } catch (Exception e) {
+            LoggerManager.error("Exception while storing test timings: " + e.getMessage());
+        }
+    }
+
+    private static boolean isEnabled() {
+        FMConfig config = ConfigFactory.getConfig();
+        return config != null && config.getHistoryRuns() > 0;
+    }
+
+    private Timing getTiming(String testClass, String method) {
+        return timings.computeIfAbsent(testClass + "#" + method, key -> new Timing(testClass, method));
+    }
+
+    private static String getStatus(ITestResult testResult) {
+        switch (testResult.getStatus()) {
+            case ITestResult.SUCCESS:
+                return "PASS";
+            case ITestResult.SKIP:
+                return "SKIP";
+            default:
+                return "FAIL";
+        }
+    }
+
+    // Timings of a test method, or of the class-level setup and teardown, summed over its invocations
+    private static final class Timing {
+        private final String testClass;
+        private final String method;
+        private String status;
+        private double setupMillis;
+        private double executionMillis;
+        private double teardownMillis;
+
+        private Timing(String testClass, String method) {
+            this.testClass = testClass;
+            this.method = method;
+        }
+
+        // A failed invocation marks the whole method as failed and a passed one as passed unless another failed;
+        // null keeps the status
+        private synchronized void add(double setup, double execution, double teardown, String invocationStatus) {
+            setupMillis += setup;
+            executionMillis += execution;
+            teardownMillis += teardown;
+            if ("FAIL".equals(invocationStatus) || status == null || ("PASS".equals(invocationStatus) && !"FAIL".equals(status))) {
+                status = invocationStatus != null ? invocationStatus : status;
+            }
+        }
+
+        // Class records carry no status of their own
+        private synchronized TestTiming toTestTiming() {
+            return new TestTiming(RUN_ID, testClass, method, status != null ? status : "-", setupMillis, executionMillis,
+                    teardownMillis);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Description: This class represents an element locator declared once by a page object. The By instance is built when
+ *              the locator is declared and shared by every interaction, and named locators keep counters of how often
+ *              their element was served from the element cache or had to be found again. A locator may carry its own
+ *              wait policy, otherwise the default policy of the WaitEngine applies.
+ */
+
+package com.example.locatorManager;
+
+import com.example.enums.LocatorType;
+import com.example.waitManager.WaitPolicy;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Locator {
+
+    private final String name;
+    private final LocatorType type;
+    private final String value;
+    private final By by;
+    private final WaitPolicy waitPolicy;
+
+    // Lookups served from the element cache, first finds and finds caused by a stale cached element
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder finds = new LongAdder();
+    private final LongAdder refinds = new LongAdder();
+
+    private Locator(String name, LocatorType type, String value, WaitPolicy waitPolicy) {
+        if (type == null || value == null) {
+            throw new IllegalArgumentException("Locator type and value are required");
+        }
+        this.name = name;
+        this.type = type;
+        this.value = value;
+        this.by = toBy(type, value);
+        this.waitPolicy = waitPolicy;
+    }
+
+    /**
+     * Declares a named locator and registers it in the LocatorRegistry. Named locators may be cached per session.
+     *
+     * @param name  Unique name of the locator, e.g. "LoginPage.username".
+     * @param type  The type of locator (ID, NAME, XPATH, CSSSELECTOR, LINKTEXT, PARTIALLINKTEXT, CLASSNAME, TAGNAME).
+     * @param value The value of the locator.
+     * @return Locator registered under the name.
+     */
+    public static Locator of(String name, LocatorType type, String value) {
+        return of(name, type, value, null);
+    }
+
+    /**
+     * Declares a named locator with its own wait policy and registers it in the LocatorRegistry.
+     *
+     * @param name       Unique name of the locator, e.g. "LoginPage.username".
+     * @param type       The type of locator.
+     * @param value      The value of the locator.
+     * @param waitPolicy Timeout, polling and fail-fast locators used when waiting for the element.
+     * @return Locator registered under the name.
+     */
+    public static Locator of(String name, LocatorType type, String value, WaitPolicy waitPolicy) {
+        return LocatorRegistry.getRegistryInstance().register(new Locator(name, type, value, waitPolicy));
+    }
+
+    /**
+     * Creates an unnamed locator which is neither registered nor cached, for one-off lookups.
+     *
+     * @param type  The type of locator.
+     * @param value The value of the locator.
+     * @return Locator for the type and value.
+     */
+    public static Locator of(LocatorType type, String value) {
+        return new Locator(null, type, value, null);
+    }
+
+    /**
+     * Convert LocatorType and locatorValue into By object
+     *
+     * @param locatorType  The type of locator (ID, NAME, XPATH, CSSSELECTOR, LINKTEXT, PARTIALLINKTEXT, CLASSNAME, TAGNAME)
+     * @param locatorValue The value of the locator
+     * @return By object based on the locatorType and locatorValue
+     */
+    private static By toBy(LocatorType locatorType, String locatorValue) {
+        switch (locatorType) {
+            case ID:
+                return By.id(locatorValue);
+            case NAME:
+                return By.name(locatorValue);
+            case XPATH:
+                return By.xpath(locatorValue);
+            case CSSSELECTOR:
+                return By.cssSelector(locatorValue);
+            case LINKTEXT:
+                return By.linkText(locatorValue);
+            case PARTIALLINKTEXT:
+                return By.partialLinkText(locatorValue);
+            case CLASSNAME:
+                return By.className(locatorValue);
+            case TAGNAME:
+                return By.tagName(locatorValue);
+            default:
+                throw new IllegalArgumentException("Invalid locator type: " + locatorType);
+        }
+    }
+
+    // Name of the locator, or null for an unnamed locator
+    public String getName() {
+        return name;
+    }
+
+    public boolean isNamed() {
+        return name != null;
+    }
+
+    public LocatorType getType() {
+        return type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public By getBy() {
+        return by;
+    }
+
+    // Wait policy of the locator, or null to use the default policy
+    public WaitPolicy getWaitPolicy() {
+        return waitPolicy;
+    }
+
+    void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    void recordFind() {
+        finds.increment();
+    }
+
+    void recordRefind() {
+        refinds.increment();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getFinds() {
+        return finds.sum();
+    }
+
+    public long getRefinds() {
+        return refinds.sum();
+    }
+
+    @Override
+    public String toString() {
+        return (name != null ? name : "unnamed") + " [" + type + ": " + value + "]";
+    }
+}
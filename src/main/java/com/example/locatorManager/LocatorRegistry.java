@@ -0,0 +1,158 @@
+/*
+ * Description: This class keeps the named locators declared by the page objects and, when enabled, caches the WebElement
+ *              found for each of them in the current session. The cached elements are kept by the execution scope of
+ *              the session, so they are dropped with its session. A cached element is handed out without asking the
+ *              browser again; when an interaction reports it as stale it is dropped from the cache and found again.
+ */
+
+package com.example.locatorManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.executionManager.ExecutionScope;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LocatorRegistry {
+
+    // Singleton instance of LocatorRegistry
+    private static final LocatorRegistry instance = new LocatorRegistry();
+
+    // Named locators in declaration order
+    private final Map<String, Locator> locators = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private final boolean cacheEnabled;
+
+    // Private constructor to enforce Singleton pattern
+    private LocatorRegistry() {
+        FMConfig config = ConfigFactory.getConfig();
+        this.cacheEnabled = config != null && config.isElementCacheEnabled();
+    }
+
+    /**
+     * Retrieves the singleton instance of LocatorRegistry.
+     *
+     * @return LocatorRegistry instance.
+     */
+    public static LocatorRegistry getRegistryInstance() {
+        return instance;
+    }
+
+    /**
+     * Checks whether resolved elements are cached per session.
+     *
+     * @return true if the element cache is enabled, false otherwise.
+     */
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    Locator register(Locator locator) {
+        Locator existing = locators.putIfAbsent(locator.getName(), locator);
+        if (existing != null) {
+            throw new IllegalStateException("Locator " + locator.getName() + " is already declared as " + existing);
+        }
+        return locator;
+    }
+
+    /**
+     * Retrieves a named locator.
+     *
+     * @param name Name of the locator.
+     * @return Locator or null if no locator is declared under the name.
+     */
+    public Locator getLocator(String name) {
+        return locators.get(name);
+    }
+
+    /**
+     * Retrieves all named locators.
+     *
+     * @return Collection of the declared locators.
+     */
+    public Collection<Locator> getLocators() {
+        synchronized (locators) {
+            return new ArrayList<>(locators.values());
+        }
+    }
+
+    /**
+     * Retrieves the element cached for the locator in the session of the current execution scope. A hit is counted
+     * when the element is found in the cache.
+     *
+     * @param driver  WebDriver session of the current thread.
+     * @param locator Locator of the element.
+     * @return WebElement or null if the element is not cached.
+     */
+    public WebElement getCachedElement(WebDriver driver, Locator locator) {
+        if (!cacheEnabled || !locator.isNamed()) {
+            return null;
+        }
+        Map<Locator, WebElement> cache = getSessionCache(driver);
+        WebElement element = cache != null ? cache.get(locator) : null;
+        if (element != null) {
+            locator.recordCacheHit();
+        }
+        return element;
+    }
+
+    /**
+     * Records an element found by the browser, and caches it for the session of the current execution scope.
+     *
+     * @param driver  WebDriver session of the current thread.
+     * @param locator Locator of the element.
+     * @param element WebElement found for the locator.
+     * @param refind  Whether the element was found again because the cached one had gone stale.
+     */
+    public void putElement(WebDriver driver, Locator locator, WebElement element, boolean refind) {
+        if (refind) {
+            locator.recordRefind();
+        } else {
+            locator.recordFind();
+        }
+        Map<Locator, WebElement> cache = cacheEnabled && locator.isNamed() ? getSessionCache(driver) : null;
+        if (cache != null && element != null) {
+            cache.put(locator, element);
+        }
+    }
+
+    /**
+     * Drops the cached element of the locator, usually because it has gone stale.
+     *
+     * @param locator Locator of the element.
+     */
+    public void invalidate(Locator locator) {
+        ExecutionScope scope = ExecutionScope.peek();
+        if (scope != null) {
+            scope.getCachedElements().remove(locator);
+        }
+    }
+
+    /**
+     * Builds a summary of the cache hits and finds of the named locators which were used.
+     *
+     * @return List of lines, one per used locator.
+     */
+    public List<String> getStatistics() {
+        List<String> lines = new ArrayList<>();
+        for (Locator locator : getLocators()) {
+            if (locator.getCacheHits() + locator.getFinds() + locator.getRefinds() > 0) {
+                lines.add(locator.getName() + ": hits=" + locator.getCacheHits() + ", finds=" + locator.getFinds() + ", refinds=" + locator.getRefinds());
+            }
+        }
+        return lines;
+    }
+
+    // The cache belongs to the session of the current scope, a driver which is not that session is not cached
+    private static Map<Locator, WebElement> getSessionCache(WebDriver driver) {
+        ExecutionScope scope = ExecutionScope.peek();
+        return scope != null && scope.getDriver() == driver ? scope.getCachedElements() : null;
+    }
+}
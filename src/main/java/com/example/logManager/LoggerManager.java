@@ -1,14 +1,25 @@
 /*
- * Description: This class provides a centralized logging mechanism using Log4j for the framework.
+ * Description: This class provides a centralized logging mechanism using Log4j for the framework. Levels are checked
+ *              before any message is built, messages can be passed as parameterized templates or suppliers, and the
+ *              caller information is only resolved for messages that are actually logged.
  */
 
 package com.example.logManager;
 
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.util.StackLocatorUtil;
+
+import java.util.function.Supplier;
 
 public class LoggerManager {
 
+    // Number of frames between getCallInfo and the caller of a public logging method
+    private static final int CALLER_DEPTH = 4;
+
     // Logger instance using Log4j
     private static final Logger log = LogManager.getLogger();
 
@@ -17,44 +28,122 @@ public class LoggerManager {
         return log;
     }
 
-    // Get information about the method call (class name, method name, and line number)
-    private static String getCallInfo() {
-        StackTraceElement callStack = Thread.currentThread().getStackTrace()[3];
-        String className = callStack.getClassName();
-        String methodName = callStack.getMethodName();
-        int lineNumber = callStack.getLineNumber();
+    // Check whether messages of the given level are logged
+    public static boolean isEnabled(Level level) {
+        return log.isEnabled(level);
+    }
 
-        return className + " => " + methodName + " => " + lineNumber + " ==> ";
+    // Change the level of the root logger at runtime
+    public static void setLevel(Level level) {
+        Configurator.setRootLevel(level);
+    }
+
+    // Get information about the method call (class name, method name, and line number). Log4j walks only the frames
+    // needed to reach the caller (StackWalker on Java 9+) instead of capturing the whole stack trace.
+    private static String getCallInfo() {
+        StackTraceElement callStack = StackLocatorUtil.getStackTraceElement(CALLER_DEPTH);
+        if (callStack == null) {
+            return "";
+        }
+        return callStack.getClassName() + " => " + callStack.getMethodName() + " => " + callStack.getLineNumber() + " ==> ";
     }
 
     // Log information message
     public static void info(Object message) {
-        getCurrentLog().info(getCallInfo() + (message != null ? message : "null"));
+        logMessage(Level.INFO, message);
+    }
+
+    // Log information message built from a template with {} placeholders, only if INFO is enabled
+    public static void info(String format, Object... params) {
+        logFormatted(Level.INFO, format, params);
+    }
+
+    // Log information message produced by the supplier, only if INFO is enabled
+    public static void info(Supplier<?> messageSupplier) {
+        logSupplied(Level.INFO, messageSupplier);
+    }
+
+    // Log debug message
+    public static void debug(Object message) {
+        logMessage(Level.DEBUG, message);
+    }
+
+    // Log debug message built from a template with {} placeholders, only if DEBUG is enabled
+    public static void debug(String format, Object... params) {
+        logFormatted(Level.DEBUG, format, params);
+    }
+
+    // Log debug message produced by the supplier, only if DEBUG is enabled
+    public static void debug(Supplier<?> messageSupplier) {
+        logSupplied(Level.DEBUG, messageSupplier);
     }
 
     // Log the start of a test case
     public static void startTestCase(String testCase) {
-        log.info("\n\n==============================================================\nExecution Started : " + (testCase != null ? testCase : "null") + "\n==============================================================");
+        if (log.isInfoEnabled()) {
+            log.info("\n\n==============================================================\nExecution Started : " + (testCase != null ? testCase : "null") + "\n==============================================================");
+        }
     }
 
     // Log the end of a test case
     public static void endTestCase(String testCase) {
-        log.info("\n==============================================================\nExecution Ended : " + (testCase != null ? testCase : "null") + "\n==============================================================\n");
+        if (log.isInfoEnabled()) {
+            log.info("\n==============================================================\nExecution Ended : " + (testCase != null ? testCase : "null") + "\n==============================================================\n");
+        }
     }
 
     // Log warning message
     public static void warn(Object message) {
-        getCurrentLog().warn(getCallInfo() + (message != null ? message : "null"));
+        logMessage(Level.WARN, message);
+    }
+
+    // Log warning message built from a template with {} placeholders, only if WARN is enabled
+    public static void warn(String format, Object... params) {
+        logFormatted(Level.WARN, format, params);
+    }
+
+    // Log warning message produced by the supplier, only if WARN is enabled
+    public static void warn(Supplier<?> messageSupplier) {
+        logSupplied(Level.WARN, messageSupplier);
     }
 
     // Log error message
     public static void error(Object message) {
-        getCurrentLog().error(getCallInfo() + (message != null ? message : "null"));
+        logMessage(Level.ERROR, message);
+    }
+
+    // Log error message built from a template with {} placeholders, only if ERROR is enabled
+    public static void error(String format, Object... params) {
+        logFormatted(Level.ERROR, format, params);
+    }
+
+    // Log error message produced by the supplier, only if ERROR is enabled
+    public static void error(Supplier<?> messageSupplier) {
+        logSupplied(Level.ERROR, messageSupplier);
     }
 
     // Log fatal message
     public static void fatal(Object message) {
-        getCurrentLog().fatal(getCallInfo() + (message != null ? message : "null"));
+        logMessage(Level.FATAL, message);
+    }
+
+    private static void logMessage(Level level, Object message) {
+        if (log.isEnabled(level)) {
+            log.log(level, getCallInfo() + (message != null ? message : "null"));
+        }
+    }
+
+    private static void logFormatted(Level level, String format, Object... params) {
+        if (log.isEnabled(level)) {
+            log.log(level, getCallInfo() + ParameterizedMessage.format(format, params));
+        }
+    }
+
+    private static void logSupplied(Level level, Supplier<?> messageSupplier) {
+        if (log.isEnabled(level)) {
+            Object message = messageSupplier.get();
+            log.log(level, getCallInfo() + (message != null ? message : "null"));
+        }
     }
 
 }
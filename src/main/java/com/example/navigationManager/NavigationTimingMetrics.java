@@ -0,0 +1,201 @@
+/*
+ * Description: This class collects the navigation and resource timing of the browser after every page load made by the
+ *              framework, when navigationTimingEnabled is set. One script reads window.performance per navigation; the
+ *              timings are aggregated per URL into p50/p95 latencies and exported at the end of the suite as a CSV file
+ *              and as a table for the report, so the functional suite doubles as a front-end latency monitor.
+ */
+
+package com.example.navigationManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.logManager.LoggerManager;
+import com.example.reportManager.MetricsTables;
+import com.example.waitManager.LatencyHistogram;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class NavigationTimingMetrics {
+
+    // Reads the timing of the current document and of the resources it loaded, in milliseconds from the start of the
+    // navigation, and clears the resource buffer so the next capture in the same document only sees new resources.
+    // Falls back to performance.timing in browsers without Navigation Timing Level 2. Public so that the stub driver can
+    // recognise and answer it.
+    public static final String NAVIGATION_TIMING_SCRIPT =
+            "var p = window.performance;" +
+            "if (!p) { return null; }" +
+            "var entries = p.getEntriesByType ? p.getEntriesByType('navigation') : [];" +
+            "var nav = entries.length > 0 ? entries[0] : null, t = p.timing, start = nav ? 0 : t.navigationStart;" +
+            "function at(name) { var v = nav ? nav[name] : t[name]; return v > 0 ? v - start : 0; }" +
+            "var resources = p.getEntriesByType ? p.getEntriesByType('resource') : [], bytes = 0, end = 0;" +
+            "for (var i = 0; i < resources.length; i++) {" +
+            "  bytes += resources[i].transferSize || 0;" +
+            "  end = Math.max(end, resources[i].responseEnd);" +
+            "}" +
+            "if (p.clearResourceTimings) { p.clearResourceTimings(); }" +
+            "return { url: location.href, ttfb: at('responseStart'), domContentLoaded: at('domContentLoadedEventEnd')," +
+            "  load: at('loadEventEnd'), transferSize: nav ? nav.transferSize || 0 : 0, resourceCount: resources.length," +
+            "  resourceBytes: bytes, resourcesEnd: end };";
+
+    // Column headers shared by the CSV file and the report table
+    private static final String[] HEADERS = {"URL", "Loads", "TTFB p50 ms", "TTFB p95 ms", "DOM Ready p50 ms", "DOM Ready p95 ms",
+            "Load p50 ms", "Load p95 ms", "Resources p95 ms", "Resources", "Transfer KB"};
+
+    // Singleton instance of NavigationTimingMetrics
+    private static final NavigationTimingMetrics instance = new NavigationTimingMetrics();
+
+    private final boolean enabled;
+    private final Map<String, UrlStats> stats = new ConcurrentHashMap<>();
+
+    // Private constructor to enforce Singleton pattern
+    private NavigationTimingMetrics() {
+        FMConfig config = ConfigFactory.getConfig();
+        enabled = config != null && config.isNavigationTimingEnabled();
+    }
+
+    /**
+     * Retrieves the singleton instance of NavigationTimingMetrics.
+     *
+     * @return NavigationTimingMetrics instance.
+     */
+    public static NavigationTimingMetrics getMetricsInstance() {
+        return instance;
+    }
+
+    // true when navigationTimingEnabled is set
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Captures the timing of the page a driver just loaded, no-op unless navigation timing is enabled. A page whose
+     * timing cannot be read is logged and skipped, it never fails the navigation.
+     *
+     * @param driver WebDriver which navigated.
+     */
+    public void capture(WebDriver driver) {
+        if (!enabled || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+        try {
+            Object timing = ((JavascriptExecutor) driver).executeScript(NAVIGATION_TIMING_SCRIPT);
+            if (timing instanceof Map) {
+                record((Map<?, ?>) timing);
+            }
+        } catch (Exception e) {
+            LoggerManager.warn("Could not capture the navigation timing: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Records the timing returned by the navigation timing script. Phases the page has not reached yet, e.g. the load
+     * event of a page still loading, are not recorded.
+     *
+     * @param timing Result of {@link #NAVIGATION_TIMING_SCRIPT}.
+     */
+    public void record(Map<?, ?> timing) {
+        // Timings are grouped by URL without its query and fragment
+        String url = MetricsTables.stripQueryAndFragment(String.valueOf(timing.get("url")));
+        UrlStats urlStats = stats.get(url);
+        if (urlStats == null) {
+            urlStats = stats.computeIfAbsent(url, UrlStats::new);
+        }
+        urlStats.loads.increment();
+        recordMillis(urlStats.ttfb, timing.get("ttfb"));
+        recordMillis(urlStats.domContentLoaded, timing.get("domContentLoaded"));
+        recordMillis(urlStats.load, timing.get("load"));
+        recordMillis(urlStats.resourcesEnd, timing.get("resourcesEnd"));
+        urlStats.resources.add((long) getNumber(timing.get("resourceCount")));
+        urlStats.bytes.add((long) (getNumber(timing.get("transferSize")) + getNumber(timing.get("resourceBytes"))));
+    }
+
+    /**
+     * Checks whether any navigation was recorded.
+     *
+     * @return true if no navigation was recorded, false otherwise.
+     */
+    public boolean isEmpty() {
+        return stats.isEmpty();
+    }
+
+    /**
+     * Builds the table of the recorded navigations, header first, slowest loads first. Resources and transfer are
+     * averages per load.
+     *
+     * @return String[][] holding one row per URL.
+     */
+    public String[][] toTable() {
+        List<UrlStats> sorted = new ArrayList<>(stats.values());
+        sorted.sort(Comparator.comparingDouble((UrlStats urlStats) -> urlStats.load.getPercentileMillis(95)).reversed());
+        List<String[]> rows = new ArrayList<>();
+        rows.add(HEADERS.clone());
+        for (UrlStats urlStats : sorted) {
+            long loads = urlStats.loads.sum();
+            rows.add(new String[]{
+                    urlStats.url,
+                    String.valueOf(loads),
+                    MetricsTables.format(urlStats.ttfb.getPercentileMillis(50)),
+                    MetricsTables.format(urlStats.ttfb.getPercentileMillis(95)),
+                    MetricsTables.format(urlStats.domContentLoaded.getPercentileMillis(50)),
+                    MetricsTables.format(urlStats.domContentLoaded.getPercentileMillis(95)),
+                    MetricsTables.format(urlStats.load.getPercentileMillis(50)),
+                    MetricsTables.format(urlStats.load.getPercentileMillis(95)),
+                    MetricsTables.format(urlStats.resourcesEnd.getPercentileMillis(95)),
+                    MetricsTables.format((double) urlStats.resources.sum() / loads),
+                    MetricsTables.format(urlStats.bytes.sum() / 1024d / loads)
+            });
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Writes the recorded navigations as a CSV file.
+     *
+     * @param csvFile Destination of the CSV file.
+     */
+    public void export(Path csvFile) {
+        try {
+            MetricsTables.writeCsv(csvFile, toTable());
+            LoggerManager.info("Navigation timing of {} URLs exported to {}", stats.size(), csvFile);
+        } catch (IOException e) {
+            LoggerManager.error("Could not export navigation timing: " + e.getMessage());
+        }
+    }
+
+    private static void recordMillis(LatencyHistogram histogram, Object millis) {
+        double value = getNumber(millis);
+        if (value > 0) {
+            histogram.record((long) (value * TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+
+    // Browsers return whole numbers as Long and fractions as Double
+    private static double getNumber(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static final class UrlStats {
+        private final String url;
+        private final LongAdder loads = new LongAdder();
+        private final LatencyHistogram ttfb = new LatencyHistogram();
+        private final LatencyHistogram domContentLoaded = new LatencyHistogram();
+        private final LatencyHistogram load = new LatencyHistogram();
+        private final LatencyHistogram resourcesEnd = new LatencyHistogram();
+        private final LongAdder resources = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private UrlStats(String url) {
+            this.url = url;
+        }
+    }
+}
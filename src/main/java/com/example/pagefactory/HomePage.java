@@ -2,13 +2,14 @@ package com.example.pagefactory;
 
 import com.aventstack.extentreports.Status;
 import com.example.enums.LocatorType;
+import com.example.locatorManager.Locator;
 import com.example.logManager.LoggerManager;
 import com.example.reportManager.ExtentReportManager;
 import com.example.utilities.StarterKit;
 
 public class HomePage extends StarterKit {
 
-    private static final String totalLinks = "//ul/li/a";
+    private static final Locator totalLinks = Locator.of("HomePage.links", LocatorType.XPATH, "//ul/li/a");
 
     public HomePage() {
 
@@ -19,16 +20,16 @@ public class HomePage extends StarterKit {
      */
     public static void getTotalLinksOnPage() {
         LoggerManager.startTestCase("Verify total number of links on the page");
-        ExtentReportManager.getReportInstance().getExtent().log(Status.INFO, "Verify total number of links on the page");
+        ExtentReportManager.getReportInstance().log(Status.INFO, "Verify total number of links on the page");
         try {
-            getAllElements(LocatorType.XPATH, totalLinks);
+            getAllElements(totalLinks);
         } catch (Exception e) {
             String errorMessage = "Exception occurred while getting all elements: " + e.getMessage();
             LoggerManager.error(errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
             throw new RuntimeException("Exception occurred while getting all elements: " + e.getMessage(), e);
         }
         LoggerManager.endTestCase("Verified total number of links on the page");
-        ExtentReportManager.getReportInstance().getExtent().log(Status.INFO, "Verified total number of links on the page");
+        ExtentReportManager.getReportInstance().log(Status.INFO, "Verified total number of links on the page");
     }
 }
@@ -0,0 +1,190 @@
+/*
+ * Description: This class moves ExtentReports logging off the test threads. Test threads push compact report events into
+ *              a bounded queue and a single consumer thread applies them to the ExtentTest tree, so events of a test
+ *              are applied in the order they were logged. When the queue is full the configured backpressure policy
+ *              decides whether the test thread waits or low-severity events are dropped.
+ */
+
+package com.example.reportManager;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.enums.ReportBackpressure;
+import com.example.logManager.LoggerManager;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AsyncReportDispatcher {
+
+    // Maximum time to wait for the queue to be drained
+    private static final long DRAIN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    // Singleton instance of AsyncReportDispatcher
+    private static final AsyncReportDispatcher instance = new AsyncReportDispatcher();
+
+    private final BlockingQueue<ReportEvent> queue;
+    private final ReportBackpressure backpressure;
+
+    // Events dropped by the backpressure policy or by an interrupted test thread
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Private constructor to enforce Singleton pattern
+    private AsyncReportDispatcher() {
+        FMConfig config = ConfigFactory.getConfig();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config != null ? config.getReportQueueCapacity() : 10000));
+        this.backpressure = config != null ? config.getReportBackpressure() : ReportBackpressure.BLOCK;
+
+        Thread consumer = new Thread(this::consume, "extent-report-dispatcher");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Retrieves the singleton instance of AsyncReportDispatcher.
+     *
+     * @return AsyncReportDispatcher instance.
+     */
+    public static AsyncReportDispatcher getDispatcherInstance() {
+        return instance;
+    }
+
+    /**
+     * Queues a log event for the specified ExtentTest.
+     *
+     * @param extentTest ExtentTest the event belongs to.
+     * @param status     Status of the log entry.
+     * @param details    Details of the log entry.
+     */
+    public void log(ExtentTest extentTest, Status status, String details) {
+        submit(new ReportEvent(extentTest, status, details, null, null));
+    }
+
+    /**
+     * Queues a screenshot attachment for the specified ExtentTest, keeping it in order with the log events.
+     *
+     * @param extentTest ExtentTest the screenshot belongs to.
+     * @param path       Path of the screenshot.
+     * @param title      Title of the screenshot.
+     */
+    public void addScreenCapture(ExtentTest extentTest, String path, String title) {
+        submit(new ReportEvent(extentTest, null, title, path, null));
+    }
+
+    /**
+     * Queues an action on the specified ExtentTest, run after the events already queued for it. Actions are never dropped.
+     *
+     * @param extentTest ExtentTest the action belongs to.
+     * @param action     Action to run on the consumer thread.
+     */
+    public void execute(ExtentTest extentTest, Runnable action) {
+        submit(new ReportEvent(extentTest, null, null, null, action));
+    }
+
+    /**
+     * Waits until every event queued so far has been applied to the ExtentTest tree.
+     *
+     * @return true if the queue was drained, false if the drain timed out.
+     */
+    public boolean drain() {
+        // The single consumer applies events in queue order, so every earlier event is applied once the marker has run
+        CountDownLatch drained = new CountDownLatch(1);
+        ReportEvent marker = new ReportEvent(null, null, null, null, drained::countDown);
+        try {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MILLIS);
+            if (!queue.offer(marker, DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                    || !drained.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                LoggerManager.error("Timed out draining report events: {} events left", queue.size());
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (dropped.get() > 0) {
+            LoggerManager.warn("{} report events were dropped because the report queue was full", dropped.get());
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of events dropped by the DROP_LOW_SEVERITY backpressure policy.
+     *
+     * @return long representing the number of dropped events.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void submit(ReportEvent event) {
+        if (event.extentTest == null) {
+            return;
+        }
+        if (queue.offer(event)) {
+            return;
+        }
+        if (backpressure == ReportBackpressure.DROP_LOW_SEVERITY && event.isLowSeverity()) {
+            dropped.incrementAndGet();
+            return;
+        }
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void consume() {
+        while (true) {
+            ReportEvent event;
+            try {
+                event = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                event.apply();
+            } catch (Exception e) {
+                LoggerManager.error("Exception while applying report event: {}", e.getMessage());
+            }
+        }
+    }
+
+    // A log entry, screenshot or action waiting to be applied to an ExtentTest
+    private static final class ReportEvent {
+        private final ExtentTest extentTest;
+        private final Status status;
+        private final String details;
+        private final String screenshotPath;
+        private final Runnable action;
+
+        private ReportEvent(ExtentTest extentTest, Status status, String details, String screenshotPath, Runnable action) {
+            this.extentTest = extentTest;
+            this.status = status;
+            this.details = details;
+            this.screenshotPath = screenshotPath;
+            this.action = action;
+        }
+
+        // Informational entries may be dropped under pressure, failures, warnings, skips, screenshots and actions never are
+        private boolean isLowSeverity() {
+            return action == null && screenshotPath == null && (status == Status.INFO || status == Status.PASS);
+        }
+
+        private void apply() {
+            if (action != null) {
+                action.run();
+            } else if (screenshotPath != null) {
+                extentTest.addScreenCaptureFromPath(screenshotPath, details);
+            } else {
+                extentTest.log(status, details);
+            }
+        }
+    }
+}
@@ -1,24 +1,29 @@
 /*
- * Description: This class manages the ExtentTest instances using ThreadLocal to ensure thread safety in a multi-threaded environment.
+ * Description: This class manages the ExtentTest instances of the execution scopes to ensure thread safety in a multi-threaded environment.
  *              It provides methods to retrieve and set the ExtentTest instance, and logs warnings or errors if necessary.
  */
 
 package com.example.reportManager;
 
 import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.enums.ReportMode;
+import com.example.executionManager.ExecutionScope;
 import com.example.logManager.LoggerManager;
 
 public class ExtentReportManager {
 
-    // ThreadLocal variable to store ExtentTest instance for each thread
-    private static final ThreadLocal<ExtentTest> extent = new ThreadLocal<>();
-
     // Singleton instance of ExtentReportManager
     private static final ExtentReportManager instance = new ExtentReportManager();
 
+    // Whether log events are queued for the asynchronous dispatcher instead of applied on the calling thread, read from
+    // the configuration on first use since the configuration may log through the report while it is resolved
+    private volatile Boolean asyncMode;
+
     // Private constructor to enforce Singleton pattern
     private ExtentReportManager() {
-
     }
 
     // Method to get the singleton instance of ExtentReportManager
@@ -29,8 +34,8 @@ public class ExtentReportManager {
     // Method to get the ExtentTest instance for the current thread
     public ExtentTest getExtent() {
 
-        // Retrieve ExtentTest instance from the ThreadLocal variable
-        ExtentTest extentTest = extent.get();
+        // Retrieve ExtentTest instance from the execution scope of the current thread
+        ExtentTest extentTest = getCurrentExtent();
 
         // Log a warning if ExtentTest instance is null
         if (extentTest == null) {
@@ -39,13 +44,93 @@ public class ExtentReportManager {
         return extentTest;
     }
 
+    // Method to log a message to the ExtentTest of the current thread, skipped when no test is bound to the thread
+    // (e.g. on background threads creating WebDriver sessions). In ASYNC report mode the event is queued.
+    public void log(Status status, String details) {
+        log(getCurrentExtent(), status, details);
+    }
+
+    // Method to log a message to the specified ExtentTest from any thread, skipped when the test is null
+    public void log(ExtentTest extentTest, Status status, String details) {
+        if (extentTest == null) {
+            return;
+        }
+        if (isAsyncMode()) {
+            AsyncReportDispatcher.getDispatcherInstance().log(extentTest, status, details);
+        } else {
+            extentTest.log(status, details);
+        }
+    }
+
+    // Method to attach a screenshot to the ExtentTest of the current thread, in order with its log messages
+    public void addScreenCapture(String path, String title) {
+        addScreenCapture(getCurrentExtent(), path, title);
+    }
+
+    // Method to attach a screenshot to the specified ExtentTest from any thread, in order with its log messages
+    public void addScreenCapture(ExtentTest extentTest, String path, String title) {
+        if (extentTest == null) {
+            return;
+        }
+        if (isAsyncMode()) {
+            AsyncReportDispatcher.getDispatcherInstance().addScreenCapture(extentTest, path, title);
+        } else {
+            extentTest.addScreenCaptureFromPath(path, title);
+        }
+    }
+
+    // Method to wait until queued report events have been applied, no-op in SYNC report mode
+    public void drain() {
+        if (isAsyncMode()) {
+            AsyncReportDispatcher.getDispatcherInstance().drain();
+        }
+    }
+
+    // Method to spill a finished ExtentTest to the streaming report and unbind it from the current thread, no-op unless
+    // reportStreaming is enabled. In ASYNC report mode the test is written after its queued events have been applied.
+    public void finishTest(ExtentTest extentTest, String partition) {
+        StreamingReportWriter writer = StreamingReportWriter.getWriterInstance();
+        if (!writer.isEnabled() || extentTest == null) {
+            return;
+        }
+        ExecutionScope scope = ExecutionScope.peek();
+        if (scope != null && scope.getExtentTest() == extentTest) {
+            scope.setExtentTest(null);
+        }
+        if (isAsyncMode()) {
+            AsyncReportDispatcher.getDispatcherInstance().execute(extentTest, () -> writer.write(partition, extentTest));
+        } else {
+            writer.write(partition, extentTest);
+        }
+    }
+
     // Method to set the ExtentTest instance for the current thread
     public void setExtent(ExtentTest extentTest) {
         try {
-            extent.set(extentTest);
+            ExecutionScope.current().setExtentTest(extentTest);
         } catch (Exception e) {
             LoggerManager.error("Exception setting ExtentTest: " + e.getMessage());
         }
     }
 
+    // The report mode is read once; without a configuration events are applied synchronously until one is available
+    private boolean isAsyncMode() {
+        Boolean async = asyncMode;
+        if (async == null) {
+            FMConfig config = ConfigFactory.getConfig();
+            if (config == null) {
+                return false;
+            }
+            async = config.getReportMode() == ReportMode.ASYNC;
+            asyncMode = async;
+        }
+        return async;
+    }
+
+    // ExtentTest of the execution scope of the current thread, null on threads without a scope
+    private static ExtentTest getCurrentExtent() {
+        ExecutionScope scope = ExecutionScope.peek();
+        return scope != null ? scope.getExtentTest() : null;
+    }
+
 }
@@ -0,0 +1,73 @@
+/*
+ * Description: This utility class holds what the metrics collectors share to turn their measurements into report
+ *              tables and CSV files: the number format of the table cells, the CSV writer and the grouping of URLs
+ *              without their query and fragment.
+ */
+
+package com.example.reportManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+public final class MetricsTables {
+
+    // Private constructor to prevent instantiation
+    private MetricsTables() {
+    }
+
+    /**
+     * Formats a measurement for a table cell with one decimal, independent of the locale.
+     *
+     * @param value Measurement to format.
+     * @return String such as "12.5".
+     */
+    public static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    /**
+     * Writes a table as a CSV file, one line per row, creating the parent directories.
+     *
+     * @param csvFile Destination of the CSV file.
+     * @param table   Rows of the table, header first.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writeCsv(Path csvFile, String[][] table) throws IOException {
+        StringBuilder csv = new StringBuilder();
+        for (String[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                csv.append(i > 0 ? "," : "").append(escapeCsv(row[i]));
+            }
+            csv.append(System.lineSeparator());
+        }
+        Files.createDirectories(csvFile.toAbsolutePath().getParent());
+        Files.write(csvFile, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Removes the query and the fragment of a URL, so that the loads of a page are grouped under one URL.
+     *
+     * @param url URL to strip.
+     * @return String holding the URL up to its first '?' or '#'.
+     */
+    public static String stripQueryAndFragment(String url) {
+        int end = url.length();
+        for (char separator : new char[]{'?', '#'}) {
+            int index = url.indexOf(separator);
+            if (index >= 0 && index < end) {
+                end = index;
+            }
+        }
+        return url.substring(0, end);
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Description: This class captures screenshots without blocking the test thread on image encoding or disk I/O. The
+ *              browser is asked for the raw PNG bytes on the calling thread, the destination path is decided up front
+ *              and handed to the report straight away, and a background encoder pool downscales, encodes and writes
+ *              the image. Pending writes are awaited before the report is flushed.
+ */
+
+package com.example.reportManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.enums.ScreenshotFormat;
+import com.example.logManager.LoggerManager;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ScreenshotService {
+
+    // Maximum time to wait for the pending screenshots to be written
+    private static final long AWAIT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    // Singleton instance of ScreenshotService
+    private static final ScreenshotService instance = new ScreenshotService();
+
+    private final ScreenshotFormat format;
+    private final float quality;
+    private final double scale;
+    private final ExecutorService encoder;
+
+    // Screenshots which are still being encoded or written
+    private final Set<CompletableFuture<String>> pending = ConcurrentHashMap.newKeySet();
+
+    private final Statistics statistics = new Statistics();
+
+    // Private constructor to enforce Singleton pattern
+    private ScreenshotService() {
+        FMConfig config = ConfigFactory.getConfig();
+        this.format = config != null ? config.getScreenshotFormat() : ScreenshotFormat.JPEG;
+        this.quality = config != null ? Math.min(1f, Math.max(0f, config.getScreenshotQuality())) : 0.8f;
+        this.scale = config != null ? Math.min(1d, config.getScreenshotScale()) : 1d;
+        int threads = config != null ? Math.max(1, config.getScreenshotEncoderThreads()) : 2;
+        this.encoder = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-encoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retrieves the singleton instance of ScreenshotService.
+     *
+     * @return ScreenshotService instance.
+     */
+    public static ScreenshotService getScreenshotInstance() {
+        return instance;
+    }
+
+    /**
+     * Captures a screenshot of the browser and queues it for encoding.
+     *
+     * @param driver   WebDriver to take the screenshot from.
+     * @param basePath Destination path without the file extension.
+     * @return Screenshot holding the destination path and the future completed once the file is written.
+     */
+    public Screenshot capture(WebDriver driver, String basePath) {
+        String path = basePath + (format == ScreenshotFormat.JPEG ? ".jpg" : ".png");
+
+        long start = System.nanoTime();
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        statistics.recordCapture(System.nanoTime() - start);
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        pending.add(future);
+        future.whenComplete((result, throwable) -> pending.remove(future));
+        encoder.execute(() -> {
+            try {
+                long encodeStart = System.nanoTime();
+                long written = write(png, new File(path));
+                statistics.recordWrite(System.nanoTime() - encodeStart, written);
+                future.complete(path);
+            } catch (Exception e) {
+                statistics.failures.increment();
+                LoggerManager.error("Could not write screenshot " + path + ": " + e.getMessage());
+                future.completeExceptionally(e);
+            }
+        });
+        return new Screenshot(path, future);
+    }
+
+    /**
+     * Waits until every screenshot captured so far has been written.
+     *
+     * @return true if all pending screenshots were written, false if the wait timed out.
+     */
+    public boolean awaitPending() {
+        CompletableFuture<?>[] futures = pending.toArray(new CompletableFuture<?>[0]);
+        if (futures.length == 0) {
+            return true;
+        }
+        try {
+            CompletableFuture.allOf(futures).exceptionally(throwable -> null).get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            LoggerManager.error("Timed out waiting for " + pending.size() + " screenshots to be written");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LoggerManager.error("Exception while waiting for screenshots: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the capture and encoding counters.
+     *
+     * @return Statistics of this service.
+     */
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Decodes the PNG returned by the browser, scales it and writes it in the configured format.
+     *
+     * @return long representing the number of bytes written.
+     */
+    private long write(byte[] png, File file) throws IOException {
+        File directory = file.getParentFile();
+        if (directory != null) {
+            Files.createDirectories(directory.toPath());
+        }
+
+        // The browser already returns a PNG, so a lossless full-size screenshot needs no re-encoding
+        if (format == ScreenshotFormat.PNG && scale >= 1d) {
+            Files.write(file.toPath(), png);
+            return png.length;
+        }
+
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Screenshot bytes are not a readable image");
+        }
+        BufferedImage image = scale(source);
+
+        if (format == ScreenshotFormat.PNG) {
+            ImageIO.write(image, "png", file);
+        } else {
+            writeJpeg(image, file);
+        }
+        return file.length();
+    }
+
+    private BufferedImage scale(BufferedImage source) {
+        int width = scale > 0 && scale < 1d ? Math.max(1, (int) Math.round(source.getWidth() * scale)) : source.getWidth();
+        int height = scale > 0 && scale < 1d ? Math.max(1, (int) Math.round(source.getHeight() * scale)) : source.getHeight();
+
+        // JPEG has no alpha channel, so the image is always drawn onto an RGB canvas
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private void writeJpeg(BufferedImage image, File file) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG encoder available");
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        Files.deleteIfExists(file.toPath());
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * A screenshot whose destination path is known while it is still being encoded.
+     */
+    public static final class Screenshot {
+        private final String path;
+        private final CompletableFuture<String> future;
+
+        private Screenshot(String path, CompletableFuture<String> future) {
+            this.path = path;
+            this.future = future;
+        }
+
+        // Path the screenshot is written to
+        public String getPath() {
+            return path;
+        }
+
+        // Completed with the path once the file is written, or exceptionally if it could not be written
+        public CompletableFuture<String> getFuture() {
+            return future;
+        }
+    }
+
+    /**
+     * Counters describing the screenshots captured and written so far.
+     */
+    public static final class Statistics {
+        private final LongAdder captures = new LongAdder();
+        private final LongAdder captureNanos = new LongAdder();
+        private final AtomicLong maxCaptureNanos = new AtomicLong();
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder encodeNanos = new LongAdder();
+        private final LongAdder bytesWritten = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private Statistics() {
+        }
+
+        private void recordCapture(long nanos) {
+            captures.increment();
+            captureNanos.add(nanos);
+            maxCaptureNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private void recordWrite(long nanos, long bytes) {
+            writes.increment();
+            encodeNanos.add(nanos);
+            bytesWritten.add(bytes);
+        }
+
+        public long getCaptures() {
+            return captures.sum();
+        }
+
+        // Average time the test thread spent waiting for the browser to return the screenshot
+        public double getAverageCaptureMillis() {
+            long count = captures.sum();
+            return count == 0 ? 0 : captureNanos.sum() / (count * 1_000_000d);
+        }
+
+        public double getMaxCaptureMillis() {
+            return maxCaptureNanos.get() / 1_000_000d;
+        }
+
+        // Average time the encoder spent scaling, encoding and writing a screenshot
+        public double getAverageEncodeMillis() {
+            long count = writes.sum();
+            return count == 0 ? 0 : encodeNanos.sum() / (count * 1_000_000d);
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("captures=%d, avgCapture=%.1fms, maxCapture=%.1fms, avgEncode=%.1fms, bytesWritten=%d, failures=%d",
+                    getCaptures(), getAverageCaptureMillis(), getMaxCaptureMillis(), getAverageEncodeMillis(), getBytesWritten(), getFailures());
+        }
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * Description: This class writes the report of huge suites with bounded memory. Finished tests are spilled one by one:
+ *              a JSON line per test is appended to reports/report/tests.jsonl and an HTML block to the open page of
+ *              its partition (the TestNG <test> it ran in), which rolls over after reportPageSize tests. The tests
+ *              are then removed from the staging ExtentReports, so only running tests stay on the heap. The summary
+ *              page AutomationReport.html, with counts, system information, pages and failures, is rewritten on
+ *              every periodic flush, so a report can be opened while the run is still going.
+ */
+
+package com.example.reportManager;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.Test;
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.logManager.LoggerManager;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class StreamingReportWriter {
+
+    // Failed tests listed on the summary page, the others are only counted
+    private static final int MAX_LISTED_FAILURES = 1000;
+
+    private static final String STYLE = "<style>body{background:#1e1e2f;color:#ddd;font-family:sans-serif;margin:2em}"
+            + "a{color:#8ab4f8}table{border-collapse:collapse;margin:1em 0}td,th{border:1px solid #444;padding:4px 8px;"
+            + "text-align:left;vertical-align:top}details{border-left:4px solid #888;margin:4px 0;padding:2px 8px}"
+            + "details.pass{border-color:#4caf50}details.fail{border-color:#f44336}details.skip{border-color:#ff9800}"
+            + "details.warning{border-color:#ffeb3b}summary{cursor:pointer}.muted{color:#999}</style>";
+
+    // Singleton instance of StreamingReportWriter
+    private static final StreamingReportWriter instance = new StreamingReportWriter();
+
+    private final boolean enabled;
+    private final int pageSize;
+    private final long flushIntervalSeconds;
+    private final Path indexFile;
+    private final Path directory;
+
+    private final Object lock = new Object();
+    private final Map<String, String> systemInfo = new LinkedHashMap<>();
+    private final Map<String, Page> openPages = new HashMap<>();
+    private final Map<String, Integer> partitionIndexes = new HashMap<>();
+    private final List<Page> pages = new ArrayList<>();
+    private final Map<Status, Integer> statusCounts = new EnumMap<>(Status.class);
+    private final List<String> failures = new ArrayList<>();
+    private int testCount;
+    private int failureCount;
+    private Date runStart;
+    private Writer fragments;
+    private volatile ExtentReports staging;
+
+    // Private constructor to enforce Singleton pattern
+    private StreamingReportWriter() {
+        FMConfig config = ConfigFactory.getConfig();
+        this.enabled = config != null && config.isReportStreaming();
+        this.pageSize = config != null ? Math.max(1, config.getReportPageSize()) : 500;
+        this.flushIntervalSeconds = config != null ? config.getReportFlushInterval() : 30;
+        Path reports = Paths.get(System.getProperty("user.dir"), "reports");
+        this.indexFile = reports.resolve("AutomationReport.html");
+        this.directory = reports.resolve("report");
+    }
+
+    /**
+     * Retrieves the singleton instance of StreamingReportWriter.
+     *
+     * @return StreamingReportWriter instance.
+     */
+    public static StreamingReportWriter getWriterInstance() {
+        return instance;
+    }
+
+    // true when reportStreaming is enabled
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts the report on first use and returns the ExtentReports the tests are created in. It has no reporter
+     * attached; tests leave it once they are written.
+     *
+     * @return ExtentReports holding the running tests.
+     * @throws IOException if the report directory cannot be created.
+     */
+    public ExtentReports start() throws IOException {
+        synchronized (lock) {
+            if (staging != null) {
+                return staging;
+            }
+            Files.createDirectories(directory);
+            fragments = Files.newBufferedWriter(directory.resolve("tests.jsonl"), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            runStart = new Date();
+            staging = new ExtentReports();
+            if (flushIntervalSeconds > 0) {
+                ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "report-flusher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                flusher.scheduleWithFixedDelay(this::flush, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+            }
+            return staging;
+        }
+    }
+
+    /**
+     * Adds an entry to the system information of the summary page.
+     *
+     * @param name  Name of the entry.
+     * @param value Value of the entry, may contain HTML.
+     */
+    public void setSystemInfo(String name, String value) {
+        synchronized (lock) {
+            systemInfo.put(name, value);
+        }
+    }
+
+    /**
+     * Writes a finished test to the fragments file and the page of its partition, and removes it from the staging
+     * ExtentReports. Nothing is logged to the test afterwards.
+     *
+     * @param partition  Partition of the test, e.g. the name of its TestNG test.
+     * @param extentTest The finished test.
+     */
+    public void write(String partition, ExtentTest extentTest) {
+        Test test = extentTest.getModel();
+        String fragment;
+        String html;
+        try {
+            fragment = toJson(partition, test);
+            html = toHtml(test);
+        } catch (Exception e) {
+            LoggerManager.error("Exception while serializing test '{}' for the report: {}", test.getName(), e.getMessage());
+            staging.removeTest(extentTest);
+            return;
+        }
+        synchronized (lock) {
+            try {
+                fragments.write(fragment);
+                fragments.write('\n');
+                Page page = getOpenPage(partition);
+                page.writer.write(html);
+                page.add(test.getStatus());
+                testCount++;
+                statusCounts.merge(test.getStatus(), 1, Integer::sum);
+                if (test.getStatus() == Status.FAIL) {
+                    failureCount++;
+                    if (failures.size() < MAX_LISTED_FAILURES) {
+                        failures.add("<a href=\"report/" + page.fileName + "#t" + test.getId() + "\">" + escape(test.getName())
+                                + "</a> <span class=\"muted\">" + escape(partition) + "</span>");
+                    }
+                }
+                if (page.tests >= pageSize) {
+                    closePage(page, true);
+                }
+            } catch (IOException e) {
+                LoggerManager.error("Exception while writing test '{}' to the report: {}", test.getName(), e.getMessage());
+            }
+        }
+        staging.removeTest(extentTest);
+    }
+
+    /**
+     * Closes the open page of a partition whose tests have all finished and flushes the report.
+     *
+     * @param partition Partition to close.
+     */
+    public void finishPartition(String partition) {
+        synchronized (lock) {
+            Page page = openPages.get(partition);
+            if (page != null) {
+                try {
+                    closePage(page, false);
+                } catch (IOException e) {
+                    LoggerManager.error("Exception while closing report page {}: {}", page.fileName, e.getMessage());
+                }
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Writes the buffered fragments and pages to disk and rewrites the summary page.
+     */
+    public void flush() {
+        synchronized (lock) {
+            if (staging == null) {
+                return;
+            }
+            try {
+                fragments.flush();
+                for (Page page : openPages.values()) {
+                    page.writer.flush();
+                }
+                writeIndex();
+            } catch (IOException e) {
+                LoggerManager.error("Exception while flushing the streaming report: " + e.getMessage());
+            }
+        }
+    }
+
+    private Page getOpenPage(String partition) throws IOException {
+        Page page = openPages.get(partition);
+        if (page == null) {
+            Page previous = null;
+            for (int i = pages.size() - 1; i >= 0 && previous == null; i--) {
+                if (pages.get(i).partition.equals(partition)) {
+                    previous = pages.get(i);
+                }
+            }
+            Integer partitionIndex = partitionIndexes.computeIfAbsent(partition, key -> partitionIndexes.size() + 1);
+            page = new Page(pages.size() + 1, partition, partitionIndex, previous != null ? previous.sequence + 1 : 1);
+            page.writer = Files.newBufferedWriter(directory.resolve(page.fileName), StandardCharsets.UTF_8);
+            page.writer.write("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Test Results - " + escape(partition)
+                    + " - page " + page.number + "</title>" + STYLE + "</head><body><h1>" + escape(partition) + "</h1><p>"
+                    + "<a href=\"../AutomationReport.html\">Summary</a>"
+                    + (previous != null ? " | <a href=\"" + previous.fileName + "\">Previous page</a>" : "") + "</p>\n");
+            pages.add(page);
+            openPages.put(partition, page);
+        }
+        return page;
+    }
+
+    // A page rolled over links to the next page of its partition, which is opened with the next test
+    private void closePage(Page page, boolean rolledOver) throws IOException {
+        if (rolledOver) {
+            page.writer.write("<p><a href=\"" + Page.getFileName(page.partitionIndex, page.sequence + 1) + "\">Next page</a></p>");
+        }
+        page.writer.write("</body></html>\n");
+        page.writer.close();
+        openPages.remove(page.partition);
+    }
+
+    private void writeIndex() throws IOException {
+        StringBuilder html = new StringBuilder(4096);
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Test Results</title>").append(STYLE)
+                .append("</head><body><h1>Selenium Automation Result</h1><p class=\"muted\">Started ").append(format(runStart))
+                .append(", updated ").append(format(new Date())).append("</p><table><tr><th>Tests</th>");
+        for (Status status : statusCounts.keySet()) {
+            html.append("<th>").append(status).append("</th>");
+        }
+        html.append("</tr><tr><td>").append(testCount).append("</td>");
+        for (Integer count : statusCounts.values()) {
+            html.append("<td>").append(count).append("</td>");
+        }
+        html.append("</tr></table><h2>System Information</h2><table>");
+        for (Map.Entry<String, String> entry : systemInfo.entrySet()) {
+            html.append("<tr><th>").append(escape(entry.getKey())).append("</th><td>").append(entry.getValue()).append("</td></tr>");
+        }
+        html.append("</table><h2>Pages</h2><table><tr><th>Page</th><th>Test</th><th>Tests</th><th>Passed</th><th>Failed</th>"
+                + "<th>Skipped</th></tr>");
+        for (Page page : pages) {
+            html.append("<tr><td><a href=\"report/").append(page.fileName).append("\">").append(page.number)
+                    .append("</a></td><td>").append(escape(page.partition)).append("</td><td>").append(page.tests)
+                    .append("</td><td>").append(page.passed).append("</td><td>").append(page.failed).append("</td><td>")
+                    .append(page.skipped).append("</td></tr>");
+        }
+        html.append("</table><h2>Failures</h2><ol>");
+        for (String failure : failures) {
+            html.append("<li>").append(failure).append("</li>");
+        }
+        html.append("</ol>");
+        if (failureCount > failures.size()) {
+            html.append("<p class=\"muted\">").append(failureCount - failures.size()).append(" more failures are listed in ")
+                    .append("their pages and in report/tests.jsonl</p>");
+        }
+        html.append("</body></html>\n");
+        // Replaced in one step, so a browser never opens a half-written summary
+        Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        Files.write(temporary, html.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String toJson(String partition, Test test) throws IOException {
+        Map<String, Object> fragment = new LinkedHashMap<>();
+        fragment.put("id", test.getId());
+        fragment.put("partition", partition);
+        fragment.put("name", test.getName());
+        fragment.put("status", String.valueOf(test.getStatus()));
+        fragment.put("start", test.getStartTime().getTime());
+        fragment.put("end", test.getEndTime().getTime());
+        List<Map<String, Object>> logs = new ArrayList<>();
+        for (Log log : test.getLogs()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("timestamp", log.getTimestamp().getTime());
+            entry.put("status", String.valueOf(log.getStatus()));
+            entry.put("details", log.getDetails());
+            if (log.hasMedia()) {
+                entry.put("media", log.getMedia().getPath());
+            }
+            logs.add(entry);
+        }
+        fragment.put("logs", logs);
+        List<String> media = new ArrayList<>();
+        for (Media screenshot : test.getMedia()) {
+            media.add(screenshot.getPath());
+        }
+        fragment.put("media", media);
+        StringWriter json = new StringWriter();
+        try (JsonOutput output = new Json().newOutput(json)) {
+            output.setPrettyPrint(false).write(fragment);
+        }
+        return json.toString();
+    }
+
+    private String toHtml(Test test) {
+        StringBuilder html = new StringBuilder(512);
+        html.append("<details id=\"t").append(test.getId()).append("\" class=\"")
+                .append(String.valueOf(test.getStatus()).toLowerCase(Locale.ROOT)).append("\"")
+                .append(test.getStatus() == Status.FAIL ? " open" : "").append("><summary>").append(test.getStatus())
+                .append(" &ndash; ").append(escape(test.getName())).append(" <span class=\"muted\">")
+                .append(test.getEndTime().getTime() - test.getStartTime().getTime()).append(" ms</span></summary><table>");
+        for (Log log : test.getLogs()) {
+            html.append("<tr><td class=\"muted\">").append(format(log.getTimestamp())).append("</td><td>")
+                    .append(log.getStatus()).append("</td><td>").append(log.getDetails() != null ? log.getDetails() : "");
+            if (log.hasMedia()) {
+                html.append(link(log.getMedia()));
+            }
+            html.append("</td></tr>");
+        }
+        for (Media screenshot : test.getMedia()) {
+            html.append("<tr><td></td><td></td><td>").append(link(screenshot)).append("</td></tr>");
+        }
+        return html.append("</table></details>\n").toString();
+    }
+
+    // Screenshots are linked relative to the page directory, so the reports directory can be moved as a whole
+    private String link(Media media) {
+        String target;
+        try {
+            target = directory.relativize(Paths.get(media.getPath()).toAbsolutePath()).toString().replace('\\', '/');
+        } catch (RuntimeException e) {
+            target = media.getPath();
+        }
+        String title = media.getTitle() != null ? media.getTitle() : "screenshot";
+        return " <a href=\"" + escape(target) + "\">" + escape(title) + "</a>";
+    }
+
+    private static String format(Date date) {
+        return date == null ? "" : new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.ROOT).format(date);
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    // A page of the report, holding the tests of one partition
+    private static final class Page {
+        private final int number;
+        private final String partition;
+        private final int partitionIndex;
+        private final int sequence;
+        private final String fileName;
+        private BufferedWriter writer;
+        private int tests;
+        private int passed;
+        private int failed;
+        private int skipped;
+
+        private Page(int number, String partition, int partitionIndex, int sequence) {
+            this.number = number;
+            this.partition = partition;
+            this.partitionIndex = partitionIndex;
+            this.sequence = sequence;
+            this.fileName = getFileName(partitionIndex, sequence);
+        }
+
+        private static String getFileName(int partitionIndex, int sequence) {
+            return String.format(Locale.ROOT, "page-%02d-%04d.html", partitionIndex, sequence);
+        }
+
+        private void add(Status status) {
+            tests++;
+            if (status == Status.PASS) {
+                passed++;
+            } else if (status == Status.FAIL) {
+                failed++;
+            } else if (status == Status.SKIP) {
+                skipped++;
+            }
+        }
+    }
+}
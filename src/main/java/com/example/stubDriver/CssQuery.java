@@ -0,0 +1,269 @@
+/*
+ * Description: This class implements the CSS selectors understood by the stub driver: selector lists of type, universal,
+ *              id, class and attribute selectors (=, ~=, |=, ^=, $= and *=) joined by the descendant, child, next
+ *              sibling and subsequent sibling combinators. Pseudo-classes and pseudo-elements are rejected with an
+ *              InvalidSelectorException, as a browser rejects a selector it cannot parse.
+ */
+
+package com.example.stubDriver;
+
+import org.openqa.selenium.InvalidSelectorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+final class CssQuery extends ElementQuery {
+
+    private final String selector;
+    private final List<ComplexSelector> alternatives = new ArrayList<>();
+
+    // Parse state
+    private int position;
+
+    CssQuery(String selector) {
+        this.selector = selector;
+        parse();
+    }
+
+    @Override
+    List<DomNode> select(DomNode context) {
+        List<DomNode> matches = new ArrayList<>();
+        for (DomNode element : context.getDescendantElements()) {
+            for (ComplexSelector alternative : alternatives) {
+                if (alternative.matches(element)) {
+                    matches.add(element);
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void parse() {
+        do {
+            skipWhitespace();
+            alternatives.add(parseComplexSelector());
+        } while (consume(','));
+        skipWhitespace();
+        if (position < selector.length()) {
+            throw invalid("unexpected '" + selector.charAt(position) + "'");
+        }
+    }
+
+    private ComplexSelector parseComplexSelector() {
+        ComplexSelector complex = new ComplexSelector();
+        complex.compounds.add(parseCompound());
+        while (true) {
+            boolean whitespace = skipWhitespace();
+            if (position >= selector.length() || selector.charAt(position) == ',') {
+                return complex;
+            }
+            char combinator = selector.charAt(position);
+            if (combinator == '>' || combinator == '+' || combinator == '~') {
+                position++;
+                skipWhitespace();
+            } else if (whitespace) {
+                combinator = ' ';
+            } else {
+                throw invalid("unexpected '" + combinator + "'");
+            }
+            complex.combinators.add(combinator);
+            complex.compounds.add(parseCompound());
+        }
+    }
+
+    private List<Predicate<DomNode>> parseCompound() {
+        List<Predicate<DomNode>> conditions = new ArrayList<>();
+        if (consume('*')) {
+            conditions.add(element -> true);
+        } else if (position < selector.length() && isNameChar(selector.charAt(position))) {
+            String tagName = readName().toLowerCase(Locale.ROOT);
+            conditions.add(element -> tagName.equals(element.getTagName()));
+        }
+        while (position < selector.length()) {
+            char c = selector.charAt(position);
+            if (c == '#') {
+                position++;
+                String id = readName();
+                conditions.add(element -> id.equals(element.getAttribute("id")));
+            } else if (c == '.') {
+                position++;
+                String className = readName();
+                conditions.add(element -> element.hasClass(className));
+            } else if (c == '[') {
+                position++;
+                conditions.add(parseAttributeSelector());
+            } else if (c == ':') {
+                throw invalid("pseudo-classes are not supported by the stub driver");
+            } else {
+                break;
+            }
+        }
+        if (conditions.isEmpty()) {
+            throw invalid("expected a simple selector at position " + position);
+        }
+        return conditions;
+    }
+
+    private Predicate<DomNode> parseAttributeSelector() {
+        skipWhitespace();
+        String name = readName();
+        skipWhitespace();
+        if (consume(']')) {
+            return element -> element.hasAttribute(name);
+        }
+        String operator;
+        if (consume('=')) {
+            operator = "=";
+        } else if (position + 1 < selector.length() && "~|^$*".indexOf(selector.charAt(position)) >= 0 && selector.charAt(position + 1) == '=') {
+            operator = selector.substring(position, position + 2);
+            position += 2;
+        } else {
+            throw invalid("unsupported attribute selector");
+        }
+        skipWhitespace();
+        String value = readValue();
+        skipWhitespace();
+        if (!consume(']')) {
+            throw invalid("expected ']'");
+        }
+        return element -> {
+            String actual = element.getAttribute(name);
+            if (actual == null) {
+                return false;
+            }
+            switch (operator) {
+                case "=":
+                    return actual.equals(value);
+                case "~=":
+                    for (String token : actual.trim().split("\\s+")) {
+                        if (token.equals(value)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case "|=":
+                    return actual.equals(value) || actual.startsWith(value + "-");
+                case "^=":
+                    return !value.isEmpty() && actual.startsWith(value);
+                case "$=":
+                    return !value.isEmpty() && actual.endsWith(value);
+                default:
+                    return !value.isEmpty() && actual.contains(value);
+            }
+        };
+    }
+
+    private String readValue() {
+        if (position < selector.length() && (selector.charAt(position) == '"' || selector.charAt(position) == '\'')) {
+            char quote = selector.charAt(position);
+            int end = selector.indexOf(quote, position + 1);
+            if (end < 0) {
+                throw invalid("unterminated string");
+            }
+            String value = selector.substring(position + 1, end);
+            position = end + 1;
+            return value;
+        }
+        return readName();
+    }
+
+    private String readName() {
+        StringBuilder name = new StringBuilder();
+        while (position < selector.length()) {
+            char c = selector.charAt(position);
+            if (c == '\\' && position + 1 < selector.length()) {
+                name.append(selector.charAt(position + 1));
+                position += 2;
+            } else if (isNameChar(c)) {
+                name.append(c);
+                position++;
+            } else {
+                break;
+            }
+        }
+        if (name.length() == 0) {
+            throw invalid("expected a name at position " + position);
+        }
+        return name.toString();
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_' || c > 0x7F;
+    }
+
+    private boolean consume(char expected) {
+        if (position < selector.length() && selector.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean skipWhitespace() {
+        int start = position;
+        while (position < selector.length() && Character.isWhitespace(selector.charAt(position))) {
+            position++;
+        }
+        return position > start;
+    }
+
+    private InvalidSelectorException invalid(String reason) {
+        return new InvalidSelectorException("Invalid or unsupported CSS selector '" + selector + "': " + reason);
+    }
+
+    // Compound selectors joined by combinators, matched from the rightmost compound towards the left
+    private static final class ComplexSelector {
+        private final List<List<Predicate<DomNode>>> compounds = new ArrayList<>();
+        private final List<Character> combinators = new ArrayList<>();
+
+        private boolean matches(DomNode element) {
+            return matches(element, compounds.size() - 1);
+        }
+
+        private boolean matches(DomNode element, int index) {
+            for (Predicate<DomNode> condition : compounds.get(index)) {
+                if (!condition.test(element)) {
+                    return false;
+                }
+            }
+            if (index == 0) {
+                return true;
+            }
+            switch (combinators.get(index - 1)) {
+                case '>':
+                    return isElement(element.getParent()) && matches(element.getParent(), index - 1);
+                case '+':
+                    DomNode previous = previousSibling(element);
+                    return previous != null && matches(previous, index - 1);
+                case '~':
+                    for (DomNode sibling = previousSibling(element); sibling != null; sibling = previousSibling(sibling)) {
+                        if (matches(sibling, index - 1)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                default:
+                    for (DomNode ancestor = element.getParent(); isElement(ancestor); ancestor = ancestor.getParent()) {
+                        if (matches(ancestor, index - 1)) {
+                            return true;
+                        }
+                    }
+                    return false;
+            }
+        }
+
+        // The document node is not an element a selector can match
+        private static boolean isElement(DomNode node) {
+            return node != null && !HtmlFixtureParser.DOCUMENT.equals(node.getTagName());
+        }
+
+        private static DomNode previousSibling(DomNode element) {
+            List<DomNode> siblings = element.getParent().getChildElements();
+            int index = siblings.indexOf(element);
+            return index > 0 ? siblings.get(index - 1) : null;
+        }
+    }
+}
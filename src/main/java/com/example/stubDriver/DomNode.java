@@ -0,0 +1,302 @@
+/*
+ * Description: This class is a node of the static DOM served by the stub driver, either an element with its tag name,
+ *              attributes and children or a text node. Fixtures are parsed once into a template tree and every page
+ *              load works on its own copy, so typing into a field never leaks into the next test.
+ */
+
+package com.example.stubDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+final class DomNode {
+
+    // Elements laid out on lines of their own by the browser, their text is separated by line breaks
+    private static final Set<String> BLOCK_ELEMENTS = new HashSet<>(Arrays.asList(
+            "address", "article", "aside", "blockquote", "body", "br", "dd", "div", "dl", "dt", "fieldset", "figure",
+            "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6", "header", "hr", "html", "li", "main", "nav", "ol", "p",
+            "pre", "section", "table", "tbody", "td", "tfoot", "th", "thead", "tr", "ul"));
+
+    // Elements which are never rendered
+    private static final Set<String> HIDDEN_ELEMENTS = new HashSet<>(Arrays.asList(
+            "head", "link", "meta", "noscript", "script", "style", "template", "title"));
+
+    // White space runs of text nodes, a run spanning a line break of the fixture keeps the break
+    private static final Pattern LINE_BREAK_RUN = Pattern.compile("[ \\t\\x0B\\f\\r]*\\n\\s*");
+    private static final Pattern SPACE_RUN = Pattern.compile("[ \\t\\x0B\\f\\r]+");
+
+    // Height of a line of the synthetic layout, in pixels
+    private static final int LINE_HEIGHT = 20;
+
+    private final String tagName;
+    private final String text;
+    private final Map<String, String> attributes;
+    private final List<DomNode> children = new ArrayList<>();
+    private DomNode parent;
+
+    // Position of the node in document order, used for sorting query results and for the synthetic layout
+    private int order;
+
+    private DomNode(String tagName, String text) {
+        this.tagName = tagName;
+        this.text = text;
+        this.attributes = tagName != null ? new LinkedHashMap<>() : Collections.emptyMap();
+    }
+
+    static DomNode element(String tagName) {
+        return new DomNode(tagName.toLowerCase(Locale.ROOT), null);
+    }
+
+    static DomNode text(String text) {
+        return new DomNode(null, text);
+    }
+
+    void appendChild(DomNode child) {
+        child.parent = this;
+        children.add(child);
+    }
+
+    // Deep copy of the tree, with the document order of every node assigned
+    DomNode copy() {
+        DomNode root = copyTree();
+        root.assignOrder(0);
+        return root;
+    }
+
+    private DomNode copyTree() {
+        DomNode copy = new DomNode(tagName, text);
+        copy.attributes.putAll(attributes);
+        for (DomNode child : children) {
+            copy.appendChild(child.copyTree());
+        }
+        return copy;
+    }
+
+    private int assignOrder(int next) {
+        order = next++;
+        for (DomNode child : children) {
+            next = child.assignOrder(next);
+        }
+        return next;
+    }
+
+    boolean isElement() {
+        return tagName != null;
+    }
+
+    String getTagName() {
+        return tagName;
+    }
+
+    String getAttribute(String name) {
+        return attributes.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    boolean hasAttribute(String name) {
+        return attributes.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    void setAttribute(String name, String value) {
+        attributes.put(name.toLowerCase(Locale.ROOT), value);
+    }
+
+    void removeAttribute(String name) {
+        attributes.remove(name.toLowerCase(Locale.ROOT));
+    }
+
+    Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    boolean hasClass(String className) {
+        String classes = getAttribute("class");
+        if (classes == null) {
+            return false;
+        }
+        for (String token : classes.trim().split("\\s+")) {
+            if (token.equals(className)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    DomNode getParent() {
+        return parent;
+    }
+
+    List<DomNode> getChildren() {
+        return children;
+    }
+
+    int getOrder() {
+        return order;
+    }
+
+    // Child elements, without the text nodes
+    List<DomNode> getChildElements() {
+        List<DomNode> elements = new ArrayList<>(children.size());
+        for (DomNode child : children) {
+            if (child.isElement()) {
+                elements.add(child);
+            }
+        }
+        return elements;
+    }
+
+    // Descendant elements in document order, excluding this node
+    List<DomNode> getDescendantElements() {
+        List<DomNode> elements = new ArrayList<>();
+        collectDescendants(elements);
+        return elements;
+    }
+
+    private void collectDescendants(List<DomNode> elements) {
+        for (DomNode child : children) {
+            if (child.isElement()) {
+                elements.add(child);
+                child.collectDescendants(elements);
+            }
+        }
+    }
+
+    // Closest element, starting with this node, with the given tag name
+    DomNode closest(String name) {
+        for (DomNode node = this; node != null; node = node.parent) {
+            if (name.equals(node.tagName)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    // Raw text of the text node
+    String getNodeText() {
+        return text;
+    }
+
+    // Text of all descendant text nodes, as the DOM textContent property and the XPath string value
+    String getTextContent() {
+        if (!isElement()) {
+            return text;
+        }
+        StringBuilder content = new StringBuilder();
+        appendTextContent(content);
+        return content.toString();
+    }
+
+    private void appendTextContent(StringBuilder content) {
+        for (DomNode child : children) {
+            if (child.isElement()) {
+                child.appendTextContent(content);
+            } else {
+                content.append(child.text);
+            }
+        }
+    }
+
+    /**
+     * Renders the visible text of the element the way WebElement.getText does: hidden elements are skipped, white space
+     * is collapsed, block elements start on a line of their own and every line is trimmed.
+     *
+     * @return String holding the rendered text, empty for a hidden element.
+     */
+    String getRenderedText() {
+        if (!isDisplayed()) {
+            return "";
+        }
+        StringBuilder rendered = new StringBuilder();
+        appendRenderedText(rendered);
+        StringBuilder result = new StringBuilder();
+        for (String line : rendered.toString().split("\n")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty()) {
+                result.append(result.length() > 0 ? "\n" : "").append(trimmed);
+            }
+        }
+        return result.toString();
+    }
+
+    private void appendRenderedText(StringBuilder rendered) {
+        if (!isElement()) {
+            String collapsed = LINE_BREAK_RUN.matcher(text).replaceAll("\n");
+            rendered.append(SPACE_RUN.matcher(collapsed).replaceAll(" ").replace('\u00A0', ' '));
+            return;
+        }
+        if (isHiddenItself()) {
+            return;
+        }
+        boolean block = BLOCK_ELEMENTS.contains(tagName);
+        if (block) {
+            rendered.append('\n');
+        }
+        for (DomNode child : children) {
+            child.appendRenderedText(rendered);
+        }
+        if (block) {
+            rendered.append('\n');
+        }
+    }
+
+    // An element is displayed when neither it nor one of its ancestors is hidden
+    boolean isDisplayed() {
+        for (DomNode node = this; node != null; node = node.parent) {
+            if (node.isElement() && node.isHiddenItself()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isHiddenItself() {
+        if (HIDDEN_ELEMENTS.contains(tagName) || hasAttribute("hidden")) {
+            return true;
+        }
+        if ("input".equals(tagName) && "hidden".equalsIgnoreCase(getAttribute("type"))) {
+            return true;
+        }
+        String style = getAttribute("style");
+        if (style == null) {
+            return false;
+        }
+        String compact = style.replaceAll("\\s", "").toLowerCase(Locale.ROOT);
+        return compact.contains("display:none") || compact.contains("visibility:hidden");
+    }
+
+    // Synthetic layout: every displayed element gets a line of its own, in document order
+    int getX() {
+        return isDisplayed() ? 8 : 0;
+    }
+
+    int getY() {
+        return isDisplayed() ? order * LINE_HEIGHT : 0;
+    }
+
+    int getWidth() {
+        return isDisplayed() ? 200 : 0;
+    }
+
+    int getHeight() {
+        return isDisplayed() ? LINE_HEIGHT : 0;
+    }
+
+    @Override
+    public String toString() {
+        if (!isElement()) {
+            return "#text";
+        }
+        StringBuilder description = new StringBuilder("<").append(tagName);
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            description.append(' ').append(attribute.getKey()).append("=\"").append(attribute.getValue()).append('"');
+        }
+        return description.append('>').toString();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Description: This class resolves Selenium locators against the static DOM of the stub driver. Every strategy of the
+ *              By class is supported, CSS selectors through the subset implemented by CssQuery and XPath 1.0
+ *              expressions through XPathQuery. Compiled queries are cached by strategy and value, so a locator
+ *              declared once by a page object is parsed only once per run.
+ */
+
+package com.example.stubDriver;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+abstract class ElementQuery {
+
+    private static final Map<String, ElementQuery> COMPILED = new ConcurrentHashMap<>();
+
+    /**
+     * Finds the elements matching the locator below the context node.
+     *
+     * @param by      Locator to resolve.
+     * @param context Node the search starts from, the document or an element.
+     * @return List of DomNode in document order, empty if nothing matches.
+     * @throws InvalidSelectorException if the locator uses a syntax the stub driver does not support.
+     */
+    static List<DomNode> find(By by, DomNode context) {
+        if (!(by instanceof By.Remotable)) {
+            throw new InvalidSelectorException("Locator " + by + " is not supported by the stub driver");
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        String using = parameters.using();
+        String value = String.valueOf(parameters.value());
+        ElementQuery query = COMPILED.get(using + '\u0000' + value);
+        if (query == null) {
+            query = COMPILED.computeIfAbsent(using + '\u0000' + value, key -> compile(using, value));
+        }
+        return query.select(context);
+    }
+
+    /**
+     * Selects the elements matching the query below the context node.
+     *
+     * @param context Node the search starts from.
+     * @return List of DomNode in document order.
+     */
+    abstract List<DomNode> select(DomNode context);
+
+    private static ElementQuery compile(String using, String value) {
+        switch (using) {
+            case "id":
+                return new AttributeQuery("id", value);
+            case "name":
+                return new AttributeQuery("name", value);
+            case "class name":
+                return new ElementQuery() {
+                    @Override
+                    List<DomNode> select(DomNode context) {
+                        List<DomNode> matches = new ArrayList<>();
+                        for (DomNode element : context.getDescendantElements()) {
+                            if (element.hasClass(value)) {
+                                matches.add(element);
+                            }
+                        }
+                        return matches;
+                    }
+                };
+            case "tag name":
+            case "css selector":
+                return new CssQuery(value);
+            case "xpath":
+                return new XPathQuery(value);
+            case "link text":
+            case "partial link text":
+                boolean partial = "partial link text".equals(using);
+                return new ElementQuery() {
+                    @Override
+                    List<DomNode> select(DomNode context) {
+                        List<DomNode> matches = new ArrayList<>();
+                        for (DomNode element : context.getDescendantElements()) {
+                            if ("a".equals(element.getTagName())) {
+                                String text = element.getRenderedText();
+                                if (partial ? text.contains(value) : text.equals(value.trim())) {
+                                    matches.add(element);
+                                }
+                            }
+                        }
+                        return matches;
+                    }
+                };
+            default:
+                throw new InvalidSelectorException("Locator strategy '" + using + "' is not supported by the stub driver");
+        }
+    }
+
+    // Elements whose attribute equals the value, used by the id and name strategies
+    private static final class AttributeQuery extends ElementQuery {
+        private final String attribute;
+        private final String value;
+
+        private AttributeQuery(String attribute, String value) {
+            this.attribute = attribute;
+            this.value = value;
+        }
+
+        @Override
+        List<DomNode> select(DomNode context) {
+            List<DomNode> matches = new ArrayList<>();
+            for (DomNode element : context.getDescendantElements()) {
+                if (value.equals(element.getAttribute(attribute))) {
+                    matches.add(element);
+                }
+            }
+            return matches;
+        }
+    }
+}
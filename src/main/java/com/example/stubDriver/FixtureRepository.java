@@ -0,0 +1,114 @@
+/*
+ * Description: This class maps the URLs opened by the stub driver to HTML fixtures and keeps every fixture parsed once.
+ *              The path of the URL selects the file below the fixture directory: "/" serves index.html and "/login"
+ *              serves login.html. The directory is looked up on the file system first and on the classpath second.
+ */
+
+package com.example.stubDriver;
+
+import com.example.logManager.LoggerManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class FixtureRepository {
+
+    // Page served for a URL without a fixture, as a server answers with its error page
+    private static final Fixture NOT_FOUND = new Fixture(
+            "<html><head><title>Not Found</title></head><body><h1>Not Found</h1></body></html>");
+
+    // Parsed fixtures shared by all stub drivers, keyed by directory and file
+    private static final Map<String, Fixture> FIXTURES = new ConcurrentHashMap<>();
+
+    private FixtureRepository() {
+    }
+
+    /**
+     * Retrieves the fixture served for a URL.
+     *
+     * @param directory Fixture directory, on the file system or the classpath.
+     * @param url       Absolute URL being opened.
+     * @return Fixture for the path of the URL, or a "Not Found" page if there is none.
+     */
+    static Fixture getFixture(String directory, URI url) {
+        String file = toFile(url);
+        Fixture fixture = FIXTURES.get(directory + '/' + file);
+        if (fixture == null) {
+            fixture = FIXTURES.computeIfAbsent(directory + '/' + file, key -> load(directory, file));
+        }
+        return fixture;
+    }
+
+    private static String toFile(URI url) {
+        String path = url.getPath() == null ? "" : url.getPath();
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        if (path.isEmpty()) {
+            return "index.html";
+        }
+        return path.contains(".") ? path : path + ".html";
+    }
+
+    private static Fixture load(String directory, String file) {
+        try {
+            Path path = Paths.get(directory, file);
+            if (Files.isRegularFile(path)) {
+                return new Fixture(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            }
+            try (InputStream stream = FixtureRepository.class.getClassLoader().getResourceAsStream(directory + '/' + file)) {
+                if (stream != null) {
+                    return new Fixture(readAll(stream));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LoggerManager.error("Could not load fixture " + file + " from " + directory + ": " + e.getMessage());
+            return NOT_FOUND;
+        }
+        LoggerManager.warn("No fixture {} in {}, serving a Not Found page", file, directory);
+        return NOT_FOUND;
+    }
+
+    private static String readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) > 0) {
+            content.write(buffer, 0, read);
+        }
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Markup of a fixture together with its parsed DOM, which serves as the template of every page load.
+     */
+    static final class Fixture {
+        private final String html;
+        private final DomNode template;
+
+        private Fixture(String html) {
+            this.html = html;
+            this.template = HtmlFixtureParser.parse(html);
+        }
+
+        String getHtml() {
+            return html;
+        }
+
+        // Fresh copy of the DOM for a page load
+        DomNode newDocument() {
+            return template.copy();
+        }
+    }
+}
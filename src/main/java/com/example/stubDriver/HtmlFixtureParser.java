@@ -0,0 +1,247 @@
+/*
+ * Description: This class parses HTML fixtures into the DOM tree served by the stub driver. It is a lenient parser for
+ *              hand-written, well-formed pages: it knows the void and raw text elements and the common character
+ *              references, closes unclosed elements when an enclosing one ends and ignores stray end tags, but it does
+ *              not implement the full HTML5 tree construction rules.
+ */
+
+package com.example.stubDriver;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+final class HtmlFixtureParser {
+
+    // Tag name of the node holding the whole document
+    static final String DOCUMENT = "#document";
+
+    // Elements which never have content or an end tag
+    private static final Set<String> VOID_ELEMENTS = new HashSet<>(Arrays.asList(
+            "area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "source", "track", "wbr"));
+
+    // Elements whose content is kept as plain text up to their end tag
+    private static final Set<String> RAW_TEXT_ELEMENTS = new HashSet<>(Arrays.asList("script", "style", "textarea", "title"));
+
+    private static final Map<String, String> ENTITIES = new HashMap<>();
+
+    static {
+        ENTITIES.put("amp", "&");
+        ENTITIES.put("lt", "<");
+        ENTITIES.put("gt", ">");
+        ENTITIES.put("quot", "\"");
+        ENTITIES.put("apos", "'");
+        ENTITIES.put("nbsp", "\u00A0");
+        ENTITIES.put("times", "\u00D7");
+        ENTITIES.put("copy", "\u00A9");
+        ENTITIES.put("hellip", "\u2026");
+        ENTITIES.put("mdash", "\u2014");
+        ENTITIES.put("ndash", "\u2013");
+    }
+
+    private final String html;
+    private int position;
+
+    private HtmlFixtureParser(String html) {
+        this.html = html;
+    }
+
+    /**
+     * Parses an HTML page.
+     *
+     * @param html Markup of the page.
+     * @return DomNode holding the document, with the html element as its child.
+     */
+    static DomNode parse(String html) {
+        return new HtmlFixtureParser(html).parseDocument();
+    }
+
+    private DomNode parseDocument() {
+        DomNode document = DomNode.element(DOCUMENT);
+        Deque<DomNode> open = new ArrayDeque<>();
+        open.push(document);
+
+        while (position < html.length()) {
+            if (html.startsWith("<!--", position)) {
+                position = skipPast("-->", position + 4);
+            } else if (html.startsWith("<!", position) || html.startsWith("<?", position)) {
+                position = skipPast(">", position + 2);
+            } else if (html.startsWith("</", position)) {
+                int end = skipPast(">", position + 2);
+                String name = html.substring(position + 2, end - 1).trim().toLowerCase(Locale.ROOT);
+                position = end;
+                closeElement(open, name);
+            } else if (html.charAt(position) == '<' && position + 1 < html.length() && Character.isLetter(html.charAt(position + 1))) {
+                parseStartTag(open);
+            } else {
+                int end = html.indexOf('<', position + 1);
+                end = end < 0 ? html.length() : end;
+                appendText(open.peek(), html.substring(position, end));
+                position = end;
+            }
+        }
+        return document.copy();
+    }
+
+    private void parseStartTag(Deque<DomNode> open) {
+        position++;
+        DomNode element = DomNode.element(readName());
+        boolean selfClosing = false;
+
+        while (position < html.length()) {
+            skipWhitespace();
+            if (position >= html.length()) {
+                break;
+            }
+            char c = html.charAt(position);
+            if (c == '>') {
+                position++;
+                break;
+            }
+            if (c == '/') {
+                selfClosing = true;
+                position++;
+                continue;
+            }
+            String name = readName();
+            if (name.isEmpty()) {
+                // Not a valid attribute name, skip the character
+                position++;
+                continue;
+            }
+            skipWhitespace();
+            String value = "";
+            if (position < html.length() && html.charAt(position) == '=') {
+                position++;
+                skipWhitespace();
+                value = decode(readAttributeValue());
+            }
+            if (!element.hasAttribute(name)) {
+                element.setAttribute(name, value);
+            }
+        }
+
+        open.peek().appendChild(element);
+        String tagName = element.getTagName();
+        if (RAW_TEXT_ELEMENTS.contains(tagName)) {
+            int end = html.toLowerCase(Locale.ROOT).indexOf("</" + tagName, position);
+            end = end < 0 ? html.length() : end;
+            String content = html.substring(position, end);
+            if (!content.isEmpty()) {
+                element.appendChild(DomNode.text("script".equals(tagName) || "style".equals(tagName) ? content : decode(content)));
+            }
+            position = end < html.length() ? skipPast(">", end) : end;
+        } else if (!selfClosing && !VOID_ELEMENTS.contains(tagName)) {
+            open.push(element);
+        }
+    }
+
+    // Closes the element and any element left open inside it, an end tag without a matching element is ignored
+    private static void closeElement(Deque<DomNode> open, String name) {
+        boolean isOpen = false;
+        for (Iterator<DomNode> iterator = open.iterator(); iterator.hasNext(); ) {
+            DomNode element = iterator.next();
+            if (DOCUMENT.equals(element.getTagName())) {
+                break;
+            }
+            if (name.equals(element.getTagName())) {
+                isOpen = true;
+                break;
+            }
+        }
+        if (isOpen) {
+            while (!name.equals(open.pop().getTagName())) {
+                // Pop the elements left open inside the closed one
+            }
+        }
+    }
+
+    private static void appendText(DomNode parent, String text) {
+        if (!text.isEmpty()) {
+            parent.appendChild(DomNode.text(decode(text)));
+        }
+    }
+
+    private String readName() {
+        int start = position;
+        while (position < html.length()) {
+            char c = html.charAt(position);
+            if (Character.isWhitespace(c) || c == '>' || c == '/' || c == '=' || c == '"' || c == '\'' || c == '<') {
+                break;
+            }
+            position++;
+        }
+        return html.substring(start, position).toLowerCase(Locale.ROOT);
+    }
+
+    private String readAttributeValue() {
+        if (position >= html.length()) {
+            return "";
+        }
+        char quote = html.charAt(position);
+        if (quote == '"' || quote == '\'') {
+            int end = html.indexOf(quote, position + 1);
+            end = end < 0 ? html.length() : end;
+            String value = html.substring(position + 1, end);
+            position = Math.min(html.length(), end + 1);
+            return value;
+        }
+        int start = position;
+        while (position < html.length() && !Character.isWhitespace(html.charAt(position)) && html.charAt(position) != '>') {
+            position++;
+        }
+        return html.substring(start, position);
+    }
+
+    private void skipWhitespace() {
+        while (position < html.length() && Character.isWhitespace(html.charAt(position))) {
+            position++;
+        }
+    }
+
+    // Position just after the next occurrence of the marker, or the end of the markup
+    private int skipPast(String marker, int from) {
+        int end = html.indexOf(marker, from);
+        return end < 0 ? html.length() : end + marker.length();
+    }
+
+    // Replaces the named and numeric character references, unknown references are kept as they are
+    private static String decode(String text) {
+        int ampersand = text.indexOf('&');
+        if (ampersand < 0) {
+            return text;
+        }
+        StringBuilder decoded = new StringBuilder(text.length());
+        int last = 0;
+        while (ampersand >= 0) {
+            int semicolon = text.indexOf(';', ampersand);
+            String replacement = semicolon > ampersand + 1 ? resolveReference(text.substring(ampersand + 1, semicolon)) : null;
+            if (replacement != null) {
+                decoded.append(text, last, ampersand).append(replacement);
+                last = semicolon + 1;
+            }
+            ampersand = text.indexOf('&', replacement != null ? last : ampersand + 1);
+        }
+        return decoded.append(text.substring(last)).toString();
+    }
+
+    private static String resolveReference(String reference) {
+        try {
+            if (reference.startsWith("#x") || reference.startsWith("#X")) {
+                return new String(Character.toChars(Integer.parseInt(reference.substring(2), 16)));
+            }
+            if (reference.startsWith("#")) {
+                return new String(Character.toChars(Integer.parseInt(reference.substring(1))));
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ENTITIES.get(reference);
+    }
+}
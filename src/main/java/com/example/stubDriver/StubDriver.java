@@ -0,0 +1,702 @@
+/*
+ * Description: This class is an in-process WebDriver which serves static HTML fixtures instead of driving a browser. It
+ *              finds elements with the id, name, class name, tag name, link text, CSS and XPath strategies, follows
+ *              links, submits forms, types into fields and takes screenshots, and every command can be given a latency
+ *              to simulate a real browser. Scripts are not executed: the bulk element query of CommonUtil, the
+ *              navigation timing script and attribute updates are emulated and any other script returns null. A form
+ *              may declare the field values it accepts with data-stub-accept="name=value&..." and the page shown
+ *              otherwise with data-stub-reject.
+ */
+
+package com.example.stubDriver;
+
+import com.example.enums.LocatorType;
+import com.example.locatorManager.Locator;
+import com.example.logManager.LoggerManager;
+import com.example.navigationManager.NavigationTimingMetrics;
+import com.example.utilities.CommonUtil;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchFrameException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.Logs;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class StubDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+
+    // Script setting an attribute of its first argument, as used by the highlighting
+    private static final Pattern SET_ATTRIBUTE_SCRIPT = Pattern.compile(
+            "\\s*arguments\\[0\\]\\.setAttribute\\(\\s*(['\"])([^'\"]+)\\1\\s*,\\s*(['\"])([^'\"]*)\\3\\s*\\);?\\s*");
+
+    // Image returned by every screenshot, created on first use
+    private static volatile byte[] screenshot;
+
+    private static final AtomicInteger sessionCounter = new AtomicInteger();
+
+    private final String windowHandle = "stub-" + sessionCounter.incrementAndGet();
+    private final String fixtureDirectory;
+    private final long defaultLatencyMillis;
+    private final Map<String, Long> commandLatencyMillis;
+    private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+    private final List<URI> history = new ArrayList<>();
+    private final Set<String> unhandledScripts = Collections.synchronizedSet(new HashSet<>());
+    private int historyIndex = -1;
+    private volatile Page page;
+    private volatile boolean quit;
+
+    // Timeouts and window geometry are only stored, the stub never waits on its own
+    private Duration implicitWait = Duration.ZERO;
+    private Duration pageLoadTimeout = Duration.ofSeconds(300);
+    private Duration scriptTimeout = Duration.ofSeconds(30);
+    private Dimension windowSize = new Dimension(1280, 800);
+    private Point windowPosition = new Point(0, 0);
+
+    /**
+     * Creates a stub driver showing an empty page.
+     *
+     * @param fixtureDirectory     Directory holding the HTML fixtures, on the file system or the classpath.
+     * @param defaultLatencyMillis Latency added to every command, in milliseconds.
+     * @param commandLatencyMillis Latency of individual commands, e.g. "findElement" or "click", overriding the default.
+     */
+    public StubDriver(String fixtureDirectory, long defaultLatencyMillis, Map<String, Long> commandLatencyMillis) {
+        this.fixtureDirectory = fixtureDirectory;
+        this.defaultLatencyMillis = Math.max(0, defaultLatencyMillis);
+        this.commandLatencyMillis = new LinkedHashMap<>(commandLatencyMillis);
+        this.page = new Page(URI.create("about:blank"), HtmlFixtureParser.parse("<html><head></head><body></body></html>"), "", 0);
+        StubDriverMetrics.getMetricsInstance().recordSession();
+    }
+
+    @Override
+    public void get(String url) {
+        perform("get", () -> open(toUri(url), true));
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return execute("getCurrentUrl", () -> page.url.toString());
+    }
+
+    @Override
+    public String getTitle() {
+        return execute("getTitle", () -> {
+            for (DomNode element : page.document.getDescendantElements()) {
+                if ("title".equals(element.getTagName())) {
+                    return element.getTextContent().trim();
+                }
+            }
+            return "";
+        });
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return execute("findElements", () -> findElements(page, page.document, by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return execute("findElement", () -> findElement(page, page.document, by));
+    }
+
+    @Override
+    public String getPageSource() {
+        return execute("getPageSource", () -> page.html);
+    }
+
+    @Override
+    public void close() {
+        // The stub has a single window, closing it ends the session as it does in a browser
+        perform("close", () -> quit = true);
+    }
+
+    @Override
+    public void quit() {
+        if (!quit) {
+            perform("quit", () -> quit = true);
+        }
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return execute("getWindowHandles", () -> Collections.singleton(windowHandle));
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return execute("getWindowHandle", () -> windowHandle);
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return new StubTargetLocator();
+    }
+
+    @Override
+    public Navigation navigate() {
+        return new StubNavigation();
+    }
+
+    @Override
+    public Options manage() {
+        return new StubOptions();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return execute("executeScript", () -> emulateScript(script, args));
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return execute("executeAsyncScript", () -> emulateScript(script, args));
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return execute("screenshot", () -> target.convertFromPngBytes(getScreenshotBytes()));
+    }
+
+    /**
+     * Runs a command: checks the session, applies the latency of the command and records it in the stub metrics.
+     */
+    <T> T execute(String command, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            if (quit) {
+                throw new NoSuchSessionException("Session " + windowHandle + " of the stub driver has been quit");
+            }
+            long latency = commandLatencyMillis.getOrDefault(command, defaultLatencyMillis);
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+            return action.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted during " + command, e);
+        } finally {
+            StubDriverMetrics.getMetricsInstance().record(command, System.nanoTime() - start);
+        }
+    }
+
+    // Runs a command without a result
+    void perform(String command, Runnable action) {
+        execute(command, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Current page, elements of an earlier page are stale
+    Page getPage() {
+        return page;
+    }
+
+    List<WebElement> findElements(Page owner, DomNode context, By by) {
+        List<WebElement> elements = new ArrayList<>();
+        for (DomNode node : ElementQuery.find(by, context)) {
+            elements.add(new StubElement(this, owner, node));
+        }
+        return elements;
+    }
+
+    WebElement findElement(Page owner, DomNode context, By by) {
+        List<DomNode> nodes = ElementQuery.find(by, context);
+        if (nodes.isEmpty()) {
+            throw new NoSuchElementException("no such element: Unable to locate element: " + by);
+        }
+        return new StubElement(this, owner, nodes.get(0));
+    }
+
+    // Follows a link, submits a form or toggles a checkbox, as a click of the element would
+    void click(DomNode node) {
+        DomNode link = node.closest("a");
+        if (link != null && link.getAttribute("href") != null) {
+            String href = link.getAttribute("href").trim();
+            if (!href.isEmpty() && !href.startsWith("#") && !href.startsWith("javascript:")) {
+                open(page.url.resolve(href), true);
+            }
+            return;
+        }
+        DomNode control = "input".equals(node.getTagName()) ? node : node.closest("button");
+        if (control == null || control.hasAttribute("disabled")) {
+            return;
+        }
+        String type = control.getAttribute("type") == null ? "" : control.getAttribute("type").toLowerCase(Locale.ROOT);
+        if ("input".equals(control.getTagName()) && ("checkbox".equals(type) || "radio".equals(type))) {
+            if ("radio".equals(type)) {
+                uncheckRadioGroup(control);
+                control.setAttribute("checked", "");
+            } else if (control.hasAttribute("checked")) {
+                control.removeAttribute("checked");
+            } else {
+                control.setAttribute("checked", "");
+            }
+            return;
+        }
+        boolean submits = "button".equals(control.getTagName()) ? type.isEmpty() || "submit".equals(type) : "submit".equals(type) || "image".equals(type);
+        if (submits && control.closest("form") != null) {
+            submit(control.closest("form"));
+        }
+    }
+
+    // Opens the action of the form, or the page of data-stub-reject if the fields do not hold the accepted values
+    void submit(DomNode form) {
+        String target = form.getAttribute("action");
+        String accepted = form.getAttribute("data-stub-accept");
+        if (accepted != null && !hasFieldValues(form, accepted)) {
+            target = form.getAttribute("data-stub-reject");
+        }
+        open(target == null || target.isEmpty() ? page.url : page.url.resolve(target), true);
+    }
+
+    private static boolean hasFieldValues(DomNode form, String accepted) {
+        for (String pair : accepted.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String expected = separator < 0 ? "" : pair.substring(separator + 1);
+            boolean matched = false;
+            for (DomNode field : form.getDescendantElements()) {
+                if (name.equals(field.getAttribute("name")) && expected.equals(StubElement.getFieldValue(field))) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void uncheckRadioGroup(DomNode radio) {
+        DomNode scope = radio.closest("form");
+        if (scope == null) {
+            scope = radio;
+            while (scope.getParent() != null) {
+                scope = scope.getParent();
+            }
+        }
+        for (DomNode element : scope.getDescendantElements()) {
+            if ("input".equals(element.getTagName()) && radio.getAttribute("name") != null && radio.getAttribute("name").equals(element.getAttribute("name"))) {
+                element.removeAttribute("checked");
+            }
+        }
+    }
+
+    private void open(URI url, boolean addToHistory) {
+        long start = System.nanoTime();
+        FixtureRepository.Fixture fixture = FixtureRepository.getFixture(fixtureDirectory, url);
+        if (addToHistory) {
+            while (history.size() > historyIndex + 1) {
+                history.remove(history.size() - 1);
+            }
+            history.add(url);
+            historyIndex = history.size() - 1;
+        }
+        DomNode document = fixture.newDocument();
+        page = new Page(url, document, fixture.getHtml(), (System.nanoTime() - start) / 1_000_000d);
+    }
+
+    private static URI toUri(String url) {
+        try {
+            URI uri = new URI(url);
+            if (!uri.isAbsolute()) {
+                throw new InvalidArgumentException("invalid argument: '" + url + "' is not an absolute URL");
+            }
+            // A browser shows the root of a site as "/"
+            if (uri.getRawPath() == null || uri.getRawPath().isEmpty() && uri.getHost() != null) {
+                uri = new URI(uri.getScheme(), uri.getUserInfo(), uri.getHost(), uri.getPort(), "/", uri.getQuery(), uri.getFragment());
+            }
+            return uri;
+        } catch (URISyntaxException e) {
+            throw new InvalidArgumentException("invalid argument: '" + url + "' is not a valid URL");
+        }
+    }
+
+    private Object emulateScript(String script, Object[] args) {
+        if (CommonUtil.BULK_QUERY_SCRIPT.equals(script)) {
+            return bulkQuery(String.valueOf(args[0]), String.valueOf(args[1]), Boolean.TRUE.equals(args[2]), Boolean.TRUE.equals(args[3]));
+        }
+        if (NavigationTimingMetrics.NAVIGATION_TIMING_SCRIPT.equals(script)) {
+            return navigationTiming();
+        }
+        Matcher setAttribute = SET_ATTRIBUTE_SCRIPT.matcher(script);
+        if (setAttribute.matches() && args.length > 0 && args[0] instanceof StubElement) {
+            ((StubElement) args[0]).getNode().setAttribute(setAttribute.group(2), setAttribute.group(4));
+            return null;
+        }
+        if (unhandledScripts.add(script)) {
+            LoggerManager.debug("Stub driver does not execute scripts, returning null for: {}", script);
+        }
+        return null;
+    }
+
+    // Answers the navigation timing script: the page is "loaded" once its fixture is parsed and has no resources
+    private Map<String, Object> navigationTiming() {
+        Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("url", page.url.toString());
+        timing.put("ttfb", page.loadMillis);
+        timing.put("domContentLoaded", page.loadMillis);
+        timing.put("load", page.loadMillis);
+        timing.put("transferSize", (long) page.html.length());
+        timing.put("resourceCount", 0L);
+        timing.put("resourceBytes", 0L);
+        timing.put("resourcesEnd", 0L);
+        return timing;
+    }
+
+    // Answers the bulk query of CommonUtil: the count or the snapshot of every element matching the locator
+    private Object bulkQuery(String type, String value, boolean highlight, boolean countOnly) {
+        By by = Locator.of(LocatorType.valueOf(type), value).getBy();
+        List<DomNode> nodes = ElementQuery.find(by, page.document);
+        if (countOnly) {
+            return (long) nodes.size();
+        }
+        List<Map<String, Object>> snapshots = new ArrayList<>(nodes.size());
+        for (DomNode node : nodes) {
+            if (highlight) {
+                node.setAttribute("style", "background-color: yellow; border: 3px solid cyan;");
+            }
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("tagName", node.getTagName());
+            snapshot.put("text", node.getRenderedText());
+            snapshot.put("attributes", new LinkedHashMap<>(node.getAttributes()));
+            snapshot.put("displayed", node.isDisplayed());
+            snapshot.put("x", (long) node.getX());
+            snapshot.put("y", (long) node.getY());
+            snapshot.put("width", (long) node.getWidth());
+            snapshot.put("height", (long) node.getHeight());
+            snapshots.add(snapshot);
+        }
+        return snapshots;
+    }
+
+    static byte[] getScreenshotBytes() {
+        byte[] bytes = screenshot;
+        if (bytes == null) {
+            BufferedImage image = new BufferedImage(320, 200, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.dispose();
+            try (ByteArrayOutputStream png = new ByteArrayOutputStream()) {
+                ImageIO.write(image, "png", png);
+                bytes = png.toByteArray();
+            } catch (IOException e) {
+                throw new WebDriverException("Could not create the stub screenshot", e);
+            }
+            screenshot = bytes;
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "StubDriver{" + windowHandle + ", fixtures=" + fixtureDirectory + "}";
+    }
+
+    /**
+     * Document shown by the driver. Every page load creates a new one.
+     */
+    static final class Page {
+        private final URI url;
+        private final DomNode document;
+        private final String html;
+        // Time taken to load the fixture and build the document, in milliseconds
+        private final double loadMillis;
+
+        private Page(URI url, DomNode document, String html, double loadMillis) {
+            this.url = url;
+            this.document = document;
+            this.html = html;
+            this.loadMillis = loadMillis;
+        }
+
+        DomNode getDocument() {
+            return document;
+        }
+    }
+
+    private final class StubNavigation implements Navigation {
+        @Override
+        public void back() {
+            perform("back", () -> {
+                if (historyIndex > 0) {
+                    open(history.get(--historyIndex), false);
+                }
+            });
+        }
+
+        @Override
+        public void forward() {
+            perform("forward", () -> {
+                if (historyIndex < history.size() - 1) {
+                    open(history.get(++historyIndex), false);
+                }
+            });
+        }
+
+        @Override
+        public void to(String url) {
+            get(url);
+        }
+
+        @Override
+        public void to(URL url) {
+            get(url.toString());
+        }
+
+        @Override
+        public void refresh() {
+            perform("refresh", () -> open(page.url, false));
+        }
+    }
+
+    private final class StubTargetLocator implements TargetLocator {
+        @Override
+        public WebDriver frame(int index) {
+            throw new NoSuchFrameException("The stub driver has no frames");
+        }
+
+        @Override
+        public WebDriver frame(String nameOrId) {
+            throw new NoSuchFrameException("The stub driver has no frames");
+        }
+
+        @Override
+        public WebDriver frame(WebElement frameElement) {
+            throw new NoSuchFrameException("The stub driver has no frames");
+        }
+
+        @Override
+        public WebDriver parentFrame() {
+            return StubDriver.this;
+        }
+
+        @Override
+        public WebDriver window(String nameOrHandle) {
+            return execute("switchToWindow", () -> {
+                if (!windowHandle.equals(nameOrHandle)) {
+                    throw new NoSuchWindowException("no such window: " + nameOrHandle);
+                }
+                return StubDriver.this;
+            });
+        }
+
+        @Override
+        public WebDriver newWindow(WindowType typeHint) {
+            throw new UnsupportedCommandException("The stub driver has a single window");
+        }
+
+        @Override
+        public WebDriver defaultContent() {
+            return StubDriver.this;
+        }
+
+        @Override
+        public WebElement activeElement() {
+            return execute("getActiveElement", () -> findElement(page, page.document, By.tagName("body")));
+        }
+
+        @Override
+        public org.openqa.selenium.Alert alert() {
+            throw new NoAlertPresentException("The stub driver never shows alerts");
+        }
+    }
+
+    private final class StubOptions implements Options {
+        @Override
+        public void addCookie(Cookie cookie) {
+            perform("addCookie", () -> {
+                synchronized (cookies) {
+                    cookies.put(cookie.getName(), cookie);
+                }
+            });
+        }
+
+        @Override
+        public void deleteCookieNamed(String name) {
+            perform("deleteCookie", () -> {
+                synchronized (cookies) {
+                    cookies.remove(name);
+                }
+            });
+        }
+
+        @Override
+        public void deleteCookie(Cookie cookie) {
+            deleteCookieNamed(cookie.getName());
+        }
+
+        @Override
+        public void deleteAllCookies() {
+            perform("deleteAllCookies", () -> {
+                synchronized (cookies) {
+                    cookies.clear();
+                }
+            });
+        }
+
+        @Override
+        public Set<Cookie> getCookies() {
+            return execute("getCookies", () -> {
+                synchronized (cookies) {
+                    return new LinkedHashSet<>(cookies.values());
+                }
+            });
+        }
+
+        @Override
+        public Cookie getCookieNamed(String name) {
+            return execute("getCookie", () -> {
+                synchronized (cookies) {
+                    return cookies.get(name);
+                }
+            });
+        }
+
+        @Override
+        public Timeouts timeouts() {
+            return new StubTimeouts();
+        }
+
+        @Override
+        public Window window() {
+            return new StubWindow();
+        }
+
+        @Override
+        public Logs logs() {
+            throw new UnsupportedCommandException("The stub driver has no logs");
+        }
+    }
+
+    private final class StubTimeouts implements Timeouts {
+        @Override
+        @Deprecated
+        public Timeouts implicitlyWait(long time, TimeUnit unit) {
+            return implicitlyWait(Duration.ofMillis(unit.toMillis(time)));
+        }
+
+        @Override
+        public Timeouts implicitlyWait(Duration duration) {
+            perform("setTimeouts", () -> implicitWait = duration);
+            return this;
+        }
+
+        @Override
+        public Duration getImplicitWaitTimeout() {
+            return implicitWait;
+        }
+
+        @Override
+        @Deprecated
+        public Timeouts setScriptTimeout(long time, TimeUnit unit) {
+            return scriptTimeout(Duration.ofMillis(unit.toMillis(time)));
+        }
+
+        @Override
+        public Timeouts scriptTimeout(Duration duration) {
+            perform("setTimeouts", () -> scriptTimeout = duration);
+            return this;
+        }
+
+        @Override
+        public Duration getScriptTimeout() {
+            return scriptTimeout;
+        }
+
+        @Override
+        @Deprecated
+        public Timeouts pageLoadTimeout(long time, TimeUnit unit) {
+            return pageLoadTimeout(Duration.ofMillis(unit.toMillis(time)));
+        }
+
+        @Override
+        public Timeouts pageLoadTimeout(Duration duration) {
+            perform("setTimeouts", () -> pageLoadTimeout = duration);
+            return this;
+        }
+
+        @Override
+        public Duration getPageLoadTimeout() {
+            return pageLoadTimeout;
+        }
+    }
+
+    private final class StubWindow implements Window {
+        @Override
+        public Dimension getSize() {
+            return execute("getWindowRect", () -> windowSize);
+        }
+
+        @Override
+        public void setSize(Dimension targetSize) {
+            perform("setWindowRect", () -> windowSize = targetSize);
+        }
+
+        @Override
+        public Point getPosition() {
+            return execute("getWindowRect", () -> windowPosition);
+        }
+
+        @Override
+        public void setPosition(Point targetPosition) {
+            perform("setWindowRect", () -> windowPosition = targetPosition);
+        }
+
+        @Override
+        public void maximize() {
+            perform("maximizeWindow", () -> windowSize = new Dimension(1920, 1080));
+        }
+
+        @Override
+        public void minimize() {
+            perform("minimizeWindow", () -> {
+            });
+        }
+
+        @Override
+        public void fullscreen() {
+            perform("fullscreenWindow", () -> windowSize = new Dimension(1920, 1080));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Description: This class counts the commands answered by the stub drivers and the time spent inside them, simulated
+ *              latency included. Everything else a test spends its time on is framework work, so comparing the test
+ *              durations with the driver time gives the framework overhead per command.
+ */
+
+package com.example.stubDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class StubDriverMetrics {
+
+    // Singleton instance of StubDriverMetrics
+    private static final StubDriverMetrics instance = new StubDriverMetrics();
+
+    private final Map<String, CommandStats> commands = new ConcurrentHashMap<>();
+    private final LongAdder sessions = new LongAdder();
+
+    // Private constructor to enforce Singleton pattern
+    private StubDriverMetrics() {
+    }
+
+    /**
+     * Retrieves the singleton instance of StubDriverMetrics.
+     *
+     * @return StubDriverMetrics instance.
+     */
+    public static StubDriverMetrics getMetricsInstance() {
+        return instance;
+    }
+
+    void recordSession() {
+        sessions.increment();
+    }
+
+    void record(String command, long nanos) {
+        CommandStats stats = commands.get(command);
+        if (stats == null) {
+            stats = commands.computeIfAbsent(command, key -> new CommandStats());
+        }
+        stats.count.increment();
+        stats.nanos.add(nanos);
+    }
+
+    public long getSessions() {
+        return sessions.sum();
+    }
+
+    public long getCommandCount() {
+        long count = 0;
+        for (CommandStats stats : commands.values()) {
+            count += stats.count.sum();
+        }
+        return count;
+    }
+
+    // Time spent inside the stub drivers, simulated latency included
+    public double getDriverMillis() {
+        long nanos = 0;
+        for (CommandStats stats : commands.values()) {
+            nanos += stats.nanos.sum();
+        }
+        return nanos / 1_000_000d;
+    }
+
+    /**
+     * Describes the commands answered so far and the framework overhead per command.
+     *
+     * @param testMillis Sum of the durations of the tests which used the stub drivers, in milliseconds.
+     * @return String holding the totals followed by the count and average time of every command.
+     */
+    public String describe(double testMillis) {
+        long count = getCommandCount();
+        double driverMillis = getDriverMillis();
+        double overheadMillis = count == 0 ? 0 : Math.max(0, testMillis - driverMillis) / count;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "sessions=%d, commands=%d, driverTime=%.1fms, testTime=%.1fms, frameworkOverhead=%.3fms/command",
+                getSessions(), count, driverMillis, testMillis, overheadMillis));
+        commands.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> lines.add(String.format(Locale.ROOT, "%s: count=%d, avg=%.3fms", entry.getKey(),
+                        entry.getValue().count.sum(), entry.getValue().nanos.sum() / (entry.getValue().count.sum() * 1_000_000d))));
+        return String.join("<br>", lines);
+    }
+
+    private static final class CommandStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+    }
+}
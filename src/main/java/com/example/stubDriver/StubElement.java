@@ -0,0 +1,262 @@
+/*
+ * Description: This class is a WebElement of the stub driver. It belongs to the page it was found on and goes stale as
+ *              soon as the driver loads another page, like an element of a real browser. Interactions follow the
+ *              rules a browser enforces: hidden elements cannot be clicked or typed into, and only text fields accept
+ *              keys.
+ */
+
+package com.example.stubDriver;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+final class StubElement implements WebElement {
+
+    // Attributes reported as "true" or null by getAttribute, as browsers report boolean properties
+    private static final Set<String> BOOLEAN_ATTRIBUTES = new HashSet<>(Arrays.asList(
+            "checked", "disabled", "hidden", "multiple", "readonly", "required", "selected"));
+
+    // Input types which do not take text
+    private static final Set<String> NON_TEXT_INPUTS = new HashSet<>(Arrays.asList(
+            "button", "checkbox", "file", "hidden", "image", "radio", "reset", "submit"));
+
+    private final StubDriver driver;
+    private final StubDriver.Page page;
+    private final DomNode node;
+
+    StubElement(StubDriver driver, StubDriver.Page page, DomNode node) {
+        this.driver = driver;
+        this.page = page;
+        this.node = node;
+    }
+
+    DomNode getNode() {
+        return node;
+    }
+
+    // Value of a form field as the value property reports it
+    static String getFieldValue(DomNode field) {
+        if (field.hasAttribute("value")) {
+            return field.getAttribute("value");
+        }
+        return "textarea".equals(field.getTagName()) ? field.getTextContent() : "";
+    }
+
+    @Override
+    public void click() {
+        driver.perform("click", () -> {
+            checkInteractable();
+            driver.click(node);
+        });
+    }
+
+    @Override
+    public void submit() {
+        driver.perform("submit", () -> {
+            checkFresh();
+            DomNode form = node.closest("form");
+            if (form != null) {
+                driver.submit(form);
+            }
+        });
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        driver.perform("sendKeys", () -> {
+            checkInteractable();
+            if (!isTextField()) {
+                throw new ElementNotInteractableException("element not interactable: " + node + " does not accept keys");
+            }
+            if (node.hasAttribute("disabled") || node.hasAttribute("readonly")) {
+                return;
+            }
+            StringBuilder value = new StringBuilder(getFieldValue(node));
+            for (CharSequence keys : keysToSend) {
+                for (int i = 0; i < keys.length(); i++) {
+                    char key = keys.charAt(i);
+                    if (key == Keys.ENTER.charAt(0) || key == Keys.RETURN.charAt(0)) {
+                        node.setAttribute("value", value.toString());
+                        DomNode form = node.closest("form");
+                        if (form != null) {
+                            driver.submit(form);
+                            return;
+                        }
+                    } else if (key == Keys.BACK_SPACE.charAt(0)) {
+                        if (value.length() > 0) {
+                            value.setLength(value.length() - 1);
+                        }
+                    } else if (key < '\uE000' || key > '\uF8FF') {
+                        // Modifiers, arrows and the other keys of the Keys enum are private use characters which do not
+                        // change the value
+                        value.append(key);
+                    }
+                }
+            }
+            node.setAttribute("value", value.toString());
+        });
+    }
+
+    @Override
+    public void clear() {
+        driver.perform("clear", () -> {
+            checkInteractable();
+            if (isTextField()) {
+                node.setAttribute("value", "");
+            }
+        });
+    }
+
+    @Override
+    public String getTagName() {
+        return command("getTagName", node::getTagName);
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return command("getAttribute", () -> {
+            String attribute = name.toLowerCase(Locale.ROOT);
+            if ("value".equals(attribute)) {
+                return getFieldValue(node);
+            }
+            if (BOOLEAN_ATTRIBUTES.contains(attribute)) {
+                return node.hasAttribute(attribute) ? "true" : null;
+            }
+            return node.getAttribute(attribute);
+        });
+    }
+
+    @Override
+    public String getDomAttribute(String name) {
+        return command("getDomAttribute", () -> node.getAttribute(name));
+    }
+
+    @Override
+    public String getDomProperty(String name) {
+        return command("getDomProperty", () -> "value".equals(name) ? getFieldValue(node) : node.getAttribute(name));
+    }
+
+    @Override
+    public boolean isSelected() {
+        return command("isSelected", () -> node.hasAttribute("checked") || node.hasAttribute("selected"));
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return command("isEnabled", () -> !node.hasAttribute("disabled"));
+    }
+
+    @Override
+    public String getText() {
+        return command("getText", node::getRenderedText);
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return command("findElements", () -> driver.findElements(page, node, by));
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return command("findElement", () -> driver.findElement(page, node, by));
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return command("isDisplayed", node::isDisplayed);
+    }
+
+    @Override
+    public Point getLocation() {
+        return command("getRect", () -> new Point(node.getX(), node.getY()));
+    }
+
+    @Override
+    public Dimension getSize() {
+        return command("getRect", () -> new Dimension(node.getWidth(), node.getHeight()));
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return command("getRect", () -> new Rectangle(node.getX(), node.getY(), node.getHeight(), node.getWidth()));
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return command("getCssValue", () -> {
+            String style = node.getAttribute("style");
+            if (style != null) {
+                for (String declaration : style.split(";")) {
+                    int colon = declaration.indexOf(':');
+                    if (colon > 0 && declaration.substring(0, colon).trim().equalsIgnoreCase(propertyName)) {
+                        return declaration.substring(colon + 1).trim();
+                    }
+                }
+            }
+            return "";
+        });
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return command("elementScreenshot", () -> target.convertFromPngBytes(StubDriver.getScreenshotBytes()));
+    }
+
+    // Runs a command of the element, which must still belong to the current page
+    private <T> T command(String name, Supplier<T> action) {
+        return driver.execute(name, () -> {
+            checkFresh();
+            return action.get();
+        });
+    }
+
+    private void checkFresh() {
+        if (driver.getPage() != page) {
+            throw new StaleElementReferenceException("stale element reference: " + node + " belongs to a page which is no longer shown");
+        }
+    }
+
+    private void checkInteractable() {
+        checkFresh();
+        if (!node.isDisplayed()) {
+            throw new ElementNotInteractableException("element not interactable: " + node + " is not displayed");
+        }
+    }
+
+    private boolean isTextField() {
+        if ("textarea".equals(node.getTagName())) {
+            return true;
+        }
+        String type = node.getAttribute("type");
+        return "input".equals(node.getTagName()) && (type == null || !NON_TEXT_INPUTS.contains(type.toLowerCase(Locale.ROOT)));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof StubElement && ((StubElement) other).node == node;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(node);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + driver + "] -> " + node;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Description: This class evaluates XPath 1.0 expressions for the stub driver with the XPath engine of the JDK. The
+ *              static DOM of the page is mirrored into an org.w3c.dom Document for every search, so the expression sees
+ *              the current attribute values, and the nodes it selects are mapped back to their DomNode. Expressions
+ *              which do not compile, or which select anything but elements, are rejected with an
+ *              InvalidSelectorException the way a browser rejects them.
+ */
+
+package com.example.stubDriver;
+
+import org.openqa.selenium.InvalidSelectorException;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.DOMImplementation;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+final class XPathQuery extends ElementQuery {
+
+    // Key of the user data linking a mirrored node to its DomNode
+    private static final String DOM_NODE = "stubDriver.domNode";
+
+    // Creates the mirrored documents; the DOM implementation of the JDK can be shared between threads
+    private static final DOMImplementation DOM_IMPLEMENTATION = createDomImplementation();
+
+    // XPathFactory is not thread-safe, it is only used while compiling
+    private static final XPathFactory XPATH_FACTORY = XPathFactory.newInstance();
+
+    private final String expression;
+
+    // XPathExpression is not thread-safe, evaluations of the same query are serialized on it
+    private final XPathExpression compiled;
+
+    XPathQuery(String expression) {
+        this.expression = expression;
+        try {
+            synchronized (XPATH_FACTORY) {
+                this.compiled = XPATH_FACTORY.newXPath().compile(expression);
+            }
+        } catch (XPathExpressionException e) {
+            throw invalid(getMessage(e));
+        }
+    }
+
+    @Override
+    List<DomNode> select(DomNode context) {
+        Node mirroredContext = mirror(context);
+        NodeList nodes;
+        try {
+            synchronized (compiled) {
+                nodes = (NodeList) compiled.evaluate(mirroredContext, XPathConstants.NODESET);
+            }
+        } catch (XPathExpressionException e) {
+            throw invalid(getMessage(e));
+        }
+        // The engine returns node-sets in document order
+        List<DomNode> matches = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Node node = nodes.item(i);
+            if (node.getNodeType() != Node.ELEMENT_NODE) {
+                throw invalid("the result is " + describe(node) + ", it should be an element");
+            }
+            matches.add((DomNode) node.getUserData(DOM_NODE));
+        }
+        return matches;
+    }
+
+    // Mirrors the whole tree of the context node and returns the mirror of the context node
+    private static Node mirror(DomNode context) {
+        DomNode root = context;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        Document document = DOM_IMPLEMENTATION.createDocument(null, null, null);
+        Node[] mirroredContext = {document};
+        if (root.isElement() && HtmlFixtureParser.DOCUMENT.equals(root.getTagName())) {
+            document.setUserData(DOM_NODE, root, null);
+            for (DomNode child : root.getChildren()) {
+                // A document holds a single element and no text
+                if (child.isElement() && document.getDocumentElement() == null) {
+                    document.appendChild(mirror(document, child, context, mirroredContext));
+                }
+            }
+        } else {
+            document.appendChild(mirror(document, root, context, mirroredContext));
+        }
+        return mirroredContext[0];
+    }
+
+    private static Node mirror(Document document, DomNode node, DomNode context, Node[] mirroredContext) {
+        if (!node.isElement()) {
+            return document.createTextNode(node.getNodeText());
+        }
+        Element element = document.createElement(node.getTagName());
+        for (Map.Entry<String, String> attribute : node.getAttributes().entrySet()) {
+            try {
+                element.setAttribute(attribute.getKey(), attribute.getValue());
+            } catch (DOMException e) {
+                // Attribute names HTML accepts but XML does not cannot be matched by an XPath expression anyway
+            }
+        }
+        element.setUserData(DOM_NODE, node, null);
+        if (node == context) {
+            mirroredContext[0] = element;
+        }
+        for (DomNode child : node.getChildren()) {
+            element.appendChild(mirror(document, child, context, mirroredContext));
+        }
+        return element;
+    }
+
+    private static String describe(Node node) {
+        switch (node.getNodeType()) {
+            case Node.ATTRIBUTE_NODE:
+                return "an attribute";
+            case Node.TEXT_NODE:
+                return "a text node";
+            default:
+                return "the document";
+        }
+    }
+
+    private static DOMImplementation createDomImplementation() {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder().getDOMImplementation();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("No XML document builder available for the stub driver's XPath queries", e);
+        }
+    }
+
+    // The cause holds the message of the XPath engine, the exception itself often only wraps it
+    private static String getMessage(XPathExpressionException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+
+    private InvalidSelectorException invalid(String reason) {
+        return new InvalidSelectorException("Invalid or unsupported XPath expression '" + expression + "': " + reason);
+    }
+}
@@ -6,10 +6,11 @@
 
 package com.example.testbuilder;
 
-import com.example.browserManager.BrowserManager;
 import com.example.configManager.ConfigFactory;
 import com.example.driverManager.DriverManager;
 import com.example.logManager.LoggerManager;
+import com.example.navigationManager.NavigationTimingMetrics;
+import org.openqa.selenium.WebDriverException;
 
 import java.time.Duration;
 
@@ -33,18 +34,24 @@ public class TestBuilder {
                 String currentUrl = DriverManager.getDriverInstance().getDriver().getCurrentUrl();
                 String newUrl = currentUrl + appendUrl;
                 DriverManager.getDriverInstance().getDriver().get(newUrl);
-                LoggerManager.info("Appended URL Fragment: " + appendUrl);
+                NavigationTimingMetrics.getMetricsInstance().capture(DriverManager.getDriverInstance().getDriver());
+                LoggerManager.info("Appended URL Fragment: {}", appendUrl);
             } catch (Exception e) {
                 LoggerManager.error("Exception: " + e.getMessage());
             }
         }
 
-        // Method to initialize the WebDriver based on environment settings
+        // Method to initialize the WebDriver based on environment settings, using a prefetched session when one is ready.
+        // Without a session none of the following steps can run, so the failure is thrown with its cause.
         public BuildTest initializeDriver() {
             try {
-                DriverManager.getDriverInstance().setDriver(BrowserManager.getEnvironment(ConfigFactory.getConfig().getEnvMode(), ConfigFactory.getConfig().getBrowser()));
+                DriverManager.getDriverInstance().borrowDriver(ConfigFactory.getConfig().getEnvMode(), ConfigFactory.getConfig().getBrowser());
+            } catch (WebDriverException e) {
+                LoggerManager.error("Unable to obtain a WebDriver session: " + e.getMessage());
+                throw e;
             } catch (Exception e) {
                 LoggerManager.error("Exception: " + e.getMessage());
+                throw new WebDriverException("Unable to obtain a WebDriver session: " + e.getMessage(), e);
             }
             return this;
         }
@@ -73,10 +80,14 @@ public class TestBuilder {
             return this;
         }
 
-        // Method to set implicit wait time
+        // Method to set implicit wait time. Implicit waits stay disabled because the WaitEngine handles all synchronization
+        // and an implicit wait would add its timeout to every unsuccessful lookup made by the engine.
         public BuildTest setImplicitWait(int timeInSeconds) {
             try {
-                DriverManager.getDriverInstance().getDriver().manage().timeouts().implicitlyWait(Duration.ofSeconds(timeInSeconds));
+                if (timeInSeconds > 0) {
+                    LoggerManager.warn("Implicit wait of {} s ignored, element synchronization is handled by the WaitEngine", timeInSeconds);
+                }
+                DriverManager.getDriverInstance().getDriver().manage().timeouts().implicitlyWait(Duration.ZERO);
             } catch (Exception e) {
                 LoggerManager.error("Exception: " + e.getMessage());
             }
@@ -107,7 +118,8 @@ public class TestBuilder {
         public BuildTest url() {
             try {
                 DriverManager.getDriverInstance().getDriver().get(ConfigFactory.getConfig().getUrl());
-                LoggerManager.info("Url: " + ConfigFactory.getConfig().getUrl());
+                NavigationTimingMetrics.getMetricsInstance().capture(DriverManager.getDriverInstance().getDriver());
+                LoggerManager.info("Url: {}", ConfigFactory.getConfig().getUrl());
             } catch (Exception e) {
                 LoggerManager.error("Exception: " + e.getMessage());
             }
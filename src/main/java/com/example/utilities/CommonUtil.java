@@ -1,6 +1,6 @@
 /*
  * Description: This utility class provides common methods for interacting with the WebDriver, handling WebElement
- *              actions, and performing validations. It includes methods for creating WebDriverWait, finding elements,
+ *              actions, and performing validations. It includes methods for waiting for and finding elements,
  *              highlighting elements, sending keys, clicking elements, validating element presence, validating page title
  *              and text, refreshing the page, taking screenshots, disposing browser drivers, and deleting files.
  */
@@ -11,110 +11,270 @@ import com.aventstack.extentreports.Status;
 import com.example.assertions.SoftAssertionManager;
 import com.example.configManager.ConfigFactory;
 import com.example.driverManager.DriverManager;
+import com.example.enums.ExecutionProfile;
+import com.example.executionManager.ExecutionScope;
 import com.example.enums.LocatorType;
+import com.example.locatorManager.Locator;
+import com.example.locatorManager.LocatorRegistry;
 import com.example.logManager.LoggerManager;
+import com.example.navigationManager.NavigationTimingMetrics;
 import com.example.reportManager.ExtentReportManager;
+import com.example.reportManager.ScreenshotService;
+import com.example.waitManager.WaitEngine;
+import com.example.waitManager.WaitMetrics;
+import com.example.waitManager.WaitPolicy;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.testng.TestNG;
-import org.testng.xml.XmlSuite;
 
 import java.io.File;
 import java.io.IOException;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 public class CommonUtil {
 
     protected static final String userDirectory = System.getProperty("user.dir");
-    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
     private static final String SCREENSHOTS_DIRECTORY = "/reports/screenshots/";
-    protected static SoftAssertionManager softAssertionManager = new SoftAssertionManager();
+    // Directories under reports which outlive a run: the shard manifest written before the suite starts and the test
+    // duration history
+    private static final List<String> PRESERVED_REPORT_DIRECTORIES = Arrays.asList("shards", "history");
+
+    // Resolves a LocatorType and value in the page the same way the matching By does, and returns either the number of
+    // matches or a description of each of them. Matches can optionally be scrolled into view and highlighted. Public so
+    // that the stub driver can recognise and answer it without a JavaScript engine.
+    public static final String BULK_QUERY_SCRIPT =
+            "var type = arguments[0], value = arguments[1], highlight = arguments[2], countOnly = arguments[3];" +
+            "var found = [];" +
+            "function links() { return Array.prototype.slice.call(document.getElementsByTagName('a')); }" +
+            "function text(e) { return (e.innerText || e.textContent || '').trim(); }" +
+            "switch (type) {" +
+            "  case 'ID': found = Array.prototype.filter.call(document.querySelectorAll('[id]'), function (e) { return e.id === value; }); break;" +
+            "  case 'NAME': found = document.getElementsByName(value); break;" +
+            "  case 'XPATH':" +
+            "    var nodes = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    for (var i = 0; i < nodes.snapshotLength; i++) { if (nodes.snapshotItem(i).nodeType === 1) found.push(nodes.snapshotItem(i)); }" +
+            "    break;" +
+            "  case 'CSSSELECTOR': found = document.querySelectorAll(value); break;" +
+            "  case 'LINKTEXT': found = links().filter(function (e) { return text(e) === value; }); break;" +
+            "  case 'PARTIALLINKTEXT': found = links().filter(function (e) { return text(e).indexOf(value) !== -1; }); break;" +
+            "  case 'CLASSNAME': found = document.getElementsByClassName(value); break;" +
+            "  case 'TAGNAME': found = document.getElementsByTagName(value); break;" +
+            "}" +
+            "found = Array.prototype.slice.call(found);" +
+            "if (countOnly) { return found.length; }" +
+            "if (highlight && found.length > 0) {" +
+            "  found[0].scrollIntoView(true);" +
+            "  found.forEach(function (e) { e.setAttribute('style', 'background-color: yellow; border: 3px solid cyan;'); });" +
+            "}" +
+            "return found.map(function (e) {" +
+            "  var rect = e.getBoundingClientRect(), style = window.getComputedStyle(e), attributes = {};" +
+            "  for (var i = 0; i < e.attributes.length; i++) { attributes[e.attributes[i].name] = e.attributes[i].value; }" +
+            "  return { tagName: e.tagName.toLowerCase(), text: text(e), attributes: attributes," +
+            "    displayed: rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.display !== 'none'," +
+            "    x: rect.left, y: rect.top, width: rect.width, height: rect.height };" +
+            "});";
 
     /**
-     * Method to create and return WebDriverWait with a default timeout
+     * Method to retrieve WebElement based on the specified locator type and value
      *
-     * @return WebDriverWait object
+     * @param locatorType  The type of the locator
+     * @param locatorValue The value of the locator
+     * @return The WebElement if found, otherwise null
      */
-    private static WebDriverWait getWebDriverWait() {
-        try {
-            return new WebDriverWait(
-                    DriverManager.getDriverInstance().getDriver(),
-                    DEFAULT_TIMEOUT
-            );
-        } catch (Exception e) {
-            String errorMessage = e.getMessage();
-            LoggerManager.error("Exception occurred while creating WebDriverWait: " + errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Exception occurred while creating WebDriverWait: " + errorMessage);
-            throw new RuntimeException("WebDriverWait initialization failed: " + errorMessage, e);
+    private static WebElement getElementLocatorByType(LocatorType locatorType, String locatorValue) {
+        WebElement element = getLocatedElement(Locator.of(locatorType, locatorValue));
+        // Highlight the retrieved WebElement when the execution profile asks for it
+        if (element != null && getExecutionProfile().isHighlightEnabled()) {
+            highlightWebElement(element);
         }
+        return element;
     }
 
     /**
-     * Method to retrieve WebElement based on the specified locator type and value
+     * Method to retrieve the WebElement of a locator, from the element cache when it holds one for this session
      *
-     * @param locatorType  The type of the locator
-     * @param locatorValue The value of the locator
+     * @param locator The locator of the element
      * @return The WebElement if found, otherwise null
      */
-    private static WebElement getElementLocatorByType(LocatorType locatorType, String locatorValue) {
+    private static WebElement getLocatedElement(Locator locator) {
+        WebDriver driver = DriverManager.getDriverInstance().getDriver();
+        WebElement element = LocatorRegistry.getRegistryInstance().getCachedElement(driver, locator);
+        return element != null ? element : findElement(locator, false);
+    }
+
+    /**
+     * Method to wait for the element of a locator to be present and record it in the locator registry
+     *
+     * @param locator The locator of the element
+     * @param refind  Whether the element is found again because the cached one went stale
+     * @return The WebElement if found, otherwise null
+     */
+    private static WebElement findElement(Locator locator, boolean refind) {
         WebElement element = null;
+        long start = System.nanoTime();
+        boolean timedOut = false;
         try {
             // Wait for the presence of the element and retrieve it
-            element = getWebDriverWait().until(ExpectedConditions.presenceOfElementLocated(getBy(locatorType, locatorValue)));
-            // Highlight the retrieved WebElement
-            if (element != null) {
-                highlightWebElement(element);
-            }
+            element = WaitEngine.getWaitInstance().untilPresent(locator);
+            LocatorRegistry.getRegistryInstance().putElement(DriverManager.getDriverInstance().getDriver(), locator, element, refind);
         } catch (Exception e) {
+            timedOut = e instanceof TimeoutException;
             // Log the exception
             LoggerManager.error("Exception: " + e.getMessage());
             // Log the exception in the Extent Report
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Exception: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Exception: " + e.getMessage());
+        } finally {
+            WaitMetrics.getMetricsInstance().record(locator, System.nanoTime() - start, WaitEngine.getWaitInstance().getLastPollCount(), timedOut);
         }
         return element;
     }
 
+    /**
+     * Method to run an interaction on the element of a locator. The element is highlighted first when the execution
+     * profile asks for it. If a cached element has gone stale, it is found again and the interaction is retried once.
+     *
+     * @param locator     The locator of the element
+     * @param element     The element resolved for the locator
+     * @param interaction The interaction to run on the element
+     * @return The result of the interaction
+     */
+    private static <T> T withFreshElement(Locator locator, WebElement element, Function<WebElement, T> interaction) {
+        boolean highlight = getExecutionProfile().isHighlightEnabled();
+        try {
+            if (highlight) {
+                highlightWebElement(element);
+            }
+            return interaction.apply(element);
+        } catch (StaleElementReferenceException e) {
+            if (!LocatorRegistry.getRegistryInstance().isCacheEnabled()) {
+                throw e;
+            }
+            LoggerManager.debug("Cached element of {} is stale, finding it again", locator);
+            LocatorRegistry.getRegistryInstance().invalidate(locator);
+            WebElement refreshed = findElement(locator, true);
+            if (refreshed == null) {
+                throw e;
+            }
+            if (highlight) {
+                highlightWebElement(refreshed);
+            }
+            return interaction.apply(refreshed);
+        }
+    }
+
     /**
      * Get all elements based on the provided locator type and value.
-     * Highlight each element, print its text, and display the total number of elements found.
+     * Depending on the execution profile, highlight the elements and print their text, then display the total number of
+     * elements found. The elements are read with a single bulk query instead of a round trip per element.
      *
      * @param locatorType  The type of locator to use (e.g., ID, XPATH)
      * @param locatorValue The value of the locator
      */
     protected static void getAllElements(LocatorType locatorType, String locatorValue) {
+        getAllElements(Locator.of(locatorType, locatorValue));
+    }
+
+    /**
+     * Get all elements matching the provided locator.
+     * Depending on the execution profile, highlight the elements and print their text, then display the total number of
+     * elements found. The elements are read with a single bulk query instead of a round trip per element.
+     *
+     * @param locator The locator of the elements
+     */
+    protected static void getAllElements(Locator locator) {
 
-        List<WebElement> elements;
+        ExecutionProfile profile = getExecutionProfile();
 
         try {
-            elements = getWebDriverWait().until(ExpectedConditions.presenceOfAllElementsLocatedBy(getBy(locatorType, locatorValue)));
-            System.out.println("Verifying total number of elements present on the page...");
-            int count = 1;
-            String elementText = "Element ";
-            for (WebElement element : elements) {
-                autoScrollToElement(element);
-                highlightWebElement(element);
-                System.out.println(elementText + count + ": " + element.getText());
-                count++;
+            List<ElementSnapshot> elements = waitForElementSnapshots(locator, profile.isHighlightEnabled());
+            if (profile.isHighlightEnabled() && profile.getHighlightDurationMillis() > 0) {
+                Thread.sleep(profile.getHighlightDurationMillis());
+            }
+            if (profile.isConsoleEchoEnabled()) {
+                System.out.println("Verifying total number of elements present on the page...");
+                for (ElementSnapshot element : elements) {
+                    System.out.println("Element " + (element.getIndex() + 1) + ": " + element.getText());
+                }
             }
             String totalElements = "Total " + elements.size() + " elements found on the page.";
-            System.out.println(totalElements);
+            if (profile.isConsoleEchoEnabled()) {
+                System.out.println(totalElements);
+            }
             LoggerManager.info(totalElements);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.INFO, totalElements);
+            ExtentReportManager.getReportInstance().log(Status.INFO, totalElements);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             LoggerManager.error("Exception: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Exception: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Exception: " + e.getMessage());
         }
     }
 
-    private static void autoScrollToElement(WebElement element) {
-        JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriverInstance().getDriver();
-        js.executeScript("arguments[0].scrollIntoView(true);", element);
+    /**
+     * Reads the text, attributes, visibility and bounding box of every element matching the locator with a single
+     * script call.
+     *
+     * @param locatorType  The type of locator to use (e.g., ID, XPATH)
+     * @param locatorValue The value of the locator
+     * @return List of ElementSnapshot in document order, empty if nothing matches
+     */
+    protected static List<ElementSnapshot> getElementSnapshots(LocatorType locatorType, String locatorValue) {
+        return queryElements(locatorType, locatorValue, false);
+    }
+
+    /**
+     * Counts the elements matching the locator with a single script call, without transferring their details.
+     *
+     * @param locatorType  The type of locator to use (e.g., ID, XPATH)
+     * @param locatorValue The value of the locator
+     * @return The number of matching elements
+     */
+    protected static int getElementCount(LocatorType locatorType, String locatorValue) {
+        Object result = getJavascriptExecutor().executeScript(BULK_QUERY_SCRIPT, locatorType.name(), locatorValue, false, true);
+        return result instanceof Number ? ((Number) result).intValue() : 0;
+    }
+
+    /**
+     * Waits until at least one element matches the locator and returns the snapshots of all matches. Every poll is a
+     * single script call, and the wait is recorded in the wait metrics of the locator.
+     */
+    private static List<ElementSnapshot> waitForElementSnapshots(Locator locator, boolean highlight) {
+        WaitPolicy policy = locator.getWaitPolicy() != null ? locator.getWaitPolicy() : WaitPolicy.defaultPolicy();
+        long start = System.nanoTime();
+        boolean timedOut = false;
+        try {
+            return WaitEngine.getWaitInstance().until(driver -> {
+                List<ElementSnapshot> snapshots = queryElements(locator.getType(), locator.getValue(), highlight);
+                return snapshots.isEmpty() ? null : snapshots;
+            }, policy);
+        } catch (TimeoutException e) {
+            timedOut = true;
+            throw e;
+        } finally {
+            WaitMetrics.getMetricsInstance().record(locator, System.nanoTime() - start, WaitEngine.getWaitInstance().getLastPollCount(), timedOut);
+        }
+    }
+
+    private static List<ElementSnapshot> queryElements(LocatorType locatorType, String locatorValue, boolean highlight) {
+        Object result = getJavascriptExecutor().executeScript(BULK_QUERY_SCRIPT, locatorType.name(), locatorValue, highlight, false);
+        List<ElementSnapshot> snapshots = new ArrayList<>();
+        if (result instanceof List) {
+            for (Object entry : (List<?>) result) {
+                if (entry instanceof Map) {
+                    snapshots.add(ElementSnapshot.fromScriptResult(snapshots.size(), (Map<?, ?>) entry));
+                }
+            }
+        }
+        return snapshots;
+    }
+
+    private static JavascriptExecutor getJavascriptExecutor() {
+        return (JavascriptExecutor) DriverManager.getDriverInstance().getDriver();
     }
 
     /**
@@ -130,52 +290,25 @@ public class CommonUtil {
             if (element.isDisplayed() && element.isEnabled()) {
                 logMessage += " present and active on the page.";
                 LoggerManager.info(logMessage);
-                ExtentReportManager.getReportInstance().getExtent().log(Status.INFO, logMessage);
+                ExtentReportManager.getReportInstance().log(Status.INFO, logMessage);
                 return true;
             } else {
                 logMessage += " not active on the page.";
                 LoggerManager.info(logMessage);
-                ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, logMessage);
+                ExtentReportManager.getReportInstance().log(Status.FAIL, logMessage);
                 return false;
             }
+        } catch (StaleElementReferenceException e) {
+            // Left to the caller, which finds a stale cached element again
+            throw e;
         } catch (Exception e) {
             logMessage += " not present on the page. Error: " + e.getMessage();
             LoggerManager.error(logMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, logMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, logMessage);
             return false;
         }
     }
 
-    /**
-     * Convert LocatorType and locatorValue into By object
-     *
-     * @param locatorType  The type of locator (ID, NAME, XPATH, CSSSELECTOR, LINKTEXT, PARTIALLINKTEXT, CLASSNAME, TAGNAME)
-     * @param locatorValue The value of the locator
-     * @return By object based on the locatorType and locatorValue
-     */
-    private static By getBy(LocatorType locatorType, String locatorValue) {
-        switch (locatorType) {
-            case ID:
-                return By.id(locatorValue);
-            case NAME:
-                return By.name(locatorValue);
-            case XPATH:
-                return By.xpath(locatorValue);
-            case CSSSELECTOR:
-                return By.cssSelector(locatorValue);
-            case LINKTEXT:
-                return By.linkText(locatorValue);
-            case PARTIALLINKTEXT:
-                return By.partialLinkText(locatorValue);
-            case CLASSNAME:
-                return By.className(locatorValue);
-            case TAGNAME:
-                return By.tagName(locatorValue);
-            default:
-                throw new IllegalArgumentException("Invalid locator type: " + locatorType);
-        }
-    }
-
     /**
      * Method to send keys to the specified locator type and value
      *
@@ -184,17 +317,31 @@ public class CommonUtil {
      * @param sendValue    The value to send
      */
     protected static void sendKeysToLocator(LocatorType locatorType, String locatorValue, String sendValue) {
-        WebElement element = getElementLocatorByType(locatorType, locatorValue);
+        sendKeysToLocator(Locator.of(locatorType, locatorValue), sendValue);
+    }
+
+    /**
+     * Method to send keys to the element of the specified locator
+     *
+     * @param locator   The locator of the element
+     * @param sendValue The value to send
+     */
+    protected static void sendKeysToLocator(Locator locator, String sendValue) {
+        WebElement element = getLocatedElement(locator);
         if (element != null) {
             try {
-                element.clear();
-                element.sendKeys(sendValue);
+                withFreshElement(locator, element, target -> {
+                    target.clear();
+                    target.sendKeys(sendValue);
+                    return null;
+                });
+                captureStepScreenshot("sendKeys_" + locator.getType());
             } catch (Exception e) {
-                ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Failed to send keys to element");
+                ExtentReportManager.getReportInstance().log(Status.FAIL, "Failed to send keys to element");
             }
         } else {
-            LoggerManager.error("Element not found for locator type: " + locatorType);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Element not found for locator type: " + locatorType);
+            LoggerManager.error("Element not found for locator type: {}", locator.getType());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Element not found for locator type: " + locator.getType());
         }
     }
 
@@ -205,16 +352,32 @@ public class CommonUtil {
      * @param locatorValue The value of the locator
      */
     protected static void clickLocatedElement(LocatorType locatorType, String locatorValue) {
-        WebElement element = getElementLocatorByType(locatorType, locatorValue);
+        clickLocatedElement(Locator.of(locatorType, locatorValue));
+    }
+
+    /**
+     * Method to click on the element of the specified locator
+     *
+     * @param locator The locator of the element
+     */
+    protected static void clickLocatedElement(Locator locator) {
+        WebElement element = getLocatedElement(locator);
 
         try {
-            if (element != null && validateElementIsPresent(element)) {
-                element.click();
+            boolean clicked = element != null && withFreshElement(locator, element, target -> {
+                if (!validateElementIsPresent(target)) {
+                    return false;
+                }
+                target.click();
+                return true;
+            });
+            if (clicked) {
+                captureStepScreenshot("click_" + locator.getType());
             } else {
-                LoggerManager.error("Element not found for locator type: " + locatorType);
+                LoggerManager.error("Element not found for locator type: {}", locator.getType());
             }
         } catch (Exception e) {
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Element not found for locator type: " + locatorType);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Element not found for locator type: " + locator.getType());
         }
     }
 
@@ -228,14 +391,19 @@ public class CommonUtil {
             JavascriptExecutor jse = (JavascriptExecutor) DriverManager.getDriverInstance().getDriver();
             if (jse != null) {
                 jse.executeScript("arguments[0].setAttribute('style', 'background-color: yellow;');", element);
-                Thread.sleep(3000);
+                long highlightDuration = getExecutionProfile().getHighlightDurationMillis();
+                if (highlightDuration > 0) {
+                    Thread.sleep(highlightDuration);
+                }
                 jse.executeScript("arguments[0].setAttribute('style','border: 3px solid cyan;')", element);
             } else {
                 throw new NullPointerException("JavascriptExecutor is null");
             }
+        } catch (StaleElementReferenceException e) {
+            throw e;
         } catch (Exception e) {
             LoggerManager.error("Exception: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, e.getMessage());
         }
     }
 
@@ -249,15 +417,17 @@ public class CommonUtil {
     }
 
     /**
-     * Method to get the text of an element located by type and value
+     * Method to get the text of the element of a locator
      *
-     * @param locatorType  the type of locator
-     * @param locatorValue the value of the locator
+     * @param locator the locator of the element
      * @return the text of the element
      */
-    private static String getElementText(LocatorType locatorType, String locatorValue) {
-        WebElement element = getElementLocatorByType(locatorType, locatorValue);
-        return element.getText();
+    private static String getElementText(Locator locator) {
+        WebElement element = getLocatedElement(locator);
+        if (element == null) {
+            throw new NoSuchElementException("Element not found for locator: " + locator);
+        }
+        return withFreshElement(locator, element, WebElement::getText);
     }
 
     /**
@@ -291,6 +461,15 @@ public class CommonUtil {
     }
 
 
+    /**
+     * Gets the soft assertions of the execution scope of the current thread, asserted when its test class ends.
+     *
+     * @return SoftAssertionManager of the current scope.
+     */
+    protected static SoftAssertionManager getSoftAssertions() {
+        return ExecutionScope.current().getSoftAssertions();
+    }
+
     /**
      * Method to validate the page title
      *
@@ -299,18 +478,16 @@ public class CommonUtil {
     protected static void validatePageTitle(String expectedPageTitle) {
         String actualPageTitle = getPageTitle();
         try {
+            // The result is reported with the other soft assertions of the test when it ends
+            getSoftAssertions().assertEquals(actualPageTitle, expectedPageTitle, "Title Validation");
             if (!isValidationSuccess(actualPageTitle, expectedPageTitle)) {
-                softAssertionManager.assertEquals(actualPageTitle, expectedPageTitle, "Title Validation Failed.");
                 LoggerManager.error("Title Validation Failed. Expected: " + expectedPageTitle + " but got: " + actualPageTitle);
-                ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Title Validation Failed. Expected: " + expectedPageTitle + " but got: " + actualPageTitle);
             } else {
-                softAssertionManager.assertEquals(actualPageTitle, expectedPageTitle, "Title Validation Passed.");
-                LoggerManager.info("Text Validation Passed. Expected: " + expectedPageTitle + " and got: " + actualPageTitle);
-                ExtentReportManager.getReportInstance().getExtent().log(Status.INFO, "Title Validation Passed. Expected: " + expectedPageTitle + " and got: " + actualPageTitle);
+                LoggerManager.info("Title Validation Passed. Expected: {} and got: {}", expectedPageTitle, actualPageTitle);
             }
         } catch (Exception e) {
             LoggerManager.error("Exception occurred during title validation: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Exception occurred during title validation: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Exception occurred during title validation: " + e.getMessage());
         }
     }
 
@@ -322,14 +499,23 @@ public class CommonUtil {
      * @param expectedPageText The expected text of the element
      */
     protected static void validatePageText(LocatorType locatorType, String locatorValue, String expectedPageText) {
-        String actualPageText = getElementText(locatorType, locatorValue);
+        validatePageText(Locator.of(locatorType, locatorValue), expectedPageText);
+    }
+
+    /**
+     * Method to validate the text of the element of a locator
+     *
+     * @param locator          The locator of the element
+     * @param expectedPageText The expected text of the element
+     */
+    protected static void validatePageText(Locator locator, String expectedPageText) {
+        String actualPageText = getElementText(locator);
+        // The result is reported with the other soft assertions of the test when it ends
+        getSoftAssertions().assertEquals(actualPageText, expectedPageText, "Text Validation", locator.toString());
         if (!isValidationSuccess(actualPageText, expectedPageText)) {
-            softAssertionManager.assertEquals(actualPageText, expectedPageText, "Text Validation Failed.");
             LoggerManager.error("Text Validation Failed. Expected: " + expectedPageText + " but got: " + actualPageText);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Text Validation Failed. Expected: " + expectedPageText + " but got: " + actualPageText);
         } else {
-            LoggerManager.info("Text Validation Passed. Expected: " + expectedPageText + " and got: " + actualPageText);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.INFO, "Text Validation Passed. Expected: " + expectedPageText + " and got: " + actualPageText);
+            LoggerManager.info("Text Validation Passed. Expected: {} and got: {}", expectedPageText, actualPageText);
         }
     }
 
@@ -352,6 +538,7 @@ public class CommonUtil {
      */
     protected static void refreshCurrentPage() {
         DriverManager.getDriverInstance().getDriver().navigate().refresh();
+        NavigationTimingMetrics.getMetricsInstance().capture(DriverManager.getDriverInstance().getDriver());
     }
 
     /**
@@ -385,48 +572,58 @@ public class CommonUtil {
             LoggerManager.info("Browser driver session disposed");
         } catch (Exception e) {
             LoggerManager.error("Exception: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Exception: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Exception: " + e.getMessage());
         }
     }
 
     /**
-     * Method to capture a screenshot and return the file path
+     * Method to capture a screenshot and return the file path. The screenshot is taken on the calling thread and
+     * encoded and written in the background, the returned path is valid once ScreenshotService.awaitPending returns.
      *
      * @param testCaseName The name of the test case
      * @return The file path of the captured screenshot
      */
     protected static String getScreenshot(String testCaseName) {
-        TakesScreenshot ts = (TakesScreenshot) DriverManager.getDriverInstance().getDriver();
-        File srcFile = ts.getScreenshotAs(OutputType.FILE);
-        String destFile = userDirectory + SCREENSHOTS_DIRECTORY + testCaseName + getDateTime() + ".jpg";
+        String basePath = userDirectory + SCREENSHOTS_DIRECTORY + testCaseName + getDateTime();
+        ScreenshotService.Screenshot screenshot = ScreenshotService.getScreenshotInstance()
+                .capture(DriverManager.getDriverInstance().getDriver(), basePath);
+        screenshot.getFuture().thenAccept(path -> LoggerManager.info("Screenshot for {} captured successfully", testCaseName));
+        return screenshot.getPath();
+    }
+
 
+    /**
+     * Captures a screenshot after an interaction and attaches it to the report, when the execution profile takes
+     * per-step screenshots.
+     *
+     * @param stepName The name of the step, used in the screenshot file name
+     */
+    private static void captureStepScreenshot(String stepName) {
+        if (!getExecutionProfile().isStepScreenshotsEnabled()) {
+            return;
+        }
         try {
-            if (srcFile != null) {
-                FileUtils.copyFile(srcFile, new File(destFile));
-                // Log screenshot capture success
-                LoggerManager.info("Screenshot for " + testCaseName + " captured successfully");
-            } else {
-                // Log if srcFile is null
-                LoggerManager.error("Failed to capture screenshot for " + testCaseName + ": srcFile is null");
-            }
-        } catch (IOException e) {
-            // Log screenshot capture failure
-            LoggerManager.error("Could not capture screenshot for " + testCaseName + ": " + e.getMessage());
+            ExtentReportManager.getReportInstance().addScreenCapture(getScreenshot(stepName + "_"), stepName);
+        } catch (Exception e) {
+            LoggerManager.error("Could not capture step screenshot for {}: {}", stepName, e.getMessage());
         }
-        return destFile;
     }
 
-
     /**
-     * Method to delete the reports directory
+     * Method to delete the reports directory, apart from the directories which outlive a run
      */
     protected static void deleteReportsDirectory() {
         String srcPath = userDirectory + "/reports/";
         File directory = new File(srcPath);
+        File[] files = directory.listFiles();
 
-        if (directory.exists()) {
+        if (files != null) {
             try {
-                FileUtils.deleteDirectory(directory);
+                for (File file : files) {
+                    if (!PRESERVED_REPORT_DIRECTORIES.contains(file.getName())) {
+                        FileUtils.forceDelete(file);
+                    }
+                }
                 LoggerManager.info("Directory '" + srcPath + "' deleted successfully!");
             } catch (IOException e) {
                 handleDeleteDirectoryException(srcPath, e);
@@ -444,7 +641,7 @@ public class CommonUtil {
      */
     private static void handleDeleteDirectoryException(String srcPath, IOException e) {
         LoggerManager.error("Could not delete directory '" + srcPath + "': " + e.getMessage());
-        ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Could not delete directory '" + srcPath + "': " + e.getMessage());
+        ExtentReportManager.getReportInstance().log(Status.FAIL, "Could not delete directory '" + srcPath + "': " + e.getMessage());
     }
 
     /**
@@ -457,64 +654,23 @@ public class CommonUtil {
             return ConfigFactory.getConfig().isHeadless();
         } catch (Exception e) {
             LoggerManager.error("Exception: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Exception: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Exception: " + e.getMessage());
             return false;
         }
     }
 
     /**
-     * Overrides the parallel attribute in the TestNG XML file based on the specified parallel mode.
-     * If the parallel mode is invalid, it defaults to 'none'.
+     * Gets the configured execution profile, falling back to DEBUG when the configuration is unavailable.
      *
-     * @param xmlFilePath The path to the TestNG XML file.
+     * @return the active ExecutionProfile
      */
-    protected static void setParallelExecution(String xmlFilePath) {
-        // Set the property to skip the directory check
-        System.setProperty("org.uncommons.reportng.skip-directory-check", "true");
-        // Log the value to verify if it's set correctly
-        System.out.println("Skip directory check property value: " + System.getProperty("org.uncommons.reportng.skip-directory-check"));
-
-        boolean isParallel = Boolean.parseBoolean(System.getProperty("parallel", "false"));
-
-        TestNG testNG = new TestNG();
-
-        List<XmlSuite> suites = new ArrayList<>();
-        XmlSuite suite = new XmlSuite();
-        suite.setFileName(xmlFilePath);
-
-        if (isParallel) {
-            XmlSuite.ParallelMode parallelModeEnum = getParallelMode("none");
-            suite.setParallel(parallelModeEnum);
-        } else {
-            suite.setParallel(XmlSuite.ParallelMode.NONE);
-        }
-
-        suites.add(suite);
-        testNG.setXmlSuites(suites);
-
-        testNG.run();
-    }
-
-    /**
-     * Converts a string representation of parallel mode to the corresponding XmlSuite.ParallelMode enum.
-     * If the specified parallel mode is invalid, it defaults to 'none' and prints a warning message.
-     *
-     * @param parallelMode The string representation of the parallel mode.
-     * @return The XmlSuite.ParallelMode enum corresponding to the parallel mode string.
-     */
-    private static XmlSuite.ParallelMode getParallelMode(String parallelMode) {
-        switch (parallelMode.toLowerCase()) {
-            case "tests":
-                return XmlSuite.ParallelMode.TESTS;
-            case "classes":
-                return XmlSuite.ParallelMode.CLASSES;
-            case "methods":
-                return XmlSuite.ParallelMode.METHODS;
-            case "instances":
-                return XmlSuite.ParallelMode.INSTANCES;
-            default:
-                System.out.println("Invalid parallel mode specified. Defaulting to 'none'.");
-                return XmlSuite.ParallelMode.NONE;
+    protected static ExecutionProfile getExecutionProfile() {
+        try {
+            ExecutionProfile profile = ConfigFactory.getConfig().getExecutionProfile();
+            return profile != null ? profile : ExecutionProfile.DEBUG;
+        } catch (Exception e) {
+            LoggerManager.error("Exception: " + e.getMessage());
+            return ExecutionProfile.DEBUG;
         }
     }
 
@@ -528,7 +684,7 @@ public class CommonUtil {
             return ConfigFactory.getConfig().canRecordVideo();
         } catch (Exception e) {
             LoggerManager.error("Exception: " + e.getMessage());
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, "Exception: " + e.getMessage());
+            ExtentReportManager.getReportInstance().log(Status.FAIL, "Exception: " + e.getMessage());
             return false;
         }
     }
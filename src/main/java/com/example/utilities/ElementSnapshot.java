@@ -0,0 +1,122 @@
+/*
+ * Description: This class holds the state of a web element as it was read by a bulk query: its text, attributes,
+ *              visibility and bounding box. Snapshots are plain values, they do not refer back to the browser and stay
+ *              valid after the page changes.
+ */
+
+package com.example.utilities;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class ElementSnapshot {
+
+    private final int index;
+    private final String tagName;
+    private final String text;
+    private final Map<String, String> attributes;
+    private final boolean displayed;
+    private final double x;
+    private final double y;
+    private final double width;
+    private final double height;
+
+    private ElementSnapshot(int index, String tagName, String text, Map<String, String> attributes, boolean displayed,
+                            double x, double y, double width, double height) {
+        this.index = index;
+        this.tagName = tagName;
+        this.text = text;
+        this.attributes = attributes;
+        this.displayed = displayed;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Builds a snapshot from one entry of the list returned by the bulk query script.
+     *
+     * @param index  Position of the element among the matches.
+     * @param result Map returned by the script for this element.
+     * @return ElementSnapshot of the element.
+     */
+    static ElementSnapshot fromScriptResult(int index, Map<?, ?> result) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        Object rawAttributes = result.get("attributes");
+        if (rawAttributes instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) rawAttributes).entrySet()) {
+                attributes.put(String.valueOf(entry.getKey()), entry.getValue() != null ? String.valueOf(entry.getValue()) : null);
+            }
+        }
+        return new ElementSnapshot(index,
+                asString(result.get("tagName")),
+                asString(result.get("text")),
+                Collections.unmodifiableMap(attributes),
+                Boolean.TRUE.equals(result.get("displayed")),
+                asDouble(result.get("x")),
+                asDouble(result.get("y")),
+                asDouble(result.get("width")),
+                asDouble(result.get("height")));
+    }
+
+    private static String asString(Object value) {
+        return value != null ? String.valueOf(value) : "";
+    }
+
+    // Browsers return whole numbers as Long and fractional numbers as Double
+    private static double asDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    // Rendered text of the element, as returned by innerText
+    public String getText() {
+        return text;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    // Value of the attribute, or null if the element does not have it
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    // Whether the element has a size and is not hidden by its computed style
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    // Bounding box relative to the viewport, in CSS pixels
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementSnapshot{index=" + index + ", tagName=" + tagName + ", text='" + text + "', displayed=" + displayed
+                + ", rect=[" + x + ", " + y + ", " + width + ", " + height + "]}";
+    }
+}
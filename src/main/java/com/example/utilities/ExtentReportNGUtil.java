@@ -10,21 +10,45 @@ import com.aventstack.extentreports.reporter.configuration.Theme;
 import com.example.configManager.ConfigFactory;
 import com.example.configManager.FMConfig;
 import com.example.logManager.LoggerManager;
+import com.example.reportManager.StreamingReportWriter;
+
+import java.io.IOException;
 
 public class ExtentReportNGUtil {
 
     /**
-     * Creates an ExtentReports instance and attaches the ExtentSparkReporter.
+     * Creates an ExtentReports instance and attaches the ExtentSparkReporter. When reportStreaming is enabled the
+     * instance of the StreamingReportWriter is returned instead, finished tests are written to disk and leave it.
      *
      * @return ExtentReports instance
+     * @throws IOException if the streaming report cannot be started
      */
-    public static ExtentReports createExtentReports() {
-        ExtentReports extent = new ExtentReports();
-        extent.attachReporter(createSparkReporter());
+    public static ExtentReports createExtentReports() throws IOException {
+        ExtentReports extent;
+        if (StreamingReportWriter.getWriterInstance().isEnabled()) {
+            extent = StreamingReportWriter.getWriterInstance().start();
+        } else {
+            extent = new ExtentReports();
+            extent.attachReporter(createSparkReporter());
+        }
         setSystemInfo(extent);
         return extent;
     }
 
+    /**
+     * Sets a system information entry in the ExtentReports instance and in the streaming report.
+     *
+     * @param extent ExtentReports instance
+     * @param name   Name of the entry
+     * @param value  Value of the entry
+     */
+    public static void setSystemInfo(ExtentReports extent, String name, String value) {
+        extent.setSystemInfo(name, value);
+        if (StreamingReportWriter.getWriterInstance().isEnabled()) {
+            StreamingReportWriter.getWriterInstance().setSystemInfo(name, value);
+        }
+    }
+
     /**
      * Creates and configures the ExtentSparkReporter for report generation.
      *
@@ -47,13 +71,14 @@ public class ExtentReportNGUtil {
     private static void setSystemInfo(ExtentReports extent) {
         FMConfig config = ConfigFactory.getConfig();
         if (config != null) {
-            extent.setSystemInfo("Browser", String.valueOf(config.getBrowser()));
+            setSystemInfo(extent, "Browser", String.valueOf(config.getBrowser()));
+            setSystemInfo(extent, "Execution Profile", String.valueOf(config.getExecutionProfile()));
         } else {
             LoggerManager.error("Config object is null. Unable to set system info for Browser.");
         }
-        extent.setSystemInfo("OS", System.getProperty("os.name"));
-        extent.setSystemInfo("URL", ConfigFactory.getConfig().getUrl());
-        extent.setSystemInfo("Tester", System.getProperty("user.name"));
+        setSystemInfo(extent, "OS", System.getProperty("os.name"));
+        setSystemInfo(extent, "URL", ConfigFactory.getConfig().getUrl());
+        setSystemInfo(extent, "Tester", System.getProperty("user.name"));
     }
 }
 
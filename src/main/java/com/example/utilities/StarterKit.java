@@ -5,23 +5,37 @@
 package com.example.utilities;
 
 import com.aventstack.extentreports.Status;
+import com.example.browserManager.GridAdmissionController;
+import com.example.driverManager.DriverManager;
+import com.example.driverManager.DriverSessionPool;
+import com.example.driverManager.GridCommandMetrics;
+import com.example.driverManager.RemoteSessionFactory;
+import com.example.executionManager.ExecutionScope;
 import com.example.logManager.LoggerManager;
 import com.example.reportManager.ExtentReportManager;
 import com.example.testbuilder.TestBuilder;
+import org.openqa.selenium.WebDriverException;
+import org.testng.SkipException;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeSuite;
 
 public class StarterKit extends CommonUtil {
 
     /**
-     * Sets up the environment before the suite starts by configuring parallel execution and deleting existing report files.
+     * Sets up the environment before the suite starts by applying the log level of the execution profile and deleting
+     * existing report files. Parallel execution is configured before the suite starts, by the TestLauncher or the
+     * ParallelSuiteListener.
      */
     @BeforeSuite
     public void setUp() {
         try {
+            // Apply the log verbosity of the execution profile unless a level was requested explicitly
+            if (System.getProperty("logLevel") == null) {
+                LoggerManager.setLevel(getExecutionProfile().getLogLevel());
+            }
             if (userDirectory != null) {
-                setParallelExecution(userDirectory + "/testng.xml");
                 deleteReportsDirectory();
             } else {
                 System.out.println("User directory is null. Unable to set up environment.");
@@ -32,40 +46,80 @@ public class StarterKit extends CommonUtil {
     }
 
     /**
-     * Initializes the test environment before the test class starts.
+     * Initializes the test environment before the test class starts, in a new execution scope holding the WebDriver
+     * session and report entries of the class.
      */
     @BeforeClass
     public void initializeTest() {
+        ExecutionScope.open(getClass().getName());
         try {
             TestBuilder testBuilder = TestBuilder.builder()
                     .initializeDriver()
                     .setMaximizeWindow(true)
                     .setDeleteCookies(true)
-                    .setImplicitWait(10)
+                    .setImplicitWait(0)
                     .setPageLoadTimeout(30)
                     .setScriptTimeout(30)
                     .url()
                     .build();
             // LoggerManager.info("TestBuilder details: " + testBuilder.toString());
+        } catch (WebDriverException e) {
+            // Without a session the tests of the class cannot run: skip the class with the cause, closing the scope
+            // since the teardown of a skipped class does not run
+            String errorMessage = "No WebDriver session for " + getClass().getName() + ", skipping its tests: " + e.getMessage();
+            LoggerManager.error(errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.SKIP, errorMessage);
+            ExecutionScope.current().close();
+            throw new SkipException(errorMessage, e);
         } catch (Exception e) {
             String errorMessage = "Exception during test initialization: " + e.getMessage();
             LoggerManager.error(errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
         }
     }
 
     /**
-     * Closes the application and performs cleanup after the test class ends.
+     * Closes the application and performs cleanup after the test class ends, then closes its execution scope.
      */
     @AfterClass
     public void closeTest() {
         try {
             disposeDriver();
-            softAssertionManager.assertAll();
+            getSoftAssertions().assertAll();
         } catch (Exception e) {
             String errorMessage = "Exception during test teardown: " + e.getMessage();
             LoggerManager.error(errorMessage);
-            ExtentReportManager.getReportInstance().getExtent().log(Status.FAIL, errorMessage);
+            ExtentReportManager.getReportInstance().log(Status.FAIL, errorMessage);
+        } finally {
+            ExecutionScope.current().close();
+        }
+    }
+
+    /**
+     * Disposes of the sessions of execution scopes which were not closed, quits the sessions kept by the session pool
+     * once the suite ends and logs the pool, Grid admission and remote session statistics.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void shutDownSessionPool() {
+        try {
+            for (ExecutionScope scope : ExecutionScope.getOpenScopes()) {
+                LoggerManager.warn("Execution scope '{}' was not closed, disposing of its WebDriver session", scope.getName());
+                DriverManager.getDriverInstance().removeDriver(scope);
+                scope.close();
+            }
+            if (DriverSessionPool.isInitialized()) {
+                LoggerManager.info("Session pool statistics: {}", DriverSessionPool.getPoolInstance().getStatistics());
+                DriverSessionPool.getPoolInstance().shutdown();
+            }
+            if (GridAdmissionController.isEnabled()) {
+                LoggerManager.info("Grid admission statistics: {}", GridAdmissionController.getControllerInstance().getStatistics());
+            }
+            if (RemoteSessionFactory.isInitialized()) {
+                LoggerManager.info("Remote session statistics: {}", RemoteSessionFactory.getFactoryInstance().getStatistics());
+                GridCommandMetrics.getMetricsInstance().describe().forEach(LoggerManager::info);
+            }
+        } catch (Exception e) {
+            LoggerManager.error("Exception during session pool shutdown: " + e.getMessage());
         }
     }
 
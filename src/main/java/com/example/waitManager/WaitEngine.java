@@ -0,0 +1,190 @@
+/*
+ * Description: This class owns all synchronization with the browser. Conditions are checked with adaptive polling: the
+ *              first checks follow each other quickly and the interval backs off while the condition stays false. A
+ *              wait ends early when one of the fail-fast locators of its policy appears. The engine is stateless: the
+ *              poll count of the last wait is kept by the execution scope which waited. Implicit waits are kept at zero
+ *              so that every lookup returns immediately and timeouts never stack.
+ */
+
+package com.example.waitManager;
+
+import com.example.driverManager.DriverManager;
+import com.example.executionManager.ExecutionScope;
+import com.example.locatorManager.Locator;
+import com.example.logManager.LoggerManager;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.function.Function;
+
+public class WaitEngine {
+
+    // Singleton instance of WaitEngine, shared by every thread
+    private static final WaitEngine instance = new WaitEngine();
+
+    // Private constructor to enforce Singleton pattern
+    private WaitEngine() {
+    }
+
+    /**
+     * Retrieves the singleton instance of WaitEngine.
+     *
+     * @return WaitEngine instance.
+     */
+    public static WaitEngine getWaitInstance() {
+        return instance;
+    }
+
+    /**
+     * Waits with the default policy until the condition returns a value other than null or false.
+     *
+     * @param condition Condition evaluated against the WebDriver of the current thread.
+     * @return The value returned by the condition.
+     * @throws TimeoutException if the condition is not met in time or a fail-fast locator appears.
+     */
+    public <T> T until(Function<WebDriver, T> condition) {
+        return until(condition, WaitPolicy.defaultPolicy());
+    }
+
+    /**
+     * Waits until the condition returns a value other than null or false. NotFoundException and
+     * StaleElementReferenceException thrown by the condition count as "not yet".
+     *
+     * @param condition Condition evaluated against the WebDriver of the current thread.
+     * @param policy    Timeout, polling and fail-fast locators of the wait.
+     * @return The value returned by the condition.
+     * @throws TimeoutException if the condition is not met in time or a fail-fast locator appears.
+     */
+    public <T> T until(Function<WebDriver, T> condition, WaitPolicy policy) {
+        ExecutionScope scope = ExecutionScope.current();
+        scope.setLastPollCount(0);
+        WebDriver driver = DriverManager.getDriverInstance().getDriver();
+        if (driver == null) {
+            throw new WebDriverException("No WebDriver session available to wait on");
+        }
+        long start = System.nanoTime();
+        long deadline = start + policy.getTimeout().toNanos();
+        long pollMillis = policy.getInitialPollInterval().toMillis();
+        RuntimeException lastException = null;
+        int pollCount = 0;
+
+        while (true) {
+            scope.setLastPollCount(++pollCount);
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            Locator failFastLocator = findFailFastLocator(driver, policy);
+            if (failFastLocator != null) {
+                String message = "Wait for " + condition + " aborted after " + elapsedMillis(start) + " ms: fail-fast element " + failFastLocator + " appeared";
+                LoggerManager.warn(message);
+                throw new TimeoutException(message, lastException);
+            }
+
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                throw new TimeoutException("Expected condition failed: waiting for " + condition + " (tried for " + elapsedMillis(start)
+                        + " ms with " + pollCount + " polls, " + policy + ")", lastException);
+            }
+            sleep(Math.max(1, Math.min(pollMillis, remainingMillis)));
+            pollMillis = policy.nextPollMillis(pollMillis);
+        }
+    }
+
+    /**
+     * Waits for the element of the locator to be present, using the wait policy of the locator.
+     *
+     * @param locator Locator of the element.
+     * @return WebElement found for the locator.
+     * @throws TimeoutException if the element is not present in time or a fail-fast locator appears.
+     */
+    public WebElement untilPresent(Locator locator) {
+        return until(new Function<WebDriver, WebElement>() {
+            @Override
+            public WebElement apply(WebDriver driver) {
+                return driver.findElement(locator.getBy());
+            }
+
+            @Override
+            public String toString() {
+                return "presence of " + locator;
+            }
+        }, getPolicy(locator));
+    }
+
+    /**
+     * Waits for every element of the locator to be gone, using the wait policy of the locator. Returns at the first
+     * check when the element is already absent.
+     *
+     * @param locator Locator of the element.
+     * @return true if no element of the locator is present, false if one was still present when the wait timed out.
+     */
+    public boolean untilAbsent(Locator locator) {
+        try {
+            return until(new Function<WebDriver, Boolean>() {
+                @Override
+                public Boolean apply(WebDriver driver) {
+                    return driver.findElements(locator.getBy()).isEmpty();
+                }
+
+                @Override
+                public String toString() {
+                    return "absence of " + locator;
+                }
+            }, getPolicy(locator));
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves the number of checks made by the last wait of the current execution scope.
+     *
+     * @return int representing the number of polls.
+     */
+    public int getLastPollCount() {
+        ExecutionScope scope = ExecutionScope.peek();
+        return scope != null ? scope.getLastPollCount() : 0;
+    }
+
+    // Locator specific policy, or the default one
+    private static WaitPolicy getPolicy(Locator locator) {
+        return locator.getWaitPolicy() != null ? locator.getWaitPolicy() : WaitPolicy.defaultPolicy();
+    }
+
+    // With implicit waits at zero findElements returns at once, so fail-fast checks do not slow down the wait
+    private static Locator findFailFastLocator(WebDriver driver, WaitPolicy policy) {
+        for (Locator locator : policy.getFailFastLocators()) {
+            try {
+                if (!driver.findElements(locator.getBy()).isEmpty()) {
+                    return locator;
+                }
+            } catch (WebDriverException e) {
+                LoggerManager.debug("Fail-fast check of {} failed: {}", locator, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+}
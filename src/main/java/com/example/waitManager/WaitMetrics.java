@@ -0,0 +1,191 @@
+/*
+ * Description: This class collects the latency of the element waits per page and locator, together with the number of
+ *              timeouts and polls, and exports them at the end of the suite as CSV and JSON files and as a table for the
+ *              report. Rows are ordered by the total time spent waiting, so the waits that dominate the suite come first.
+ */
+
+package com.example.waitManager;
+
+import com.example.locatorManager.Locator;
+import com.example.logManager.LoggerManager;
+import com.example.reportManager.MetricsTables;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class WaitMetrics {
+
+    // Page used for locators which are not named after a page object
+    private static final String UNKNOWN_PAGE = "unnamed";
+
+    // Column headers shared by the CSV file and the report table
+    private static final String[] HEADERS = {"Page", "Locator", "Waits", "Total ms", "p50 ms", "p95 ms", "p99 ms", "Max ms", "Timeouts", "Polls"};
+
+    // Singleton instance of WaitMetrics
+    private static final WaitMetrics instance = new WaitMetrics();
+
+    private final Map<String, LocatorStats> stats = new ConcurrentHashMap<>();
+
+    // Private constructor to enforce Singleton pattern
+    private WaitMetrics() {
+    }
+
+    /**
+     * Retrieves the singleton instance of WaitMetrics.
+     *
+     * @return WaitMetrics instance.
+     */
+    public static WaitMetrics getMetricsInstance() {
+        return instance;
+    }
+
+    /**
+     * Records a wait for the element of a locator.
+     *
+     * @param locator  Locator the wait resolved.
+     * @param nanos    Time spent waiting, in nanoseconds.
+     * @param polls    Number of checks made by the wait, waits without any check are ignored.
+     * @param timedOut Whether the wait ended without finding the element.
+     */
+    public void record(Locator locator, long nanos, int polls, boolean timedOut) {
+        // A wait which never checked its condition, e.g. because no session was available, says nothing about the locator
+        if (polls == 0) {
+            return;
+        }
+        String page = getPage(locator);
+        String name;
+        if (!locator.isNamed()) {
+            name = locator.getType() + ": " + locator.getValue();
+        } else {
+            name = UNKNOWN_PAGE.equals(page) ? locator.getName() : locator.getName().substring(page.length() + 1);
+        }
+        LocatorStats locatorStats = stats.get(page + '\u0000' + name);
+        if (locatorStats == null) {
+            locatorStats = stats.computeIfAbsent(page + '\u0000' + name, key -> new LocatorStats(page, name));
+        }
+        locatorStats.histogram.record(nanos);
+        locatorStats.polls.add(polls);
+        if (timedOut) {
+            locatorStats.timeouts.increment();
+        }
+    }
+
+    /**
+     * Checks whether any wait was recorded.
+     *
+     * @return true if no wait was recorded, false otherwise.
+     */
+    public boolean isEmpty() {
+        return stats.isEmpty();
+    }
+
+    /**
+     * Builds the table of the recorded waits, header first, ordered by the total time spent waiting.
+     *
+     * @return String[][] holding one row per page and locator.
+     */
+    public String[][] toTable() {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(HEADERS.clone());
+        for (LocatorStats locatorStats : getSortedStats()) {
+            LatencyHistogram histogram = locatorStats.histogram;
+            rows.add(new String[]{
+                    locatorStats.page,
+                    locatorStats.locator,
+                    String.valueOf(histogram.getCount()),
+                    MetricsTables.format(histogram.getTotalMillis()),
+                    MetricsTables.format(histogram.getPercentileMillis(50)),
+                    MetricsTables.format(histogram.getPercentileMillis(95)),
+                    MetricsTables.format(histogram.getPercentileMillis(99)),
+                    MetricsTables.format(histogram.getMaxMillis()),
+                    String.valueOf(locatorStats.timeouts.sum()),
+                    String.valueOf(locatorStats.polls.sum())
+            });
+        }
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Writes the recorded waits as CSV and JSON files.
+     *
+     * @param csvFile  Destination of the CSV file.
+     * @param jsonFile Destination of the JSON file.
+     */
+    public void export(Path csvFile, Path jsonFile) {
+        String[][] table = toTable();
+        try {
+            MetricsTables.writeCsv(csvFile, table);
+
+            List<Map<String, Object>> entries = new ArrayList<>();
+            for (int row = 1; row < table.length; row++) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                for (int column = 0; column < HEADERS.length; column++) {
+                    entry.put(toJsonKey(HEADERS[column]), toJsonValue(column, table[row][column]));
+                }
+                entries.add(entry);
+            }
+            Files.createDirectories(jsonFile.toAbsolutePath().getParent());
+            Files.write(jsonFile, new Json().toJson(entries).getBytes(StandardCharsets.UTF_8));
+            LoggerManager.info("Wait latency of {} locators exported to {}", entries.size(), csvFile.getParent());
+        } catch (IOException e) {
+            LoggerManager.error("Could not export wait latency: " + e.getMessage());
+        }
+    }
+
+    private List<LocatorStats> getSortedStats() {
+        List<LocatorStats> sorted = new ArrayList<>(stats.values());
+        sorted.sort(Comparator.comparingDouble((LocatorStats locatorStats) -> locatorStats.histogram.getTotalMillis()).reversed());
+        return sorted;
+    }
+
+    // Page objects name their locators "Page.element"
+    private static String getPage(Locator locator) {
+        if (!locator.isNamed()) {
+            return UNKNOWN_PAGE;
+        }
+        int separator = locator.getName().indexOf('.');
+        return separator > 0 ? locator.getName().substring(0, separator) : UNKNOWN_PAGE;
+    }
+
+    // Page and locator are text, the latencies are decimal numbers and the counters whole numbers
+    private static Object toJsonValue(int column, String value) {
+        if (column < 2) {
+            return value;
+        }
+        return value.indexOf('.') >= 0 ? (Object) Double.valueOf(value) : (Object) Long.valueOf(value);
+    }
+
+    // "Total ms" becomes "totalMs"
+    private static String toJsonKey(String header) {
+        String[] words = header.split(" ");
+        StringBuilder key = new StringBuilder(words[0].toLowerCase(Locale.ROOT));
+        for (int i = 1; i < words.length; i++) {
+            key.append(Character.toUpperCase(words[i].charAt(0))).append(words[i].substring(1));
+        }
+        return key.toString();
+    }
+
+    private static final class LocatorStats {
+        private final String page;
+        private final String locator;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder polls = new LongAdder();
+
+        private LocatorStats(String page, String locator) {
+            this.page = page;
+            this.locator = locator;
+        }
+    }
+}
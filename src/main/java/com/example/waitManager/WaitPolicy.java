@@ -0,0 +1,121 @@
+/*
+ * Description: This class describes how long and how often the WaitEngine checks a condition. Polling starts fast and
+ *              backs off towards the maximum interval, and a policy may name fail-fast locators, such as an error
+ *              banner, whose appearance ends the wait immediately instead of letting it run into its timeout.
+ *              Policies are immutable, the with* methods return modified copies.
+ */
+
+package com.example.waitManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.configManager.FMConfig;
+import com.example.locatorManager.Locator;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class WaitPolicy {
+
+    // Policy built from the configuration, used when a locator does not declare its own
+    private static final WaitPolicy DEFAULT_POLICY = fromConfig();
+
+    private final Duration timeout;
+    private final Duration initialPollInterval;
+    private final Duration maxPollInterval;
+    private final double backoffMultiplier;
+    private final List<Locator> failFastLocators;
+
+    private WaitPolicy(Duration timeout, Duration initialPollInterval, Duration maxPollInterval, double backoffMultiplier,
+                       List<Locator> failFastLocators) {
+        this.timeout = timeout;
+        this.initialPollInterval = initialPollInterval;
+        this.maxPollInterval = maxPollInterval.compareTo(initialPollInterval) < 0 ? initialPollInterval : maxPollInterval;
+        this.backoffMultiplier = Math.max(1d, backoffMultiplier);
+        this.failFastLocators = failFastLocators;
+    }
+
+    /**
+     * Retrieves the policy built from the waitTimeout, waitPollInterval, waitMaxPollInterval and waitBackoffMultiplier
+     * settings.
+     *
+     * @return WaitPolicy used by default.
+     */
+    public static WaitPolicy defaultPolicy() {
+        return DEFAULT_POLICY;
+    }
+
+    private static WaitPolicy fromConfig() {
+        FMConfig config = ConfigFactory.getConfig();
+        if (config == null) {
+            return new WaitPolicy(Duration.ofSeconds(30), Duration.ofMillis(50), Duration.ofMillis(500), 1.5, Collections.emptyList());
+        }
+        return new WaitPolicy(Duration.ofSeconds(config.getWaitTimeout()), Duration.ofMillis(config.getWaitPollInterval()),
+                Duration.ofMillis(config.getWaitMaxPollInterval()), config.getWaitBackoffMultiplier(), Collections.emptyList());
+    }
+
+    /**
+     * Creates a copy of this policy with a different timeout.
+     *
+     * @param timeout Maximum time to wait.
+     * @return WaitPolicy with the timeout.
+     */
+    public WaitPolicy withTimeout(Duration timeout) {
+        return new WaitPolicy(timeout, initialPollInterval, maxPollInterval, backoffMultiplier, failFastLocators);
+    }
+
+    /**
+     * Creates a copy of this policy with different polling intervals.
+     *
+     * @param initialPollInterval Interval before the second check.
+     * @param maxPollInterval     Interval the backoff grows to.
+     * @param backoffMultiplier   Factor applied to the interval after every check.
+     * @return WaitPolicy with the polling intervals.
+     */
+    public WaitPolicy withPolling(Duration initialPollInterval, Duration maxPollInterval, double backoffMultiplier) {
+        return new WaitPolicy(timeout, initialPollInterval, maxPollInterval, backoffMultiplier, failFastLocators);
+    }
+
+    /**
+     * Creates a copy of this policy which ends the wait as soon as an element of one of the locators is present.
+     *
+     * @param locators Locators of the elements signalling that the wait can no longer succeed.
+     * @return WaitPolicy with the fail-fast locators.
+     */
+    public WaitPolicy failFastOn(Locator... locators) {
+        return new WaitPolicy(timeout, initialPollInterval, maxPollInterval, backoffMultiplier,
+                Collections.unmodifiableList(Arrays.asList(locators.clone())));
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Duration getInitialPollInterval() {
+        return initialPollInterval;
+    }
+
+    public Duration getMaxPollInterval() {
+        return maxPollInterval;
+    }
+
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    public List<Locator> getFailFastLocators() {
+        return failFastLocators;
+    }
+
+    // Interval to sleep after a check which slept for the given interval
+    long nextPollMillis(long currentPollMillis) {
+        return Math.min(maxPollInterval.toMillis(), (long) Math.ceil(Math.max(1, currentPollMillis) * backoffMultiplier));
+    }
+
+    @Override
+    public String toString() {
+        return "WaitPolicy{timeout=" + timeout.toMillis() + "ms, poll=" + initialPollInterval.toMillis() + ".." + maxPollInterval.toMillis()
+                + "ms x" + backoffMultiplier + (failFastLocators.isEmpty() ? "" : ", failFastOn=" + failFastLocators) + "}";
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.browserManager;
+
+import com.example.enums.BrowserType;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class GridAdmissionControllerTest {
+
+    private HttpServer server;
+    private String gridUrl;
+
+    // Slots reported by the stub Grid: free Chrome slots, busy Chrome slots and free Firefox slots
+    private volatile int freeChromeSlots;
+    private volatile int busyChromeSlots;
+    private volatile int freeFirefoxSlots;
+    private volatile int statusCode = 200;
+
+    /**
+     * Starts a stub Grid answering /status with the slots set by the test.
+     */
+    @BeforeMethod
+    public void startGrid() throws Exception {
+        freeChromeSlots = 0;
+        busyChromeSlots = 0;
+        freeFirefoxSlots = 0;
+        statusCode = 200;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/wd/hub/status", exchange -> {
+            byte[] body = getStatus().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(statusCode, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        gridUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/wd/hub";
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopGrid() {
+        server.stop(0);
+    }
+
+    /**
+     * Requests beyond the free slots wait, and are admitted in arrival order as slots become free.
+     */
+    @Test
+    public void queuedRequestsAreAdmittedInArrivalOrder() throws Exception {
+        GridAdmissionController controller = new GridAdmissionController(gridUrl, 20, 10_000);
+        freeChromeSlots = 1;
+        controller.acquire(BrowserType.CHROME);
+        controller.complete(BrowserType.CHROME, true);
+        freeChromeSlots = 0;
+        busyChromeSlots = 1;
+
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        Thread first = startRequest(controller, "first", admitted);
+        awaitQueueLength(controller, 1);
+        Thread second = startRequest(controller, "second", admitted);
+        awaitQueueLength(controller, 2);
+        Assert.assertTrue(admitted.isEmpty(), "No request may be admitted while the Grid is full");
+
+        freeChromeSlots = 1;
+        first.join(5000);
+        Assert.assertEquals(admitted, Collections.singletonList("first"));
+        Assert.assertTrue(second.isAlive(), "The second request must wait for another free slot");
+
+        controller.complete(BrowserType.CHROME, true);
+        freeChromeSlots = 1;
+        second.join(5000);
+        Assert.assertEquals(admitted, Arrays.asList("first", "second"));
+
+        GridAdmissionController.Statistics statistics = controller.getStatistics();
+        Assert.assertEquals(statistics.getAdmissions(), 3);
+        Assert.assertEquals(statistics.getQueuedAdmissions(), 2);
+        Assert.assertTrue(statistics.getMaxWaitMillis() > 0, "Queued requests must record their wait time");
+    }
+
+    /**
+     * The slots of one browser do not hold up requests for another.
+     */
+    @Test
+    public void browsersAreAdmittedIndependently() {
+        GridAdmissionController controller = new GridAdmissionController(gridUrl, 20, 10_000);
+        busyChromeSlots = 2;
+        freeFirefoxSlots = 1;
+        controller.acquire(BrowserType.FIREFOX);
+        Assert.assertEquals(controller.getStatistics().getQueuedAdmissions(), 0);
+    }
+
+    /**
+     * A request which finds no free slot in time fails instead of waiting forever.
+     */
+    @Test
+    public void requestTimesOutWhenNoSlotBecomesFree() {
+        GridAdmissionController controller = new GridAdmissionController(gridUrl, 20, 300);
+        busyChromeSlots = 1;
+        Assert.assertThrows(WebDriverException.class, () -> controller.acquire(BrowserType.CHROME));
+        Assert.assertEquals(controller.getStatistics().getTimeouts(), 1);
+        Assert.assertEquals(controller.getQueueLength(BrowserType.CHROME), 0);
+    }
+
+    /**
+     * Requests are admitted without a capacity check while the Grid does not report its slots.
+     */
+    @Test
+    public void requestsAreAdmittedWhenStatusIsUnavailable() {
+        GridAdmissionController controller = new GridAdmissionController(gridUrl, 20, 10_000);
+        statusCode = 500;
+        controller.acquire(BrowserType.CHROME);
+        controller.acquire(BrowserType.CHROME);
+        Assert.assertEquals(controller.getStatistics().getAdmissions(), 2);
+    }
+
+    private static Thread startRequest(GridAdmissionController controller, String name, List<String> admitted) {
+        Thread thread = new Thread(() -> {
+            controller.acquire(BrowserType.CHROME);
+            admitted.add(name);
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitQueueLength(GridAdmissionController controller, int length) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (controller.getQueueLength(BrowserType.CHROME) < length && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assert.assertEquals(controller.getQueueLength(BrowserType.CHROME), length);
+    }
+
+    // Grid 4 status with one node holding the configured slots
+    private String getStatus() {
+        StringBuilder slots = new StringBuilder();
+        appendSlots(slots, "chrome", freeChromeSlots, false);
+        appendSlots(slots, "chrome", busyChromeSlots, true);
+        appendSlots(slots, "firefox", freeFirefoxSlots, false);
+        return "{\"value\": {\"ready\": true, \"message\": \"Selenium Grid ready.\", \"nodes\": [{\"id\": \"node-1\", "
+                + "\"availability\": \"UP\", \"maxSessions\": 4, \"slots\": [" + slots + "]}]}}";
+    }
+
+    private static void appendSlots(StringBuilder slots, String browserName, int count, boolean busy) {
+        for (int i = 0; i < count; i++) {
+            slots.append(slots.length() > 0 ? ", " : "")
+                    .append("{\"stereotype\": {\"browserName\": \"").append(browserName).append("\"}, \"session\": ")
+                    .append(busy ? "{\"sessionId\": \"session-" + i + "\"}" : "null").append("}");
+        }
+    }
+}
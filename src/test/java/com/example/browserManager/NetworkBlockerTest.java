@@ -0,0 +1,201 @@
+package com.example.browserManager;
+
+import com.example.configManager.ConfigFactory;
+import com.example.driverManager.LocalChromeDriverManager;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class NetworkBlockerTest {
+
+    // Page of the fixture: an image, a web font and an analytics script, all three on the block list
+    private static final String PAGE = "<html><head><style>@font-face { font-family: brand; src: url(/brand.woff2); }"
+            + " body { font-family: brand; }</style><script src=\"/analytics.js\"></script></head>"
+            + "<body><h1>Fixture</h1><img src=\"/logo.png\"></body></html>";
+
+    private HttpServer server;
+    private String baseUrl;
+
+    // Paths the fixture server was asked for
+    private final Set<String> served = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts the local HTTP fixture serving the page and its resources.
+     */
+    @BeforeMethod
+    public void startFixture() throws Exception {
+        served.clear();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            served.add(path);
+            byte[] body = ("/page.html".equals(path) ? PAGE : "x").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "/page.html".equals(path) ? "text/html" : "application/octet-stream");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopFixture() {
+        server.stop(0);
+    }
+
+    /**
+     * The recorder counts page loads of the main frame only, and estimates the bytes saved by the blocked requests from
+     * the loaded requests of the same type.
+     */
+    @Test
+    public void blockedRequestsAreRecordedPerPage() {
+        NetworkBlockingMetrics metrics = new NetworkBlockingMetrics();
+        NetworkBlocker.SessionRecorder recorder = new NetworkBlocker.SessionRecorder(metrics);
+        String page = baseUrl + "/page.html";
+
+        recorder.onRequestWillBeSent(request("1", "1", "main", "Document", page + "?session=1"));
+        // The redirect and the document of an iframe are no page loads of their own
+        Map<String, Object> redirect = request("1", "1", "main", "Document", page);
+        redirect.put("redirectResponse", new HashMap<>());
+        recorder.onRequestWillBeSent(redirect);
+        recorder.onLoadingFinished(finished("1", 1000));
+        recorder.onRequestWillBeSent(request("2", "2", "frame", "Document", baseUrl + "/frame.html"));
+        recorder.onLoadingFinished(finished("2", 1024));
+        recorder.onRequestWillBeSent(request("3", "1", "main", "Image", baseUrl + "/hero.png"));
+        recorder.onLoadingFinished(finished("3", 4096));
+        recorder.onRequestWillBeSent(request("4", "1", "main", "Image", baseUrl + "/logo.png"));
+        recorder.onLoadingFailed(failed("4", "inspector"));
+        recorder.onRequestWillBeSent(request("5", "1", "main", "Script", baseUrl + "/analytics.js"));
+        recorder.onLoadingFailed(failed("5", "inspector"));
+        recorder.onRequestWillBeSent(request("6", "1", "main", "XHR", baseUrl + "/poll"));
+        recorder.onLoadingFailed(failed("6", null));
+
+        String[][] table = metrics.toTable();
+        Assert.assertEquals(table.length, 2, "One row per page after the header");
+        // 6 requests, 2 blocked; no script loaded, so only the image adds to the estimate, which is a lower bound
+        Assert.assertEquals(table[1], new String[]{page, "1", "6", "2", "6.0", "4.0+"});
+    }
+
+    /**
+     * Blocked requests of types which never loaded have no size to estimate from, and their savings are not reported
+     * as 0.
+     */
+    @Test
+    public void savingsWithoutSampleAreNotAvailable() {
+        NetworkBlockingMetrics metrics = new NetworkBlockingMetrics();
+        metrics.recordLoad("http://fixture/page.html");
+        metrics.recordLoaded("http://fixture/page.html", "Document", 2048);
+        metrics.recordFailed("http://fixture/page.html", "Font", true);
+        metrics.recordLoad("http://fixture/plain.html");
+        metrics.recordLoaded("http://fixture/plain.html", "Document", 1024);
+
+        // Neither page saved anything measurable, so their order is undefined
+        Map<String, String[]> rows = new HashMap<>();
+        for (String[] row : metrics.toTable()) {
+            rows.put(row[0], row);
+        }
+        Assert.assertEquals(rows.get("http://fixture/page.html"), new String[]{"http://fixture/page.html", "1", "2", "1", "2.0", "n/a"});
+        Assert.assertEquals(rows.get("http://fixture/plain.html"), new String[]{"http://fixture/plain.html", "1", "1", "0", "1.0", "0.0"});
+    }
+
+    /**
+     * Against the local fixture, Chrome never requests the resources on the block list, and the metrics of the page
+     * show them as blocked.
+     */
+    @Test
+    public void chromeSkipsBlockedResources() throws Exception {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("headless", "true");
+        properties.put("networkBlockPatterns", "*/analytics.js, *.woff2 *.png");
+        properties.put("networkCacheDisabled", "true");
+        Map<String, String> previous = new HashMap<>();
+        properties.forEach((key, value) -> previous.put(key, System.setProperty(key, value)));
+        ConfigFactory.reload();
+        WebDriver driver = null;
+        try {
+            driver = LocalChromeDriverManager.getLocalChromeDriver();
+            if (driver == null) {
+                throw new SkipException("Chrome is not available");
+            }
+            driver.get(baseUrl + "/page.html");
+
+            Assert.assertTrue(served.contains("/page.html"), "The page must load");
+            Assert.assertFalse(served.contains("/analytics.js"), "The script is on the block list");
+            Assert.assertFalse(served.contains("/logo.png"), "The image is on the block list");
+            Assert.assertFalse(served.contains("/brand.woff2"), "The font is on the block list");
+            // Failure events may follow the load event
+            long deadline = System.currentTimeMillis() + 5000;
+            String[] row = getRow(baseUrl + "/page.html");
+            while ((row == null || Integer.parseInt(row[3]) < 2) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                row = getRow(baseUrl + "/page.html");
+            }
+            Assert.assertNotNull(row, "The page must be recorded");
+            Assert.assertTrue(Integer.parseInt(row[3]) >= 2, "The script and the image must be recorded as blocked");
+        } finally {
+            if (driver != null) {
+                driver.quit();
+            }
+            previous.forEach((key, value) -> {
+                if (value == null) {
+                    System.clearProperty(key);
+                } else {
+                    System.setProperty(key, value);
+                }
+            });
+            ConfigFactory.reload();
+        }
+    }
+
+    private static String[] getRow(String page) {
+        for (String[] row : NetworkBlockingMetrics.getMetricsInstance().toTable()) {
+            if (row[0].equals(page)) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> request(String requestId, String loaderId, String frameId, String type, String url) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("requestId", requestId);
+        event.put("loaderId", loaderId);
+        event.put("frameId", frameId);
+        event.put("type", type);
+        Map<String, Object> request = new HashMap<>();
+        request.put("url", url);
+        event.put("request", request);
+        return event;
+    }
+
+    private static Map<String, Object> finished(String requestId, long bytes) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("requestId", requestId);
+        event.put("encodedDataLength", bytes);
+        return event;
+    }
+
+    private static Map<String, Object> failed(String requestId, String blockedReason) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("requestId", requestId);
+        event.put("errorText", blockedReason != null ? "net::ERR_BLOCKED_BY_CLIENT" : "net::ERR_ABORTED");
+        if (blockedReason != null) {
+            event.put("blockedReason", blockedReason);
+        }
+        return event;
+    }
+}
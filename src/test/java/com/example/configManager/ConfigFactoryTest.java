@@ -0,0 +1,70 @@
+package com.example.configManager;
+
+import com.aventstack.extentreports.Status;
+import com.example.enums.BrowserType;
+import com.example.reportManager.ExtentReportManager;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Properties;
+
+public class ConfigFactoryTest {
+
+    /**
+     * A value which cannot be converted falls back to the default of its key, and the other values are kept.
+     */
+    @Test
+    public void invalidValueFallsBackToItsDefault() {
+        Properties properties = new Properties();
+        properties.setProperty("browser", "SAFARI");
+        properties.setProperty("waitTimeout", "thirty");
+        properties.setProperty("url", "https://fixture.example");
+
+        ConfigSnapshot snapshot = new ConfigSnapshot(org.aeonbits.owner.ConfigFactory.create(FMConfig.class, properties));
+
+        Assert.assertEquals(snapshot.getBrowser(), BrowserType.CHROME);
+        Assert.assertEquals(snapshot.getWaitTimeout(), 30);
+        Assert.assertEquals(snapshot.getUrl(), "https://fixture.example");
+    }
+
+    /**
+     * An unconvertible system property neither leaves the framework without a configuration nor breaks the report.
+     */
+    @Test
+    public void invalidSystemPropertyKeepsConfigurationAndReport() {
+        String previous = System.setProperty("browser", "SAFARI");
+        try {
+            ConfigFactory.reload();
+            Assert.assertNotNull(ConfigFactory.getConfig(), "The configuration must resolve");
+            Assert.assertEquals(ConfigFactory.getConfig().getBrowser(), BrowserType.CHROME);
+            // No test is bound to this thread, so the event is dropped, but the report manager must be usable
+            ExtentReportManager.getReportInstance().log(Status.INFO, "Configuration resolved");
+        } finally {
+            restore("browser", previous);
+        }
+    }
+
+    /**
+     * A configFile which cannot be read while the configuration is reloaded keeps the current configuration.
+     */
+    @Test
+    public void unreadableConfigFileKeepsCurrentConfiguration() {
+        FMConfig current = ConfigFactory.getConfig();
+        String previous = System.setProperty("configFile", "does-not-exist/fixture.properties");
+        try {
+            Assert.assertFalse(ConfigFactory.reload(), "The reload must fail");
+            Assert.assertSame(ConfigFactory.getConfig(), current);
+        } finally {
+            restore("configFile", previous);
+        }
+    }
+
+    private static void restore(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+        ConfigFactory.reload();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.driverManager;
+
+import com.example.enums.BrowserType;
+import com.example.enums.EnvironmentType;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class DriverSessionPoolTest {
+
+    /**
+     * An idle session which ended while it waited in the pool, e.g. by the Grid's session timeout, is retired instead
+     * of being leased again.
+     */
+    @Test
+    public void deadIdleSessionIsNotLeased() {
+        DriverSessionPool pool = DriverSessionPool.getPoolInstance();
+        long retirements = pool.getStatistics().getRetirements();
+
+        WebDriver first = pool.acquire(EnvironmentType.STUB, BrowserType.CHROME);
+        pool.release(first);
+        first.quit();
+
+        WebDriver second = pool.acquire(EnvironmentType.STUB, BrowserType.CHROME);
+        try {
+            Assert.assertNotSame(second, first, "The ended session must not be leased again");
+            Assert.assertNotNull(second.getWindowHandle());
+            Assert.assertEquals(pool.getStatistics().getRetirements(), retirements + 1);
+        } finally {
+            pool.release(second);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.executionManager;
+
+import com.example.browserManager.BrowserManager;
+import com.example.configManager.ConfigFactory;
+import com.example.driverManager.DriverManager;
+import com.example.enums.BrowserType;
+import com.example.enums.EnvironmentType;
+import com.example.enums.LocatorType;
+import com.example.locatorManager.Locator;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ExecutionScopeTest {
+
+    /**
+     * A scope left open by its thread and disposed of from another thread, as at the end of the suite, drops the
+     * elements cached for its session together with the session.
+     */
+    @Test
+    public void removingTheDriverOfAScopeDropsItsCachedElements() throws Exception {
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            ExecutionScope scope = worker.submit(() -> {
+                ExecutionScope opened = ExecutionScope.open("ExecutionScopeTest");
+                WebDriver driver = BrowserManager.getEnvironment(EnvironmentType.STUB, BrowserType.CHROME);
+                opened.setDriver(driver);
+                driver.get(ConfigFactory.getConfig().getUrl() + "/login");
+                Locator locator = Locator.of(LocatorType.ID, "username");
+                opened.getCachedElements().put(locator, driver.findElement(locator.getBy()));
+                return opened;
+            }).get();
+            Assert.assertEquals(scope.getCachedElements().size(), 1);
+
+            DriverManager.getDriverInstance().removeDriver(scope);
+
+            Assert.assertNull(scope.getDriver());
+            Assert.assertTrue(scope.getCachedElements().isEmpty(), "The cached elements must be dropped with the session");
+        } finally {
+            worker.submit(() -> ExecutionScope.current().close()).get();
+            worker.shutdown();
+        }
+    }
+}
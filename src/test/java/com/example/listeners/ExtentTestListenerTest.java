@@ -0,0 +1,150 @@
+package com.example.listeners;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Log;
+import com.example.configManager.ConfigFactory;
+import com.example.driverManager.DriverManager;
+import com.example.driverManager.StubDriverManager;
+import com.example.reportManager.ExtentReportManager;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExtentTestListenerTest {
+
+    // Test methods running at the same time, split between two test contexts running in parallel
+    static final int METHODS = 64;
+    static final int CONTEXTS = 2;
+
+    // Report node bound to the thread of every test method, keyed by the token the method logged
+    static final Map<String, ExtentTest> nodes = new ConcurrentHashMap<>();
+    static final AtomicInteger tokens = new AtomicInteger();
+    static volatile CountDownLatch running;
+
+    @BeforeMethod
+    public void reset() {
+        nodes.clear();
+        tokens.set(0);
+    }
+
+    /**
+     * 64 test methods of two test contexts run at once on stub drivers. Every test gets a node of its own in the report
+     * of the run, and every log entry, the listener's included, lands in the node of its test.
+     */
+    @Test
+    public void logsOfConcurrentMethodsLandInTheirOwnNodes() {
+        runContexts(XmlSuite.ParallelMode.TESTS, METHODS);
+    }
+
+    /**
+     * A test context starting after another one reports to the same report, the nodes of the first one are kept.
+     */
+    @Test
+    public void successiveContextsShareTheReport() {
+        runContexts(XmlSuite.ParallelMode.NONE, METHODS / CONTEXTS);
+    }
+
+    // Runs the test methods in two test contexts, the given number of them at once, and checks their report nodes. The
+    // nested run reports to a report of its own without reporters, so nothing reaches the report of the outer run.
+    private static void runContexts(XmlSuite.ParallelMode parallel, int concurrentMethods) {
+        ExtentReports report = new ExtentReports();
+        ExtentReports outerReport = ExtentTestListener.setExtentReport(report);
+        try {
+            checkNodes(parallel, concurrentMethods, report);
+        } finally {
+            ExtentTestListener.setExtentReport(outerReport);
+        }
+    }
+
+    private static void checkNodes(XmlSuite.ParallelMode parallel, int concurrentMethods, ExtentReports report) {
+        running = new CountDownLatch(concurrentMethods);
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Concurrent Methods");
+        suite.setParallel(parallel);
+        suite.setThreadCount(CONTEXTS);
+        for (int i = 1; i <= CONTEXTS; i++) {
+            XmlTest test = new XmlTest(suite);
+            test.setName("Concurrent Methods " + i);
+            test.setXmlClasses(Collections.singletonList(new XmlClass(ConcurrentMethodsFixture.class)));
+        }
+
+        TestListenerAdapter results = new TestListenerAdapter();
+        TestNG testNG = new TestNG(false);
+        testNG.setXmlSuites(Collections.singletonList(suite));
+        testNG.addListener(new ExtentTestListener());
+        testNG.addListener(results);
+        testNG.run();
+
+        Assert.assertEquals(results.getPassedTests().size(), METHODS, "Passed test methods: " + results.getFailedTests());
+        Assert.assertEquals(nodes.size(), METHODS);
+        Set<ExtentTest> distinctNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinctNodes.addAll(nodes.values());
+        Assert.assertEquals(distinctNodes.size(), METHODS, "Test methods sharing a report node");
+        Set<Object> reportedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        reportedNodes.addAll(report.getReport().getTestList());
+        for (Map.Entry<String, ExtentTest> entry : nodes.entrySet()) {
+            Assert.assertTrue(reportedNodes.contains(entry.getValue().getModel()), "Node of " + entry.getKey() + " missing from the report");
+        }
+
+        for (Map.Entry<String, ExtentTest> entry : nodes.entrySet()) {
+            String token = entry.getKey();
+            int started = 0;
+            int passed = 0;
+            int own = 0;
+            for (Log log : entry.getValue().getModel().getLogs()) {
+                String details = log.getDetails();
+                if (details.endsWith(" is Started")) {
+                    started++;
+                } else if (log.getStatus() == Status.PASS && details.endsWith(" is Passed")) {
+                    passed++;
+                } else if (details.startsWith("invocation-")) {
+                    Assert.assertTrue(details.startsWith(token + ":"), "Log of another test in the node of " + token + ": " + details);
+                    own++;
+                }
+            }
+            Assert.assertEquals(started, 1, "Start entries in the node of " + token);
+            Assert.assertEquals(passed, 1, "Pass entries in the node of " + token);
+            Assert.assertEquals(own, 2, "Entries of " + token);
+        }
+    }
+}
+
+// Test methods of the nested runs. Not public, so that the suites running ExtentTestListenerTest never run it directly.
+class ConcurrentMethodsFixture {
+
+    @Test(invocationCount = ExtentTestListenerTest.METHODS / ExtentTestListenerTest.CONTEXTS, threadPoolSize = ExtentTestListenerTest.METHODS / ExtentTestListenerTest.CONTEXTS)
+    public void logOnStubDriver() throws Exception {
+        String token = "invocation-" + ExtentTestListenerTest.tokens.incrementAndGet();
+        ExtentTestListenerTest.nodes.put(token, ExtentReportManager.getReportInstance().getExtent());
+        DriverManager.getDriverInstance().setDriver(StubDriverManager.getStubDriver());
+        try {
+            WebDriver driver = DriverManager.getDriverInstance().getDriver();
+            driver.get(ConfigFactory.getConfig().getUrl());
+            ExtentReportManager.getReportInstance().log(Status.INFO, token + ": opened " + driver.getTitle());
+
+            // Keep every method running until all of them are, so their report callbacks overlap
+            ExtentTestListenerTest.running.countDown();
+            Assert.assertTrue(ExtentTestListenerTest.running.await(30, TimeUnit.SECONDS), "Test methods still to start: " + ExtentTestListenerTest.running.getCount());
+            ExtentReportManager.getReportInstance().log(Status.INFO, token + ": title " + driver.getTitle());
+        } finally {
+            DriverManager.getDriverInstance().removeDriver();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.reportManager;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class AsyncReportDispatcherTest {
+
+    /**
+     * A drain returns once every event queued before it has been applied, in the order the events were queued.
+     */
+    @Test
+    public void drainWaitsForEarlierEvents() {
+        ExtentTest extentTest = new ExtentReports().createTest("Dispatcher Test");
+        List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+        AsyncReportDispatcher dispatcher = AsyncReportDispatcher.getDispatcherInstance();
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            dispatcher.execute(extentTest, () -> {
+                if (index == 0) {
+                    sleep(50);
+                }
+                applied.add(index);
+            });
+        }
+
+        Assert.assertTrue(dispatcher.drain(), "The drain must not time out");
+
+        Assert.assertEquals(applied.size(), 100);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals((int) applied.get(i), i);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.stubDriver;
+
+import org.openqa.selenium.InvalidSelectorException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CssQueryTest {
+
+    private static final DomNode PAGE = HtmlFixtureParser.parse("<html><body>"
+            + "<form id=\"login\" class=\"panel wide\">"
+            + "<label for=\"user\">User</label><input id=\"user\" name=\"username\" type=\"text\" lang=\"en-GB\">"
+            + "<label for=\"pass\">Password</label><input id=\"pass\" name=\"password\" type=\"password\">"
+            + "<button id=\"submit\" class=\"btn btn-primary\" data-action=\"save-form\">Log in</button>"
+            + "</form>"
+            + "<div id=\"footer\" class=\"panel\"><a id=\"help\" href=\"/help\">Help</a><span id=\"note\">Note</span></div>"
+            + "</body></html>");
+
+    /**
+     * Type, universal, id and class selectors match alone and compounded, in document order.
+     */
+    @Test
+    public void simpleSelectorsMatch() {
+        Assert.assertEquals(ids("input"), Arrays.asList("user", "pass"));
+        Assert.assertEquals(ids("#submit"), Arrays.asList("submit"));
+        Assert.assertEquals(ids(".panel"), Arrays.asList("login", "footer"));
+        Assert.assertEquals(ids("form.panel.wide"), Arrays.asList("login"));
+        Assert.assertEquals(ids("div *"), Arrays.asList("help", "note"));
+        Assert.assertEquals(ids("INPUT#pass"), Arrays.asList("pass"));
+    }
+
+    /**
+     * Every attribute operator compares the way the CSS specification defines it.
+     */
+    @Test
+    public void attributeSelectorsMatch() {
+        Assert.assertEquals(ids("[name]"), Arrays.asList("user", "pass"));
+        Assert.assertEquals(ids("input[type='password']"), Arrays.asList("pass"));
+        Assert.assertEquals(ids("[class~=btn-primary]"), Arrays.asList("submit"));
+        Assert.assertEquals(ids("[lang|=en]"), Arrays.asList("user"));
+        Assert.assertEquals(ids("[href^='/he']"), Arrays.asList("help"));
+        Assert.assertEquals(ids("[data-action$=\"-form\"]"), Arrays.asList("submit"));
+        Assert.assertEquals(ids("[name*=ss]"), Arrays.asList("pass"));
+        Assert.assertEquals(ids("[type=checkbox]"), new ArrayList<String>());
+    }
+
+    /**
+     * The descendant, child, next sibling and subsequent sibling combinators and selector lists combine as in a browser.
+     */
+    @Test
+    public void combinatorsAndListsMatch() {
+        Assert.assertEquals(ids("body input"), Arrays.asList("user", "pass"));
+        Assert.assertEquals(ids("body > input"), new ArrayList<String>());
+        Assert.assertEquals(ids("form > button"), Arrays.asList("submit"));
+        Assert.assertEquals(ids("label + input"), Arrays.asList("user", "pass"));
+        Assert.assertEquals(ids("#user ~ input"), Arrays.asList("pass"));
+        Assert.assertEquals(ids("#help, #user"), Arrays.asList("user", "help"));
+    }
+
+    /**
+     * A search from an element only returns its descendants.
+     */
+    @Test
+    public void searchStartsAtTheContext() {
+        DomNode footer = new CssQuery("#footer").select(PAGE).get(0);
+        List<String> ids = new ArrayList<>();
+        for (DomNode element : new CssQuery("[id]").select(footer)) {
+            ids.add(element.getAttribute("id"));
+        }
+        Assert.assertEquals(ids, Arrays.asList("help", "note"));
+    }
+
+    /**
+     * Pseudo-classes and malformed selectors are rejected instead of matching nothing.
+     */
+    @Test
+    public void unsupportedSelectorsAreRejected() {
+        for (String selector : new String[]{"a:hover", "p::before", "[name", "#", "form >", ""}) {
+            Assert.assertThrows(InvalidSelectorException.class, () -> new CssQuery(selector));
+        }
+    }
+
+    private static List<String> ids(String selector) {
+        List<String> ids = new ArrayList<>();
+        for (DomNode element : new CssQuery(selector).select(PAGE)) {
+            ids.add(element.getAttribute("id"));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.stubDriver;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class HtmlFixtureParserTest {
+
+    /**
+     * The document holds the html element, with the elements, attributes and text of the markup in order.
+     */
+    @Test
+    public void documentTreeIsBuilt() {
+        DomNode document = HtmlFixtureParser.parse("<!DOCTYPE html><!-- fixture --><HTML><head><title>Fixture</title></head>"
+                + "<body><p ID=\"intro\" class='lead' data-x=plain disabled>Hello <b>world</b></p></body></html>");
+
+        Assert.assertEquals(document.getTagName(), HtmlFixtureParser.DOCUMENT);
+        Assert.assertEquals(tagNames(document.getChildElements()), Arrays.asList("html"));
+        DomNode html = document.getChildElements().get(0);
+        Assert.assertEquals(tagNames(html.getChildElements()), Arrays.asList("head", "body"));
+
+        DomNode paragraph = find(document, "p");
+        Assert.assertEquals(paragraph.getAttribute("id"), "intro");
+        Assert.assertEquals(paragraph.getAttribute("class"), "lead");
+        Assert.assertEquals(paragraph.getAttribute("data-x"), "plain");
+        Assert.assertTrue(paragraph.hasAttribute("disabled"), "An attribute without value is present");
+        Assert.assertEquals(paragraph.getAttribute("disabled"), "");
+        Assert.assertEquals(paragraph.getTextContent(), "Hello world");
+        Assert.assertEquals(find(document, "title").getTextContent(), "Fixture");
+    }
+
+    /**
+     * Void and self-closing elements take no children, and raw text elements keep their content as text.
+     */
+    @Test
+    public void voidAndRawTextElements() {
+        DomNode document = HtmlFixtureParser.parse("<div id=\"form\"><input id=\"a\"><br><img src=\"x.png\"/>"
+                + "<span id=\"b\">B</span><script>if (a < b && c > d) { x = '</div>'; }</script>"
+                + "<textarea>&lt;b&gt;</textarea></div>");
+
+        DomNode div = find(document, "div");
+        Assert.assertEquals(tagNames(div.getChildElements()), Arrays.asList("input", "br", "img", "span", "script", "textarea"));
+        Assert.assertTrue(find(document, "input").getChildren().isEmpty());
+        Assert.assertEquals(find(document, "script").getTextContent(), "if (a < b && c > d) { x = '</div>'; }");
+        Assert.assertEquals(find(document, "textarea").getTextContent(), "<b>");
+    }
+
+    /**
+     * Named and numeric character references are decoded in text and attribute values, unknown ones are kept.
+     */
+    @Test
+    public void characterReferencesAreDecoded() {
+        DomNode document = HtmlFixtureParser.parse("<p title=\"Fish &amp; Chips\">&copy; 2024 &#8211; &#x41;&nbsp;&bogus; & more</p>");
+
+        DomNode paragraph = find(document, "p");
+        Assert.assertEquals(paragraph.getAttribute("title"), "Fish & Chips");
+        Assert.assertEquals(paragraph.getTextContent(), "© 2024 – A &bogus; & more");
+    }
+
+    /**
+     * Unclosed elements are closed by the end of an enclosing element, and stray end tags are ignored.
+     */
+    @Test
+    public void malformedMarkupIsRepaired() {
+        DomNode document = HtmlFixtureParser.parse("<ul><li>One<li>Two</ul></span><p>After</p>");
+
+        DomNode list = find(document, "ul");
+        Assert.assertEquals(tagNames(list.getChildElements()), Arrays.asList("li"));
+        Assert.assertEquals(list.getTextContent(), "OneTwo");
+        Assert.assertEquals(find(document, "p").getParent(), document, "The list is closed before the paragraph");
+        Assert.assertEquals(find(document, "p").getTextContent(), "After");
+    }
+
+    /**
+     * Every parse returns its own tree, so changes made by one page load are not seen by the next.
+     */
+    @Test
+    public void parsedTreesAreIndependent() {
+        String html = "<input id=\"user\" value=\"\">";
+        DomNode first = HtmlFixtureParser.parse(html);
+        find(first, "input").setAttribute("value", "typed");
+
+        Assert.assertEquals(find(HtmlFixtureParser.parse(html), "input").getAttribute("value"), "");
+        Assert.assertEquals(find(first.copy(), "input").getAttribute("value"), "typed");
+    }
+
+    private static DomNode find(DomNode document, String tagName) {
+        for (DomNode element : document.getDescendantElements()) {
+            if (tagName.equals(element.getTagName())) {
+                return element;
+            }
+        }
+        throw new AssertionError("No <" + tagName + "> element");
+    }
+
+    private static List<String> tagNames(List<DomNode> elements) {
+        List<String> names = new ArrayList<>();
+        for (DomNode element : elements) {
+            names.add(element.getTagName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.stubDriver;
+
+import org.openqa.selenium.InvalidSelectorException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class XPathQueryTest {
+
+    private static final DomNode PAGE = HtmlFixtureParser.parse("<html><body>"
+            + "<ul id=\"menu\">"
+            + "<li id=\"home\" class=\"item active\"><a id=\"home-link\" href=\"/\">Home</a></li>"
+            + "<li id=\"products\" class=\"item\"><a id=\"products-link\" href=\"/products\">  Our   Products </a></li>"
+            + "<li id=\"contact\" class=\"item\"><a id=\"contact-link\" href=\"/contact\">Contact</a></li>"
+            + "</ul>"
+            + "<table id=\"prices\"><tr id=\"row1\"><td id=\"cell1\">10</td></tr><tr id=\"row2\"><td id=\"cell2\">25</td></tr></table>"
+            + "</body></html>");
+
+    /**
+     * Absolute, relative and abbreviated location paths select elements in document order.
+     */
+    @Test
+    public void locationPathsSelect() {
+        Assert.assertEquals(ids("/html/body/ul/li"), Arrays.asList("home", "products", "contact"));
+        Assert.assertEquals(ids("//a"), Arrays.asList("home-link", "products-link", "contact-link"));
+        Assert.assertEquals(ids("//li/.."), Arrays.asList("menu"));
+        Assert.assertEquals(ids("//*[@id='row2']/td"), Arrays.asList("cell2"));
+        Assert.assertEquals(ids("//ul//a[@href='/contact']"), Arrays.asList("contact-link"));
+    }
+
+    /**
+     * The axes walk the tree in the direction their name says.
+     */
+    @Test
+    public void axesSelect() {
+        Assert.assertEquals(ids("//li[@id='products']/following-sibling::li"), Arrays.asList("contact"));
+        Assert.assertEquals(ids("//li[@id='products']/preceding-sibling::li"), Arrays.asList("home"));
+        Assert.assertEquals(ids("//a[@id='home-link']/ancestor::ul"), Arrays.asList("menu"));
+        Assert.assertEquals(ids("//a[@id='home-link']/parent::li"), Arrays.asList("home"));
+        Assert.assertEquals(ids("//ul/descendant::a[1]"), Arrays.asList("home-link"));
+        Assert.assertEquals(ids("//li[@id='home']/ancestor-or-self::*[@id]"), Arrays.asList("menu", "home"));
+        Assert.assertEquals(ids("//td/self::td"), Arrays.asList("cell1", "cell2"));
+        Assert.assertEquals(ids("//li[@id='products']/following::*[@id]"), Arrays.asList("contact", "contact-link",
+                "prices", "row1", "cell1", "row2", "cell2"));
+        Assert.assertEquals(ids("//td[@id='cell1']/preceding::a"), Arrays.asList("home-link", "products-link", "contact-link"));
+    }
+
+    /**
+     * Positions, operators and functions filter the selected elements.
+     */
+    @Test
+    public void predicatesFilter() {
+        Assert.assertEquals(ids("//li[2]"), Arrays.asList("products"));
+        Assert.assertEquals(ids("//li[last()]"), Arrays.asList("contact"));
+        Assert.assertEquals(ids("//li[position() > 1 and not(@id='contact')]"), Arrays.asList("products"));
+        Assert.assertEquals(ids("//li[contains(@class, 'active')]"), Arrays.asList("home"));
+        Assert.assertEquals(ids("//a[normalize-space(.)='Our Products']"), Arrays.asList("products-link"));
+        Assert.assertEquals(ids("//a[starts-with(@href, '/c') or text()='Home']"), Arrays.asList("home-link", "contact-link"));
+        Assert.assertEquals(ids("//td[. > 20]"), Arrays.asList("cell2"));
+        Assert.assertEquals(ids("//table[count(.//td) = 2]"), Arrays.asList("prices"));
+        Assert.assertEquals(ids("//a[translate(text(), 'HOME', 'home')='home']"), Arrays.asList("home-link"));
+        Assert.assertEquals(ids("//li[a[@href='/products']]"), Arrays.asList("products"));
+        Assert.assertEquals(ids("//a[substring-after(@href, '/')='contact']"), Arrays.asList("contact-link"));
+        Assert.assertEquals(ids("//td[sum(//td) = 35 and . mod 2 = 0]"), Arrays.asList("cell1"));
+    }
+
+    /**
+     * A union returns its elements once each in document order, and a filtered path counts positions over the whole
+     * path instead of per parent.
+     */
+    @Test
+    public void unionsAndFilteredPaths() {
+        Assert.assertEquals(ids("//td | //li[1] | //td[1]"), Arrays.asList("home", "cell1", "cell2"));
+        Assert.assertEquals(ids("//td[1]"), Arrays.asList("cell1", "cell2"));
+        Assert.assertEquals(ids("(//td)[1]"), Arrays.asList("cell1"));
+    }
+
+    /**
+     * A search from an element evaluates relative paths from that element and absolute paths from the document.
+     */
+    @Test
+    public void searchFromAnElement() {
+        DomNode menu = new XPathQuery("//ul").select(PAGE).get(0);
+        Assert.assertEquals(ids(menu, "./li[last()]/a"), Arrays.asList("contact-link"));
+        Assert.assertEquals(ids(menu, "//td"), Arrays.asList("cell1", "cell2"));
+    }
+
+    /**
+     * Expressions which are not valid XPath 1.0, or which do not select elements, are rejected.
+     */
+    @Test
+    public void invalidExpressionsAreRejected() {
+        for (String expression : new String[]{"//li[", "//a/@href", "//li[matches(@id, 'h.*')]", "count(//li)", "//a/text()", "//li]"}) {
+            Assert.assertThrows(InvalidSelectorException.class, () -> ids(expression));
+        }
+    }
+
+    private static List<String> ids(String expression) {
+        return ids(PAGE, expression);
+    }
+
+    private static List<String> ids(DomNode context, String expression) {
+        List<String> ids = new ArrayList<>();
+        for (DomNode element : new XPathQuery(expression).select(context)) {
+            ids.add(element.getAttribute("id"));
+        }
+        return ids;
+    }
+}